@@ -0,0 +1,119 @@
+package com.jgazula.easyresources.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Creates the inputs of the benchmarks. The inputs are random but seeded, so that every run (and every commit)
+ * measures exactly the same inputs.
+ */
+public final class BenchmarkInputs {
+
+    private static final long SEED = 42;
+    private static final List<Locale> LOCALES = List.of(Locale.ENGLISH, Locale.FRENCH, Locale.GERMAN,
+            Locale.ITALIAN, Locale.JAPANESE, Locale.KOREAN, Locale.CHINESE, Locale.US, Locale.UK, Locale.CANADA,
+            Locale.CANADA_FRENCH, Locale.FRANCE, Locale.GERMANY, Locale.ITALY, Locale.JAPAN, Locale.KOREA);
+    private static final String[] WORDS = {"account", "button", "error", "label", "message", "title", "user",
+        "settings", "dialog", "menu", "save", "cancel", "confirm", "delete", "name", "email"};
+
+    private BenchmarkInputs() { }
+
+    /**
+     * Returns the given number of distinct keys, such as {@code user.settings.dialog.title42}.
+     */
+    public static List<String> keys(int count) {
+        var random = new Random(SEED);
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(WORDS[random.nextInt(WORDS.length)] + "." + WORDS[random.nextInt(WORDS.length)] + "."
+                    + WORDS[random.nextInt(WORDS.length)] + i);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the given number of message patterns of about the given length. Every other pattern has arguments,
+     * and the patterns differ per locale like translations do.
+     */
+    public static List<String> patterns(int count, int length, int locale) {
+        var random = new Random(SEED + locale);
+        List<String> patterns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            var pattern = new StringBuilder();
+            int arguments = 0;
+            while (pattern.length() < length) {
+                if (i % 2 == 1 && random.nextInt(8) == 0) {
+                    pattern.append(arguments % 3 == 1 ? "{" + arguments + ",number,integer}" : "{" + arguments + "}");
+                    arguments++;
+                } else {
+                    pattern.append(WORDS[random.nextInt(WORDS.length)]);
+                }
+                pattern.append(' ');
+            }
+            patterns.add(pattern.append(locale).toString());
+        }
+        return patterns;
+    }
+
+    /**
+     * Returns the first given number of locales, of at most sixteen.
+     */
+    public static List<Locale> locales(int count) {
+        if (count > LOCALES.size()) {
+            throw new IllegalArgumentException("At most " + LOCALES.size() + " locales are supported");
+        }
+        return LOCALES.subList(0, count);
+    }
+
+    /**
+     * Writes a properties file with the given keys and patterns.
+     */
+    public static Path writeProperties(Path file, List<String> keys, List<String> patterns) throws IOException {
+        var content = new StringBuilder();
+        for (int i = 0; i < keys.size(); i++) {
+            content.append(keys.get(i)).append('=').append(patterns.get(i)).append('\n');
+        }
+        return Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a resource bundle with a base file and a file for each of the given number of locales.
+     *
+     * @return the base file of the bundle
+     */
+    public static Path writeBundle(Path directory, String bundleName, int keyCount, int valueLength, int localeCount)
+            throws IOException {
+        List<String> keys = keys(keyCount);
+        List<Locale> locales = locales(localeCount);
+        for (int i = 0; i < locales.size(); i++) {
+            writeProperties(directory.resolve(bundleName + "_" + locales.get(i) + ".properties"), keys,
+                    patterns(keyCount, valueLength, i + 1));
+        }
+        return writeProperties(directory.resolve(bundleName + ".properties"), keys,
+                patterns(keyCount, valueLength, 0));
+    }
+
+    /**
+     * Deletes the given directory and everything within it.
+     */
+    public static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.delete(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.jgazula.easyresources.benchmarks;
+
+import com.jgazula.easyresources.core.internal.classgeneration.ClassGenerator;
+import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorConfig;
+import com.jgazula.easyresources.core.internal.classgeneration.PoetClassGenerator;
+import com.jgazula.easyresources.core.internal.properties.PropertiesParser;
+import com.jgazula.easyresources.core.output.InMemoryOutputSink;
+import com.jgazula.easyresources.core.output.OutputSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating a constants class with JavaPoet, and rendering it into memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClassGeneratorBenchmark {
+
+    private static final ClassGeneratorConfig CONFIG = ClassGeneratorConfig.builder()
+            .generatedBy("easy-resources-benchmarks")
+            .packageName("com.example")
+            .className("Constants")
+            .reproducible(true)
+            .build();
+
+    @Param({"100", "10000"})
+    public int keyCount;
+
+    @Param({"16", "256"})
+    public int valueLength;
+
+    private List<String> variableNames;
+    private List<String> values;
+
+    @Setup
+    public void setUp() {
+        variableNames = new PropertiesParser().keysToStaticFinalVariables(BenchmarkInputs.keys(keyCount));
+        values = BenchmarkInputs.patterns(keyCount, valueLength, 0);
+    }
+
+    @Benchmark
+    public InMemoryOutputSink write() throws IOException {
+        ClassGenerator generator = new PoetClassGenerator(CONFIG);
+        for (int i = 0; i < keyCount; i++) {
+            generator.addPublicConstantString(variableNames.get(i), values.get(i));
+        }
+
+        InMemoryOutputSink sink = OutputSink.inMemory();
+        generator.write(sink);
+        return sink;
+    }
+}
@@ -0,0 +1,55 @@
+package com.jgazula.easyresources.benchmarks;
+
+import com.jgazula.easyresources.core.internal.properties.PropertiesParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures converting keys to the names of constants and methods. Every invocation converts all the keys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertiesParserBenchmark {
+
+    @Param({"100", "10000"})
+    public int keyCount;
+
+    private final PropertiesParser parser = new PropertiesParser();
+    private List<String> keys;
+
+    @Setup
+    public void setUp() {
+        keys = BenchmarkInputs.keys(keyCount);
+    }
+
+    @Benchmark
+    public void keyToStaticFinalVariable(Blackhole blackhole) {
+        for (String key : keys) {
+            blackhole.consume(parser.keyToStaticFinalVariable(key));
+        }
+    }
+
+    @Benchmark
+    public void keyToMethodName(Blackhole blackhole) {
+        for (String key : keys) {
+            blackhole.consume(parser.keyToMethodName(key));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.jgazula.easyresources.benchmarks;
+
+import com.jgazula.easyresources.core.internal.properties.PropertiesReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures reading a properties file, and finding the properties files of a resource bundle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertiesReaderBenchmark {
+
+    private static final String BUNDLE_NAME = "messages";
+
+    @Param({"100", "10000"})
+    public int keyCount;
+
+    @Param({"16", "256"})
+    public int valueLength;
+
+    @Param({"1", "16"})
+    public int localeCount;
+
+    private final PropertiesReader reader = new PropertiesReader();
+    private Path directory;
+    private Path baseFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("easy-resources-benchmark");
+        baseFile = BenchmarkInputs.writeBundle(directory, BUNDLE_NAME, keyCount, valueLength, localeCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkInputs.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Map<String, String> loadProperties() throws IOException {
+        return reader.loadProperties(baseFile);
+    }
+
+    @Benchmark
+    public List<Path> getResourceBundlePropertyFiles() throws IOException {
+        try (Stream<Path> files = reader.getResourceBundlePropertyFiles(directory, BUNDLE_NAME)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+}
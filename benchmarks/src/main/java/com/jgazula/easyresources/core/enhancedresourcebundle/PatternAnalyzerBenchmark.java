@@ -0,0 +1,57 @@
+package com.jgazula.easyresources.core.enhancedresourcebundle;
+
+import com.jgazula.easyresources.benchmarks.BenchmarkInputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures inferring the argument types of the patterns of a resource bundle, as {@link ERBGenerator} does. It is
+ * in the package of the (package-private) {@link PatternAnalyzer}, and every invocation uses a new analyzer so that
+ * no pattern is served from the cache of a previous invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatternAnalyzerBenchmark {
+
+    @Param({"100", "10000"})
+    public int keyCount;
+
+    @Param({"16", "256"})
+    public int valueLength;
+
+    @Param({"1", "16"})
+    public int localeCount;
+
+    private List<String> patterns;
+
+    @Setup
+    public void setUp() {
+        patterns = new ArrayList<>(keyCount * (localeCount + 1));
+        for (int locale = 0; locale <= localeCount; locale++) {
+            patterns.addAll(BenchmarkInputs.patterns(keyCount, valueLength, locale));
+        }
+    }
+
+    @Benchmark
+    public List<List<Type>> analyze() {
+        return new PatternAnalyzer(PatternAnalyzer.DEFAULT_PARALLEL_THRESHOLD, Integer.MAX_VALUE).analyze(patterns);
+    }
+}
@@ -0,0 +1,96 @@
+package com.jgazula.easyresources.core.batch;
+
+import com.jgazula.easyresources.core.enhancedresourcebundle.ERBConfig;
+import com.jgazula.easyresources.core.enhancedresourcebundle.ERBGenerations;
+import com.jgazula.easyresources.core.internal.concurrent.TaskRunner;
+import com.jgazula.easyresources.core.internal.generation.Generation;
+import com.jgazula.easyresources.core.internal.generation.GenerationContext;
+import com.jgazula.easyresources.core.internal.generation.GenerationPlan;
+import com.jgazula.easyresources.core.internal.incremental.Fingerprinter;
+import com.jgazula.easyresources.core.metrics.GenerationListener;
+import com.jgazula.easyresources.core.metrics.GenerationReport;
+import com.jgazula.easyresources.core.propertiesconstants.PCGenerations;
+import com.jgazula.easyresources.core.propertiesconstants.PropertiesConstantsConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An implementation of {@link GenerationBatch} which plans the work of every configuration within one shared
+ * {@link GenerationContext} and runs all of it on one {@link TaskRunner}.
+ */
+class BatchGenerator implements GenerationBatch {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchGenerator.class);
+
+    private final GenerationBatchConfig config;
+    private final List<Generation> generations;
+    private final Set<GenerationListener> listeners;
+
+    BatchGenerator(GenerationBatchConfig config) {
+        this.config = config;
+        this.generations = new ArrayList<>();
+        this.listeners = new LinkedHashSet<>(config.listeners());
+        for (PropertiesConstantsConfig propertiesConstantsConfig : config.propertiesConstantsConfigs()) {
+            generations.add(PCGenerations.generation(propertiesConstantsConfig));
+            listeners.addAll(propertiesConstantsConfig.listeners());
+        }
+        for (ERBConfig erbConfig : config.erbConfigs()) {
+            generations.add(ERBGenerations.generation(erbConfig));
+            listeners.addAll(erbConfig.listeners());
+        }
+    }
+
+    @Override
+    public GenerationSummary generate() throws IOException {
+        try (GenerationContext context = new GenerationContext(listeners);
+             TaskRunner taskRunner = TaskRunner.create(config.executor(), config.parallelism())) {
+            List<GenerationPlan> plans = new ArrayList<>(generations.size());
+            List<TaskRunner.Task> tasks = new ArrayList<>();
+            for (Generation generation : generations) {
+                GenerationPlan plan = generation.plan(context);
+                plans.add(plan);
+                tasks.addAll(plan.tasks());
+            }
+
+            taskRunner.runAll(tasks);
+            for (GenerationPlan plan : plans) {
+                plan.complete();
+            }
+
+            GenerationReport report = context.complete();
+            var summary = new GenerationSummary(context.outputs(), report.propertiesFilesRead(),
+                    report.directoriesListed(), TimeUnit.NANOSECONDS.toMillis(report.durationNanos()));
+            LOGGER.info("Generated {}, unchanged {}, up to date {}, skipped {} and deleted {} output(s) in {} ms "
+                            + "(read {} properties file(s), listed {} directories)",
+                    summary.count(GeneratedOutput.Status.GENERATED), summary.count(GeneratedOutput.Status.UNCHANGED),
+                    summary.count(GeneratedOutput.Status.UP_TO_DATE), summary.count(GeneratedOutput.Status.SKIPPED),
+                    summary.count(GeneratedOutput.Status.DELETED), summary.durationMillis(),
+                    summary.propertiesFilesRead(), summary.directoriesListed());
+            return summary;
+        }
+    }
+
+    @Override
+    public GenerationFingerprint fingerprint() throws IOException {
+        List<String> cacheKeys = new ArrayList<>(generations.size());
+        Set<Path> inputFiles = new TreeSet<>();
+        List<Path> outputFiles = new ArrayList<>();
+        for (Generation generation : generations) {
+            GenerationFingerprint fingerprint = generation.fingerprint();
+            cacheKeys.add(fingerprint.cacheKey());
+            inputFiles.addAll(fingerprint.inputFiles());
+            outputFiles.addAll(fingerprint.outputFiles());
+        }
+        return new GenerationFingerprint(new Fingerprinter().combineCacheKeys(cacheKeys), List.copyOf(inputFiles),
+                List.copyOf(outputFiles));
+    }
+}
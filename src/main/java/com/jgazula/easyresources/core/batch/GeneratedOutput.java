@@ -0,0 +1,60 @@
+package com.jgazula.easyresources.core.batch;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * The outcome of a single output (a generated Java file) of a generation run.
+ */
+@Value
+public class GeneratedOutput {
+
+    /**
+     * What happened to an output.
+     */
+    public enum Status {
+        /**
+         * The file was (re)written.
+         */
+        GENERATED,
+
+        /**
+         * The file was generated again, but already had the same content.
+         */
+        UNCHANGED,
+
+        /**
+         * The inputs had not changed since the previous incremental run, so nothing was generated.
+         */
+        UP_TO_DATE,
+
+        /**
+         * The inputs did not contain any properties, so nothing was generated.
+         */
+        SKIPPED,
+
+        /**
+         * The file had been generated by a previous run, but is no longer configured, so it was deleted.
+         */
+        DELETED
+    }
+
+    /**
+     * The name of the generator which produced the output.
+     */
+    @NonNull String generator;
+
+    /**
+     * The fully qualified name of the generated class.
+     */
+    @NonNull String className;
+
+    /**
+     * The path of the generated Java file, or of the class file for the bytecode backend.
+     */
+    @NonNull Path path;
+
+    @NonNull Status status;
+}
@@ -0,0 +1,35 @@
+package com.jgazula.easyresources.core.batch;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * An implementation of this interface is responsible for generating the outputs of several constants and
+ * enhanced resource bundle configurations as a single job. Properties files and bundle directories which are
+ * used by more than one output are read and listed only once.
+ */
+public interface GenerationBatch {
+
+    /**
+     * Generates all the configured outputs.
+     *
+     * @return a summary of all the outputs
+     */
+    GenerationSummary generate() throws IOException;
+
+    /**
+     * Describes the inputs and outputs of all the configured outputs without generating anything, so that a build
+     * tool can decide whether the batch needs to run at all.
+     *
+     * @return a combined cache key, the sorted input files and the files which would be generated
+     */
+    GenerationFingerprint fingerprint() throws IOException;
+
+    /**
+     * Creates an implementation of this interface.
+     */
+    static GenerationBatch create(GenerationBatchConfig config) {
+        Objects.requireNonNull(config, "config cannot be null when creating a GenerationBatch instance.");
+        return new BatchGenerator(config);
+    }
+}
@@ -0,0 +1,37 @@
+package com.jgazula.easyresources.core.batch;
+
+import com.jgazula.easyresources.core.enhancedresourcebundle.ERBConfig;
+import com.jgazula.easyresources.core.propertiesconstants.PropertiesConstantsConfig;
+import com.jgazula.easyresources.core.metrics.GenerationListener;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+@Builder
+@Value
+public class GenerationBatchConfig {
+    @Builder.Default List<PropertiesConstantsConfig> propertiesConstantsConfigs = new ArrayList<>();
+    @Builder.Default List<ERBConfig> erbConfigs = new ArrayList<>();
+
+    /**
+     * The maximum number of outputs (across all the configurations) which are generated concurrently.
+     * Ignored if an {@link #executor} is set. The parallelism and executors of the individual configurations
+     * are not used.
+     */
+    @Builder.Default int parallelism = 1;
+
+    /**
+     * The listeners which are notified about the metrics of every run, along with the listeners of the individual
+     * configurations.
+     */
+    @Builder.Default List<GenerationListener> listeners = new ArrayList<>();
+
+    /**
+     * An optional executor on which the outputs are generated. If not set, a thread pool (of virtual threads
+     * when running on Java 21+) is created for each run with a {@link #parallelism} greater than one.
+     */
+    Executor executor;
+}
@@ -0,0 +1,30 @@
+package com.jgazula.easyresources.core.batch;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Describes what a generation run would use and produce, without running it. This lets build tools decide
+ * whether the outputs are up to date.
+ */
+@Value
+public class GenerationFingerprint {
+    /**
+     * A key which changes whenever the configuration, or the names or contents of the input files, change.
+     * It does not depend on where the inputs are located.
+     */
+    @NonNull String cacheKey;
+
+    /**
+     * The input files, sorted. An input inside an archive is represented by the archive.
+     */
+    @NonNull List<Path> inputFiles;
+
+    /**
+     * The files which would be generated, in the order of the configuration.
+     */
+    @NonNull List<Path> outputFiles;
+}
@@ -0,0 +1,39 @@
+package com.jgazula.easyresources.core.batch;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * The summary of a generation run.
+ */
+@Value
+public class GenerationSummary {
+    /**
+     * The outcome of every output, sorted by path.
+     */
+    @NonNull List<GeneratedOutput> outputs;
+
+    /**
+     * The number of properties files which were read. Files used by several outputs are read only once.
+     */
+    int propertiesFilesRead;
+
+    /**
+     * The number of bundle directories which were listed. Directories used by several outputs are listed only once.
+     */
+    int directoriesListed;
+
+    /**
+     * The wall-clock duration of the run.
+     */
+    long durationMillis;
+
+    /**
+     * Returns the number of outputs with the given status.
+     */
+    public long count(GeneratedOutput.Status status) {
+        return outputs.stream().filter(output -> output.status() == status).count();
+    }
+}
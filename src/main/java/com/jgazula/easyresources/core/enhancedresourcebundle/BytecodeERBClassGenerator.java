@@ -0,0 +1,226 @@
+package com.jgazula.easyresources.core.enhancedresourcebundle;
+
+import com.jgazula.easyresources.core.internal.classgeneration.BytecodeClassGenerator;
+import com.jgazula.easyresources.core.internal.classgeneration.ClassFileWriter;
+import com.jgazula.easyresources.core.internal.classgeneration.ClassFileWriter.Code;
+import com.jgazula.easyresources.core.internal.classgeneration.ClassFileWriter.Label;
+import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorConfig;
+import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorVariable;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Type;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * This implementation writes an enhanced resource bundle class file with the {@link BytecodeClassGenerator}. The
+ * methods execute the same statements, in the same order, as those compiled from the {@link PoetERBClassGenerator}.
+ */
+public class BytecodeERBClassGenerator extends BytecodeClassGenerator implements ERBClassGenerator {
+
+    private boolean formatsMessages;
+
+    public BytecodeERBClassGenerator(ClassGeneratorConfig config) {
+        super(config);
+    }
+
+    @Override
+    public ERBClassGenerator initialize(boolean formatsMessages) {
+        this.formatsMessages = formatsMessages;
+        var resourceBundleVar = new ClassGeneratorVariable(ResourceBundle.class,
+                PoetERBClassGenerator.RESOURCE_BUNDLE_VARIABLE_NAME);
+        addPrivateFinalField(resourceBundleVar);
+        if (!formatsMessages) {
+            addConstructorWithArgs(List.of(resourceBundleVar));
+            return this;
+        }
+
+        var messageFormatsVar = new ClassGeneratorVariable(ConcurrentHashMap.class,
+                PoetERBClassGenerator.MESSAGE_FORMATS_VARIABLE_NAME);
+        addPrivateFinalField(messageFormatsVar);
+
+        // this.messageFormats = new ConcurrentHashMap<>();
+        beginConstructor(List.of(resourceBundleVar))
+                .load(Object.class, 0)
+                .newInstance(ConcurrentHashMap.class)
+                .dup()
+                .invokespecial(ConcurrentHashMap.class, "<init>", void.class)
+                .putfield(classFile().internalName(), PoetERBClassGenerator.MESSAGE_FORMATS_VARIABLE_NAME,
+                        ConcurrentHashMap.class)
+                .vreturn();
+
+        addMessageFormatMethod();
+        return this;
+    }
+
+    /**
+     * Adds the method which returns a clone of the cached {@link MessageFormat} prototype of a key.
+     */
+    private void addMessageFormatMethod() {
+        int keySlot = 1;
+        int localeSlot = 2;
+        int prototypeSlot = 3;
+        Code code = classFile().addMethod(ClassFileWriter.ACC_PRIVATE, PoetERBClassGenerator.MESSAGE_FORMAT_METHOD_NAME,
+                MessageFormat.class, List.of(String.class, Locale.class));
+
+        // MessageFormat prototype = this.messageFormats.get(key);
+        loadMessageFormats(code)
+                .load(String.class, keySlot)
+                .invokevirtual(ConcurrentHashMap.class, "get", Object.class, Object.class)
+                .checkcast(MessageFormat.class)
+                .astore(prototypeSlot);
+
+        // if (prototype == null) {
+        var cached = new Label();
+        code.load(MessageFormat.class, prototypeSlot).ifnonnull(cached);
+
+        //     prototype = new MessageFormat(this.resourceBundle.getString(key), locale);
+        code.newInstance(MessageFormat.class).dup();
+        loadResourceBundle(code)
+                .load(String.class, keySlot)
+                .invokevirtual(ResourceBundle.class, "getString", String.class, String.class)
+                .load(Locale.class, localeSlot)
+                .invokespecial(MessageFormat.class, "<init>", void.class, String.class, Locale.class)
+                .astore(prototypeSlot);
+
+        //     this.messageFormats.putIfAbsent(key, prototype);
+        loadMessageFormats(code)
+                .load(String.class, keySlot)
+                .load(MessageFormat.class, prototypeSlot)
+                .invokevirtual(ConcurrentHashMap.class, "putIfAbsent", Object.class, Object.class, Object.class)
+                .pop();
+
+        // }
+        // return (MessageFormat) prototype.clone();
+        code.mark(cached, List.of(String.class, Locale.class, MessageFormat.class))
+                .load(MessageFormat.class, prototypeSlot)
+                .invokevirtual(MessageFormat.class, "clone", Object.class)
+                .checkcast(MessageFormat.class)
+                .areturn();
+    }
+
+    @Override
+    public ERBClassGenerator addMethod(String key, String name, List<Type> argTypes,
+                                       List<CompiledPattern> compiledPatterns) {
+        checkName(name);
+        if (!argTypes.isEmpty() && !formatsMessages) {
+            throw new IllegalStateException("Unable to add the method " + name
+                    + " with arguments to a class which does not format messages");
+        }
+        List<Class<?>> params = argTypes.stream()
+                .map(BytecodeClassGenerator::typeClass)
+                .collect(Collectors.toList());
+        Code code = classFile().addMethod(ClassFileWriter.ACC_PUBLIC, name, String.class, params);
+
+        if (params.isEmpty()) {
+            // String message = this.resourceBundle.getString(key);
+            // return message;
+            loadResourceBundle(code)
+                    .ldc(key)
+                    .invokevirtual(ResourceBundle.class, "getString", String.class, String.class)
+                    .astore(1)
+                    .load(String.class, 1)
+                    .areturn();
+            return this;
+        }
+
+        int messageSlot = 1 + params.stream().mapToInt(ClassFileWriter::size).sum();
+        if (!compiledPatterns.isEmpty()) {
+            addCompiledPatterns(code, key, params, messageSlot, compiledPatterns);
+        }
+
+        // Object[] messageArguments = {arg0, arg1, ...};
+        int messageArgumentsSlot = compiledPatterns.isEmpty() ? messageSlot : messageSlot + 1;
+        code.iconst(params.size()).anewarray(Object.class);
+        int slot = 1;
+        for (int i = 0; i < params.size(); i++) {
+            Class<?> param = params.get(i);
+            code.dup().iconst(i).load(param, slot);
+            if (param.isPrimitive()) {
+                Class<?> wrapper = MethodType.methodType(param).wrap().returnType();
+                code.invokestatic(wrapper, "valueOf", wrapper, param);
+            }
+            code.aastore();
+            slot += ClassFileWriter.size(param);
+        }
+        code.astore(messageArgumentsSlot);
+
+        // return messageFormat(key, this.resourceBundle.getLocale()).format(messageArguments);
+        code.load(Object.class, 0).ldc(key);
+        loadResourceBundle(code)
+                .invokevirtual(ResourceBundle.class, "getLocale", Locale.class)
+                .invokespecial(classFile().internalName(), PoetERBClassGenerator.MESSAGE_FORMAT_METHOD_NAME,
+                        MessageFormat.class, String.class, Locale.class)
+                .load(Object[].class, messageArgumentsSlot)
+                .invokevirtual(MessageFormat.class, "format", String.class, Object.class)
+                .areturn();
+        return this;
+    }
+
+    /**
+     * Adds the branches which format the message with the given compiled patterns, if it is equal to one of them.
+     */
+    private void addCompiledPatterns(Code code, String key, List<Class<?>> params, int messageSlot,
+                                     List<CompiledPattern> compiledPatterns) {
+        // String message = this.resourceBundle.getString(key);
+        loadResourceBundle(code)
+                .ldc(key)
+                .invokevirtual(ResourceBundle.class, "getString", String.class, String.class)
+                .astore(messageSlot);
+
+        List<Class<?>> locals = new ArrayList<>(params);
+        locals.add(String.class);
+        int[] argumentSlots = new int[params.size()];
+        for (int i = 1; i < params.size(); i++) {
+            argumentSlots[i] = argumentSlots[i - 1] + ClassFileWriter.size(params.get(i - 1));
+        }
+
+        for (CompiledPattern compiledPattern : compiledPatterns) {
+            // if (message.equals(pattern)) {
+            var next = new Label();
+            code.load(String.class, messageSlot)
+                    .ldc(compiledPattern.pattern())
+                    .invokevirtual(String.class, "equals", boolean.class, Object.class)
+                    .ifeq(next);
+
+            //     return new StringBuilder(capacity).append(literal).append(arg0)...toString();
+            if (!compiledPattern.hasArguments()) {
+                code.ldc(compiledPattern.segments().get(0).literal());
+            } else {
+                code.newInstance(StringBuilder.class)
+                        .dup()
+                        .iconst(compiledPattern.capacity())
+                        .invokespecial(StringBuilder.class, "<init>", void.class, int.class);
+                for (CompiledPattern.Segment segment : compiledPattern.segments()) {
+                    if (segment.isArgument()) {
+                        code.load(String.class, 1 + argumentSlots[segment.argument()]);
+                    } else {
+                        code.ldc(segment.literal());
+                    }
+                    code.invokevirtual(StringBuilder.class, "append", StringBuilder.class, String.class);
+                }
+                code.invokevirtual(StringBuilder.class, "toString", String.class);
+            }
+
+            // }
+            code.areturn().mark(next, locals);
+        }
+    }
+
+    private Code loadMessageFormats(Code code) {
+        return code.load(Object.class, 0)
+                .getfield(classFile().internalName(), PoetERBClassGenerator.MESSAGE_FORMATS_VARIABLE_NAME,
+                        ConcurrentHashMap.class);
+    }
+
+    private Code loadResourceBundle(Code code) {
+        return code.load(Object.class, 0)
+                .getfield(classFile().internalName(), PoetERBClassGenerator.RESOURCE_BUNDLE_VARIABLE_NAME,
+                        ResourceBundle.class);
+    }
+}
@@ -0,0 +1,149 @@
+package com.jgazula.easyresources.core.enhancedresourcebundle;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.lang.reflect.Type;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * A message pattern which is compiled at build time into its literal segments and argument slots, so that the
+ * generated code can append them to a {@link StringBuilder} instead of formatting the message with a
+ * {@link MessageFormat}. Only patterns whose format elements are all plain {@code {n}} elements of {@link String}
+ * arguments are compiled, since {@link MessageFormat} appends such arguments as they are. Any other format element
+ * (such as {@code {0,number}} or {@code {0,choice,...}}) depends on the locale or on the value of its argument, so
+ * such patterns are left to {@link MessageFormat}.
+ * <p>
+ * Quotes are resolved like {@link MessageFormat} does, and an argument may appear several times and in any order.
+ * Every compiled pattern is checked against {@link MessageFormat} before it is used, so that a pattern which the
+ * compiler would read differently is never compiled.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CompiledPattern {
+
+    private static final char QUOTE = '\'';
+    // the maximum number of digits of an argument index, far more than the arguments which a method can take
+    private static final int MAX_INDEX_DIGITS = 4;
+    // the expected length of every argument, by which the capacity of the StringBuilder is estimated
+    private static final int ARGUMENT_LENGTH = 16;
+
+    /**
+     * A segment of a compiled pattern: either a literal or the index of an argument.
+     */
+    @Value
+    public static class Segment {
+        String literal;
+        // the index of the argument, or -1 if the segment is a literal
+        int argument;
+
+        public boolean isArgument() {
+            return argument >= 0;
+        }
+    }
+
+    String pattern;
+    List<Segment> segments;
+
+    /**
+     * Compiles the given pattern of a method with the given argument types.
+     *
+     * @return the compiled pattern, or nothing if the pattern has to be formatted by {@link MessageFormat}
+     */
+    public static Optional<CompiledPattern> compile(String pattern, List<Type> argTypes) {
+        List<Segment> segments = new ArrayList<>();
+        var literal = new StringBuilder();
+        boolean inQuote = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == QUOTE) {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == QUOTE) {
+                    literal.append(QUOTE);
+                    i++;
+                } else {
+                    inQuote = !inQuote;
+                }
+            } else if (c == '{' && !inQuote) {
+                int end = pattern.indexOf('}', i + 1);
+                if (end < 0 || end == i + 1 || end - i - 1 > MAX_INDEX_DIGITS) {
+                    return Optional.empty();
+                }
+                int index = 0;
+                for (int j = i + 1; j < end; j++) {
+                    char digit = pattern.charAt(j);
+                    if (digit < '0' || digit > '9') {
+                        // a format type, a quote or a nested brace
+                        return Optional.empty();
+                    }
+                    index = index * 10 + digit - '0';
+                }
+                if (index >= argTypes.size() || argTypes.get(index) != String.class) {
+                    return Optional.empty();
+                }
+
+                if (literal.length() > 0) {
+                    segments.add(new Segment(literal.toString(), -1));
+                    literal.setLength(0);
+                }
+                segments.add(new Segment("", index));
+                i = end;
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0 || segments.isEmpty()) {
+            segments.add(new Segment(literal.toString(), -1));
+        }
+
+        var compiled = new CompiledPattern(pattern, Collections.unmodifiableList(segments));
+        return compiled.formatsLikeMessageFormat(argTypes.size()) ? Optional.of(compiled) : Optional.empty();
+    }
+
+    /**
+     * Returns whether the pattern has argument slots, i.e. whether it is not a constant.
+     */
+    public boolean hasArguments() {
+        return segments.stream().anyMatch(Segment::isArgument);
+    }
+
+    /**
+     * Returns the initial capacity of the {@link StringBuilder} which the message is formatted into: the length of
+     * the literals and an estimate of the length of every argument.
+     */
+    public int capacity() {
+        return segments.stream()
+                .mapToInt(segment -> segment.isArgument() ? ARGUMENT_LENGTH : segment.literal().length())
+                .sum();
+    }
+
+    /**
+     * Formats the message with the given arguments, like the generated code does.
+     */
+    String format(Object... args) {
+        var message = new StringBuilder(capacity());
+        for (Segment segment : segments) {
+            message.append(segment.isArgument() ? args[segment.argument()] : segment.literal());
+        }
+        return message.toString();
+    }
+
+    private boolean formatsLikeMessageFormat(int argCount) {
+        // arguments of private use characters, which cannot be confused with each other or with the literals
+        Object[] args = new Object[argCount];
+        for (int i = 0; i < argCount; i++) {
+            args[i] = (char) 0xE000 + Integer.toString(i) + (char) 0xE001;
+        }
+
+        try {
+            return new MessageFormat(pattern, Locale.ROOT).format(args).equals(format(args));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
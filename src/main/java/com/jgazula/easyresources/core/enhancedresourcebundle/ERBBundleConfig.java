@@ -9,6 +9,10 @@ import java.nio.file.Path;
 @Builder
 @Value
 public class ERBBundleConfig {
+    /**
+     * The directory of the resource bundle. A directory inside a jar or zip archive is written as
+     * {@code path/to/archive.jar!/path/in/archive}, and is read straight from the archive.
+     */
     @NonNull Path bundlePath;
     @NonNull String bundleName;
     @NonNull String generatedClassName;
@@ -12,12 +12,27 @@ public interface ERBClassGenerator extends ClassGenerator {
 
     /**
      * Adds a constructor and class fields which are necessary for the enhanced resource bundle functionality.
+     *
+     * @param formatsMessages whether any of the methods will have arguments, in which case the generated class
+     *                        caches the parsed pattern of every message which it formats
      */
-    ERBClassGenerator initialize();
+    ERBClassGenerator initialize(boolean formatsMessages);
 
     /**
      * Adds a method with the given argument types. This should also create the necessary statements within
      * the method to implement the enhanced resource bundle functionality.
+     *
+     * @throws IllegalStateException if the method has arguments, but the generator was initialized without
+     *                               formatting messages
      */
-    ERBClassGenerator addMethod(String key, String name, List<Type> argTypes);
+    default ERBClassGenerator addMethod(String key, String name, List<Type> argTypes) {
+        return addMethod(key, name, argTypes, List.of());
+    }
+
+    /**
+     * Adds a method like {@link #addMethod(String, String, List)} does, which formats a message that equals one of
+     * the given compiled patterns (the translations of the key) with specialized code instead of a
+     * {@link java.text.MessageFormat}. Any other message is still formatted by a {@link java.text.MessageFormat}.
+     */
+    ERBClassGenerator addMethod(String key, String name, List<Type> argTypes, List<CompiledPattern> compiledPatterns);
 }
@@ -0,0 +1,41 @@
+package com.jgazula.easyresources.core.enhancedresourcebundle;
+
+import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorFactory;
+import com.jgazula.easyresources.core.internal.generation.Generation;
+import com.jgazula.easyresources.core.internal.incremental.Fingerprinter;
+import com.jgazula.easyresources.core.internal.properties.CachingPropertiesReader;
+import com.jgazula.easyresources.core.internal.properties.PropertiesCache;
+import com.jgazula.easyresources.core.internal.properties.PropertiesParser;
+import com.jgazula.easyresources.core.internal.properties.PropertiesReader;
+
+import java.util.Objects;
+
+/**
+ * Creates the generators of {@link EnhancedResourceBundle}, both for the factories of the interface and for a
+ * {@link com.jgazula.easyresources.core.batch.GenerationBatch batch}, which plans them as a {@link Generation}.
+ * This class is not meant to be used outside of this library.
+ */
+public final class ERBGenerations {
+
+    private ERBGenerations() {
+    }
+
+    /**
+     * Creates a generator of the given configuration which can be planned as part of a batch.
+     */
+    public static Generation generation(ERBConfig config) {
+        Objects.requireNonNull(config, "config cannot be null when creating an EnhancedResourceBundle generation.");
+        return generator(config);
+    }
+
+    static ERBGenerator generator(ERBConfig config) {
+        return new ERBGenerator(config, new ClassGeneratorFactory(),
+                propertiesReader(config), new PropertiesParser(), new Fingerprinter());
+    }
+
+    private static PropertiesReader propertiesReader(ERBConfig config) {
+        return config.cacheParsedProperties()
+                ? new CachingPropertiesReader(config.parallelParsingThreshold(), PropertiesCache.shared())
+                : new PropertiesReader(config.parallelParsingThreshold());
+    }
+}
@@ -1,10 +1,33 @@
 package com.jgazula.easyresources.core.enhancedresourcebundle;
 
+import com.jgazula.easyresources.core.batch.GeneratedOutput;
+import com.jgazula.easyresources.core.batch.GenerationFingerprint;
+import com.jgazula.easyresources.core.batch.GeneratedOutput.Status;
 import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorConfig;
 import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorFactory;
+import com.jgazula.easyresources.core.internal.classgeneration.WriteResult;
+import com.jgazula.easyresources.core.internal.concurrent.TaskRunner;
+import com.jgazula.easyresources.core.internal.generation.Generation;
+import com.jgazula.easyresources.core.internal.generation.GenerationContext;
+import com.jgazula.easyresources.core.internal.generation.GenerationPlan;
+import com.jgazula.easyresources.core.internal.generation.OutputRecorder;
+import com.jgazula.easyresources.core.internal.incremental.Fingerprint;
+import com.jgazula.easyresources.core.internal.incremental.FingerprintStore;
+import com.jgazula.easyresources.core.internal.incremental.Fingerprinter;
+import com.jgazula.easyresources.core.internal.properties.InvalidPropertyKeyException;
 import com.jgazula.easyresources.core.internal.properties.PropertiesParser;
 import com.jgazula.easyresources.core.internal.properties.PropertiesReader;
+import com.jgazula.easyresources.core.internal.properties.ResourceBundleIndex;
+import com.jgazula.easyresources.core.internal.util.ArchiveFileSystems;
+import com.jgazula.easyresources.core.internal.util.GeneratorVersion;
 import com.jgazula.easyresources.core.internal.util.StringUtil;
+import com.jgazula.easyresources.core.internal.watch.InputWatcher;
+import com.jgazula.easyresources.core.internal.watch.WatchTarget;
+import com.jgazula.easyresources.core.metrics.GenerationPhase;
+import com.jgazula.easyresources.core.output.OutputSink;
+import com.jgazula.easyresources.core.util.GeneratorBackend;
+import com.jgazula.easyresources.core.util.ValidationException;
+import com.jgazula.easyresources.core.util.Watcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,111 +41,458 @@ import java.text.DecimalFormat;
 import java.text.Format;
 import java.text.MessageFormat;
 import java.text.NumberFormat;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
-import java.util.TreeMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.stream.IntStream;
 
-class ERBGenerator implements EnhancedResourceBundle {
+class ERBGenerator implements EnhancedResourceBundle, Generation {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ERBGenerator.class);
 
+    private static final String GENERATOR_NAME = "enhanced-resource-bundle";
+
+    /**
+     * The number of distinct message patterns which are remembered per bundle in streaming mode, which bounds the
+     * memory of messages which are kept.
+     */
+    private static final int STREAMING_PATTERN_CACHE_SIZE = 16 * 1024;
+
+    /**
+     * The number of string constants (patterns and their literals) from which no further patterns of a bundle are
+     * compiled, which keeps the constant pool of the generated class well below its limit of 65535 entries.
+     */
+    private static final int MAX_COMPILED_CONSTANTS = 16 * 1024;
+
+    /**
+     * The length from which a pattern is not compiled, since a string constant takes at most 65535 bytes.
+     */
+    private static final int MAX_COMPILED_PATTERN_LENGTH = 8 * 1024;
+
     private final ERBConfig config;
     private final ClassGeneratorFactory generatorFactory;
     private final PropertiesReader propertiesReader;
-    private final MessageFormat messageFormat;
     private final PropertiesParser propertiesParser;
+    private final Fingerprinter fingerprinter;
 
     ERBGenerator(ERBConfig config, ClassGeneratorFactory generatorFactory,
-                 PropertiesReader propertiesReader, MessageFormat messageFormat, PropertiesParser propertiesParser) {
+                 PropertiesReader propertiesReader, PropertiesParser propertiesParser, Fingerprinter fingerprinter) {
         this.config = config;
         this.generatorFactory = generatorFactory;
         this.propertiesReader = propertiesReader;
-        this.messageFormat = messageFormat;
         this.propertiesParser = propertiesParser;
+        this.fingerprinter = fingerprinter;
     }
 
     @Override
     public void generate() throws IOException {
-        if (config.bundleConfigs().isEmpty()) {
+        generate(config.bundleConfigs());
+    }
+
+    /**
+     * Generates the enhanced resource bundles of the given bundle configs and then regenerates them whenever
+     * any of their properties files change.
+     */
+    Watcher watch(Duration debounce) throws IOException {
+        Map<ERBBundleConfig, WatchTarget> targets = new LinkedHashMap<>();
+        for (ERBBundleConfig bundleConfig : config.bundleConfigs()) {
+            targets.put(bundleConfig, WatchTarget.directory(bundleConfig.bundlePath(),
+                    fileName -> ResourceBundleIndex.isBundleFile(fileName, bundleConfig.bundleName())));
+        }
+        return InputWatcher.start(targets, debounce, this::generate);
+    }
+
+    @Override
+    public GenerationPlan plan(GenerationContext context) throws IOException {
+        return plan(config.bundleConfigs(), context);
+    }
+
+    private void generate(List<ERBBundleConfig> bundleConfigs) throws IOException {
+        try (GenerationContext context = new GenerationContext(config.listeners());
+             TaskRunner taskRunner = TaskRunner.create(config.executor(), config.parallelism())) {
+            GenerationPlan plan = plan(bundleConfigs, context);
+            taskRunner.runAll(plan.tasks());
+            plan.complete();
+            context.complete();
+        }
+    }
+
+    private GenerationPlan plan(List<ERBBundleConfig> bundleConfigs, GenerationContext context) throws IOException {
+        if ((config.incremental() || config.pruneStaleOutputs()) && outputSink().directory().isEmpty()) {
+            throw new ValidationException("Incremental generation and pruning of stale outputs require an output "
+                    + "sink which writes to a directory");
+        }
+        if (config.compiledMessageFormats() && config.streaming()) {
+            throw new ValidationException("Compiled message formats require the translations of every bundle, "
+                    + "which are not kept in streaming mode");
+        }
+
+        if (bundleConfigs.isEmpty()) {
             LOGGER.warn("No resource bundles have been configured. Skipping constants file generation.");
-            return;
+            return new GenerationPlan(List.of(), () -> pruneStaleOutputs(context));
         }
 
-        for (ERBBundleConfig bundleConfig : config.bundleConfigs()) {
-            generateEnhancedResourceBundle(bundleConfig);
+        Optional<FingerprintStore> fingerprintStore = config.incremental()
+                ? Optional.of(FingerprintStore.load(config.destinationDir(), GENERATOR_NAME))
+                : Optional.empty();
+
+        List<List<Path>> bundleFiles = bundleFiles(bundleConfigs, context);
+        if (!config.streaming()) {
+            bundleFiles.forEach(files -> files.forEach(context::reserveProperties));
         }
+        List<TaskRunner.Task> tasks = new ArrayList<>(bundleConfigs.size());
+        for (int i = 0; i < bundleConfigs.size(); i++) {
+            ERBBundleConfig bundleConfig = bundleConfigs.get(i);
+            List<Path> files = bundleFiles.get(i);
+            tasks.add(() -> generateEnhancedResourceBundle(bundleConfig, files, context, fingerprintStore));
+        }
+        return new GenerationPlan(tasks, () -> {
+            if (fingerprintStore.isPresent()) {
+                fingerprintStore.get().save();
+            }
+            pruneStaleOutputs(context);
+        });
+    }
+
+    @Override
+    public GenerationFingerprint fingerprint() throws IOException {
+        Optional<FingerprintStore> fingerprintStore = config.incremental()
+                ? Optional.of(FingerprintStore.load(config.destinationDir(), GENERATOR_NAME))
+                : Optional.empty();
+
+        List<Fingerprint> fingerprints = new ArrayList<>(config.bundleConfigs().size());
+        Set<Path> inputFiles = new TreeSet<>();
+        try (GenerationContext context = new GenerationContext()) {
+            List<List<Path>> bundleFiles = bundleFiles(config.bundleConfigs(), context);
+            for (int i = 0; i < bundleFiles.size(); i++) {
+                ERBBundleConfig bundleConfig = config.bundleConfigs().get(i);
+                ClassGeneratorConfig poetConfig = classGeneratorConfig(bundleConfig);
+                // reuse the content hashes of the previous incremental run for the files which have not changed
+                fingerprints.add(fingerprinter.fingerprint(fingerprintConfig(poetConfig, bundleConfig),
+                        bundleFiles.get(i), fingerprintStore.flatMap(store -> store.get(
+                                poetConfig.qualifiedClassName()))));
+                for (Path file : bundleFiles.get(i)) {
+                    inputFiles.add(ArchiveFileSystems.containingFile(file));
+                }
+            }
+        }
+
+        return new GenerationFingerprint(fingerprinter.cacheKey(fingerprints), List.copyOf(inputFiles),
+                outputPaths());
+    }
+
+    /**
+     * Returns the files of each of the given bundles, in the same order as the bundles.
+     */
+    private List<List<Path>> bundleFiles(List<ERBBundleConfig> bundleConfigs, GenerationContext context)
+            throws IOException {
+        List<Path> bundlePaths = new ArrayList<>(bundleConfigs.size());
+        for (ERBBundleConfig bundleConfig : bundleConfigs) {
+            bundlePaths.add(context.resolve(bundleConfig.bundlePath()));
+        }
+
+        // list every bundle directory once, however many bundles share it
+        ResourceBundleIndex bundleIndex =
+                context.indexResourceBundles(bundlePaths, propertiesReader::indexResourceBundles);
+
+        List<List<Path>> bundleFiles = new ArrayList<>(bundleConfigs.size());
+        for (int i = 0; i < bundleConfigs.size(); i++) {
+            bundleFiles.add(bundleIndex.bundleFiles(bundlePaths.get(i), bundleConfigs.get(i).bundleName()));
+        }
+        return bundleFiles;
+    }
+
+    private void pruneStaleOutputs(GenerationContext context) throws IOException {
+        if (config.pruneStaleOutputs()) {
+            context.pruneStaleOutputs(config.destinationDir(), GENERATOR_NAME, outputPaths());
+        }
+    }
+
+    private List<Path> outputPaths() {
+        return config.bundleConfigs().stream()
+                .map(bundleConfig -> outputLocation(classGeneratorConfig(bundleConfig)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the sink to which the generated files are written.
+     */
+    private OutputSink outputSink() {
+        return config.outputSink() != null ? config.outputSink() : OutputSink.directory(config.destinationDir());
+    }
+
+    /**
+     * Returns the location of the generated file within the {@link #outputSink() sink}, which is a class file for
+     * the bytecode backend.
+     */
+    private Path outputLocation(ClassGeneratorConfig poetConfig) {
+        return config.backend() == GeneratorBackend.BYTECODE
+                ? outputSink().classLocation(poetConfig.packageName(), poetConfig.className())
+                : outputSink().location(poetConfig.packageName(), poetConfig.className());
     }
 
-    private void generateEnhancedResourceBundle(ERBBundleConfig bundleConfig) throws IOException {
+    private ClassGeneratorConfig classGeneratorConfig(ERBBundleConfig bundleConfig) {
+        return ClassGeneratorConfig.builder()
+                .generatedBy(config.generatedBy())
+                .packageName(bundleConfig.generatedPackageName())
+                .className(bundleConfig.generatedClassName())
+                .reproducible(config.reproducible())
+                .backend(config.backend())
+                .build();
+    }
+
+    /**
+     * @param bundleFiles the files of the bundle, sorted so that the same value always wins when a key is present
+     *                    in multiple files
+     */
+    private void generateEnhancedResourceBundle(ERBBundleConfig bundleConfig, List<Path> bundleFiles,
+                                                GenerationContext context,
+                                                Optional<FingerprintStore> fingerprintStore) throws IOException {
         LOGGER.debug("Generating enhanced resource bundle for {}", bundleConfig.bundlePath());
 
-        // Ensure the keys are sorted for deterministic ordering
-        // (which makes testing easier as well)
-        var properties = new TreeMap<String, String>();
-        try (Stream<Path> files =
-                     propertiesReader.getResourceBundlePropertyFiles(bundleConfig.bundlePath(), bundleConfig.bundleName())) {
-            files.forEach(path -> {
-                try {
-                    properties.putAll(propertiesReader.loadProperties(path));
-                } catch (IOException e) {
-                    throw new UncheckedIOException("Unable to load properties for file: " + path.toString(), e);
+        var poetConfig = classGeneratorConfig(bundleConfig);
+
+        String outputKey = poetConfig.qualifiedClassName();
+        Path outputPath = outputLocation(poetConfig);
+        var recorder = new OutputRecorder();
+        Fingerprint fingerprint = null;
+        if (fingerprintStore.isPresent()) {
+            FingerprintStore store = fingerprintStore.get();
+            long fingerprintStart = recorder.start();
+            fingerprint = fingerprinter.fingerprint(fingerprintConfig(poetConfig, bundleConfig), bundleFiles,
+                    store.get(outputKey));
+            boolean upToDate = store.isUpToDate(outputKey, fingerprint);
+            recorder.stop(GenerationPhase.FINGERPRINT, fingerprintStart);
+
+            if (upToDate) {
+                // still record the fingerprint so that touched (but unchanged) files are not hashed again next time
+                store.put(outputKey, fingerprint, store.outputs(outputKey));
+                if (!config.streaming()) {
+                    bundleFiles.forEach(context::releaseProperties);
                 }
-            });
+                LOGGER.info("Enhanced resource bundle for {} is up to date", bundleConfig.bundleName());
+                context.record(new GeneratedOutput(GENERATOR_NAME, outputKey, outputPath, Status.UP_TO_DATE),
+                        recorder);
+                return;
+            }
         }
 
-        if (properties.isEmpty()) {
+        // identical patterns are only parsed once per bundle
+        var patternAnalyzer = new PatternAnalyzer(config.parallelAnalysisThreshold(),
+                config.streaming() ? STREAMING_PATTERN_CACHE_SIZE : Integer.MAX_VALUE);
+        List<Map<String, String>> files = config.streaming()
+                ? List.of()
+                : loadProperties(bundleFiles, context, recorder);
+        KeySignatureTable signatures = config.streaming()
+                ? streamSignatures(bundleFiles, context, recorder, patternAnalyzer)
+                : loadSignatures(files, recorder, patternAnalyzer);
+        recorder.keys(signatures.size());
+        recorder.patterns(patternAnalyzer.patterns(), patternAnalyzer.parsedPatterns());
+        LOGGER.debug("Parsed {} of {} message patterns of resource bundle {}", patternAnalyzer.parsedPatterns(),
+                patternAnalyzer.patterns(), bundleConfig.bundleName());
+
+        if (signatures.size() == 0) {
             LOGGER.warn("The resource bundle {} at path {} is empty. Skipping enhancing of resource bundle.",
                     bundleConfig.bundleName(), bundleConfig.bundlePath());
+            context.record(new GeneratedOutput(GENERATOR_NAME, outputKey, outputPath, Status.SKIPPED), recorder);
         } else {
-            var poetConfig = ClassGeneratorConfig.builder()
-                    .generatedBy(config.generatedBy())
-                    .packageName(bundleConfig.generatedPackageName())
-                    .className(bundleConfig.generatedClassName())
-                    .build();
-            ERBClassGenerator classGenerator = generatorFactory.getERBClassGenerator(poetConfig);
-            classGenerator.initialize();
-
-            for (var entry : properties.entrySet()) {
-                generateForKey(classGenerator, entry.getKey(), entry.getValue());
+            long analyzeStart = recorder.start();
+            // the keys are sorted for deterministic ordering (which makes testing easier as well)
+            List<String> keys = signatures.sortedKeys();
+            List<String> methodNames;
+            try {
+                methodNames = propertiesParser.keysToMethodNames(keys);
+            } catch (InvalidPropertyKeyException e) {
+                throw new ValidationException("Invalid property key %s in resource bundle %s", e.key(),
+                        bundleConfig.bundleName());
+            }
+            List<List<CompiledPattern>> compiledPatterns = config.compiledMessageFormats()
+                    ? compilePatterns(keys, signatures, files, bundleConfig.bundleName())
+                    : Collections.nCopies(keys.size(), List.of());
+            recorder.stop(GenerationPhase.ANALYZE, analyzeStart);
+
+            long buildStart = recorder.start();
+            WriteResult writeResult;
+            try (ERBClassGenerator classGenerator = generatorFactory.getERBClassGenerator(poetConfig)) {
+                classGenerator.initialize(IntStream.range(0, keys.size())
+                        .anyMatch(i -> !signatures.signature(i).isEmpty()));
+                for (int i = 0; i < keys.size(); i++) {
+                    classGenerator.addMethod(keys.get(i), methodNames.get(i), signatures.signature(i),
+                            compiledPatterns.get(i));
+                }
+                recorder.stop(GenerationPhase.BUILD, buildStart);
+
+                long writeStart = recorder.start();
+                writeResult = classGenerator.write(outputSink());
+                recorder.stop(GenerationPhase.WRITE, writeStart);
             }
+            if (writeResult.written()) {
+                recorder.written(writeResult.bytes());
+                LOGGER.debug("Wrote enhanced resource bundle to {}", writeResult.path());
+                LOGGER.info("Generated enhanced resource bundle for {}", bundleConfig.bundleName());
+            } else {
+                LOGGER.info("Enhanced resource bundle for {} is unchanged", bundleConfig.bundleName());
+            }
+            context.record(new GeneratedOutput(GENERATOR_NAME, outputKey, writeResult.path(),
+                    writeResult.written() ? Status.GENERATED : Status.UNCHANGED), recorder);
 
-            Path writtenPath = classGenerator.write(config.destinationDir());
-            LOGGER.debug("Wrote enhanced resource bundle to {}", writtenPath);
-            LOGGER.info("Generated enhanced resource bundle for {}", bundleConfig.bundleName());
+            if (fingerprintStore.isPresent() && fingerprint != null) {
+                fingerprintStore.get().put(outputKey, fingerprint, List.of(writeResult.path()));
+            }
         }
     }
 
-    private void generateForKey(ERBClassGenerator classGenerator, String key, String value) {
-        messageFormat.applyPattern(value);
-        var formats = messageFormat.getFormatsByArgumentIndex();
+    /**
+     * Loads all the files of the bundle, sharing them with the other outputs of the run.
+     */
+    private List<Map<String, String>> loadProperties(List<Path> bundleFiles, GenerationContext context,
+                                                     OutputRecorder recorder) {
+        long readStart = recorder.start();
+        List<Map<String, String>> files = new ArrayList<>(bundleFiles.size());
+        for (Path path : bundleFiles) {
+            try {
+                files.add(context.loadProperties(path, file -> {
+                    recorder.read(file);
+                    return propertiesReader.loadProperties(file);
+                }));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to load properties for file: " + path.toString(), e);
+            }
+        }
+        recorder.stop(GenerationPhase.READ, readStart);
+        return files;
+    }
 
-        var argTypes = Arrays.stream(formats)
-                .map(this::mapFormatToArgType)
-                .collect(Collectors.toList());
-        classGenerator.addMethod(key, propertiesParser.keyToMethodName(key), argTypes);
+    /**
+     * Analyses the message of every key which wins among the loaded files of the bundle.
+     */
+    private static KeySignatureTable loadSignatures(List<Map<String, String>> files, OutputRecorder recorder,
+                                                    PatternAnalyzer patternAnalyzer) {
+        long analyzeStart = recorder.start();
+        var properties = new HashMap<String, String>();
+        files.forEach(properties::putAll);
+        List<String> keys = new ArrayList<>(properties.keySet());
+        List<String> messages = new ArrayList<>(properties.values());
+        var signatures = new KeySignatureTable();
+        put(signatures, 0, keys, patternAnalyzer.analyze(messages));
+        recorder.stop(GenerationPhase.ANALYZE, analyzeStart);
+        return signatures;
+    }
+
+    /**
+     * Streams the files of the bundle from the one with the highest precedence (the last one) to the one with
+     * the lowest, analysing the messages of each file once it has been read so that only the keys and their
+     * signatures are kept. A message whose key has already been seen in a file of higher precedence is not
+     * analysed at all.
+     */
+    private KeySignatureTable streamSignatures(List<Path> bundleFiles, GenerationContext context,
+                                               OutputRecorder recorder, PatternAnalyzer patternAnalyzer) {
+        var signatures = new KeySignatureTable();
+        for (int source = bundleFiles.size() - 1; source >= 0; source--) {
+            Path path = bundleFiles.get(source);
+            int fileSource = source;
+            List<String> keys = new ArrayList<>();
+            List<String> messages = new ArrayList<>();
+
+            long readStart = recorder.start();
+            try {
+                context.streamProperties(path, file -> {
+                    recorder.read(file);
+                    propertiesReader.streamProperties(file, (key, message) -> {
+                        if (signatures.accepts(key, fileSource)) {
+                            keys.add(key);
+                            messages.add(message);
+                        }
+                    });
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to load properties for file: " + path.toString(), e);
+            }
+            recorder.stop(GenerationPhase.READ, readStart);
+
+            long analyzeStart = recorder.start();
+            put(signatures, fileSource, keys, patternAnalyzer.analyze(messages));
+            recorder.stop(GenerationPhase.ANALYZE, analyzeStart);
+        }
+        return signatures;
     }
 
-    private Type mapFormatToArgType(Format format) {
-        if (format instanceof NumberFormat) {
-            if (format instanceof DecimalFormat) {
-                var decimalFormat = (DecimalFormat) format;
-                if (!StringUtil.isNullOrEmpty(decimalFormat.getPositivePrefix()) ||
-                        !StringUtil.isNullOrEmpty(decimalFormat.getPositiveSuffix())) {
-                    // assume either percent or currency
-                    return BigDecimal.class;
+    /**
+     * Compiles the distinct patterns of every key with arguments, in the order of the files of the bundle. The
+     * patterns which cannot be compiled, and those beyond the budget of constants, are left to
+     * {@link java.text.MessageFormat}.
+     *
+     * @return the compiled patterns of every key, in the same order as the keys
+     */
+    private static List<List<CompiledPattern>> compilePatterns(List<String> keys, KeySignatureTable signatures,
+                                                               List<Map<String, String>> files, String bundleName) {
+        List<List<CompiledPattern>> compiledPatterns = new ArrayList<>(keys.size());
+        int constants = 0;
+        boolean exhausted = false;
+        for (int i = 0; i < keys.size(); i++) {
+            List<Type> signature = signatures.signature(i);
+            Set<String> patterns = new LinkedHashSet<>();
+            for (Map<String, String> file : signature.isEmpty() ? List.<Map<String, String>>of() : files) {
+                String pattern = file.get(keys.get(i));
+                if (pattern != null && pattern.length() <= MAX_COMPILED_PATTERN_LENGTH) {
+                    patterns.add(pattern);
                 }
             }
 
-            // treat all other number formats as int
-            return int.class;
-        } else if (format instanceof DateFormat) {
-            // treat it as a Date
-            return Date.class;
-        } else {
-            // treat it as a String
-            return String.class;
+            List<CompiledPattern> compiled = new ArrayList<>();
+            for (String pattern : patterns) {
+                Optional<CompiledPattern> compiledPattern = CompiledPattern.compile(pattern, signature);
+                if (compiledPattern.isEmpty()) {
+                    continue;
+                }
+                int patternConstants = 1 + compiledPattern.get().segments().size();
+                if (constants + patternConstants > MAX_COMPILED_CONSTANTS) {
+                    exhausted = true;
+                    break;
+                }
+                constants += patternConstants;
+                compiled.add(compiledPattern.get());
+            }
+            compiledPatterns.add(compiled);
+        }
+
+        if (exhausted) {
+            LOGGER.warn("The resource bundle {} has too many message patterns to compile them all. The remaining "
+                    + "patterns are formatted by MessageFormat.", bundleName);
+        }
+        return compiledPatterns;
+    }
+
+    private static void put(KeySignatureTable signatures, int source, List<String> keys, List<List<Type>> argTypes) {
+        for (int i = 0; i < keys.size(); i++) {
+            signatures.put(keys.get(i), source, argTypes.get(i));
         }
     }
+
+    /**
+     * Describes every setting which affects the generated file, so that changing any of them regenerates it.
+     */
+    private String fingerprintConfig(ClassGeneratorConfig poetConfig, ERBBundleConfig bundleConfig) {
+        return String.join("|", GENERATOR_NAME, GeneratorVersion.VERSION, poetConfig.generatedBy(),
+                poetConfig.qualifiedClassName(), Boolean.toString(poetConfig.reproducible()),
+                bundleConfig.bundleName(), Boolean.toString(config.compiledMessageFormats()),
+                Boolean.toString(config.streaming()), config.backend().name(), sinkDirectory());
+    }
+
+    private String sinkDirectory() {
+        return outputSink().directory().map(directory -> directory.toAbsolutePath().normalize().toString())
+                .orElse("");
+    }
 }
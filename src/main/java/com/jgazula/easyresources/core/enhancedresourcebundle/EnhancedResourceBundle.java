@@ -1,12 +1,10 @@
 package com.jgazula.easyresources.core.enhancedresourcebundle;
 
-import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorFactory;
-import com.jgazula.easyresources.core.internal.properties.PropertiesParser;
-import com.jgazula.easyresources.core.internal.properties.PropertiesReader;
-import com.jgazula.easyresources.core.internal.util.FileUtil;
+import com.jgazula.easyresources.core.batch.GenerationFingerprint;
+import com.jgazula.easyresources.core.util.Watcher;
 
 import java.io.IOException;
-import java.text.MessageFormat;
+import java.time.Duration;
 import java.util.Objects;
 
 /**
@@ -26,7 +24,36 @@ public interface EnhancedResourceBundle {
      */
     static EnhancedResourceBundle create(ERBConfig config) {
         Objects.requireNonNull(config, "config cannot be null when creating a EnhancedResourceBundle instance.");
-        return new ERBGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(),
-                new MessageFormat(""), new PropertiesParser());
+        return ERBGenerations.generator(config);
+    }
+
+    /**
+     * Generates the enhanced resource bundles and then keeps watching the resource bundles of the given
+     * configuration on a background thread. Whenever a file of a bundle changes, only that bundle is regenerated.
+     * The returned watcher must be closed to stop watching (which also happens when the JVM shuts down).
+     */
+    static Watcher watch(ERBConfig config) throws IOException {
+        return watch(config, Watcher.DEFAULT_DEBOUNCE);
+    }
+
+    /**
+     * Like {@link #watch(ERBConfig)}, but waits for the given time after a change for
+     * further changes before regenerating.
+     */
+    static Watcher watch(ERBConfig config, Duration debounce) throws IOException {
+        Objects.requireNonNull(config, "config cannot be null when watching a EnhancedResourceBundle instance.");
+        Objects.requireNonNull(debounce, "debounce cannot be null when watching a EnhancedResourceBundle instance.");
+        return ERBGenerations.generator(config).watch(debounce);
+    }
+
+    /**
+     * Describes the inputs and outputs of the given configuration without generating anything: a cache key of the
+     * configuration and the input files, the input files themselves and the files which would be generated.
+     * This only reads the attributes of the inputs and hashes their contents (and for an incremental configuration,
+     * only the contents of the inputs which have changed since the previous run).
+     */
+    static GenerationFingerprint fingerprint(ERBConfig config) throws IOException {
+        Objects.requireNonNull(config, "config cannot be null when fingerprinting an EnhancedResourceBundle instance.");
+        return ERBGenerations.generator(config).fingerprint();
     }
 }
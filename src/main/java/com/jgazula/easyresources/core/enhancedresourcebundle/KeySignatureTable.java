@@ -0,0 +1,149 @@
+package com.jgazula.easyresources.core.enhancedresourcebundle;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The keys of a resource bundle along with the argument types (signature) of each key's message. Only the keys
+ * and signatures are kept, not the messages themselves, so the size of the table depends on the number of keys
+ * alone, however many files of the bundle define them.
+ * <p>
+ * The keys are kept in an open addressing hash table of parallel arrays, and the signatures are interned (a bundle
+ * has few distinct signatures), so every key costs one reference and two ints rather than a map entry, a boxed
+ * value and a list. Not thread-safe.
+ */
+class KeySignatureTable {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private int[] signatureIds = new int[INITIAL_CAPACITY];
+    private int[] sources = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private final List<List<Type>> signatures = new ArrayList<>();
+    private final Map<List<Type>, Integer> signatureIndex = new HashMap<>();
+
+    private String[] sortedKeys = new String[0];
+    private int[] sortedSignatureIds = new int[0];
+    private boolean sorted = true;
+
+    /**
+     * Checks if a message of the given key from the given source would be put, i.e. unless the key has already been
+     * put from a different source. The sources are therefore expected in decreasing order of precedence, while
+     * within a source the last message of a key wins.
+     *
+     * @param source identifies the file which the message is read from
+     */
+    boolean accepts(String key, int source) {
+        int slot = slot(keys, key);
+        return keys[slot] == null || sources[slot] == source;
+    }
+
+    /**
+     * Puts the signature of the given key from the given source, which must be {@link #accepts(String, int)
+     * accepted}.
+     */
+    void put(String key, int source, List<Type> signature) {
+        int slot = slot(keys, key);
+        signatureIds[slot] = intern(signature);
+        if (keys[slot] == null) {
+            keys[slot] = key;
+            sources[slot] = source;
+            size++;
+            sorted = false;
+            if (size * 4 > keys.length * 3) {
+                grow();
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the keys in their natural order.
+     */
+    List<String> sortedKeys() {
+        sort();
+        return Collections.unmodifiableList(Arrays.asList(sortedKeys));
+    }
+
+    /**
+     * Returns the signature of the key at the given index of {@link #sortedKeys()}.
+     */
+    List<Type> signature(int sortedIndex) {
+        sort();
+        return signatures.get(sortedSignatureIds[sortedIndex]);
+    }
+
+    private void sort() {
+        if (sorted) {
+            return;
+        }
+
+        sortedKeys = new String[size];
+        int count = 0;
+        for (String key : keys) {
+            if (key != null) {
+                sortedKeys[count++] = key;
+            }
+        }
+        Arrays.sort(sortedKeys);
+
+        sortedSignatureIds = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedSignatureIds[i] = signatureIds[slot(keys, sortedKeys[i])];
+        }
+        sorted = true;
+    }
+
+    private int intern(List<Type> signature) {
+        Integer id = signatureIndex.get(signature);
+        if (id == null) {
+            id = signatures.size();
+            List<Type> copy = List.copyOf(signature);
+            signatures.add(copy);
+            signatureIndex.put(copy, id);
+        }
+        return id;
+    }
+
+    private void grow() {
+        String[] oldKeys = keys;
+        int[] oldSignatureIds = signatureIds;
+        int[] oldSources = sources;
+
+        keys = new String[oldKeys.length * 2];
+        signatureIds = new int[keys.length];
+        sources = new int[keys.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = slot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                signatureIds[slot] = oldSignatureIds[i];
+                sources[slot] = oldSources[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the slot of the given key in the given table (whose length is a power of two), or else the empty slot
+     * where it belongs.
+     */
+    private static int slot(String[] table, String key) {
+        int mask = table.length - 1;
+        int hash = key.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (table[slot] != null && !table[slot].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,169 @@
+package com.jgazula.easyresources.core.enhancedresourcebundle;
+
+import com.jgazula.easyresources.core.internal.util.StringUtil;
+import com.jgazula.easyresources.core.util.ValidationException;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.Format;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Infers the argument types of message patterns. Identical patterns (such as the same message in several files, or
+ * a pattern shared by several keys) are parsed only once, and a pattern without any format element is not parsed at
+ * all. Large batches of patterns are analysed in parallel on the common fork-join pool, each worker with its own
+ * {@link MessageFormat} (which is not thread-safe). Thread-safe.
+ */
+class PatternAnalyzer {
+
+    /**
+     * The default number of patterns from which a batch is analysed in parallel.
+     */
+    static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+
+    private static final int LEAF_SIZE = 512;
+
+    private final int parallelThreshold;
+    private final int maximumCacheSize;
+    private final Map<String, List<Type>> cache = new ConcurrentHashMap<>();
+    private final LongAdder patterns = new LongAdder();
+    private final LongAdder parsedPatterns = new LongAdder();
+
+    /**
+     * @param parallelThreshold the number of patterns from which a batch is analysed in parallel
+     * @param maximumCacheSize  the number of distinct patterns from which the cache of parsed patterns is cleared
+     */
+    PatternAnalyzer(int parallelThreshold, int maximumCacheSize) {
+        if (parallelThreshold < 1) {
+            throw new ValidationException("Parallel analysis threshold must be at least 1 but was %s",
+                    Integer.toString(parallelThreshold));
+        }
+        this.parallelThreshold = parallelThreshold;
+        this.maximumCacheSize = maximumCacheSize;
+    }
+
+    /**
+     * Returns the argument types of each of the given patterns, in the same order as the patterns.
+     */
+    List<List<Type>> analyze(List<String> patterns) {
+        List<List<Type>> argTypes = new ArrayList<>(Collections.nCopies(patterns.size(), List.of()));
+        if (patterns.size() < parallelThreshold) {
+            analyze(patterns, argTypes, 0, patterns.size());
+        } else {
+            ForkJoinPool.commonPool().invoke(new AnalysisTask(patterns, argTypes, 0, patterns.size()));
+        }
+        return argTypes;
+    }
+
+    /**
+     * Returns the number of patterns which have been analysed.
+     */
+    long patterns() {
+        return patterns.sum();
+    }
+
+    /**
+     * Returns the number of patterns which actually had to be parsed.
+     */
+    long parsedPatterns() {
+        return parsedPatterns.sum();
+    }
+
+    private void analyze(List<String> patterns, List<List<Type>> argTypes, int from, int to) {
+        var messageFormat = new MessageFormat("");
+        for (int i = from; i < to; i++) {
+            argTypes.set(i, analyze(patterns.get(i), messageFormat));
+        }
+    }
+
+    private List<Type> analyze(String pattern, MessageFormat messageFormat) {
+        patterns.increment();
+        if (pattern.indexOf('{') < 0) {
+            // without a format element there are no arguments
+            return List.of();
+        }
+
+        List<Type> cached = cache.get(pattern);
+        if (cached != null) {
+            return cached;
+        }
+        if (cache.size() >= maximumCacheSize) {
+            cache.clear();
+        }
+        return cache.computeIfAbsent(pattern, key -> {
+            parsedPatterns.increment();
+            messageFormat.applyPattern(key);
+            return Arrays.stream(messageFormat.getFormatsByArgumentIndex())
+                    .map(PatternAnalyzer::mapFormatToArgType)
+                    .collect(Collectors.toUnmodifiableList());
+        });
+    }
+
+    private static Type mapFormatToArgType(Format format) {
+        if (format instanceof NumberFormat) {
+            if (format instanceof DecimalFormat) {
+                var decimalFormat = (DecimalFormat) format;
+                if (!StringUtil.isNullOrEmpty(decimalFormat.getPositivePrefix()) ||
+                        !StringUtil.isNullOrEmpty(decimalFormat.getPositiveSuffix())) {
+                    // assume either percent or currency
+                    return BigDecimal.class;
+                }
+            }
+
+            // treat all other number formats as int
+            return int.class;
+        } else if (format instanceof DateFormat) {
+            // treat it as a Date
+            return Date.class;
+        } else {
+            // treat it as a String
+            return String.class;
+        }
+    }
+
+    /**
+     * Analyses a range of patterns, splitting it in halves until the ranges are small enough. Every range writes
+     * to its own indexes of the results, so the results are in the order of the patterns however they are split.
+     */
+    private final class AnalysisTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<String> patterns;
+        private final transient List<List<Type>> argTypes;
+        private final int from;
+        private final int to;
+
+        AnalysisTask(List<String> patterns, List<List<Type>> argTypes, int from, int to) {
+            this.patterns = patterns;
+            this.argTypes = argTypes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                analyze(patterns, argTypes, from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new AnalysisTask(patterns, argTypes, from, middle),
+                        new AnalysisTask(patterns, argTypes, middle, to));
+            }
+        }
+    }
+}
@@ -4,19 +4,28 @@ import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorCon
 import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorVariable;
 import com.jgazula.easyresources.core.internal.classgeneration.PoetClassGenerator;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 
 import javax.lang.model.element.Modifier;
 import java.lang.reflect.Type;
 import java.text.MessageFormat;
 import java.util.List;
+import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
  * This implementation generates an enhanced resource bundle Java file using the JavaPoet library.
+ * <p>
+ * The pattern of every key with arguments is parsed only once per instance of the generated class: the first call
+ * caches a {@link MessageFormat} prototype in a {@link ConcurrentHashMap}, and every call formats with a clone of it,
+ * since a {@link MessageFormat} is not thread-safe. Looking up the prototype takes no lock, and a race between two
+ * first calls at worst parses the pattern twice.
  */
 public class PoetERBClassGenerator extends PoetClassGenerator implements ERBClassGenerator {
 
@@ -24,21 +33,68 @@ public class PoetERBClassGenerator extends PoetClassGenerator implements ERBClas
     private static final String ARGUMENT_NAME = "arg";
     private static final String MESSAGE_VARIABLE_NAME = "message";
     private static final String MESSAGE_ARGUMENTS_VARIABLE_NAME = "messageArguments";
+    static final String MESSAGE_FORMATS_VARIABLE_NAME = "messageFormats";
+    // the parameters of the method differ from those of every generated method (whose arguments are never locales),
+    // so that it cannot clash with the method of a key such as "message.format"
+    static final String MESSAGE_FORMAT_METHOD_NAME = "messageFormat";
+    static final String KEY_VARIABLE_NAME = "key";
+    static final String LOCALE_VARIABLE_NAME = "locale";
+    static final String PROTOTYPE_VARIABLE_NAME = "prototype";
+
+    private boolean formatsMessages;
 
     public PoetERBClassGenerator(ClassGeneratorConfig config) {
         super(config);
     }
 
     @Override
-    public ERBClassGenerator initialize() {
+    public ERBClassGenerator initialize(boolean formatsMessages) {
+        this.formatsMessages = formatsMessages;
         var resourceBundleVar = new ClassGeneratorVariable(ResourceBundle.class, RESOURCE_BUNDLE_VARIABLE_NAME);
         addPrivateFinalField(resourceBundleVar);
-        addConstructorWithArgs(List.of(resourceBundleVar));
+        if (!formatsMessages) {
+            addConstructorWithArgs(List.of(resourceBundleVar));
+            return this;
+        }
+
+        addFieldSpec(FieldSpec.builder(ParameterizedTypeName.get(ConcurrentHashMap.class, String.class,
+                        MessageFormat.class), MESSAGE_FORMATS_VARIABLE_NAME)
+                .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+                .build());
+
+        addMethodSpec(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(ResourceBundle.class, RESOURCE_BUNDLE_VARIABLE_NAME)
+                .addStatement("this.$N = $N", RESOURCE_BUNDLE_VARIABLE_NAME, RESOURCE_BUNDLE_VARIABLE_NAME)
+                .addStatement("this.$N = new $T<>()", MESSAGE_FORMATS_VARIABLE_NAME, ConcurrentHashMap.class)
+                .build());
+
+        addMethodSpec(MethodSpec.methodBuilder(MESSAGE_FORMAT_METHOD_NAME)
+                .addModifiers(Modifier.PRIVATE)
+                .returns(MessageFormat.class)
+                .addParameter(String.class, KEY_VARIABLE_NAME)
+                .addParameter(Locale.class, LOCALE_VARIABLE_NAME)
+                .addStatement("$T $N = this.$N.get($N)", MessageFormat.class, PROTOTYPE_VARIABLE_NAME,
+                        MESSAGE_FORMATS_VARIABLE_NAME, KEY_VARIABLE_NAME)
+                .beginControlFlow("if ($N == null)", PROTOTYPE_VARIABLE_NAME)
+                .addStatement("$N = new $T(this.$N.getString($N), $N)", PROTOTYPE_VARIABLE_NAME, MessageFormat.class,
+                        RESOURCE_BUNDLE_VARIABLE_NAME, KEY_VARIABLE_NAME, LOCALE_VARIABLE_NAME)
+                .addStatement("this.$N.putIfAbsent($N, $N)", MESSAGE_FORMATS_VARIABLE_NAME, KEY_VARIABLE_NAME,
+                        PROTOTYPE_VARIABLE_NAME)
+                .endControlFlow()
+                .addStatement("return ($T) $N.clone()", MessageFormat.class, PROTOTYPE_VARIABLE_NAME)
+                .build());
         return this;
     }
 
     @Override
-    public ERBClassGenerator addMethod(String key, String name, List<Type> argTypes) {
+    public ERBClassGenerator addMethod(String key, String name, List<Type> argTypes,
+                                       List<CompiledPattern> compiledPatterns) {
+        if (!argTypes.isEmpty() && !formatsMessages) {
+            throw new IllegalStateException("Unable to add the method " + name
+                    + " with arguments to a class which does not format messages");
+        }
+
         List<ParameterSpec> params = IntStream.range(0, argTypes.size())
                 .mapToObj(i -> ParameterSpec.builder(argTypes.get(i), ARGUMENT_NAME + i).build())
                 .collect(Collectors.toList());
@@ -46,25 +102,56 @@ public class PoetERBClassGenerator extends PoetClassGenerator implements ERBClas
         MethodSpec.Builder builder = MethodSpec.methodBuilder(name)
                 .addModifiers(Modifier.PUBLIC)
                 .returns(String.class)
-                .addParameters(params)
-                .addStatement("$T $N = this.$N.getString($S)", String.class, MESSAGE_VARIABLE_NAME,
-                        RESOURCE_BUNDLE_VARIABLE_NAME, key);
+                .addParameters(params);
 
         if (params.isEmpty()) {
-            builder.addStatement("return $N", MESSAGE_VARIABLE_NAME);
+            builder.addStatement("$T $N = this.$N.getString($S)", String.class, MESSAGE_VARIABLE_NAME,
+                            RESOURCE_BUNDLE_VARIABLE_NAME, key)
+                    .addStatement("return $N", MESSAGE_VARIABLE_NAME);
         } else {
+            if (!compiledPatterns.isEmpty()) {
+                builder.addStatement("$T $N = this.$N.getString($S)", String.class, MESSAGE_VARIABLE_NAME,
+                        RESOURCE_BUNDLE_VARIABLE_NAME, key);
+                for (CompiledPattern compiledPattern : compiledPatterns) {
+                    builder.beginControlFlow("if ($N.equals($S))", MESSAGE_VARIABLE_NAME, compiledPattern.pattern())
+                            .addStatement("return $L", format(compiledPattern))
+                            .endControlFlow();
+                }
+            }
+
             List<CodeBlock> args = params.stream()
                     .map(param -> CodeBlock.of("$L", param.name))
                     .collect(Collectors.toList());
 
             builder.addStatement("$T $N = {$L}", Object[].class, MESSAGE_ARGUMENTS_VARIABLE_NAME,
                             CodeBlock.join(args, ", "))
-                    .addStatement("return new $T($N, this.$N.getLocale()).format($N)", MessageFormat.class,
-                            MESSAGE_VARIABLE_NAME, RESOURCE_BUNDLE_VARIABLE_NAME, MESSAGE_ARGUMENTS_VARIABLE_NAME);
+                    .addStatement("return $N($S, this.$N.getLocale()).format($N)", MESSAGE_FORMAT_METHOD_NAME, key,
+                            RESOURCE_BUNDLE_VARIABLE_NAME, MESSAGE_ARGUMENTS_VARIABLE_NAME);
         }
 
         MethodSpec methodSpec = builder.build();
         addMethodSpec(methodSpec);
         return this;
     }
+
+    /**
+     * Returns the expression which formats the given compiled pattern: its literal if it has no arguments, and
+     * otherwise a chain of {@link StringBuilder#append(String) appends} of its segments.
+     */
+    private static CodeBlock format(CompiledPattern compiledPattern) {
+        if (!compiledPattern.hasArguments()) {
+            return CodeBlock.of("$S", compiledPattern.segments().get(0).literal());
+        }
+
+        CodeBlock.Builder format = CodeBlock.builder()
+                .add("new $T($L)", StringBuilder.class, compiledPattern.capacity());
+        for (CompiledPattern.Segment segment : compiledPattern.segments()) {
+            if (segment.isArgument()) {
+                format.add(".append($N)", ARGUMENT_NAME + segment.argument());
+            } else {
+                format.add(".append($S)", segment.literal());
+            }
+        }
+        return format.add(".toString()").build();
+    }
 }
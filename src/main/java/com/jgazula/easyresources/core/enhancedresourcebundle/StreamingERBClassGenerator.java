@@ -0,0 +1,177 @@
+package com.jgazula.easyresources.core.enhancedresourcebundle;
+
+import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorConfig;
+import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorVariable;
+import com.jgazula.easyresources.core.internal.classgeneration.JavaSourceWriter;
+import com.jgazula.easyresources.core.internal.classgeneration.StreamingClassGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This implementation writes an enhanced resource bundle Java file with the {@link StreamingClassGenerator}. The
+ * methods are identical to those of the {@link PoetERBClassGenerator}.
+ */
+public class StreamingERBClassGenerator extends StreamingClassGenerator implements ERBClassGenerator {
+
+    private static final String ARGUMENT_NAME = "arg";
+    private static final String MESSAGE_VARIABLE_NAME = "message";
+    private static final String MESSAGE_ARGUMENTS_VARIABLE_NAME = "messageArguments";
+    private static final String RESOURCE_BUNDLE_FIELD = "this." + PoetERBClassGenerator.RESOURCE_BUNDLE_VARIABLE_NAME;
+    private static final String MESSAGE_FORMATS_FIELD = "this." + PoetERBClassGenerator.MESSAGE_FORMATS_VARIABLE_NAME;
+    private static final String KEY = PoetERBClassGenerator.KEY_VARIABLE_NAME;
+    private static final String LOCALE = PoetERBClassGenerator.LOCALE_VARIABLE_NAME;
+    private static final String PROTOTYPE = PoetERBClassGenerator.PROTOTYPE_VARIABLE_NAME;
+    private static final String FORMAT_SUFFIX = ", " + RESOURCE_BUNDLE_FIELD + ".getLocale()).format("
+            + MESSAGE_ARGUMENTS_VARIABLE_NAME + ");\n";
+
+    private final String className;
+    private boolean formatsMessages;
+
+    // precompiled templates of the methods, which are built on first use so that types are only imported if needed
+    private String methodPrefix = "";
+    private String getStringPrefix = "";
+    private String argumentsPrefix = "";
+
+    public StreamingERBClassGenerator(ClassGeneratorConfig config) {
+        super(config);
+        this.className = config.className();
+    }
+
+    @Override
+    public ERBClassGenerator initialize(boolean formatsMessages) {
+        this.formatsMessages = formatsMessages;
+        var resourceBundleVar = new ClassGeneratorVariable(ResourceBundle.class,
+                PoetERBClassGenerator.RESOURCE_BUNDLE_VARIABLE_NAME);
+        addPrivateFinalField(resourceBundleVar);
+        if (!formatsMessages) {
+            addConstructorWithArgs(List.of(resourceBundleVar));
+            return this;
+        }
+
+        try {
+            String resourceBundleName = typeName(ResourceBundle.class);
+            String messageFormatName = typeName(MessageFormat.class);
+            String stringName = typeName(String.class);
+            beginMember(Member.FIELD).emit("private final " + typeName(ConcurrentHashMap.class) + "<" + stringName
+                    + ", " + messageFormatName + "> " + PoetERBClassGenerator.MESSAGE_FORMATS_VARIABLE_NAME + ";\n");
+
+            JavaSourceWriter constructor = beginMember(Member.CONSTRUCTOR)
+                    .emit("public " + className + "(")
+                    .zeroWidthSpace()
+                    .emit(resourceBundleName + " " + PoetERBClassGenerator.RESOURCE_BUNDLE_VARIABLE_NAME)
+                    .emit(")").emit(" {\n").indent();
+            emitStatement(constructor, RESOURCE_BUNDLE_FIELD + " = "
+                    + PoetERBClassGenerator.RESOURCE_BUNDLE_VARIABLE_NAME + ";\n");
+            emitStatement(constructor, MESSAGE_FORMATS_FIELD + " = new " + typeName(ConcurrentHashMap.class)
+                    + "<>();\n");
+            constructor.unindent().emit("}\n");
+
+            JavaSourceWriter method = beginMember(Member.METHOD)
+                    .emit("private " + messageFormatName + " " + PoetERBClassGenerator.MESSAGE_FORMAT_METHOD_NAME + "(")
+                    .zeroWidthSpace()
+                    .emit(stringName + " " + KEY)
+                    .emit(",").wrappingSpace()
+                    .emit(typeName(Locale.class) + " " + LOCALE)
+                    .emit(")").emit(" {\n").indent();
+            emitStatement(method, messageFormatName + " " + PROTOTYPE + " = " + MESSAGE_FORMATS_FIELD + ".get(" + KEY
+                    + ");\n");
+            method.emit("if (" + PROTOTYPE + " == null) {\n").indent();
+            emitStatement(method, PROTOTYPE + " = new " + messageFormatName + "(" + RESOURCE_BUNDLE_FIELD
+                    + ".getString(" + KEY + "), " + LOCALE + ");\n");
+            emitStatement(method, MESSAGE_FORMATS_FIELD + ".putIfAbsent(" + KEY + ", " + PROTOTYPE + ");\n");
+            method.unindent().emit("}\n");
+            emitStatement(method, "return (" + messageFormatName + ") " + PROTOTYPE + ".clone();\n");
+            method.unindent().emit("}\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public ERBClassGenerator addMethod(String key, String name, List<Type> argTypes,
+                                       List<CompiledPattern> compiledPatterns) {
+        checkName(name);
+        if (!argTypes.isEmpty() && !formatsMessages) {
+            throw new IllegalStateException("Unable to add the method " + name
+                    + " with arguments to a class which does not format messages");
+        }
+        try {
+            if (methodPrefix.isEmpty()) {
+                String stringName = typeName(String.class);
+                methodPrefix = "public " + stringName + " ";
+                getStringPrefix = stringName + " " + MESSAGE_VARIABLE_NAME + " = " + RESOURCE_BUNDLE_FIELD
+                        + ".getString(";
+            }
+
+            JavaSourceWriter writer = beginMember(Member.METHOD)
+                    .emit(methodPrefix + name + "(")
+                    .zeroWidthSpace();
+            var arguments = new StringBuilder();
+            for (int i = 0; i < argTypes.size(); i++) {
+                if (i > 0) {
+                    writer.emit(",").wrappingSpace();
+                    arguments.append(", ");
+                }
+                writer.emit(typeName(argTypes.get(i)) + " " + ARGUMENT_NAME + i);
+                arguments.append(ARGUMENT_NAME).append(i);
+            }
+            writer.emit(")").emit(" {\n").indent();
+
+            if (argTypes.isEmpty()) {
+                writer.beginStatement().emit(getStringPrefix).emitStringLiteral(key).emit(");\n").endStatement();
+                emitStatement(writer, "return " + MESSAGE_VARIABLE_NAME + ";\n");
+            } else {
+                if (!compiledPatterns.isEmpty()) {
+                    writer.beginStatement().emit(getStringPrefix).emitStringLiteral(key).emit(");\n").endStatement();
+                    for (CompiledPattern compiledPattern : compiledPatterns) {
+                        writer.emit("if (" + MESSAGE_VARIABLE_NAME + ".equals(")
+                                .emitStringLiteral(compiledPattern.pattern())
+                                .emit(")) {\n")
+                                .indent();
+                        emitFormat(writer, compiledPattern);
+                        writer.unindent().emit("}\n");
+                    }
+                }
+                if (argumentsPrefix.isEmpty()) {
+                    argumentsPrefix = typeName(Object[].class) + " " + MESSAGE_ARGUMENTS_VARIABLE_NAME + " = {";
+                }
+                emitStatement(writer, argumentsPrefix + arguments + "};\n");
+                writer.beginStatement()
+                        .emit("return " + PoetERBClassGenerator.MESSAGE_FORMAT_METHOD_NAME + "(")
+                        .emitStringLiteral(key)
+                        .emit(FORMAT_SUFFIX)
+                        .endStatement();
+            }
+            writer.unindent().emit("}\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    private void emitFormat(JavaSourceWriter writer, CompiledPattern compiledPattern) throws IOException {
+        writer.beginStatement().emit("return ");
+        if (!compiledPattern.hasArguments()) {
+            writer.emitStringLiteral(compiledPattern.segments().get(0).literal());
+        } else {
+            writer.emit("new " + typeName(StringBuilder.class) + "(" + compiledPattern.capacity() + ")");
+            for (CompiledPattern.Segment segment : compiledPattern.segments()) {
+                if (segment.isArgument()) {
+                    writer.emit(".append(" + ARGUMENT_NAME + segment.argument() + ")");
+                } else {
+                    writer.emit(".append(").emitStringLiteral(segment.literal()).emit(")");
+                }
+            }
+            writer.emit(".toString()");
+        }
+        writer.emit(";\n").endStatement();
+    }
+}
@@ -0,0 +1,155 @@
+package com.jgazula.easyresources.core.internal.classgeneration;
+
+import com.jgazula.easyresources.core.internal.classgeneration.ClassFileWriter.Code;
+import com.jgazula.easyresources.core.output.OutputSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * This implementation writes a class file instead of a Java file, so that the generated class does not have to be
+ * compiled. The class behaves exactly like the class which is compiled from the Java file of the
+ * {@link PoetClassGenerator}: its string constants are compile-time constants, and it has a public no-args
+ * constructor unless another constructor is added (or it is an interface). Only {@link Class classes} are
+ * supported as types.
+ */
+public class BytecodeClassGenerator implements ClassGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BytecodeClassGenerator.class);
+
+    private final ClassGeneratorConfig config;
+    private final ClassFileWriter classFile;
+    private boolean hasConstructor;
+
+    public BytecodeClassGenerator(ClassGeneratorConfig config) {
+        this.config = config;
+        checkName(config.className());
+        config.interfaceNames().forEach(BytecodeClassGenerator::checkName);
+        this.classFile = new ClassFileWriter(config.constantsInterface()
+                ? ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_INTERFACE | ClassFileWriter.ACC_ABSTRACT
+                : ClassFileWriter.ACC_PUBLIC,
+                internalName(config.qualifiedClassName()), ClassFileWriter.internalName(Object.class),
+                config.interfaceNames().stream()
+                        .map(interfaceName -> internalName(config.qualifiedName(interfaceName)))
+                        .collect(Collectors.toList()));
+    }
+
+    @Override
+    public ClassGenerator addPublicConstantString(String variableName, String variableValue) {
+        checkName(variableName);
+        classFile.addField(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC | ClassFileWriter.ACC_FINAL,
+                variableName, String.class, Optional.of(variableValue));
+        return this;
+    }
+
+    @Override
+    public ClassGenerator addPrivateFinalField(ClassGeneratorVariable field) {
+        checkClass("field");
+        checkName(field.name());
+        classFile.addField(ClassFileWriter.ACC_PRIVATE | ClassFileWriter.ACC_FINAL, field.name(),
+                typeClass(field.type()), Optional.empty());
+        return this;
+    }
+
+    @Override
+    public ClassGenerator addConstructorWithArgs(List<ClassGeneratorVariable> args) {
+        beginConstructor(args).vreturn();
+        return this;
+    }
+
+    /**
+     * Adds a public all-args constructor like {@link #addConstructorWithArgs(List)} does, but returns its code
+     * before its final {@code return}, so that subclasses can initialize further fields.
+     */
+    protected Code beginConstructor(List<ClassGeneratorVariable> args) {
+        checkClass("constructor");
+        args.forEach(arg -> checkName(arg.name()));
+        List<Class<?>> argTypes = args.stream()
+                .map(arg -> typeClass(arg.type()))
+                .collect(Collectors.toList());
+
+        Code code = classFile.addMethod(ClassFileWriter.ACC_PUBLIC, "<init>", void.class, argTypes)
+                .load(Object.class, 0)
+                .invokespecial(classFile.superName(), "<init>", void.class);
+        int slot = 1;
+        for (int i = 0; i < args.size(); i++) {
+            Class<?> argType = argTypes.get(i);
+            code.load(Object.class, 0)
+                    .load(argType, slot)
+                    .putfield(classFile.internalName(), args.get(i).name(), argType);
+            slot += ClassFileWriter.size(argType);
+        }
+
+        hasConstructor = true;
+        return code;
+    }
+
+    @Override
+    public WriteResult write(OutputSink sink) throws IOException {
+        if (!hasConstructor && !config.constantsInterface()) {
+            // the default constructor which javac would add
+            addConstructorWithArgs(List.of());
+        }
+
+        Path outputPath = sink.classLocation(config.packageName(), config.className());
+        byte[] bytecode = classFile.toByteArray();
+        boolean written = sink.writeClass(config.packageName(), config.className(), bytecode);
+        if (written) {
+            LOGGER.debug("Wrote class file for {} to {}", config.qualifiedClassName(), outputPath);
+        } else {
+            LOGGER.debug("Class file for {} at {} is unchanged", config.qualifiedClassName(), outputPath);
+        }
+
+        return new WriteResult(outputPath, written, bytecode.length);
+    }
+
+    /**
+     * Returns the writer of the class file, to which subclasses can add their own members.
+     */
+    protected ClassFileWriter classFile() {
+        return classFile;
+    }
+
+    /**
+     * Returns the class of the given type.
+     *
+     * @throws IllegalArgumentException if the type is not a class
+     */
+    protected static Class<?> typeClass(Type type) {
+        if (!(type instanceof Class)) {
+            throw new IllegalArgumentException("Unsupported type " + type.getTypeName());
+        }
+        return (Class<?>) type;
+    }
+
+    /**
+     * Checks that the generated type is a class, to which the given kind of member can be added.
+     *
+     * @throws IllegalStateException if it is an interface
+     */
+    protected void checkClass(String member) {
+        if (config.constantsInterface()) {
+            throw new IllegalStateException(String.format("Unable to add a %s to the interface %s", member,
+                    config.qualifiedClassName()));
+        }
+    }
+
+    private static String internalName(String qualifiedName) {
+        return qualifiedName.replace('.', '/');
+    }
+
+    /**
+     * Checks that the given name is a valid Java identifier, like the other backends do.
+     *
+     * @throws IllegalArgumentException if it is not
+     */
+    protected static void checkName(String name) {
+        StreamingClassGenerator.checkName(name);
+    }
+}
@@ -0,0 +1,658 @@
+package com.jgazula.easyresources.core.internal.classgeneration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A minimal writer of Java class files. It supports exactly what the generated classes need: fields (including
+ * {@code ConstantValue} attributes for string constants) and methods whose only branches are forward jumps to
+ * {@link Label labels}, without exception handlers. The class files target Java 8, so that they can be used by
+ * any project which could compile the generated sources.
+ */
+public class ClassFileWriter {
+
+    public static final int ACC_PUBLIC = 0x0001;
+    public static final int ACC_PRIVATE = 0x0002;
+    public static final int ACC_STATIC = 0x0008;
+    public static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    public static final int ACC_INTERFACE = 0x0200;
+    public static final int ACC_ABSTRACT = 0x0400;
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int JAVA_8_VERSION = 52;
+    private static final int MAX_POOL_SIZE = 0xFFFF;
+    private static final int MAX_UTF8_LENGTH = 0xFFFF;
+    private static final int MAX_PARAMETER_SLOTS = 255;
+
+    private static final byte CONSTANT_UTF8 = 1;
+    private static final byte CONSTANT_INTEGER = 3;
+    private static final byte CONSTANT_CLASS = 7;
+    private static final byte CONSTANT_STRING = 8;
+    private static final byte CONSTANT_FIELDREF = 9;
+    private static final byte CONSTANT_METHODREF = 10;
+    private static final byte CONSTANT_NAME_AND_TYPE = 12;
+
+    private final int access;
+    private final String internalName;
+    private final String superName;
+    private final List<String> interfaceNames;
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    private final Map<String, Integer> poolIndexes = new HashMap<>();
+    private int poolSize = 1;
+    private final List<FieldInfo> fields = new ArrayList<>();
+    private final List<Code> methods = new ArrayList<>();
+    // the names of the fields and the names and descriptors of the methods, which have to be unique
+    private final Set<String> fieldNames = new HashSet<>();
+    private final Set<String> methodSignatures = new HashSet<>();
+
+    /**
+     * @param internalName the internal name of the class, e.g. {@code com/example/Messages}
+     */
+    public ClassFileWriter(String internalName) {
+        this(ACC_PUBLIC, internalName, internalName(Object.class), List.of());
+    }
+
+    /**
+     * @param access the access flags of the class, e.g. {@link #ACC_PUBLIC}, or of an interface, which also
+     *               include {@link #ACC_INTERFACE} and {@link #ACC_ABSTRACT}
+     * @param internalName the internal name of the class, e.g. {@code com/example/Messages}
+     * @param superName the internal name of its superclass, e.g. {@code java/lang/Object}
+     * @param interfaceNames the internal names of the interfaces which it implements
+     */
+    public ClassFileWriter(int access, String internalName, String superName, List<String> interfaceNames) {
+        this.access = access;
+        this.internalName = internalName;
+        this.superName = superName;
+        this.interfaceNames = List.copyOf(interfaceNames);
+    }
+
+    /**
+     * Adds a field, which is initialized with the given constant if it is static.
+     *
+     * @throws IllegalArgumentException if the class already has a field of the same name, or if the constant is
+     *                                  too long for a class file
+     */
+    public void addField(int access, String name, Class<?> type, Optional<String> constantValue) {
+        if (!fieldNames.add(name)) {
+            throw new IllegalArgumentException("duplicate field: " + name);
+        }
+        fields.add(new FieldInfo(access, utf8(name), utf8(descriptor(type)),
+                constantValue.map(this::string).orElse(0)));
+    }
+
+    /**
+     * Adds a non-static method. Its code has to be written to the returned {@link Code} before the class file is
+     * {@link #toByteArray() built}.
+     *
+     * @throws IllegalArgumentException if the class already has a method of the same name and parameter types, or
+     *                                  if the parameters take more than 255 local variable slots
+     */
+    public Code addMethod(int access, String name, Class<?> returnType, List<Class<?>> parameterTypes) {
+        int parameterSlots = 1 + parameterTypes.stream().mapToInt(ClassFileWriter::size).sum();
+        if (parameterSlots > MAX_PARAMETER_SLOTS) {
+            throw new IllegalArgumentException("too many parameters: " + name);
+        }
+        // like javac, methods which only differ in their return type are duplicates as well
+        String methodDescriptor = methodDescriptor(returnType, parameterTypes);
+        if (!methodSignatures.add(name + methodDescriptor.substring(0, methodDescriptor.indexOf(')') + 1))) {
+            throw new IllegalArgumentException("duplicate method: " + name);
+        }
+
+        var code = new Code(access, utf8(name), utf8(methodDescriptor), parameterSlots);
+        methods.add(code);
+        return code;
+    }
+
+    /**
+     * Returns the internal name of this class.
+     */
+    public String internalName() {
+        return internalName;
+    }
+
+    /**
+     * Returns the internal name of the superclass of this class.
+     */
+    public String superName() {
+        return superName;
+    }
+
+    /**
+     * Builds the class file.
+     *
+     * @throws IllegalStateException if the class has too many constants for a class file
+     */
+    public byte[] toByteArray() {
+        try {
+            // the members are written first, as they may still add entries to the constant pool
+            var members = new ByteArrayOutputStream();
+            var out = new DataOutputStream(members);
+            // like javac, every class (but no interface) has the ACC_SUPER flag
+            out.writeShort((access & ACC_INTERFACE) == 0 ? access | ACC_SUPER : access);
+            out.writeShort(classRef(internalName));
+            out.writeShort(classRef(superName));
+            out.writeShort(interfaceNames.size());
+            for (String interfaceName : interfaceNames) {
+                out.writeShort(classRef(interfaceName));
+            }
+
+            out.writeShort(fields.size());
+            for (FieldInfo field : fields) {
+                out.writeShort(field.access);
+                out.writeShort(field.name);
+                out.writeShort(field.descriptor);
+                if (field.constantValue == 0) {
+                    out.writeShort(0);
+                } else {
+                    out.writeShort(1);
+                    out.writeShort(utf8("ConstantValue"));
+                    out.writeInt(2);
+                    out.writeShort(field.constantValue);
+                }
+            }
+
+            out.writeShort(methods.size());
+            for (Code method : methods) {
+                byte[] code = method.toByteArray();
+                byte[] stackMapTable = method.stackMapTable();
+                out.writeShort(method.access);
+                out.writeShort(method.name);
+                out.writeShort(method.descriptor);
+                out.writeShort(1);
+                out.writeShort(utf8("Code"));
+                out.writeInt(12 + code.length + (stackMapTable.length == 0 ? 0 : 6 + stackMapTable.length));
+                out.writeShort(method.maxStack);
+                out.writeShort(method.maxLocals);
+                out.writeInt(code.length);
+                out.write(code);
+                out.writeShort(0);
+                if (stackMapTable.length == 0) {
+                    out.writeShort(0);
+                } else {
+                    out.writeShort(1);
+                    out.writeShort(utf8("StackMapTable"));
+                    out.writeInt(stackMapTable.length);
+                    out.write(stackMapTable);
+                }
+            }
+            out.writeShort(0);
+
+            if (poolSize > MAX_POOL_SIZE) {
+                throw new IllegalStateException("too many constants in " + internalName);
+            }
+            var classFile = new ByteArrayOutputStream(8 + poolBytes.size() + members.size());
+            var header = new DataOutputStream(classFile);
+            header.writeInt(MAGIC);
+            header.writeShort(0);
+            header.writeShort(JAVA_8_VERSION);
+            header.writeShort(poolSize);
+            poolBytes.writeTo(classFile);
+            members.writeTo(classFile);
+            return classFile.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the internal name of the given class, e.g. {@code java/lang/String}.
+     */
+    public static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    /**
+     * Returns the field descriptor of the given type, e.g. {@code Ljava/lang/String;}.
+     */
+    public static String descriptor(Class<?> type) {
+        // the descriptor of a method "()T" which returns the type
+        return MethodType.methodType(type).toMethodDescriptorString().substring(2);
+    }
+
+    private static String methodDescriptor(Class<?> returnType, List<Class<?>> parameterTypes) {
+        return MethodType.methodType(returnType, parameterTypes).toMethodDescriptorString();
+    }
+
+    /**
+     * Returns the number of stack or local variable slots which a value of the given type takes.
+     */
+    public static int size(Class<?> type) {
+        if (type == void.class) {
+            return 0;
+        }
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    private int utf8(String value) {
+        return constant("U" + value, out -> {
+            if (encodedLength(value) > MAX_UTF8_LENGTH) {
+                throw new IllegalArgumentException("constant string too long: " + value.substring(0, 32) + "...");
+            }
+            out.writeByte(CONSTANT_UTF8);
+            out.writeUTF(value);
+        });
+    }
+
+    /**
+     * Returns the length of the given string in the modified UTF-8 encoding of class files.
+     */
+    private static int encodedLength(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                length++;
+            } else if (c <= 0x07FF) {
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private int string(String value) {
+        int utf8 = utf8(value);
+        return constant("S" + value, out -> {
+            out.writeByte(CONSTANT_STRING);
+            out.writeShort(utf8);
+        });
+    }
+
+    private int integer(int value) {
+        return constant("I" + value, out -> {
+            out.writeByte(CONSTANT_INTEGER);
+            out.writeInt(value);
+        });
+    }
+
+    private int classRef(String className) {
+        int name = utf8(className);
+        return constant("C" + className, out -> {
+            out.writeByte(CONSTANT_CLASS);
+            out.writeShort(name);
+        });
+    }
+
+    private int memberRef(byte tag, String owner, String name, String descriptor) {
+        int ownerClass = classRef(owner);
+        int nameUtf8 = utf8(name);
+        int descriptorUtf8 = utf8(descriptor);
+        int nameAndType = constant("N" + name + ' ' + descriptor, out -> {
+            out.writeByte(CONSTANT_NAME_AND_TYPE);
+            out.writeShort(nameUtf8);
+            out.writeShort(descriptorUtf8);
+        });
+        return constant(tag + owner + ' ' + name + ' ' + descriptor, out -> {
+            out.writeByte(tag);
+            out.writeShort(ownerClass);
+            out.writeShort(nameAndType);
+        });
+    }
+
+    /**
+     * Returns the index of the given constant in the constant pool, and adds it unless it is already there.
+     */
+    private int constant(String key, PoolEntry entry) {
+        Integer index = poolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        try {
+            entry.writeTo(pool);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        poolIndexes.put(key, poolSize);
+        return poolSize++;
+    }
+
+    @FunctionalInterface
+    private interface PoolEntry {
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * The target of a forward jump. It has to be {@link Code#mark(Label, List) marked} after all the jumps to it.
+     */
+    public static final class Label {
+        // the offset of the label within the code, or -1 if it is not marked yet
+        private int offset = -1;
+    }
+
+    private static final class FieldInfo {
+        private final int access;
+        private final int name;
+        private final int descriptor;
+        // the index of the initial value in the constant pool, or 0 if there is none
+        private final int constantValue;
+
+        private FieldInfo(int access, int name, int descriptor, int constantValue) {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.constantValue = constantValue;
+        }
+    }
+
+    /**
+     * The code of a method. Every instruction keeps track of the depth of the operand stack and of the number of
+     * local variables, from which the {@code Code} attribute is built.
+     */
+    public final class Code {
+
+        private static final int ICONST_0 = 0x03;
+        private static final int BIPUSH = 0x10;
+        private static final int SIPUSH = 0x11;
+        private static final int LDC = 0x12;
+        private static final int LDC_W = 0x13;
+        private static final int ILOAD = 0x15;
+        private static final int LLOAD = 0x16;
+        private static final int FLOAD = 0x17;
+        private static final int DLOAD = 0x18;
+        private static final int ALOAD = 0x19;
+        private static final int ASTORE = 0x3a;
+        private static final int AASTORE = 0x53;
+        private static final int POP = 0x57;
+        private static final int DUP = 0x59;
+        private static final int ARETURN = 0xb0;
+        private static final int RETURN = 0xb1;
+        private static final int GETFIELD = 0xb4;
+        private static final int PUTFIELD = 0xb5;
+        private static final int INVOKEVIRTUAL = 0xb6;
+        private static final int INVOKESPECIAL = 0xb7;
+        private static final int INVOKESTATIC = 0xb8;
+        private static final int NEW = 0xbb;
+        private static final int ANEWARRAY = 0xbd;
+        private static final int CHECKCAST = 0xc0;
+        private static final int WIDE = 0xc4;
+        private static final int IFEQ = 0x99;
+        private static final int IFNONNULL = 0xc7;
+        private static final int FULL_FRAME = 255;
+        private static final int ITEM_INTEGER = 1;
+        private static final int ITEM_FLOAT = 2;
+        private static final int ITEM_DOUBLE = 3;
+        private static final int ITEM_LONG = 4;
+        private static final int ITEM_OBJECT = 7;
+
+        private final int access;
+        private final int name;
+        private final int descriptor;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private int stack;
+        private int maxStack;
+        private int maxLocals;
+        // the offsets of the jump instructions and their targets
+        private final Map<Integer, Label> jumps = new HashMap<>();
+        // the stack map frames, i.e. the offset of every label followed by the verification type (a tag and its
+        // value) of every local variable
+        private final List<int[]> frames = new ArrayList<>();
+
+        private Code(int access, int name, int descriptor, int parameterSlots) {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.maxLocals = parameterSlots;
+        }
+
+        /**
+         * Pushes the local variable of the given type at the given slot.
+         */
+        public Code load(Class<?> type, int slot) {
+            int opcode;
+            if (!type.isPrimitive()) {
+                opcode = ALOAD;
+            } else if (type == long.class) {
+                opcode = LLOAD;
+            } else if (type == float.class) {
+                opcode = FLOAD;
+            } else if (type == double.class) {
+                opcode = DLOAD;
+            } else {
+                opcode = ILOAD;
+            }
+            return local(opcode, slot, size(type));
+        }
+
+        /**
+         * Pops a reference into the local variable at the given slot.
+         */
+        public Code astore(int slot) {
+            maxLocals = Math.max(maxLocals, slot + 1);
+            return local(ASTORE, slot, -1);
+        }
+
+        /**
+         * Pushes the given int constant.
+         */
+        public Code iconst(int value) {
+            if (value >= -1 && value <= 5) {
+                return op(ICONST_0 + value, 1);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                op(BIPUSH, 1);
+                bytes.write(value);
+                return this;
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                op(SIPUSH, 1);
+                return u2(value);
+            }
+            return ldcConstant(integer(value));
+        }
+
+        /**
+         * Pushes the given string constant.
+         */
+        public Code ldc(String value) {
+            return ldcConstant(string(value));
+        }
+
+        public Code getfield(String owner, String name, Class<?> type) {
+            return op(GETFIELD, size(type) - 1).u2(memberRef(CONSTANT_FIELDREF, owner, name, descriptor(type)));
+        }
+
+        public Code putfield(String owner, String name, Class<?> type) {
+            return op(PUTFIELD, -size(type) - 1).u2(memberRef(CONSTANT_FIELDREF, owner, name, descriptor(type)));
+        }
+
+        public Code invokevirtual(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+            return invoke(INVOKEVIRTUAL, internalName(owner), name, returnType, parameterTypes, 1);
+        }
+
+        public Code invokespecial(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+            return invokespecial(internalName(owner), name, returnType, parameterTypes);
+        }
+
+        public Code invokespecial(String owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+            return invoke(INVOKESPECIAL, owner, name, returnType, parameterTypes, 1);
+        }
+
+        public Code invokestatic(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+            return invoke(INVOKESTATIC, internalName(owner), name, returnType, parameterTypes, 0);
+        }
+
+        /**
+         * Creates a new (uninitialized) instance of the given class.
+         */
+        public Code newInstance(Class<?> type) {
+            return op(NEW, 1).u2(classRef(internalName(type)));
+        }
+
+        public Code anewarray(Class<?> componentType) {
+            return op(ANEWARRAY, 0).u2(classRef(internalName(componentType)));
+        }
+
+        public Code aastore() {
+            return op(AASTORE, -3);
+        }
+
+        public Code checkcast(Class<?> type) {
+            return op(CHECKCAST, 0).u2(classRef(internalName(type)));
+        }
+
+        public Code pop() {
+            return op(POP, -1);
+        }
+
+        public Code dup() {
+            return op(DUP, 1);
+        }
+
+        /**
+         * Pops a reference, and jumps to the given label unless it is {@code null}.
+         */
+        public Code ifnonnull(Label target) {
+            return jump(IFNONNULL, target);
+        }
+
+        /**
+         * Pops an int, and jumps to the given label if it is zero (i.e. {@code false}).
+         */
+        public Code ifeq(Label target) {
+            return jump(IFEQ, target);
+        }
+
+        /**
+         * Marks the given label at the current offset. The operand stack has to be empty there, and the local
+         * variables after {@code this} have to be of the given classes, which are recorded in a stack map frame for
+         * the verifier.
+         */
+        public Code mark(Label label, List<Class<?>> locals) {
+            label.offset = bytes.size();
+            int[] frame = new int[1 + 2 * (1 + locals.size())];
+            frame[0] = label.offset;
+            frame[1] = ITEM_OBJECT;
+            frame[2] = classRef(internalName);
+            for (int i = 0; i < locals.size(); i++) {
+                Class<?> local = locals.get(i);
+                frame[3 + 2 * i] = verificationType(local);
+                frame[4 + 2 * i] = local.isPrimitive() ? 0 : classRef(internalName(local));
+            }
+            frames.add(frame);
+            return this;
+        }
+
+        public Code areturn() {
+            return op(ARETURN, -1);
+        }
+
+        public Code vreturn() {
+            return op(RETURN, 0);
+        }
+
+        private byte[] toByteArray() {
+            byte[] code = bytes.toByteArray();
+            jumps.forEach((offset, target) -> {
+                if (target.offset < 0) {
+                    throw new IllegalStateException("jump to a label which is not marked");
+                }
+                int distance = target.offset - offset;
+                code[offset + 1] = (byte) (distance >>> 8);
+                code[offset + 2] = (byte) distance;
+            });
+            return code;
+        }
+
+        /**
+         * Returns the entries of the {@code StackMapTable} attribute (preceded by their number), or nothing if the
+         * code has no labels.
+         */
+        private byte[] stackMapTable() throws IOException {
+            if (frames.isEmpty()) {
+                return new byte[0];
+            }
+
+            var table = new ByteArrayOutputStream();
+            var out = new DataOutputStream(table);
+            out.writeShort(frames.size());
+            int previousOffset = -1;
+            for (int[] frame : frames) {
+                out.writeByte(FULL_FRAME);
+                out.writeShort(frame[0] - previousOffset - 1);
+                out.writeShort((frame.length - 1) / 2);
+                for (int i = 1; i < frame.length; i += 2) {
+                    out.writeByte(frame[i]);
+                    if (frame[i] == ITEM_OBJECT) {
+                        out.writeShort(frame[i + 1]);
+                    }
+                }
+                out.writeShort(0);
+                previousOffset = frame[0];
+            }
+            return table.toByteArray();
+        }
+
+        private Code jump(int opcode, Label target) {
+            if (target.offset >= 0) {
+                throw new IllegalStateException("only forward jumps are supported");
+            }
+            jumps.put(bytes.size(), target);
+            return op(opcode, -1).u2(0);
+        }
+
+        private int verificationType(Class<?> type) {
+            if (!type.isPrimitive()) {
+                return ITEM_OBJECT;
+            } else if (type == long.class) {
+                return ITEM_LONG;
+            } else if (type == float.class) {
+                return ITEM_FLOAT;
+            } else if (type == double.class) {
+                return ITEM_DOUBLE;
+            }
+            return ITEM_INTEGER;
+        }
+
+        private Code invoke(int opcode, String owner, String name, Class<?> returnType, Class<?>[] parameterTypes,
+                            int receiverSize) {
+            List<Class<?>> parameters = List.of(parameterTypes);
+            int popped = receiverSize + parameters.stream().mapToInt(ClassFileWriter::size).sum();
+            int index = memberRef(CONSTANT_METHODREF, owner, name, methodDescriptor(returnType, parameters));
+            return op(opcode, size(returnType) - popped).u2(index);
+        }
+
+        private Code ldcConstant(int index) {
+            if (index <= 0xFF) {
+                op(LDC, 1);
+                bytes.write(index);
+                return this;
+            }
+            return op(LDC_W, 1).u2(index);
+        }
+
+        private Code local(int opcode, int slot, int stackChange) {
+            if (slot <= 0xFF) {
+                op(opcode, stackChange);
+                bytes.write(slot);
+                return this;
+            }
+            bytes.write(WIDE);
+            return op(opcode, stackChange).u2(slot);
+        }
+
+        private Code op(int opcode, int stackChange) {
+            bytes.write(opcode);
+            stack += stackChange;
+            maxStack = Math.max(maxStack, stack);
+            return this;
+        }
+
+        private Code u2(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+            return this;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.jgazula.easyresources.core.internal.classgeneration;
 
+import com.jgazula.easyresources.core.output.OutputSink;
+
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.file.Path;
@@ -9,7 +11,7 @@ import java.util.Map;
 /**
  * Generates a Java file which can eventually be written to a given path.
  */
-public interface ClassGenerator {
+public interface ClassGenerator extends AutoCloseable {
 
     /**
      * Adds a public static final field of type {@link String}.
@@ -27,9 +29,27 @@ public interface ClassGenerator {
     ClassGenerator addConstructorWithArgs(List<ClassGeneratorVariable> args);
 
     /**
-     * Writes the generated Java file to the given directory.
+     * Writes the generated Java file to the given directory. The file is left untouched if it already has
+     * the same content, and is otherwise replaced atomically.
+     *
+     * @return the path to the generated Java file and whether it was actually written
+     */
+    default WriteResult write(Path directory) throws IOException {
+        return write(OutputSink.directory(directory));
+    }
+
+    /**
+     * Writes the generated Java file (or class file, for a generator which writes bytecode) to the given sink.
      *
-     * @return the path to the generated Java file
+     * @return the location of the generated file within the sink and whether it was actually written
+     */
+    WriteResult write(OutputSink sink) throws IOException;
+
+    /**
+     * Releases any resources which are held until the file is written, such as the members which a streaming
+     * generator has already spooled to disk. Nothing is written.
      */
-    Path write(Path directory) throws IOException;
+    @Override
+    default void close() throws IOException {
+    }
 }
@@ -1,13 +1,72 @@
 package com.jgazula.easyresources.core.internal.classgeneration;
 
+import com.jgazula.easyresources.core.util.GeneratorBackend;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.Value;
 
+import java.nio.file.Path;
+import java.util.List;
+
 @Builder
 @Value
 public class ClassGeneratorConfig {
     @NonNull String generatedBy;
     @NonNull String packageName;
     @NonNull String className;
+
+    /**
+     * If enabled, the generated file does not contain the current time so that identical inputs
+     * always produce identical outputs.
+     */
+    @Builder.Default boolean reproducible = false;
+
+    /**
+     * The implementation which writes the generated file.
+     */
+    @Builder.Default GeneratorBackend backend = GeneratorBackend.JAVAPOET;
+
+    /**
+     * If enabled, an interface is generated instead of a class. An interface can only have constants.
+     */
+    @Builder.Default boolean constantsInterface = false;
+
+    /**
+     * The simple names of the interfaces in the same package which the generated class implements.
+     */
+    @Builder.Default List<String> interfaceNames = List.of();
+
+    /**
+     * Returns the fully qualified name of the given type in the package of the generated class.
+     */
+    public String qualifiedName(String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    /**
+     * Returns the fully qualified name of the generated class.
+     */
+    public String qualifiedClassName() {
+        return qualifiedName(className);
+    }
+
+    /**
+     * Returns the path of the Java file that will be generated within the given directory.
+     */
+    public Path javaFilePath(Path directory) {
+        return javaFilePath(directory, packageName, className);
+    }
+
+    /**
+     * Returns the path of the Java file of the given class within the given directory.
+     */
+    public static Path javaFilePath(Path directory, String packageName, String className) {
+        Path path = directory;
+        if (!packageName.isEmpty()) {
+            for (String packageComponent : packageName.split("\\.")) {
+                path = path.resolve(packageComponent);
+            }
+        }
+        return path.resolve(className + ".java");
+    }
 }
@@ -1,7 +1,9 @@
 package com.jgazula.easyresources.core.internal.classgeneration;
 
+import com.jgazula.easyresources.core.enhancedresourcebundle.BytecodeERBClassGenerator;
 import com.jgazula.easyresources.core.enhancedresourcebundle.ERBClassGenerator;
 import com.jgazula.easyresources.core.enhancedresourcebundle.PoetERBClassGenerator;
+import com.jgazula.easyresources.core.enhancedresourcebundle.StreamingERBClassGenerator;
 
 /**
  * A factory for instances of {@link ClassGenerator}. Useful for dependency injection when multiple
@@ -10,17 +12,31 @@ import com.jgazula.easyresources.core.enhancedresourcebundle.PoetERBClassGenerat
 public class ClassGeneratorFactory {
 
     /**
-     * Returns a {@link ClassGenerator} instance backed by the {@link PoetClassGenerator}
-     * implementation.
+     * Returns a {@link ClassGenerator} instance backed by the {@link PoetClassGenerator} or (if configured) the
+     * {@link StreamingClassGenerator} or {@link BytecodeClassGenerator} implementation.
      */
     public ClassGenerator getGenerator(ClassGeneratorConfig config) {
-        return new PoetClassGenerator(config);
+        switch (config.backend()) {
+            case STREAMING:
+                return new StreamingClassGenerator(config);
+            case BYTECODE:
+                return new BytecodeClassGenerator(config);
+            default:
+                return new PoetClassGenerator(config);
+        }
     }
 
     /**
-     * Returns a {@link ERBClassGenerator} that can create enhanced resource bundle Java files.
+     * Returns a {@link ERBClassGenerator} that can create enhanced resource bundle Java (or class) files.
      */
     public ERBClassGenerator getERBClassGenerator(ClassGeneratorConfig config) {
-        return new PoetERBClassGenerator(config);
+        switch (config.backend()) {
+            case STREAMING:
+                return new StreamingERBClassGenerator(config);
+            case BYTECODE:
+                return new BytecodeERBClassGenerator(config);
+            default:
+                return new PoetERBClassGenerator(config);
+        }
     }
 }
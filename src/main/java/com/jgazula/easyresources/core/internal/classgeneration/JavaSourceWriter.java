@@ -0,0 +1,274 @@
+package com.jgazula.easyresources.core.internal.classgeneration;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Writes Java source code with exactly the same formatting as JavaPoet: lines are indented, comments are prefixed,
+ * statements which span multiple lines are indented twice more and long lines are wrapped at the wrapping spaces.
+ * Unlike JavaPoet, the code is appended to the output as soon as it is emitted, so that nothing but the text since
+ * the last wrapping space is kept in memory.
+ */
+public class JavaSourceWriter {
+
+    private static final int COLUMN_LIMIT = 100;
+    private static final Pattern LINE_BREAK = Pattern.compile("\\R");
+
+    private final Appendable out;
+    private final String indent;
+    private int indentLevel;
+    private boolean comment;
+    private boolean trailingNewline = true;
+    private int statementLine = -1;
+
+    // text after a wrapping space is held back until it is known whether it still fits on the current line
+    private final StringBuilder pending = new StringBuilder();
+    private Flush nextFlush = Flush.NONE;
+    private int wrapIndentLevel;
+    private int column;
+
+    private enum Flush {
+        NONE, WRAP, SPACE, EMPTY
+    }
+
+    public JavaSourceWriter(Appendable out, String indent) {
+        this.out = out;
+        this.indent = indent;
+    }
+
+    /**
+     * Emits the given code. Every line is indented, and prefixed with {@code //} while writing a comment.
+     */
+    public JavaSourceWriter emit(String code) throws IOException {
+        if (!containsLineBreak(code)) {
+            emitLine(code);
+            return this;
+        }
+
+        boolean first = true;
+        for (String line : LINE_BREAK.split(code, -1)) {
+            if (!first) {
+                if (comment && trailingNewline) {
+                    emitIndentation();
+                    append("//");
+                }
+                append("\n");
+                trailingNewline = true;
+                if (statementLine != -1) {
+                    if (statementLine == 0) {
+                        indent(2);
+                    }
+                    statementLine++;
+                }
+            }
+            first = false;
+            emitLine(line);
+        }
+        return this;
+    }
+
+    /**
+     * Emits the given value as a string literal, escaped like {@code $S} of JavaPoet.
+     */
+    public JavaSourceWriter emitStringLiteral(String value) throws IOException {
+        return emit(stringLiteral(value));
+    }
+
+    /**
+     * Emits a space, or a line break if the following code does not fit on the current line.
+     */
+    public JavaSourceWriter wrappingSpace() throws IOException {
+        flushPending();
+        column++;
+        nextFlush = Flush.SPACE;
+        wrapIndentLevel = indentLevel + 2;
+        return this;
+    }
+
+    /**
+     * Emits nothing, or a line break if the following code does not fit on the current line.
+     */
+    public JavaSourceWriter zeroWidthSpace() throws IOException {
+        if (column == 0) {
+            return this;
+        }
+        flushPending();
+        nextFlush = Flush.EMPTY;
+        wrapIndentLevel = indentLevel + 2;
+        return this;
+    }
+
+    public JavaSourceWriter indent() {
+        return indent(1);
+    }
+
+    public JavaSourceWriter unindent() {
+        indentLevel--;
+        return this;
+    }
+
+    /**
+     * Begins a statement whose continuation lines (if any) are indented twice.
+     */
+    public JavaSourceWriter beginStatement() {
+        statementLine = 0;
+        return this;
+    }
+
+    public JavaSourceWriter endStatement() {
+        if (statementLine > 0) {
+            indentLevel -= 2;
+        }
+        statementLine = -1;
+        return this;
+    }
+
+    /**
+     * Emits the given text as a line comment which ends with a line break.
+     */
+    public JavaSourceWriter emitComment(String text) throws IOException {
+        trailingNewline = true;
+        comment = true;
+        try {
+            emit(text);
+            emit("\n");
+        } finally {
+            comment = false;
+        }
+        return this;
+    }
+
+    /**
+     * Appends any text which is still held back to the output.
+     */
+    public void flush() throws IOException {
+        flushPending();
+    }
+
+    /**
+     * Returns the given value as a Java string literal, escaped and split after line feeds exactly like JavaPoet.
+     */
+    public String stringLiteral(String value) {
+        StringBuilder result = new StringBuilder(value.length() + 2);
+        result.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            appendEscaped(result, c);
+            if (c == '\n' && i + 1 < value.length()) {
+                result.append("\"\n").append(indent).append(indent).append("+ \"");
+            }
+        }
+        result.append('"');
+        return result.toString();
+    }
+
+    private static void appendEscaped(StringBuilder result, char c) {
+        switch (c) {
+            case '\b':
+                result.append("\\b");
+                break;
+            case '\t':
+                result.append("\\t");
+                break;
+            case '\n':
+                result.append("\\n");
+                break;
+            case '\f':
+                result.append("\\f");
+                break;
+            case '\r':
+                result.append("\\r");
+                break;
+            case '"':
+                result.append("\\\"");
+                break;
+            case '\\':
+                result.append("\\\\");
+                break;
+            default:
+                if (Character.isISOControl(c)) {
+                    result.append(String.format("\\u%04x", (int) c));
+                } else {
+                    result.append(c);
+                }
+        }
+    }
+
+    private JavaSourceWriter indent(int levels) {
+        indentLevel += levels;
+        return this;
+    }
+
+    private void emitLine(String line) throws IOException {
+        if (line.isEmpty()) {
+            return;
+        }
+        if (trailingNewline) {
+            emitIndentation();
+            if (comment) {
+                append("// ");
+            }
+        }
+        append(line);
+        trailingNewline = false;
+    }
+
+    private void emitIndentation() throws IOException {
+        for (int i = 0; i < indentLevel; i++) {
+            append(indent);
+        }
+    }
+
+    /**
+     * Same as {@link #LINE_BREAK}, without the cost of a regular expression for the common case.
+     */
+    private static boolean containsLineBreak(String code) {
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if ((c >= '\n' && c <= '\r') || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void append(String text) throws IOException {
+        if (nextFlush != Flush.NONE) {
+            int nextNewline = text.indexOf('\n');
+            if (nextNewline == -1 && column + text.length() <= COLUMN_LIMIT) {
+                pending.append(text);
+                column += text.length();
+                return;
+            }
+
+            boolean wrap = nextNewline == -1 || column + nextNewline > COLUMN_LIMIT;
+            flushPending(wrap ? Flush.WRAP : nextFlush);
+        }
+
+        out.append(text);
+        int lastNewline = text.lastIndexOf('\n');
+        column = lastNewline != -1 ? text.length() - lastNewline - 1 : column + text.length();
+    }
+
+    private void flushPending() throws IOException {
+        if (nextFlush != Flush.NONE) {
+            flushPending(nextFlush);
+        }
+    }
+
+    private void flushPending(Flush flush) throws IOException {
+        if (flush == Flush.WRAP) {
+            out.append('\n');
+            for (int i = 0; i < wrapIndentLevel; i++) {
+                out.append(indent);
+            }
+            column = wrapIndentLevel * indent.length() + pending.length();
+        } else if (flush == Flush.SPACE) {
+            out.append(' ');
+        }
+
+        out.append(pending);
+        pending.setLength(0);
+        nextFlush = Flush.NONE;
+    }
+}
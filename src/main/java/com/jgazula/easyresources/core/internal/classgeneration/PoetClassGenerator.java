@@ -1,5 +1,9 @@
 package com.jgazula.easyresources.core.internal.classgeneration;
 
+import com.jgazula.easyresources.core.internal.util.StringUtil;
+import com.jgazula.easyresources.core.output.OutputSink;
+import com.jgazula.easyresources.core.util.ValidationException;
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
@@ -7,8 +11,8 @@ import com.squareup.javapoet.TypeSpec;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
@@ -16,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.ResourceBundle;
 import javax.lang.model.element.Modifier;
 
@@ -29,8 +34,9 @@ public class PoetClassGenerator implements ClassGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PoetClassGenerator.class);
 
-    private static final String INDENT = "    ";
-    private static final String GENERATED_BY_COMMENT = "This class was auto generated by %s.";
+    static final String INDENT = "    ";
+    static final String GENERATED_BY_COMMENT = "This class was auto generated by %s.";
+    private static final String SOURCE_DATE_EPOCH = "SOURCE_DATE_EPOCH";
 
     private final ClassGeneratorConfig config;
     private final List<FieldSpec> fieldSpecs = new ArrayList<>();
@@ -75,26 +81,66 @@ public class PoetClassGenerator implements ClassGenerator {
     }
 
     @Override
-    public Path write(Path directory) throws IOException {
-        var typeSpec = TypeSpec.classBuilder(config.className())
-                .addModifiers(Modifier.PUBLIC)
+    public WriteResult write(OutputSink sink) throws IOException {
+        TypeSpec.Builder typeBuilder = (config.constantsInterface()
+                ? TypeSpec.interfaceBuilder(config.className())
+                : TypeSpec.classBuilder(config.className()))
+                .addModifiers(Modifier.PUBLIC);
+        for (String interfaceName : config.interfaceNames()) {
+            typeBuilder.addSuperinterface(ClassName.get(config.packageName(), interfaceName));
+        }
+        var typeSpec = typeBuilder
                 .addFields(fieldSpecs)
                 .addMethods(methodSpecs)
                 .build();
 
-        var formattedTimestamp = ZonedDateTime.now()
-                .format(DateTimeFormatter.ofLocalizedDateTime(FormatStyle.LONG));
-
-        Path outputPath = JavaFile.builder(config.packageName(), typeSpec)
+        JavaFile.Builder javaFileBuilder = JavaFile.builder(config.packageName(), typeSpec)
                 .addFileComment(String.format(GENERATED_BY_COMMENT, config.generatedBy()))
-                .addFileComment("\n")
-                .addFileComment(formattedTimestamp)
-                .indent(INDENT)
-                .build()
-                .writeToPath(directory, StandardCharsets.UTF_8);
-        LOGGER.debug("Wrote Java file for {}.{} to {}", config.packageName(), config.className(), outputPath);
-
-        return outputPath;
+                .indent(INDENT);
+        timestamp(config.reproducible())
+                .ifPresent(timestamp -> javaFileBuilder.addFileComment("\n").addFileComment(timestamp));
+
+        // render into memory first so that the sink can leave an unchanged file untouched
+        var source = new StringBuilder();
+        javaFileBuilder.build().writeTo(source);
+
+        Path outputPath = sink.location(config.packageName(), config.className());
+        boolean written = sink.write(config.packageName(), config.className(), source);
+        if (written) {
+            LOGGER.debug("Wrote Java file for {} to {}", config.qualifiedClassName(), outputPath);
+        } else {
+            LOGGER.debug("Java file for {} at {} is unchanged", config.qualifiedClassName(), outputPath);
+        }
+
+        return new WriteResult(outputPath, written, StringUtil.utf8Length(source));
+    }
+
+    /**
+     * Determines the timestamp which is added to the file comment, using the {@code SOURCE_DATE_EPOCH} of the
+     * environment.
+     */
+    static Optional<String> timestamp(boolean reproducible) {
+        return timestamp(reproducible, Optional.ofNullable(System.getenv(SOURCE_DATE_EPOCH)));
+    }
+
+    /**
+     * Determines the timestamp which is added to the file comment. The {@code SOURCE_DATE_EPOCH} (in seconds)
+     * is always preferred. Otherwise, reproducible files have no timestamp at all.
+     */
+    static Optional<String> timestamp(boolean reproducible, Optional<String> sourceDateEpoch) {
+        if (sourceDateEpoch.isPresent()) {
+            try {
+                return Optional.of(DateTimeFormatter.ISO_INSTANT.format(
+                        Instant.ofEpochSecond(Long.parseLong(sourceDateEpoch.get().trim()))));
+            } catch (NumberFormatException e) {
+                throw new ValidationException("%s must be a number of seconds but was %s", SOURCE_DATE_EPOCH,
+                        sourceDateEpoch.get());
+            }
+        } else if (reproducible) {
+            return Optional.empty();
+        } else {
+            return Optional.of(ZonedDateTime.now().format(DateTimeFormatter.ofLocalizedDateTime(FormatStyle.LONG)));
+        }
     }
 
     protected void addFieldSpec(FieldSpec fieldSpec) {
@@ -0,0 +1,355 @@
+package com.jgazula.easyresources.core.internal.classgeneration;
+
+import com.jgazula.easyresources.core.internal.util.StringUtil;
+import com.jgazula.easyresources.core.output.OutputSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.lang.model.SourceVersion;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * This implementation writes a Java file without building it in memory first. Every member is formatted exactly
+ * like the {@link PoetClassGenerator} would format it as soon as it is added, and is spooled to a temporary file
+ * until the imports (which precede the class) are known. The memory usage is therefore the same for a class with
+ * a hundred thousand members as for a class with ten.
+ * <p>
+ * As the members are not collected, they must be added in the order in which they are written: constants, fields,
+ * constructors and then methods. Only {@link Class classes} are supported as types. A failure to spool a member
+ * is thrown as an {@link UncheckedIOException}.
+ */
+public class StreamingClassGenerator implements ClassGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingClassGenerator.class);
+
+    private static final String SPOOL_FILE_PREFIX = "easy-resources-";
+    private static final String SPOOL_FILE_SUFFIX = ".java.tmp";
+
+    /**
+     * The kinds of members, in the order in which they have to be added.
+     */
+    protected enum Member {
+        CONSTANT, FIELD, CONSTRUCTOR, METHOD
+    }
+
+    private final ClassGeneratorConfig config;
+    // the simple names which are taken by a type (mapped to its canonical name), and the types which are imported
+    private final Map<String, String> simpleNames = new HashMap<>();
+    private final Set<String> imports = new TreeSet<>();
+    private Optional<Spool> spool = Optional.empty();
+    private Member currentMember = Member.CONSTANT;
+    private int members;
+    private boolean closed;
+
+    // precompiled template of the constants, which is built on first use so that String is only imported if needed
+    private String constantPrefix = "";
+
+    public StreamingClassGenerator(ClassGeneratorConfig config) {
+        this.config = config;
+        checkName(config.className());
+        for (String interfaceName : config.interfaceNames()) {
+            checkName(interfaceName);
+            // like JavaPoet, the interfaces take their simple names before any of the members
+            simpleNames.putIfAbsent(interfaceName, config.qualifiedName(interfaceName));
+        }
+    }
+
+    @Override
+    public ClassGenerator addPublicConstantString(String variableName, String variableValue) {
+        checkName(variableName);
+        try {
+            if (constantPrefix.isEmpty()) {
+                // like JavaPoet, the implicit modifiers of the constants of an interface are omitted
+                constantPrefix = (config.constantsInterface() ? "" : "public static final ")
+                        + typeName(String.class) + " ";
+            }
+            beginMember(Member.CONSTANT)
+                    .emit(constantPrefix + variableName + " = ")
+                    .emitStringLiteral(variableValue)
+                    .emit(";\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public ClassGenerator addPrivateFinalField(ClassGeneratorVariable field) {
+        checkName(field.name());
+        try {
+            beginMember(Member.FIELD).emit("private final " + typeName(field.type()) + " " + field.name() + ";\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public ClassGenerator addConstructorWithArgs(List<ClassGeneratorVariable> args) {
+        args.forEach(arg -> checkName(arg.name()));
+        try {
+            JavaSourceWriter writer = beginMember(Member.CONSTRUCTOR)
+                    .emit("public " + config.className() + "(")
+                    .zeroWidthSpace();
+            for (int i = 0; i < args.size(); i++) {
+                if (i > 0) {
+                    writer.emit(",").wrappingSpace();
+                }
+                writer.emit(typeName(args.get(i).type()) + " " + args.get(i).name());
+            }
+            writer.emit(")").emit(" {\n").indent();
+            for (ClassGeneratorVariable arg : args) {
+                emitStatement(writer, "this." + arg.name() + " = " + arg.name() + ";\n");
+            }
+            writer.unindent().emit("}\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public WriteResult write(OutputSink sink) throws IOException {
+        try {
+            Spool body = spool();
+            body.source.unindent().emit("}").emit("\n").flush();
+            body.writer.close();
+
+            String header = header();
+            Path outputPath = sink.location(config.packageName(), config.className());
+            long[] bytes = new long[1];
+            boolean written = sink.write(config.packageName(), config.className(), writer -> {
+                var counter = new CountingWriter(writer);
+                counter.write(header);
+                try (Reader reader = Files.newBufferedReader(body.file, StandardCharsets.UTF_8)) {
+                    reader.transferTo(counter);
+                }
+                bytes[0] = counter.bytes;
+            });
+            if (written) {
+                LOGGER.debug("Wrote Java file for {} to {}", config.qualifiedClassName(), outputPath);
+            } else {
+                LOGGER.debug("Java file for {} at {} is unchanged", config.qualifiedClassName(), outputPath);
+            }
+
+            return new WriteResult(outputPath, written, bytes[0]);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Deletes the spooled members. A generator can no longer be used once it is closed.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (spool.isPresent()) {
+            Spool body = spool.get();
+            spool = Optional.empty();
+            try {
+                body.writer.close();
+            } finally {
+                Files.deleteIfExists(body.file);
+            }
+        }
+    }
+
+    /**
+     * Begins to write a member of the given kind.
+     *
+     * @return the writer to which the member has to be written, including its last line break
+     * @throws IllegalStateException if a member of a later kind has already been added, or if the member is not a
+     *                               constant of an interface
+     */
+    protected JavaSourceWriter beginMember(Member member) throws IOException {
+        if (config.constantsInterface() && member != Member.CONSTANT) {
+            throw new IllegalStateException(String.format("Unable to add a %s to the interface %s", name(member),
+                    config.qualifiedClassName()));
+        } else if (member.compareTo(currentMember) < 0) {
+            throw new IllegalStateException(String.format("Unable to add a %s after a %s", name(member),
+                    name(currentMember)));
+        }
+        currentMember = member;
+
+        JavaSourceWriter writer = spool().source;
+        if (members++ > 0) {
+            writer.emit("\n");
+        }
+        return writer;
+    }
+
+    /**
+     * Emits a statement whose continuation lines (if any) are indented twice.
+     */
+    protected static void emitStatement(JavaSourceWriter writer, String statement) throws IOException {
+        writer.beginStatement().emit(statement).endStatement();
+    }
+
+    /**
+     * Returns the name by which the given type is referenced, and imports the type if necessary. Like JavaPoet,
+     * a type is imported unless its simple name is the name of the generated class or of another type which has
+     * been referenced before. Such types are referenced by their canonical names instead.
+     */
+    protected String typeName(Type type) {
+        if (!(type instanceof Class)) {
+            throw new IllegalArgumentException("Unsupported type " + type.getTypeName());
+        }
+
+        Class<?> typeClass = (Class<?>) type;
+        if (typeClass.isPrimitive()) {
+            return typeClass.getName();
+        } else if (typeClass.isArray()) {
+            return typeName(typeClass.getComponentType()) + "[]";
+        }
+
+        Class<?> topLevelClass = typeClass;
+        for (Class<?> enclosing = typeClass.getEnclosingClass(); enclosing != null;
+             enclosing = enclosing.getEnclosingClass()) {
+            topLevelClass = enclosing;
+        }
+        String canonicalName = typeClass.getCanonicalName();
+        String topLevelName = topLevelClass.getCanonicalName();
+        if (canonicalName == null || topLevelName == null) {
+            throw new IllegalArgumentException("Unsupported type " + type.getTypeName());
+        }
+
+        String simpleName = topLevelClass.getSimpleName();
+        String nestedName = simpleName + canonicalName.substring(topLevelName.length());
+        if (simpleName.equals(config.className())) {
+            return canonicalName;
+        }
+
+        String takenBy = simpleNames.putIfAbsent(simpleName, topLevelName);
+        if (takenBy != null) {
+            return takenBy.equals(topLevelName) ? nestedName : canonicalName;
+        }
+
+        String packageName = topLevelClass.getPackageName();
+        if (!packageName.isEmpty() && !packageName.equals(config.packageName())) {
+            imports.add(topLevelName);
+        }
+        return nestedName;
+    }
+
+    /**
+     * Checks that the given name is a valid Java identifier, like JavaPoet does.
+     *
+     * @throws IllegalArgumentException if it is not
+     */
+    protected static void checkName(String name) {
+        if (!SourceVersion.isName(name)) {
+            throw new IllegalArgumentException("not a valid name: " + name);
+        }
+    }
+
+    private Spool spool() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("The generator of " + config.qualifiedClassName() + " is closed");
+        } else if (spool.isPresent()) {
+            return spool.get();
+        }
+
+        Path file = Files.createTempFile(SPOOL_FILE_PREFIX, SPOOL_FILE_SUFFIX);
+        Writer writer;
+        try {
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        var body = new Spool(file, writer, new JavaSourceWriter(writer, PoetClassGenerator.INDENT));
+        spool = Optional.of(body);
+        body.source.emit("public " + (config.constantsInterface() ? "interface " : "class ") + config.className()
+                + (config.interfaceNames().isEmpty() ? "" : " implements " + String.join(", ", config.interfaceNames()))
+                + " {\n").indent();
+        return body;
+    }
+
+    private String header() throws IOException {
+        var header = new StringBuilder();
+        var writer = new JavaSourceWriter(header, PoetClassGenerator.INDENT);
+
+        String comment = String.format(PoetClassGenerator.GENERATED_BY_COMMENT, config.generatedBy());
+        writer.emitComment(PoetClassGenerator.timestamp(config.reproducible())
+                .map(timestamp -> comment + "\n" + timestamp)
+                .orElse(comment));
+        if (!config.packageName().isEmpty()) {
+            writer.emit("package " + config.packageName() + ";\n").emit("\n");
+        }
+        for (String importedType : imports) {
+            writer.emit("import " + importedType + ";\n");
+        }
+        if (!imports.isEmpty()) {
+            writer.emit("\n");
+        }
+
+        writer.flush();
+        return header.toString();
+    }
+
+    private static String name(Member member) {
+        return member.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The temporary file to which the body of the class is written.
+     */
+    private static final class Spool {
+        private final Path file;
+        private final Writer writer;
+        private final JavaSourceWriter source;
+
+        private Spool(Path file, Writer writer, JavaSourceWriter source) {
+            this.file = file;
+            this.writer = writer;
+            this.source = source;
+        }
+    }
+
+    /**
+     * Counts the bytes of the characters which are handed to the sink, as they are encoded in UTF-8.
+     */
+    private static final class CountingWriter extends FilterWriter {
+        private long bytes;
+
+        private CountingWriter(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            out.write(c);
+            bytes += StringUtil.utf8Length(String.valueOf((char) c));
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            out.write(chars, offset, length);
+            bytes += StringUtil.utf8Length(CharBuffer.wrap(chars, offset, length));
+        }
+
+        @Override
+        public void write(String str, int offset, int length) throws IOException {
+            out.write(str, offset, length);
+            bytes += StringUtil.utf8Length(str.subSequence(offset, offset + length));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.jgazula.easyresources.core.internal.classgeneration;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * The outcome of writing a generated Java file.
+ */
+@Value
+public class WriteResult {
+    /**
+     * The path to the generated Java file.
+     */
+    @NonNull Path path;
+
+    /**
+     * Whether the file was actually written. This is {@code false} if the file already had the same content.
+     */
+    boolean written;
+
+    /**
+     * The size (in bytes) of the file which was handed to the sink.
+     */
+    long bytes;
+}
@@ -0,0 +1,150 @@
+package com.jgazula.easyresources.core.internal.concurrent;
+
+import com.jgazula.easyresources.core.util.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs independent generation tasks, either on the calling thread or concurrently on an {@link Executor}.
+ * Every task is run to completion even if other tasks fail, and all failures are reported together.
+ */
+public class TaskRunner implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskRunner.class);
+
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+    private static final String THREAD_NAME_PREFIX = "easy-resources-";
+
+    private final Executor executor;
+    private final Optional<ExecutorService> ownedExecutor;
+
+    private TaskRunner(Executor executor, Optional<ExecutorService> ownedExecutor) {
+        this.executor = executor;
+        this.ownedExecutor = ownedExecutor;
+    }
+
+    /**
+     * Creates a runner which uses the given executor if one is provided. Otherwise, tasks are run on the calling
+     * thread when {@code parallelism} is one, or on a new pool of {@code parallelism} threads (virtual threads
+     * when running on Java 21+) which is shut down when the runner is closed.
+     */
+    public static TaskRunner create(Executor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new ValidationException("Parallelism must be at least 1 but was %s", Integer.toString(parallelism));
+        }
+
+        if (executor != null) {
+            return new TaskRunner(executor, Optional.empty());
+        } else if (parallelism == 1) {
+            return new TaskRunner(Runnable::run, Optional.empty());
+        } else {
+            ExecutorService pool = Executors.newFixedThreadPool(parallelism, threadFactory());
+            return new TaskRunner(pool, Optional.of(pool));
+        }
+    }
+
+    /**
+     * Runs all the given tasks and waits for them to complete. If any of them fail, the failure of the first
+     * failed task (in the order given) is thrown with the failures of the remaining tasks added as suppressed.
+     */
+    public void runAll(List<? extends Task> tasks) throws IOException {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    task.run();
+                } catch (IOException e) {
+                    throw new TaskIOException(e);
+                }
+            }, executor));
+        }
+
+        Throwable failure = null;
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                Throwable cause = unwrap(e);
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    @Override
+    public void close() {
+        ownedExecutor.ifPresent(ExecutorService::shutdown);
+    }
+
+    private static Throwable unwrap(CompletionException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        return cause instanceof TaskIOException ? cause.getCause() : cause;
+    }
+
+    private static ThreadFactory threadFactory() {
+        if (Runtime.version().feature() >= VIRTUAL_THREADS_JAVA_VERSION) {
+            try {
+                // reflection is necessary as long as Java 11 is supported
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                Method ofVirtual = Thread.class.getMethod("ofVirtual");
+                Method name = builderClass.getMethod("name", String.class, long.class);
+                Method factory = builderClass.getMethod("factory");
+
+                Object builder = name.invoke(ofVirtual.invoke(null), THREAD_NAME_PREFIX, 0L);
+                return (ThreadFactory) factory.invoke(builder);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOGGER.debug("Unable to create virtual threads. Falling back to platform threads.", e);
+            }
+        }
+
+        var threadCount = new AtomicInteger();
+        return runnable -> {
+            var thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A single unit of work.
+     */
+    @FunctionalInterface
+    public interface Task {
+        void run() throws IOException;
+    }
+
+    /**
+     * Carries the checked exception of a task through {@link CompletableFuture}.
+     */
+    private static class TaskIOException extends RuntimeException {
+        TaskIOException(IOException cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.jgazula.easyresources.core.internal.generation;
+
+import com.jgazula.easyresources.core.batch.GenerationFingerprint;
+
+import java.io.IOException;
+
+/**
+ * A generator whose work can be planned within a {@link GenerationContext} which is shared with other generators,
+ * so that they can all be run as a single job.
+ */
+public interface Generation {
+
+    /**
+     * Plans the generation of all the configured outputs.
+     */
+    GenerationPlan plan(GenerationContext context) throws IOException;
+
+    /**
+     * Describes the inputs and outputs of all the configured outputs, without generating anything.
+     */
+    GenerationFingerprint fingerprint() throws IOException;
+}
@@ -0,0 +1,331 @@
+package com.jgazula.easyresources.core.internal.generation;
+
+import com.jgazula.easyresources.core.batch.GeneratedOutput;
+import com.jgazula.easyresources.core.internal.incremental.OutputManifest;
+import com.jgazula.easyresources.core.internal.properties.ResourceBundleIndex;
+import com.jgazula.easyresources.core.internal.util.ArchiveFileSystems;
+import com.jgazula.easyresources.core.metrics.GenerationListener;
+import com.jgazula.easyresources.core.metrics.GenerationPhase;
+import com.jgazula.easyresources.core.metrics.GenerationReport;
+import com.jgazula.easyresources.core.metrics.OutputMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * The state which is shared by all the generators of a single run. Within a run, every archive is opened once,
+ * every bundle directory is listed once and every properties file is read once, however many generators use them.
+ * The properties of a file are only kept until its last {@link #reserveProperties(Path) reserved} load, so that a
+ * run holds no more files than its pending tasks still need.
+ * The outcome and metrics of every output are recorded for the summary and report of the run, and the listeners
+ * of the run are notified about them.
+ */
+public class GenerationContext implements AutoCloseable {
+
+    /**
+     * Loads a properties file.
+     */
+    @FunctionalInterface
+    public interface PropertiesLoader {
+        Map<String, String> load(Path path) throws IOException;
+    }
+
+    /**
+     * Reads a properties file without keeping its properties.
+     */
+    @FunctionalInterface
+    public interface PropertiesStreamer {
+        void stream(Path path) throws IOException;
+    }
+
+    /**
+     * Lists bundle directories and indexes the resource bundles within them.
+     */
+    @FunctionalInterface
+    public interface BundleIndexer {
+        ResourceBundleIndex index(Collection<Path> directories) throws IOException;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationContext.class);
+
+    private static final String JAVA_EXTENSION = ".java";
+    private static final String CLASS_EXTENSION = ".class";
+
+    private final Instant startedAt = Instant.now();
+    private final long start = System.nanoTime();
+    private final List<GenerationListener> listeners;
+    private final ArchiveFileSystems archives = new ArchiveFileSystems();
+    private final Map<Path, CompletableFuture<Map<String, String>>> properties = new ConcurrentHashMap<>();
+    // the number of loads of every file which the planned tasks have reserved but not made yet
+    private final Map<Path, Integer> pendingLoads = new ConcurrentHashMap<>();
+    private final Map<Path, ResourceBundleIndex> bundleIndexes = new HashMap<>();
+    private final Queue<OutputMetrics> outputs = new ConcurrentLinkedQueue<>();
+    private final Map<GenerationPhase, LongAdder> phaseNanos = new EnumMap<>(GenerationPhase.class);
+    private final AtomicInteger propertiesFilesRead = new AtomicInteger();
+    private final AtomicInteger directoriesListed = new AtomicInteger();
+
+    public GenerationContext() {
+        this(List.of());
+    }
+
+    /**
+     * @param listeners the listeners which are notified about the outputs and the report of the run
+     */
+    public GenerationContext(Collection<GenerationListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+        for (GenerationPhase phase : GenerationPhase.values()) {
+            phaseNanos.put(phase, new LongAdder());
+        }
+    }
+
+    /**
+     * Resolves the given path, which may point inside an archive.
+     *
+     * @see ArchiveFileSystems#resolve(Path)
+     */
+    public Path resolve(Path path) throws IOException {
+        return archives.resolve(path);
+    }
+
+    /**
+     * Reserves a load of the given (resolved) file by a planned task, so that its properties are kept after they
+     * are first loaded until all the reserved loads have been made (or {@link #releaseProperties(Path) released}).
+     */
+    public void reserveProperties(Path path) {
+        pendingLoads.merge(key(path), 1, Integer::sum);
+    }
+
+    /**
+     * Gives up a reserved load of the given (resolved) file, such as by a task whose output is up to date. The
+     * properties are dropped once no loads are pending any more.
+     */
+    public void releaseProperties(Path path) {
+        pendingLoads.compute(key(path), (key, loads) -> {
+            if (loads == null || loads <= 1) {
+                properties.remove(key);
+                return null;
+            }
+            return loads - 1;
+        });
+    }
+
+    /**
+     * Returns the properties of the given (resolved) file, which are loaded with the given loader only the first
+     * time they are requested while they are kept. Every call makes one of the {@link #reserveProperties(Path)
+     * reserved} loads, and the properties of a file without any further reserved loads are not kept. The returned
+     * map cannot be modified.
+     */
+    public Map<String, String> loadProperties(Path path, PropertiesLoader loader) throws IOException {
+        try {
+            return load(path, loader);
+        } finally {
+            releaseProperties(path);
+        }
+    }
+
+    private Map<String, String> load(Path path, PropertiesLoader loader) throws IOException {
+        var loading = new CompletableFuture<Map<String, String>>();
+        CompletableFuture<Map<String, String>> loaded = properties.putIfAbsent(key(path), loading);
+        if (loaded == null) {
+            loaded = loading;
+            try {
+                propertiesFilesRead.incrementAndGet();
+                loading.complete(Collections.unmodifiableMap(loader.load(path)));
+            } catch (IOException | RuntimeException e) {
+                loading.completeExceptionally(e);
+            }
+        }
+
+        try {
+            return loaded.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the given (resolved) file with the given streamer. As the properties are not kept, the file is read
+     * again by every caller.
+     */
+    public void streamProperties(Path path, PropertiesStreamer streamer) throws IOException {
+        propertiesFilesRead.incrementAndGet();
+        streamer.stream(path);
+    }
+
+    /**
+     * Returns an index of the resource bundles in the given (resolved) directories. Only the directories which
+     * have not been listed yet in this run are listed, all at once with the given indexer.
+     */
+    public synchronized ResourceBundleIndex indexResourceBundles(Collection<Path> directories, BundleIndexer indexer)
+            throws IOException {
+        List<Path> unlisted = new ArrayList<>();
+        for (Path directory : new LinkedHashSet<>(directories)) {
+            if (!bundleIndexes.containsKey(key(directory))) {
+                unlisted.add(directory);
+            }
+        }
+
+        if (!unlisted.isEmpty()) {
+            long indexStart = System.nanoTime();
+            ResourceBundleIndex index = indexer.index(unlisted);
+            addPhaseNanos(GenerationPhase.INDEX, System.nanoTime() - indexStart);
+            directoriesListed.addAndGet(unlisted.size());
+            for (Path directory : unlisted) {
+                bundleIndexes.put(key(directory), index);
+            }
+        }
+
+        Set<ResourceBundleIndex> indexes = new LinkedHashSet<>();
+        for (Path directory : directories) {
+            indexes.add(bundleIndexes.get(key(directory)));
+        }
+        return ResourceBundleIndex.combine(indexes);
+    }
+
+    /**
+     * Records the outcome of an output for which no metrics were collected.
+     */
+    public void record(GeneratedOutput output) {
+        record(output, new OutputRecorder());
+    }
+
+    /**
+     * Records the outcome and metrics of an output, and notifies the listeners about them.
+     */
+    public void record(GeneratedOutput output, OutputRecorder recorder) {
+        OutputMetrics metrics = recorder.metrics(output);
+        outputs.add(metrics);
+        metrics.phaseNanos().forEach(this::addPhaseNanos);
+        for (GenerationListener listener : listeners) {
+            listener.outputCompleted(metrics);
+        }
+    }
+
+    /**
+     * Deletes the files which the given outputs have replaced since an earlier run of the same generator config,
+     * and records them as deleted.
+     *
+     * @see OutputManifest#pruneAndUpdate(Path, String, Collection)
+     */
+    public void pruneStaleOutputs(Path destinationDir, String generatorName, List<Path> outputs) throws IOException {
+        Path root = destinationDir.toAbsolutePath().normalize();
+        for (Path deleted : OutputManifest.pruneAndUpdate(destinationDir, generatorName, outputs)) {
+            LOGGER.info("Deleted stale output {}", deleted);
+            record(new GeneratedOutput(generatorName, className(root.relativize(deleted)), deleted,
+                    GeneratedOutput.Status.DELETED));
+        }
+    }
+
+    /**
+     * Returns the outcomes of all the outputs which have been recorded, sorted by path.
+     */
+    public List<GeneratedOutput> outputs() {
+        return sortedMetrics().stream().map(OutputMetrics::output).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the number of properties files which have actually been read.
+     */
+    public int propertiesFilesRead() {
+        return propertiesFilesRead.get();
+    }
+
+    /**
+     * Returns the number of bundle directories which have actually been listed.
+     */
+    public int directoriesListed() {
+        return directoriesListed.get();
+    }
+
+    /**
+     * Completes the run: creates its report and notifies the listeners about it.
+     */
+    public GenerationReport complete() throws IOException {
+        Map<GenerationPhase, Long> phases = new EnumMap<>(GenerationPhase.class);
+        phaseNanos.forEach((phase, nanos) -> {
+            if (nanos.sum() > 0) {
+                phases.put(phase, nanos.sum());
+            }
+        });
+
+        var report = new GenerationReport(startedAt, System.nanoTime() - start, propertiesFilesRead(),
+                directoriesListed(), Collections.unmodifiableMap(phases), List.copyOf(sortedMetrics()));
+        for (GenerationListener listener : listeners) {
+            listener.runCompleted(report);
+        }
+        return report;
+    }
+
+    /**
+     * Closes the archives which have been opened during the run.
+     */
+    @Override
+    public void close() throws IOException {
+        properties.clear();
+        pendingLoads.clear();
+        archives.close();
+    }
+
+    private List<OutputMetrics> sortedMetrics() {
+        List<OutputMetrics> sorted = new ArrayList<>(outputs);
+        sorted.sort(Comparator.comparing(metrics -> metrics.output().path().toString()));
+        return sorted;
+    }
+
+    private void addPhaseNanos(GenerationPhase phase, long nanos) {
+        LongAdder total = phaseNanos.get(phase);
+        if (total != null) {
+            total.add(nanos);
+        }
+    }
+
+    /**
+     * Returns the name of the class of the given Java or class file, relative to its destination directory.
+     */
+    private static String className(Path relativeFile) {
+        var className = new StringBuilder();
+        for (Path segment : relativeFile) {
+            if (className.length() > 0) {
+                className.append('.');
+            }
+            className.append(segment);
+        }
+        for (String extension : List.of(JAVA_EXTENSION, CLASS_EXTENSION)) {
+            if (className.toString().endsWith(extension)) {
+                return className.substring(0, className.length() - extension.length());
+            }
+        }
+        return className.toString();
+    }
+
+    private static Path key(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+}
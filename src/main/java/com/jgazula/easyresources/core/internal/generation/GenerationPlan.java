@@ -0,0 +1,47 @@
+package com.jgazula.easyresources.core.internal.generation;
+
+import com.jgazula.easyresources.core.internal.concurrent.TaskRunner;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The planned work of a generator: one independent task per output, and a completion step (such as saving the
+ * fingerprints of the outputs) which must run once all the tasks have succeeded.
+ */
+public class GenerationPlan {
+
+    /**
+     * The step which completes a plan.
+     */
+    @FunctionalInterface
+    public interface Completion {
+        void complete() throws IOException;
+    }
+
+    private final List<TaskRunner.Task> tasks;
+    private final Completion completion;
+
+    public GenerationPlan(List<TaskRunner.Task> tasks, Completion completion) {
+        this.tasks = List.copyOf(tasks);
+        this.completion = completion;
+    }
+
+    /**
+     * Returns a plan without any work.
+     */
+    public static GenerationPlan empty() {
+        return new GenerationPlan(List.of(), () -> { });
+    }
+
+    public List<TaskRunner.Task> tasks() {
+        return tasks;
+    }
+
+    /**
+     * Completes the plan. Must only be called after all the tasks have succeeded.
+     */
+    public void complete() throws IOException {
+        completion.complete();
+    }
+}
@@ -0,0 +1,97 @@
+package com.jgazula.easyresources.core.internal.generation;
+
+import com.jgazula.easyresources.core.batch.GeneratedOutput;
+import com.jgazula.easyresources.core.metrics.GenerationPhase;
+import com.jgazula.easyresources.core.metrics.OutputMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Accumulates the metrics of a single output while it is being generated. An instance is only ever used by the
+ * thread which generates the output. Metrics are best effort: a size which cannot be determined is counted as 0.
+ */
+public class OutputRecorder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutputRecorder.class);
+
+    private final long[] phaseNanos = new long[GenerationPhase.values().length];
+    private int keys;
+    private long bytesRead;
+    private long bytesWritten;
+    private long patterns;
+    private long parsedPatterns;
+
+    /**
+     * Returns the start time of a phase, to be passed to {@link #stop(GenerationPhase, long)}.
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Adds the time since the given start time to the given phase.
+     */
+    public void stop(GenerationPhase phase, long start) {
+        add(phase, System.nanoTime() - start);
+    }
+
+    /**
+     * Adds the given time to the given phase.
+     */
+    public void add(GenerationPhase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    public void keys(int keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Records how many message patterns were analysed and how many of them actually had to be parsed.
+     */
+    public void patterns(long patterns, long parsedPatterns) {
+        this.patterns = patterns;
+        this.parsedPatterns = parsedPatterns;
+    }
+
+    /**
+     * Counts the size of the given file, which is being loaded, as read.
+     */
+    public void read(Path file) {
+        bytesRead += size(file);
+    }
+
+    /**
+     * Counts the given number of bytes, which have been handed to the sink of the output, as written.
+     */
+    public void written(long bytes) {
+        bytesWritten += bytes;
+    }
+
+    OutputMetrics metrics(GeneratedOutput output) {
+        Map<GenerationPhase, Long> phases = new EnumMap<>(GenerationPhase.class);
+        for (GenerationPhase phase : GenerationPhase.values()) {
+            if (phaseNanos[phase.ordinal()] > 0) {
+                phases.put(phase, phaseNanos[phase.ordinal()]);
+            }
+        }
+        return new OutputMetrics(output, keys, bytesRead, bytesWritten, patterns, parsedPatterns,
+                Collections.unmodifiableMap(phases));
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            LOGGER.debug("Unable to determine the size of {}", file, e);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.jgazula.easyresources.core.internal.incremental;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * A snapshot of everything which was used to generate a single output file: the generator configuration
+ * (including the generator version) and every input file.
+ */
+@Value
+public class Fingerprint {
+    @NonNull String config;
+    @NonNull List<InputFingerprint> inputs;
+
+    /**
+     * Checks if the given fingerprint was created from the same configuration and the same input contents.
+     */
+    public boolean matches(Fingerprint other) {
+        if (!config.equals(other.config) || inputs.size() != other.inputs.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < inputs.size(); i++) {
+            if (!inputs.get(i).sameContentAs(other.inputs.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,214 @@
+package com.jgazula.easyresources.core.internal.incremental;
+
+import com.jgazula.easyresources.core.internal.util.AtomicFiles;
+import lombok.NonNull;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A persistent store of {@link Fingerprint}s which is kept within the destination directory of a generator. Each
+ * fingerprint is stored against the key of the output it describes (such as the fully qualified class name), along
+ * with the files which were generated for the output (relative to the destination directory).
+ * Several configs may share a store, so a store only saves the fingerprints which have been put into it, and keeps
+ * those which other configs have saved in the meantime.
+ */
+public class FingerprintStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FingerprintStore.class);
+
+    private static final String CONFIG_SUFFIX = ".config";
+    private static final String INPUT_INFIX = ".input.";
+    private static final String OUTPUT_INFIX = ".output.";
+    private static final String INPUT_SEPARATOR = ",";
+    private static final int INPUT_FIELDS = 4;
+
+    // the stores which are being saved, as the configs of a batch may save the same store concurrently
+    private static final Map<Path, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final Path file;
+    private final Map<String, Entry> entries;
+    // the entries which have been put since the store was loaded
+    private final Map<String, Entry> updated = new ConcurrentHashMap<>();
+
+    private FingerprintStore(Path directory, Path file, Map<String, Entry> entries) {
+        this.directory = directory;
+        this.file = file;
+        this.entries = new ConcurrentHashMap<>(entries);
+    }
+
+    /**
+     * Loads the store of the given generator from the given directory. An empty store is returned if the
+     * store does not exist yet or if it cannot be parsed.
+     */
+    public static FingerprintStore load(Path directory, String generatorName) throws IOException {
+        Path root = directory.toAbsolutePath().normalize();
+        Path file = root.resolve(".easy-resources-" + generatorName + ".fingerprints");
+        return new FingerprintStore(root, file, read(file));
+    }
+
+    /**
+     * Reads the entries of the given store, or none if it does not exist or cannot be parsed.
+     */
+    private static Map<String, Entry> read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return Map.of();
+        }
+
+        try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            var properties = new Properties();
+            properties.load(reader);
+            return parse(properties);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Unable to parse fingerprint store {}. All outputs will be regenerated.", file, e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Returns the fingerprint of the given output from the previous run.
+     */
+    public Optional<Fingerprint> get(String outputKey) {
+        return Optional.ofNullable(entries.get(outputKey)).map(Entry::fingerprint);
+    }
+
+    /**
+     * Returns the files which were generated for the given output by the previous run.
+     */
+    public List<Path> outputs(String outputKey) {
+        Entry entry = entries.get(outputKey);
+        if (entry == null) {
+            return List.of();
+        }
+        return entry.outputs().stream().map(directory::resolve).collect(Collectors.toList());
+    }
+
+    /**
+     * Records the fingerprint of the given output and the files which were generated for it. The store must be
+     * {@link #save() saved} to persist them.
+     */
+    public void put(String outputKey, Fingerprint fingerprint, List<Path> outputPaths) {
+        List<String> outputs = outputPaths.stream()
+                .map(outputPath -> OutputManifest.relativize(directory, outputPath.toAbsolutePath().normalize()))
+                .collect(Collectors.toList());
+        var entry = new Entry(fingerprint, outputs);
+        entries.put(outputKey, entry);
+        updated.put(outputKey, entry);
+    }
+
+    /**
+     * Checks if every file of the given output still exists and was generated from inputs matching the given
+     * fingerprint. An output whose files were not recorded is never up to date.
+     */
+    public boolean isUpToDate(String outputKey, Fingerprint fingerprint) {
+        Entry entry = entries.get(outputKey);
+        if (entry == null || entry.outputs().isEmpty() || !entry.fingerprint().matches(fingerprint)) {
+            return false;
+        }
+        return entry.outputs().stream().allMatch(output -> Files.isRegularFile(directory.resolve(output)));
+    }
+
+    /**
+     * Persists the fingerprints which have been put into the store, along with those which are currently saved for
+     * all the other outputs. The file is written atomically so that an interrupted build never leaves a corrupted
+     * store behind.
+     */
+    public void save() throws IOException {
+        synchronized (LOCKS.computeIfAbsent(file, key -> new Object())) {
+            Map<String, Entry> saved = new HashMap<>(read(file));
+            saved.putAll(updated);
+            write(saved);
+        }
+    }
+
+    private void write(Map<String, Entry> saved) throws IOException {
+        var properties = new Properties();
+        saved.forEach((outputKey, entry) -> {
+            properties.setProperty(outputKey + CONFIG_SUFFIX, entry.fingerprint().config());
+            List<InputFingerprint> inputs = entry.fingerprint().inputs();
+            for (int i = 0; i < inputs.size(); i++) {
+                InputFingerprint input = inputs.get(i);
+                properties.setProperty(outputKey + INPUT_INFIX + i, String.join(INPUT_SEPARATOR,
+                        Long.toString(input.size()), Long.toString(input.lastModified()), input.contentHash(),
+                        input.path()));
+            }
+            List<String> outputs = entry.outputs();
+            for (int i = 0; i < outputs.size(); i++) {
+                properties.setProperty(outputKey + OUTPUT_INFIX + i, outputs.get(i));
+            }
+        });
+
+        var content = new StringWriter();
+        properties.store(content, null);
+        AtomicFiles.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+        LOGGER.debug("Saved {} fingerprints to {}", saved.size(), file);
+    }
+
+    private static Map<String, Entry> parse(Properties properties) {
+        Map<String, String> configs = new HashMap<>();
+        Map<String, TreeMap<Integer, InputFingerprint>> inputs = new HashMap<>();
+        Map<String, TreeMap<Integer, String>> outputs = new HashMap<>();
+
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key);
+            // the output key itself may contain either infix, so the last one is the one which was appended
+            int inputIndex = key.lastIndexOf(INPUT_INFIX);
+            int outputIndex = key.lastIndexOf(OUTPUT_INFIX);
+            if (key.endsWith(CONFIG_SUFFIX)) {
+                configs.put(key.substring(0, key.length() - CONFIG_SUFFIX.length()), value);
+            } else if (inputIndex > 0 && inputIndex > outputIndex) {
+                String outputKey = key.substring(0, inputIndex);
+                int index = Integer.parseInt(key.substring(inputIndex + INPUT_INFIX.length()));
+                inputs.computeIfAbsent(outputKey, k -> new TreeMap<>()).put(index, parseInput(value));
+            } else if (outputIndex > 0) {
+                String outputKey = key.substring(0, outputIndex);
+                int index = Integer.parseInt(key.substring(outputIndex + OUTPUT_INFIX.length()));
+                outputs.computeIfAbsent(outputKey, k -> new TreeMap<>()).put(index, value);
+            } else {
+                throw new IllegalArgumentException("Unexpected fingerprint key " + key);
+            }
+        }
+
+        Map<String, Entry> entries = new HashMap<>();
+        configs.forEach((outputKey, config) -> {
+            TreeMap<Integer, InputFingerprint> outputInputs = inputs.getOrDefault(outputKey, new TreeMap<>());
+            TreeMap<Integer, String> outputFiles = outputs.getOrDefault(outputKey, new TreeMap<>());
+            entries.put(outputKey, new Entry(new Fingerprint(config, new ArrayList<>(outputInputs.values())),
+                    new ArrayList<>(outputFiles.values())));
+        });
+        return entries;
+    }
+
+    private static InputFingerprint parseInput(String value) {
+        String[] fields = value.split(INPUT_SEPARATOR, INPUT_FIELDS);
+        if (fields.length != INPUT_FIELDS) {
+            throw new IllegalArgumentException("Malformed input fingerprint " + value);
+        }
+        return new InputFingerprint(fields[3], Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2]);
+    }
+
+    /**
+     * The fingerprint of an output and its files, relative to the directory of the store.
+     */
+    @Value
+    private static class Entry {
+        @NonNull Fingerprint fingerprint;
+        @NonNull List<String> outputs;
+    }
+}
@@ -0,0 +1,134 @@
+package com.jgazula.easyresources.core.internal.incremental;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Computes {@link Fingerprint}s of input files. The content of a file is only hashed when its size or last
+ * modified time differs from the previous fingerprint, which keeps up-to-date checks down to a stat call per file.
+ */
+public class Fingerprinter {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 8192;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Creates a fingerprint of the given configuration and input files.
+     *
+     * @param config a string which uniquely describes everything (other than the inputs) that affects the output
+     * @param inputs the input files, in the order in which they are used by the generator
+     * @param previous the fingerprint from the previous run (if any) whose content hashes may be reused
+     */
+    public Fingerprint fingerprint(String config, List<Path> inputs, Optional<Fingerprint> previous)
+            throws IOException {
+        Map<String, InputFingerprint> previousInputs = new HashMap<>();
+        previous.ifPresent(fingerprint -> fingerprint.inputs()
+                .forEach(input -> previousInputs.put(input.path(), input)));
+
+        List<InputFingerprint> inputFingerprints = new ArrayList<>(inputs.size());
+        for (Path input : inputs) {
+            var attrs = Files.readAttributes(input, BasicFileAttributes.class);
+            String path = pathKey(input);
+            long size = attrs.size();
+            long lastModified = attrs.lastModifiedTime().toMillis();
+
+            InputFingerprint previousInput = previousInputs.get(path);
+            String contentHash;
+            if (previousInput != null && previousInput.size() == size && previousInput.lastModified() == lastModified) {
+                contentHash = previousInput.contentHash();
+            } else {
+                contentHash = hash(input);
+            }
+
+            inputFingerprints.add(new InputFingerprint(path, size, lastModified, contentHash));
+        }
+
+        return new Fingerprint(config, inputFingerprints);
+    }
+
+    /**
+     * Computes a cache key of the given fingerprints, which changes whenever the configuration, the names or the
+     * contents of the inputs change. Unlike the fingerprints themselves, the key does not depend on where the inputs
+     * are located, so that it is the same for different checkouts of the same sources.
+     */
+    public String cacheKey(List<Fingerprint> fingerprints) {
+        MessageDigest digest = newDigest();
+        for (Fingerprint fingerprint : fingerprints) {
+            update(digest, fingerprint.config());
+            for (InputFingerprint input : fingerprint.inputs()) {
+                update(digest, input.fileName());
+                update(digest, input.contentHash());
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Combines the given cache keys into one.
+     */
+    public String combineCacheKeys(List<String> cacheKeys) {
+        MessageDigest digest = newDigest();
+        cacheKeys.forEach(cacheKey -> update(digest, cacheKey));
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Paths inside an archive are identified by their URI, which includes the archive itself.
+     */
+    private static String pathKey(Path path) {
+        return path.getFileSystem().equals(FileSystems.getDefault()) ? path.toString() : path.toUri().toString();
+    }
+
+    private String hash(Path path) throws IOException {
+        MessageDigest digest = newDigest();
+
+        try (InputStream in = Files.newInputStream(path)) {
+            var buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Adds the given value to the digest, terminated so that consecutive values cannot run into each other.
+     */
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(byte[] bytes) {
+        var chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,31 @@
+package com.jgazula.easyresources.core.internal.incremental;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * A snapshot of a single input file which was used to generate an output file.
+ */
+@Value
+public class InputFingerprint {
+    @NonNull String path;
+    long size;
+    long lastModified;
+    @NonNull String contentHash;
+
+    /**
+     * Returns the name of the input file (the last segment of its path or URI).
+     */
+    public String fileName() {
+        int separator = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        return path.substring(separator + 1);
+    }
+
+    /**
+     * Checks if this input has the same path, size and content as the given input. The last modified time is
+     * intentionally ignored so that touching a file does not trigger a regeneration.
+     */
+    public boolean sameContentAs(InputFingerprint other) {
+        return path.equals(other.path) && size == other.size && contentHash.equals(other.contentHash);
+    }
+}
@@ -0,0 +1,152 @@
+package com.jgazula.easyresources.core.internal.incremental;
+
+import com.jgazula.easyresources.core.internal.util.AtomicFiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A manifest of the files which the generators of one kind have generated, which is kept within their destination
+ * directory. Each line is the path of a generated file relative to the destination directory, with {@code /} as the
+ * separator, and the files of every generator config form a group of lines of their own, separated by empty lines.
+ * <p>
+ * As configs have no identity of their own, a config is recognized by its outputs: the groups which share any file
+ * with the current outputs of a config are its earlier outputs, and all the other groups belong to other configs
+ * which use the same destination directory, and are never touched. A config which has none of its earlier outputs
+ * any more (such as one whose only class has been renamed) can therefore not be recognized, and its earlier outputs
+ * are kept.
+ */
+public class OutputManifest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutputManifest.class);
+
+    private static final String SEPARATOR = "/";
+
+    // the manifests which are being updated, as the configs of a batch may prune the same manifest concurrently
+    private static final Map<Path, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private OutputManifest() { }
+
+    /**
+     * Deletes the files which the given outputs have replaced, along with any package directories left empty, and
+     * then records the given outputs in the manifest of the given generator. These are the files of the groups in
+     * the manifest which share a file with the given outputs but are not among them. Only files within the
+     * destination directory are ever deleted.
+     *
+     * @return the deleted files
+     */
+    public static List<Path> pruneAndUpdate(Path destinationDir, String generatorName, Collection<Path> outputs)
+            throws IOException {
+        Path root = destinationDir.toAbsolutePath().normalize();
+        Path file = root.resolve(".easy-resources-" + generatorName + ".manifest");
+        synchronized (LOCKS.computeIfAbsent(file, key -> new Object())) {
+            return pruneAndUpdate(root, file, outputs);
+        }
+    }
+
+    private static List<Path> pruneAndUpdate(Path root, Path file, Collection<Path> outputs) throws IOException {
+        Set<String> current = new TreeSet<>();
+        for (Path output : outputs) {
+            current.add(relativize(root, output.toAbsolutePath().normalize()));
+        }
+
+        List<Set<String>> groups = new ArrayList<>();
+        List<Path> deleted = new ArrayList<>();
+        for (Set<String> group : readGroups(file)) {
+            if (Collections.disjoint(group, current)) {
+                groups.add(group);
+                continue;
+            }
+
+            for (String line : group) {
+                if (current.contains(line)) {
+                    continue;
+                }
+
+                Path stale = root.resolve(line).normalize();
+                if (!stale.startsWith(root) || stale.equals(root)) {
+                    LOGGER.warn("Ignoring {} in {} as it is outside of the destination directory", line, file);
+                } else if (Files.deleteIfExists(stale)) {
+                    deleted.add(stale);
+                    deleteEmptyParents(stale, root);
+                }
+            }
+        }
+        if (!current.isEmpty()) {
+            groups.add(current);
+        }
+
+        var content = new StringBuilder();
+        for (Set<String> group : groups) {
+            if (content.length() > 0) {
+                content.append('\n');
+            }
+            group.forEach(output -> content.append(output).append('\n'));
+        }
+        AtomicFiles.writeIfChanged(file, content.toString().getBytes(StandardCharsets.UTF_8));
+        return deleted;
+    }
+
+    private static List<Set<String>> readGroups(Path file) throws IOException {
+        List<Set<String>> groups = new ArrayList<>();
+        if (!Files.isRegularFile(file)) {
+            return groups;
+        }
+
+        Set<String> group = new TreeSet<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (!line.isEmpty()) {
+                group.add(line);
+            } else if (!group.isEmpty()) {
+                groups.add(group);
+                group = new TreeSet<>();
+            }
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    /**
+     * Returns the given file relative to the given root, with its segments separated by slashes on every platform.
+     */
+    static String relativize(Path root, Path output) {
+        Path relative = root.relativize(output);
+        var joined = new StringBuilder();
+        for (Path segment : relative) {
+            if (joined.length() > 0) {
+                joined.append(SEPARATOR);
+            }
+            joined.append(segment);
+        }
+        return joined.toString();
+    }
+
+    private static void deleteEmptyParents(Path file, Path root) throws IOException {
+        Path current = file.getParent();
+        while (current != null && current.startsWith(root) && !current.equals(root) && isEmpty(current)) {
+            Files.delete(current);
+            current = current.getParent();
+        }
+    }
+
+    private static boolean isEmpty(Path directory) throws IOException {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            return !entries.iterator().hasNext();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.jgazula.easyresources.core.internal.properties;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * A {@link PropertiesReader} which loads the properties files through a {@link PropertiesCache}.
+ */
+public class CachingPropertiesReader extends PropertiesReader {
+
+    private final PropertiesCache cache;
+
+    /**
+     * @param parallelParsingThreshold the size (in bytes) from which properties files are parsed in parallel
+     * @param cache the cache of parsed properties files
+     */
+    public CachingPropertiesReader(long parallelParsingThreshold, PropertiesCache cache) {
+        super(parallelParsingThreshold);
+        this.cache = cache;
+    }
+
+    /**
+     * {@inheritDoc} The returned map cannot be modified.
+     */
+    @Override
+    public Map<String, String> loadProperties(Path path) throws IOException {
+        return cache.get(path, super::loadProperties);
+    }
+}
@@ -0,0 +1,21 @@
+package com.jgazula.easyresources.core.internal.properties;
+
+/**
+ * This exception indicates that a properties key cannot be converted to a Java identifier.
+ */
+public class InvalidPropertyKeyException extends IllegalArgumentException {
+
+    private final String key;
+
+    public InvalidPropertyKeyException(String key, IllegalArgumentException cause) {
+        super("Invalid property key " + key, cause);
+        this.key = key;
+    }
+
+    /**
+     * The key which cannot be converted.
+     */
+    public String key() {
+        return key;
+    }
+}
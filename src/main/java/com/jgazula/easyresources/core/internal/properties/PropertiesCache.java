@@ -0,0 +1,178 @@
+package com.jgazula.easyresources.core.internal.properties;
+
+import com.jgazula.easyresources.core.util.PropertiesCacheStats;
+import com.jgazula.easyresources.core.util.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A bounded cache of parsed properties files, which lets long-lived processes (such as build daemons) skip parsing
+ * files which have not changed since an earlier build.
+ * <p>
+ * A cached file is reused only if its size, last modified time and file key (if the file system has one) still
+ * match those when it was parsed. The cache is bounded by an estimate of the heap which the cached properties take
+ * (their characters, and the overhead of every string and map entry), and the least recently used files are evicted
+ * first. It is safe to use from concurrent builds.
+ */
+public class PropertiesCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PropertiesCache.class);
+
+    /**
+     * The default maximum estimated size of the cached properties, in bytes (64 MiB).
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64L * 1024 * 1024;
+
+    // the estimated heap usage of a cached property: every character may take two bytes, every string has an
+    // object and an array header, and every property has a node and a slot in the table of its map
+    private static final int BYTES_PER_CHAR = 2;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int PROPERTY_OVERHEAD = 48;
+
+    private static final PropertiesCache SHARED = new PropertiesCache(DEFAULT_MAXIMUM_WEIGHT);
+
+    /**
+     * Loads a properties file on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        Map<String, String> load(Path path) throws IOException;
+    }
+
+    private final long maximumWeight;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maximumWeight the maximum estimated size of the cached properties, in bytes
+     */
+    public PropertiesCache(long maximumWeight) {
+        if (maximumWeight < 0) {
+            throw new ValidationException("Maximum weight of the properties cache cannot be negative but was %s",
+                    Long.toString(maximumWeight));
+        }
+        this.maximumWeight = maximumWeight;
+    }
+
+    /**
+     * Returns the cache which is shared by all the generators of this process.
+     */
+    public static PropertiesCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the properties of the given file, which are loaded with the given loader unless an unchanged copy of
+     * the file is cached. The returned map cannot be modified.
+     */
+    public Map<String, String> get(Path path, Loader loader) throws IOException {
+        String key = key(path);
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.matches(attributes)) {
+                hits++;
+                LOGGER.debug("Using cached properties of {}", path);
+                return entry.properties;
+            }
+            misses++;
+        }
+
+        // parse outside of the lock so that concurrent builds do not wait on each other
+        Map<String, String> properties = Collections.unmodifiableMap(loader.load(path));
+        put(key, new Entry(attributes, properties));
+        return properties;
+    }
+
+    /**
+     * Returns the statistics of this cache since it was created or last {@link #clear() cleared}.
+     */
+    public synchronized PropertiesCacheStats stats() {
+        return new PropertiesCacheStats(hits, misses, evictions, entries.size(), weight);
+    }
+
+    /**
+     * Removes all the cached files and resets the statistics.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        if (entry.weight > maximumWeight) {
+            LOGGER.debug("Not caching the properties of {} as they are larger than the cache", key);
+            return;
+        }
+
+        entries.put(key, entry);
+        weight += entry.weight;
+
+        Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+        while (weight > maximumWeight) {
+            Entry evicted = leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            weight -= evicted.weight;
+            evictions++;
+        }
+    }
+
+    /**
+     * Files inside an archive are identified by their URI, which includes the archive itself.
+     */
+    private static String key(Path path) {
+        return path.getFileSystem().equals(FileSystems.getDefault())
+                ? path.toAbsolutePath().normalize().toString()
+                : path.toUri().toString();
+    }
+
+    private static final class Entry {
+        private final long size;
+        private final FileTime lastModified;
+        private final Object fileKey;
+        private final Map<String, String> properties;
+        private final long weight;
+
+        private Entry(BasicFileAttributes attributes, Map<String, String> properties) {
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime();
+            this.fileKey = attributes.fileKey();
+            this.properties = properties;
+
+            long bytes = 0;
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                bytes += PROPERTY_OVERHEAD + 2 * STRING_OVERHEAD
+                        + (long) BYTES_PER_CHAR * (property.getKey().length() + property.getValue().length());
+            }
+            this.weight = bytes;
+        }
+
+        private boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModified.equals(attributes.lastModifiedTime())
+                    && Objects.equals(fileKey, attributes.fileKey());
+        }
+    }
+}
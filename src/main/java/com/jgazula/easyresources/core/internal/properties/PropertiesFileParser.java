@@ -0,0 +1,526 @@
+package com.jgazula.easyresources.core.internal.properties;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A parser for UTF-8 encoded properties files. It follows the format of
+ * {@link java.util.Properties#load(java.io.Reader)} exactly (including its handling of comments, line continuations,
+ * escapes and separators), but without its overhead. The file is read through a channel and decoded in one go with
+ * a per-thread decoder, and every key and value is created straight from the decoded characters without an
+ * intermediate string per line.
+ *
+ * <p>Files of at least {@link #parallelThreshold} bytes are split into chunks at logical line boundaries which are
+ * parsed in parallel on the common fork-join pool. The properties of the chunks are reported in file order, so the
+ * result is the same as if the file was parsed sequentially.
+ */
+public class PropertiesFileParser {
+
+    /**
+     * The default size (in bytes) from which files are parsed in parallel.
+     */
+    public static final long DEFAULT_PARALLEL_THRESHOLD = 32L * 1024 * 1024;
+
+    private static final int MIN_CHUNK_LENGTH = 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int INITIAL_LINE_LENGTH = 256;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private static final ThreadLocal<Decoder> DECODER = ThreadLocal.withInitial(Decoder::new);
+
+    private final long parallelThreshold;
+
+    public PropertiesFileParser() {
+        this(DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * @param parallelThreshold the size (in bytes) from which files are split into chunks which are parsed in parallel
+     */
+    public PropertiesFileParser(long parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Parses the given properties file into a map which preserves the order of the keys in the file.
+     */
+    public Map<String, String> parse(Path path) throws IOException {
+        CharBuffer chars = read(path);
+        Map<String, String> properties = new LinkedHashMap<>(capacityFor(countLines(chars)), LOAD_FACTOR);
+        parse(path, chars, properties::put);
+        return properties;
+    }
+
+    /**
+     * Parses the given properties file and reports every key/value pair to the given handler.
+     */
+    public void parse(Path path, PropertyHandler handler) throws IOException {
+        parse(path, read(path), handler);
+    }
+
+    private void parse(Path path, CharBuffer chars, PropertyHandler handler) {
+        // the capacity of the buffer is the size of the file
+        int chunks = 1;
+        if (chars.capacity() >= parallelThreshold) {
+            chunks = Math.min(chars.limit() / MIN_CHUNK_LENGTH,
+                    ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD);
+        }
+
+        try {
+            parseInChunks(chars.array(), chars.limit(), chunks, handler);
+        } catch (PropertiesParseException e) {
+            throw e.inFile(path);
+        }
+    }
+
+    /**
+     * Parses the given characters in (at most) the given number of chunks. Each chunk is parsed on the common
+     * fork-join pool and its properties are collected, after which they are reported in the order of the chunks.
+     */
+    static void parseInChunks(char[] in, int length, int chunks, PropertyHandler handler) {
+        int[] boundaries = chunkBoundaries(in, length, chunks);
+        if (boundaries.length <= 2) {
+            parse(in, 0, length, handler);
+            return;
+        }
+
+        List<ForkJoinTask<PropertyList>> tasks = new ArrayList<>(boundaries.length - 1);
+        for (int i = 0; i + 1 < boundaries.length; i++) {
+            int start = boundaries[i];
+            int end = boundaries[i + 1];
+            tasks.add(ForkJoinTask.adapt(() -> {
+                var properties = new PropertyList();
+                parse(in, start, end, properties::add);
+                return properties;
+            }).fork());
+        }
+
+        try {
+            // joining in order means that an error in an earlier chunk is reported first
+            for (ForkJoinTask<PropertyList> task : tasks) {
+                task.join().forEach(handler);
+            }
+        } finally {
+            tasks.forEach(task -> task.cancel(false));
+        }
+    }
+
+    /**
+     * Splits the given characters into (at most) the given number of chunks of roughly equal length, each of which
+     * starts at the beginning of a logical line.
+     *
+     * @return the start of every chunk followed by the end of the last chunk
+     */
+    static int[] chunkBoundaries(char[] in, int length, int chunks) {
+        int[] boundaries = new int[Math.max(chunks, 1) + 1];
+        int count = 1;
+        for (int i = 1; i < chunks; i++) {
+            int target = (int) ((long) length * i / chunks);
+            int boundary = nextLogicalLineStart(in, Math.max(target, boundaries[count - 1]), length);
+            if (boundary >= length) {
+                break;
+            }
+            if (boundary > boundaries[count - 1]) {
+                boundaries[count++] = boundary;
+            }
+        }
+        boundaries[count++] = length;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    /**
+     * Finds the first line which starts at or after the given position and which is guaranteed to start a new
+     * logical line, i.e. the natural line before it does not end with an odd number of backslashes. A line is
+     * never split between {@code \r} and {@code \n}.
+     *
+     * @return the start of the line, or {@code end} if there is none
+     */
+    static int nextLogicalLineStart(char[] in, int from, int end) {
+        int pos = from;
+        while (pos < end) {
+            char c = in[pos];
+            if (c != '\n' && c != '\r') {
+                pos++;
+                continue;
+            }
+
+            int lineEnd = c == '\n' && pos > 0 && in[pos - 1] == '\r' ? pos - 1 : pos;
+            int next = c == '\r' && pos + 1 < end && in[pos + 1] == '\n' ? pos + 2 : pos + 1;
+
+            int backslashes = 0;
+            for (int i = lineEnd - 1; i >= 0 && in[i] == '\\'; i--) {
+                backslashes++;
+            }
+            if (backslashes % 2 == 0) {
+                return next;
+            }
+            pos = next;
+        }
+        return end;
+    }
+
+    /**
+     * Parses the logical lines within the given range of characters. The range must start at the beginning of a
+     * logical line. Error positions are relative to the start of the array.
+     */
+    static void parse(char[] in, int start, int end, PropertyHandler handler) {
+        var reader = new LineReader(in, start, end);
+        var converted = new StringBuilder();
+
+        int limit;
+        while ((limit = reader.readLine()) >= 0) {
+            char[] line = reader.lineBuf;
+            int keyLen = 0;
+            int valueStart = limit;
+            boolean hasSep = false;
+            boolean precedingBackslash = false;
+
+            while (keyLen < limit) {
+                char c = line[keyLen];
+                if ((c == '=' || c == ':') && !precedingBackslash) {
+                    valueStart = keyLen + 1;
+                    hasSep = true;
+                    break;
+                } else if ((c == ' ' || c == '\t' || c == '\f') && !precedingBackslash) {
+                    valueStart = keyLen + 1;
+                    break;
+                }
+                precedingBackslash = c == '\\' && !precedingBackslash;
+                keyLen++;
+            }
+
+            while (valueStart < limit) {
+                char c = line[valueStart];
+                if (c != ' ' && c != '\t' && c != '\f') {
+                    if (!hasSep && (c == '=' || c == ':')) {
+                        hasSep = true;
+                    } else {
+                        break;
+                    }
+                }
+                valueStart++;
+            }
+
+            String key = convert(reader, 0, keyLen, converted);
+            String value = convert(reader, valueStart, limit, converted);
+            handler.property(key, value);
+        }
+    }
+
+    /**
+     * Reads and decodes the whole file. UTF-8 never decodes to more characters than there are bytes, so the size of
+     * the file is enough to allocate the character buffer once.
+     */
+    static CharBuffer read(Path path) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(String.format("%s is too large to be parsed (%d bytes)", path, size));
+            }
+
+            CharBuffer chars = CharBuffer.allocate((int) size);
+            Decoder decoder = DECODER.get();
+            decoder.decode(channel, size, chars);
+            return chars.flip();
+        }
+    }
+
+    private static String convert(LineReader reader, int start, int end, StringBuilder out) {
+        char[] in = reader.lineBuf;
+        int off = start;
+        while (off < end && in[off] != '\\') {
+            off++;
+        }
+        if (off == end) {
+            return new String(in, start, end - start);
+        }
+
+        out.setLength(0);
+        out.append(in, start, off - start);
+        while (off < end) {
+            char c = in[off++];
+            if (c != '\\') {
+                out.append(c);
+                continue;
+            }
+            if (off == end) {
+                // a trailing backslash is only possible at the end of the input, where it is dropped
+                break;
+            }
+
+            c = in[off++];
+            if (c == 'u') {
+                out.append(unicodeEscape(reader, off - 2, end));
+                off += 4;
+            } else if (c == 't') {
+                out.append('\t');
+            } else if (c == 'r') {
+                out.append('\r');
+            } else if (c == 'n') {
+                out.append('\n');
+            } else if (c == 'f') {
+                out.append('\f');
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private static char unicodeEscape(LineReader reader, int backslash, int end) {
+        if (backslash + 6 > end) {
+            throw reader.error("Malformed \\uxxxx encoding", backslash);
+        }
+
+        int value = 0;
+        for (int i = backslash + 2; i < backslash + 6; i++) {
+            char c = reader.lineBuf[i];
+            if (c >= '0' && c <= '9') {
+                value = (value << 4) + c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                value = (value << 4) + 10 + c - 'a';
+            } else if (c >= 'A' && c <= 'F') {
+                value = (value << 4) + 10 + c - 'A';
+            } else {
+                throw reader.error("Malformed \\uxxxx encoding", backslash);
+            }
+        }
+        return (char) value;
+    }
+
+    private static int countLines(CharBuffer chars) {
+        char[] in = chars.array();
+        int lines = 1;
+        for (int i = 0, end = chars.limit(); i < end; i++) {
+            if (in[i] == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private static int capacityFor(int entries) {
+        return (int) (entries / LOAD_FACTOR) + 1;
+    }
+
+    /**
+     * Splits the input into logical lines in the same way as the line reader of {@link java.util.Properties}:
+     * comment and blank lines are skipped, leading whitespace is dropped and lines ending with an odd number of
+     * backslashes are joined with the following line.
+     */
+    private static final class LineReader {
+
+        private final char[] in;
+        private final int end;
+        private int pos;
+
+        private char[] lineBuf = new char[INITIAL_LINE_LENGTH];
+
+        // for each natural line of the current logical line: its offset in lineBuf and its offset in the input
+        private int[] segmentLineOffsets = new int[2];
+        private int[] segmentInputOffsets = new int[2];
+        private int segments;
+
+        LineReader(char[] in, int start, int end) {
+            this.in = in;
+            this.pos = start;
+            this.end = end;
+        }
+
+        /**
+         * Reads the next logical line into {@link #lineBuf}.
+         *
+         * @return the length of the line, or -1 at the end of the input
+         */
+        int readLine() {
+            int len = 0;
+            boolean skipWhiteSpace = true;
+            boolean appendedLineBegin = false;
+            boolean precedingBackslash = false;
+            segments = 0;
+
+            while (true) {
+                if (pos >= end) {
+                    if (len == 0) {
+                        return -1;
+                    }
+                    return precedingBackslash ? len - 1 : len;
+                }
+
+                char c = in[pos++];
+
+                if (skipWhiteSpace) {
+                    if (c == ' ' || c == '\t' || c == '\f') {
+                        continue;
+                    }
+                    if (!appendedLineBegin && (c == '\r' || c == '\n')) {
+                        continue;
+                    }
+                    skipWhiteSpace = false;
+                    appendedLineBegin = false;
+                    addSegment(len, pos - 1);
+                }
+
+                if (len == 0 && (c == '#' || c == '!')) {
+                    // still on a new logical line, so this is a comment which ends at the end of the natural line
+                    while (pos < end && in[pos] != '\r' && in[pos] != '\n') {
+                        pos++;
+                    }
+                    skipWhiteSpace = true;
+                    segments = 0;
+                    continue;
+                }
+
+                if (c != '\n' && c != '\r') {
+                    if (len == lineBuf.length) {
+                        lineBuf = Arrays.copyOf(lineBuf, len * 2);
+                    }
+                    lineBuf[len++] = c;
+                    precedingBackslash = c == '\\' && !precedingBackslash;
+                } else {
+                    // reached the end of a natural line
+                    if (len == 0) {
+                        skipWhiteSpace = true;
+                        segments = 0;
+                        continue;
+                    }
+                    if (pos >= end) {
+                        return precedingBackslash ? len - 1 : len;
+                    }
+                    if (!precedingBackslash) {
+                        return len;
+                    }
+
+                    // the backslash at the end of the line is not part of the line
+                    len--;
+                    skipWhiteSpace = true;
+                    appendedLineBegin = true;
+                    precedingBackslash = false;
+                    if (c == '\r' && in[pos] == '\n') {
+                        pos++;
+                    }
+                }
+            }
+        }
+
+        private void addSegment(int lineOffset, int inputOffset) {
+            if (segments == segmentLineOffsets.length) {
+                segmentLineOffsets = Arrays.copyOf(segmentLineOffsets, segments * 2);
+                segmentInputOffsets = Arrays.copyOf(segmentInputOffsets, segments * 2);
+            }
+            segmentLineOffsets[segments] = lineOffset;
+            segmentInputOffsets[segments] = inputOffset;
+            segments++;
+        }
+
+        /**
+         * Creates an exception for the character at the given offset of the current logical line. Line and column
+         * numbers are only computed here since errors are rare.
+         */
+        PropertiesParseException error(String reason, int lineOffset) {
+            int segment = segments - 1;
+            while (segment > 0 && segmentLineOffsets[segment] > lineOffset) {
+                segment--;
+            }
+            int inputOffset = segmentInputOffsets[segment] + lineOffset - segmentLineOffsets[segment];
+
+            int line = 1;
+            int column = 1;
+            for (int i = 0; i < inputOffset; i++) {
+                char c = in[i];
+                if (c == '\n' || (c == '\r' && (i + 1 == in.length || in[i + 1] != '\n'))) {
+                    line++;
+                    column = 1;
+                } else if (c != '\r') {
+                    column++;
+                }
+            }
+            return new PropertiesParseException(reason, line, column);
+        }
+    }
+
+    /**
+     * The properties of a chunk, in the order in which they were parsed.
+     */
+    private static final class PropertyList {
+
+        private String[] keys = new String[INITIAL_LINE_LENGTH];
+        private String[] values = new String[INITIAL_LINE_LENGTH];
+        private int size;
+
+        void add(String key, String value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
+        }
+
+        void forEach(PropertyHandler handler) {
+            for (int i = 0; i < size; i++) {
+                handler.property(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * A reusable UTF-8 decoder together with its read buffer. Malformed input is reported rather than replaced,
+     * in the same way as {@link Files#newBufferedReader(Path)}.
+     */
+    private static final class Decoder {
+
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+        void decode(SeekableByteChannel channel, long size, CharBuffer chars) throws IOException {
+            decoder.reset();
+            buffer.clear();
+
+            // never read beyond the initial size so that a file which is growing cannot overflow the char buffer
+            long remaining = size;
+            while (remaining > 0) {
+                buffer.limit((int) Math.min(buffer.capacity(), buffer.position() + remaining));
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    break;
+                }
+                remaining -= read;
+
+                buffer.flip();
+                throwIfError(decoder.decode(buffer, chars, false));
+                buffer.compact();
+            }
+
+            buffer.flip();
+            throwIfError(decoder.decode(buffer, chars, true));
+            throwIfError(decoder.flush(chars));
+        }
+
+        private static void throwIfError(CoderResult result) throws CharacterCodingException {
+            if (result.isError() || result.isOverflow()) {
+                result.throwException();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.jgazula.easyresources.core.internal.properties;
+
+import java.nio.file.Path;
+
+/**
+ * This exception indicates that a properties file is malformed. It extends {@link IllegalArgumentException} since
+ * that is what {@link java.util.Properties#load(java.io.Reader)} throws for the same input.
+ */
+public class PropertiesParseException extends IllegalArgumentException {
+
+    private final String reason;
+    private final int line;
+    private final int column;
+
+    public PropertiesParseException(String reason, int line, int column) {
+        super(String.format("%s at line %d, column %d", reason, line, column));
+        this.reason = reason;
+        this.line = line;
+        this.column = column;
+    }
+
+    private PropertiesParseException(Path file, PropertiesParseException cause) {
+        super(String.format("%s in %s at line %d, column %d", cause.reason, file, cause.line, cause.column), cause);
+        this.reason = cause.reason;
+        this.line = cause.line;
+        this.column = cause.column;
+    }
+
+    /**
+     * Returns the same exception with the given file included in its message.
+     */
+    public PropertiesParseException inFile(Path file) {
+        return new PropertiesParseException(file, this);
+    }
+
+    /**
+     * The 1-based line number at which the error occurred.
+     */
+    public int line() {
+        return line;
+    }
+
+    /**
+     * The 1-based column number at which the error occurred.
+     */
+    public int column() {
+        return column;
+    }
+}
@@ -1,14 +1,25 @@
 package com.jgazula.easyresources.core.internal.properties;
 
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * A helper class which parses and coverts properties keys.
+ * <p>
+ * A key is split into words at every character other than an ASCII letter or digit (which is what the regular
+ * expression {@code [\W_]} matches), where a supplementary character counts as one separator. Separators at the end
+ * of a key are ignored. The keys are converted in a single pass into a per-thread {@link StringBuilder}, and a key
+ * which is already in the requested style is returned as is.
  */
 public class PropertiesParser {
 
-    private static final Pattern NON_WORD_AND_UNDERSCORE_PATTERN = Pattern.compile("[\\W_]");
-    private static final String UNDERSCORE = "_";
+    private static final char UNDERSCORE = '_';
+    private static final int INITIAL_BUILDER_CAPACITY = 64;
+
+    private static final ThreadLocal<StringBuilder> BUILDER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUILDER_CAPACITY));
 
     /**
      * Formats the given key to the style of a static final variable. <br>
@@ -19,42 +30,151 @@ public class PropertiesParser {
             throw new IllegalArgumentException("Cannot parse null or empty property key.");
         }
 
-        String[] tokens = NON_WORD_AND_UNDERSCORE_PATTERN.split(key);
-        if (tokens.length == 1) {
-            return tokens[0].toUpperCase();
-        } else {
-            var sb = new StringBuilder();
-            for (int i = 0; i < tokens.length; i++) {
-                sb.append(tokens[i].toUpperCase());
-                if ((i + 1) != tokens.length) {
-                    sb.append(UNDERSCORE);
+        // String.toUpperCase() is locale sensitive, and the Turkic locales map the ASCII i to a dotted capital I
+        boolean dottedCapitalI = isTurkic(Locale.getDefault());
+        if (isStaticFinalVariable(key, dottedCapitalI)) {
+            return key;
+        }
+
+        StringBuilder sb = builder();
+        int wordEnd = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (isWordChar(c)) {
+                sb.append(toUpperCase(c, dottedCapitalI));
+                wordEnd = sb.length();
+            } else {
+                sb.append(UNDERSCORE);
+                if (isSurrogatePair(key, i)) {
+                    i++;
                 }
             }
-            return sb.toString();
         }
+
+        // separators at the end of the key are ignored
+        sb.setLength(wordEnd);
+        return sb.toString();
     }
 
     /**
      * Formats the given key to the style of a camel case method name. <br>
      * For example, {@code my.key} becomes {@code myKey}
+     *
+     * @throws IllegalArgumentException if the key contains no words or consecutive separators before a word
      */
     public String keyToMethodName(String key) {
         if (key == null || key.isEmpty()) {
             throw new IllegalArgumentException("Cannot parse null or empty property key.");
         }
 
-        String[] tokens = NON_WORD_AND_UNDERSCORE_PATTERN.split(key);
-        if (tokens.length == 1) {
-            return tokens[0];
-        } else {
-            var sb = new StringBuilder();
-            sb.append(tokens[0]);
+        int firstSeparator = 0;
+        while (firstSeparator < key.length() && isWordChar(key.charAt(firstSeparator))) {
+            firstSeparator++;
+        }
+        if (firstSeparator == key.length()) {
+            return key;
+        }
 
-            for (int i = 1; i < tokens.length; i++) {
-                sb.append(Character.toUpperCase(tokens[i].charAt(0)));
-                sb.append(tokens[i].substring(1));
+        StringBuilder sb = builder();
+        sb.append(key, 0, firstSeparator);
+        boolean hasWord = firstSeparator > 0;
+        int separators = 0;
+        for (int i = firstSeparator; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (isWordChar(c)) {
+                if (separators > 1) {
+                    throw new IllegalArgumentException(
+                            String.format("Property key %s contains an empty word", key));
+                }
+                sb.append(separators == 1 ? Character.toUpperCase(c) : c);
+                separators = 0;
+                hasWord = true;
+            } else {
+                separators++;
+                if (isSurrogatePair(key, i)) {
+                    i++;
+                }
             }
-            return sb.toString();
         }
+
+        if (!hasWord) {
+            throw new IllegalArgumentException(String.format("Property key %s does not contain any words", key));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats all the given keys to the style of a static final variable. Equal results share the same (interned)
+     * instance.
+     *
+     * @return the variable names in the iteration order of the given keys
+     * @throws InvalidPropertyKeyException if any of the keys is invalid
+     */
+    public List<String> keysToStaticFinalVariables(Collection<String> keys) {
+        List<String> variables = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            try {
+                variables.add(keyToStaticFinalVariable(key).intern());
+            } catch (IllegalArgumentException e) {
+                throw new InvalidPropertyKeyException(key, e);
+            }
+        }
+        return variables;
+    }
+
+    /**
+     * Formats all the given keys to the style of a camel case method name. Equal results share the same (interned)
+     * instance.
+     *
+     * @return the method names in the iteration order of the given keys
+     * @throws InvalidPropertyKeyException if any of the keys is invalid
+     */
+    public List<String> keysToMethodNames(Collection<String> keys) {
+        List<String> methodNames = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            try {
+                methodNames.add(keyToMethodName(key).intern());
+            } catch (IllegalArgumentException e) {
+                throw new InvalidPropertyKeyException(key, e);
+            }
+        }
+        return methodNames;
+    }
+
+    private static boolean isStaticFinalVariable(String key, boolean dottedCapitalI) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (!isWordChar(c) || toUpperCase(c, dottedCapitalI) != c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isSurrogatePair(String key, int index) {
+        return Character.isHighSurrogate(key.charAt(index)) && index + 1 < key.length()
+                && Character.isLowSurrogate(key.charAt(index + 1));
+    }
+
+    private static char toUpperCase(char c, boolean dottedCapitalI) {
+        if (c >= 'a' && c <= 'z') {
+            return c == 'i' && dottedCapitalI ? '\u0130' : (char) (c - ('a' - 'A'));
+        }
+        return c;
+    }
+
+    private static boolean isTurkic(Locale locale) {
+        String language = locale.getLanguage();
+        return "tr".equals(language) || "az".equals(language);
+    }
+
+    private static StringBuilder builder() {
+        StringBuilder sb = BUILDER.get();
+        sb.setLength(0);
+        return sb;
     }
 }
@@ -1,13 +1,12 @@
 package com.jgazula.easyresources.core.internal.properties;
 
+import com.jgazula.easyresources.core.util.ValidationException;
+
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.FileVisitOption;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
-import java.util.Properties;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 /**
@@ -15,28 +14,57 @@ import java.util.stream.Stream;
  */
 public class PropertiesReader {
 
-    private static final String PROPERTIES_MATCHER_PATTERN_FORMAT = "%s.*\\.properties";
+    private final long parallelParsingThreshold;
+
+    public PropertiesReader() {
+        this(PropertiesFileParser.DEFAULT_PARALLEL_THRESHOLD);
+    }
 
     /**
-     * Reads and loads the given properties file.
+     * @param parallelParsingThreshold the size (in bytes) from which properties files are parsed in parallel
      */
-    public Map<String, String> loadProperties(Path path) throws IOException {
-        try (var reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-            var properties = new Properties();
-            properties.load(reader);
-            return (Map) properties;
+    public PropertiesReader(long parallelParsingThreshold) {
+        if (parallelParsingThreshold < 1) {
+            throw new ValidationException("Parallel parsing threshold must be at least 1 but was %s",
+                    Long.toString(parallelParsingThreshold));
         }
+        this.parallelParsingThreshold = parallelParsingThreshold;
+    }
+
+    /**
+     * Reads and loads the given UTF-8 encoded properties file. The keys of the returned map are in the order in
+     * which they appear in the file.
+     *
+     * @throws PropertiesParseException if the file contains a malformed escape sequence
+     */
+    public Map<String, String> loadProperties(Path path) throws IOException {
+        return new PropertiesFileParser(parallelParsingThreshold).parse(path);
     }
 
     /**
-     * Loads/streams all the properties files which begin with the given {@code bundleName} at the given {@code bundlePath}.
+     * Reads the given UTF-8 encoded properties file and reports its properties to the given handler, in the order
+     * in which they appear in the file, without keeping them.
+     *
+     * @throws PropertiesParseException if the file contains a malformed escape sequence
+     */
+    public void streamProperties(Path path, PropertyHandler handler) throws IOException {
+        new PropertiesFileParser(parallelParsingThreshold).parse(path, handler);
+    }
+
+    /**
+     * Lists each of the given bundle directories once and indexes the properties files of all resource bundles
+     * within them.
+     */
+    public ResourceBundleIndex indexResourceBundles(Collection<Path> bundlePaths) throws IOException {
+        return ResourceBundleIndex.create(bundlePaths);
+    }
+
+    /**
+     * Loads/streams all the properties files of the resource bundle with the given {@code bundleName} at the given
+     * {@code bundlePath}, i.e. the files named {@code bundleName(_lang(_COUNTRY(_variant))).properties}.
      * This enables reading all the possible properties for the given resource bundle.
      */
     public Stream<Path> getResourceBundlePropertyFiles(Path bundlePath, String bundleName) throws IOException {
-        var propertiesPattern = Pattern.compile(String.format(PROPERTIES_MATCHER_PATTERN_FORMAT, bundleName));
-
-        return Files.find(bundlePath, 1,
-                (path, attrs) -> attrs.isRegularFile() && propertiesPattern.matcher(path.toFile().getName()).matches(),
-                FileVisitOption.FOLLOW_LINKS);
+        return indexResourceBundles(List.of(bundlePath)).bundleFiles(bundlePath, bundleName).stream();
     }
 }
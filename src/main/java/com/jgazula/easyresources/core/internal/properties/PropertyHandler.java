@@ -0,0 +1,13 @@
+package com.jgazula.easyresources.core.internal.properties;
+
+/**
+ * Receives the properties of a properties file in the order in which they appear in the file.
+ */
+@FunctionalInterface
+public interface PropertyHandler {
+
+    /**
+     * Called for every key/value pair. A key may be reported more than once, in which case the last value wins.
+     */
+    void property(String key, String value);
+}
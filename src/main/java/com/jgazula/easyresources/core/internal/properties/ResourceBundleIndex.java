@@ -0,0 +1,135 @@
+package com.jgazula.easyresources.core.internal.properties;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * An index of the properties files of resource bundles, grouped by directory and base name. Each directory is listed
+ * only once, no matter how many bundles it contains.
+ * <p>
+ * A file belongs to a bundle if its name is exactly {@code baseName(_lang(_Script)(_COUNTRY(_variant))).properties}
+ * or {@code baseName_lang(_Script)__variant.properties}, like the names of
+ * {@link java.util.ResourceBundle.Control#toBundleName}: {@code lang} is a lowercase ISO 639 code, {@code Script} a
+ * titlecase ISO 15924 code, {@code COUNTRY} an uppercase ISO 3166 code or a UN M.49 number and {@code variant} one or
+ * more alphanumeric segments (which follow an empty country if there is none).
+ */
+public class ResourceBundleIndex {
+
+    private static final String PROPERTIES_EXTENSION = ".properties";
+    private static final char SEPARATOR = '_';
+    private static final Pattern LOCALE_SUFFIX = Pattern.compile(
+            "[a-z]{2,3}(_[A-Z][a-z]{3})?(_([A-Z]{2}|[0-9]{3})(_[A-Za-z0-9]+)*|__[A-Za-z0-9]+(_[A-Za-z0-9]+)*)?");
+
+    private final Map<Path, Map<String, List<Path>>> bundles;
+
+    private ResourceBundleIndex(Map<Path, Map<String, List<Path>>> bundles) {
+        this.bundles = bundles;
+    }
+
+    /**
+     * Lists each of the given directories once and indexes the properties files within them.
+     */
+    public static ResourceBundleIndex create(Collection<Path> directories) throws IOException {
+        Map<Path, List<Path>> filesByDirectory = new HashMap<>();
+        for (Path directory : new LinkedHashSet<>(directories)) {
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory,
+                    entry -> entry.getFileName().toString().endsWith(PROPERTIES_EXTENSION))) {
+                for (Path entry : entries) {
+                    if (Files.isRegularFile(entry)) {
+                        files.add(entry);
+                    }
+                }
+            }
+            filesByDirectory.put(directory, files);
+        }
+        return of(filesByDirectory);
+    }
+
+    /**
+     * Indexes the given (already listed) properties files.
+     */
+    public static ResourceBundleIndex of(Map<Path, ? extends Collection<Path>> filesByDirectory) {
+        Map<Path, Map<String, List<Path>>> bundles = new HashMap<>();
+        filesByDirectory.forEach((directory, files) -> {
+            Map<String, List<Path>> bundlesInDirectory = bundles.computeIfAbsent(key(directory), k -> new HashMap<>());
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (!fileName.endsWith(PROPERTIES_EXTENSION)) {
+                    continue;
+                }
+
+                String stem = fileName.substring(0, fileName.length() - PROPERTIES_EXTENSION.length());
+                for (String baseName : baseNames(stem)) {
+                    bundlesInDirectory.computeIfAbsent(baseName, k -> new ArrayList<>()).add(file);
+                }
+            }
+        });
+
+        bundles.values().forEach(bundlesInDirectory -> bundlesInDirectory.values().forEach(Collections::sort));
+        return new ResourceBundleIndex(bundles);
+    }
+
+    /**
+     * Combines the given indexes (of distinct directories) into one.
+     */
+    public static ResourceBundleIndex combine(Collection<ResourceBundleIndex> indexes) {
+        if (indexes.size() == 1) {
+            return indexes.iterator().next();
+        }
+
+        Map<Path, Map<String, List<Path>>> bundles = new HashMap<>();
+        for (ResourceBundleIndex index : indexes) {
+            bundles.putAll(index.bundles);
+        }
+        return new ResourceBundleIndex(bundles);
+    }
+
+    /**
+     * Returns the properties files of the given bundle in the given (indexed) directory, sorted by path.
+     */
+    public List<Path> bundleFiles(Path directory, String baseName) {
+        return Collections.unmodifiableList(bundles.getOrDefault(key(directory), Map.of())
+                .getOrDefault(baseName, List.of()));
+    }
+
+    /**
+     * Checks if a file with the given name belongs to the bundle with the given base name.
+     */
+    public static boolean isBundleFile(String fileName, String baseName) {
+        if (!fileName.startsWith(baseName) || !fileName.endsWith(PROPERTIES_EXTENSION)) {
+            return false;
+        }
+        String stem = fileName.substring(0, fileName.length() - PROPERTIES_EXTENSION.length());
+        return baseNames(stem).contains(baseName);
+    }
+
+    /**
+     * Returns all base names which the given file name (without extension) can belong to: the name itself and every
+     * prefix which is followed by a locale suffix.
+     */
+    private static List<String> baseNames(String stem) {
+        List<String> baseNames = new ArrayList<>(2);
+        baseNames.add(stem);
+        for (int i = stem.indexOf(SEPARATOR); i >= 0; i = stem.indexOf(SEPARATOR, i + 1)) {
+            if (i > 0 && LOCALE_SUFFIX.matcher(stem).region(i + 1, stem.length()).matches()) {
+                baseNames.add(stem.substring(0, i));
+            }
+        }
+        return baseNames;
+    }
+
+    private static Path key(Path directory) {
+        return directory.toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,109 @@
+package com.jgazula.easyresources.core.internal.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves paths which point inside a jar or zip archive, written as {@code path/to/archive.jar!/path/in/archive}.
+ * Such paths are resolved against a zip {@link FileSystem}, so that the entries are read straight from the archive
+ * without being extracted. Each archive is opened at most once, however many paths point inside it, and stays open
+ * until this instance is closed. Nested archives are not supported.
+ */
+public class ArchiveFileSystems implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArchiveFileSystems.class);
+
+    private static final String ARCHIVE_SEPARATOR = "!";
+    private static final String ENTRY_SEPARATOR = "/";
+
+    private final Map<Path, FileSystem> fileSystems = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the path inside the archive if the given path points inside one, or else the given path itself.
+     */
+    public Path resolve(Path path) throws IOException {
+        if (!path.getFileSystem().equals(FileSystems.getDefault())) {
+            return path;
+        }
+
+        String value = path.toString();
+        String separator = path.getFileSystem().getSeparator();
+        int index = value.indexOf(ARCHIVE_SEPARATOR + separator);
+        String entry;
+        if (index >= 0) {
+            entry = value.substring(index + ARCHIVE_SEPARATOR.length() + separator.length());
+        } else if (value.endsWith(ARCHIVE_SEPARATOR)) {
+            index = value.length() - ARCHIVE_SEPARATOR.length();
+            entry = "";
+        } else {
+            return path;
+        }
+
+        Path archive = path.getFileSystem().getPath(value.substring(0, index));
+        if (!Files.isRegularFile(archive)) {
+            return path;
+        }
+
+        Path root = open(archive).getPath(ENTRY_SEPARATOR);
+        return entry.isEmpty() ? root : root.resolve(entry.replace(separator, ENTRY_SEPARATOR));
+    }
+
+    /**
+     * Returns the file on the default file system which contains the given path: the archive if the path is inside
+     * one, or else the path itself.
+     */
+    public static Path containingFile(Path path) {
+        if (path.getFileSystem().equals(FileSystems.getDefault())) {
+            return path;
+        }
+
+        String uri = path.toUri().getRawSchemeSpecificPart();
+        int separator = uri.indexOf(ARCHIVE_SEPARATOR + ENTRY_SEPARATOR);
+        return Path.of(URI.create(separator >= 0 ? uri.substring(0, separator) : uri));
+    }
+
+    private FileSystem open(Path archive) throws IOException {
+        try {
+            return fileSystems.computeIfAbsent(archive.toAbsolutePath().normalize(), key -> {
+                try {
+                    LOGGER.debug("Opening archive {}", key);
+                    return FileSystems.newFileSystem(key, (ClassLoader) null);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Closes all the archives which have been opened.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = new IOException("Unable to close all archives");
+        for (FileSystem fileSystem : fileSystems.values()) {
+            try {
+                fileSystem.close();
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+        fileSystems.clear();
+
+        if (failure.getSuppressed().length > 0) {
+            throw failure;
+        }
+    }
+}
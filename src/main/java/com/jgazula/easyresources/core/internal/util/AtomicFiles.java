@@ -0,0 +1,155 @@
+package com.jgazula.easyresources.core.internal.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Writes files atomically by writing to a temporary file in the same directory and then renaming it. Readers
+ * (such as a concurrently running build) therefore never see a partially written file.
+ */
+public class AtomicFiles {
+
+    private static final String TMP_FILE_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private AtomicFiles() { }
+
+    /**
+     * Writes the given content to the given file unless the file already has exactly the same content,
+     * in which case the file (including its last modified time) is left untouched.
+     *
+     * @return {@code true} if the file was written
+     */
+    public static boolean writeIfChanged(Path file, byte[] content) throws IOException {
+        if (hasContent(file, content)) {
+            return false;
+        }
+
+        write(file, content);
+        return true;
+    }
+
+    /**
+     * Same as {@link #writeIfChanged(Path, byte[])}, but for content which is too large to be kept in memory.
+     * The content is written to a temporary file next to the given file, which is then compared with the file.
+     *
+     * @return {@code true} if the file was written
+     */
+    public static boolean writeIfChanged(Path file, ContentWriter content) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        Path tmpFile = createTmpFile(file.toAbsolutePath());
+        try {
+            try (OutputStream out = Files.newOutputStream(tmpFile)) {
+                content.writeTo(out);
+            }
+            if (hasSameContent(file, tmpFile)) {
+                return false;
+            }
+
+            move(tmpFile, file);
+            return true;
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    /**
+     * Atomically replaces the given file with the given content. Missing parent directories are created.
+     */
+    public static void write(Path file, byte[] content) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        Path tmpFile = createTmpFile(file.toAbsolutePath());
+        try {
+            Files.write(tmpFile, content);
+            move(tmpFile, file);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    /**
+     * Creates an empty temporary file next to the given file. Unlike
+     * {@link Files#createTempFile(Path, String, String)}, which makes it readable by its owner only, the file gets
+     * the permissions of the file which it replaces, or the default permissions of a new file if there is none, which
+     * it keeps when it is moved.
+     */
+    private static Path createTmpFile(Path file) throws IOException {
+        Path tmpFile;
+        while (true) {
+            tmpFile = file.resolveSibling(file.getFileName() + "." + Long.toUnsignedString(RANDOM.nextLong(), 36)
+                    + TMP_FILE_SUFFIX);
+            try {
+                Files.createFile(tmpFile);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // try another name
+            }
+        }
+
+        try {
+            if (Files.isRegularFile(file) && Files.getFileStore(tmpFile)
+                    .supportsFileAttributeView(PosixFileAttributeView.class)) {
+                Files.setPosixFilePermissions(tmpFile, Files.getPosixFilePermissions(file));
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmpFile);
+            throw e;
+        }
+        return tmpFile;
+    }
+
+    private static boolean hasContent(Path file, byte[] content) throws IOException {
+        return Files.isRegularFile(file)
+                && Files.size(file) == content.length
+                && Arrays.equals(Files.readAllBytes(file), content);
+    }
+
+    private static boolean hasSameContent(Path file, Path other) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) != Files.size(other)) {
+            return false;
+        }
+
+        try (InputStream in = Files.newInputStream(file); InputStream otherIn = Files.newInputStream(other)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            byte[] otherBuffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.readNBytes(buffer, 0, BUFFER_SIZE)) > 0) {
+                if (otherIn.readNBytes(otherBuffer, 0, read) != read
+                        || !Arrays.equals(buffer, 0, read, otherBuffer, 0, read)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes the content of a file.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
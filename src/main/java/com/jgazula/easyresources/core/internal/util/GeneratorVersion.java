@@ -0,0 +1,37 @@
+package com.jgazula.easyresources.core.internal.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * Exposes the version of this library. The version is filtered into a resource file at build time.
+ */
+public class GeneratorVersion {
+
+    private static final String VERSION_RESOURCE = "/com/jgazula/easyresources/core/version.properties";
+    private static final String VERSION_PROPERTY = "version";
+    private static final String UNKNOWN_VERSION = "unknown";
+
+    /**
+     * The version of this library, or {@code unknown} if it could not be determined.
+     */
+    public static final String VERSION = loadVersion();
+
+    private GeneratorVersion() { }
+
+    private static String loadVersion() {
+        try (InputStream in = GeneratorVersion.class.getResourceAsStream(VERSION_RESOURCE)) {
+            if (in == null) {
+                return UNKNOWN_VERSION;
+            }
+
+            var properties = new Properties();
+            properties.load(in);
+            return properties.getProperty(VERSION_PROPERTY, UNKNOWN_VERSION);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + VERSION_RESOURCE, e);
+        }
+    }
+}
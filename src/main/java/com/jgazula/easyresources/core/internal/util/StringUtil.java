@@ -13,4 +13,23 @@ public class StringUtil {
     public static boolean isNullOrEmpty(String str) {
         return str == null || str.isEmpty();
     }
+
+    /**
+     * Returns the number of bytes of the given characters when they are encoded as UTF-8. An unpaired surrogate
+     * is counted like a paired one.
+     */
+    public static long utf8Length(CharSequence chars) {
+        long length = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800 || Character.isSurrogate(c)) {
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
 }
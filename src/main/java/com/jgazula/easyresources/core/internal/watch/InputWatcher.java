@@ -0,0 +1,214 @@
+package com.jgazula.easyresources.core.internal.watch;
+
+import com.jgazula.easyresources.core.util.ValidationException;
+import com.jgazula.easyresources.core.util.Watcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the directories of a set of targets with a {@link WatchService} and regenerates the targets whose files
+ * have changed. Each directory is registered once, however many targets it contains.
+ * <p>
+ * Changes are debounced: after a change, further changes are collected until none have arrived for the debounce
+ * interval, and all the affected targets are then regenerated at once (in the order in which they were given).
+ * A failed regeneration is logged and the watch continues. Targets which are not in a directory of the default
+ * file system (such as those within archives) are generated initially but not watched.
+ *
+ * @param <T> the type which describes a target, such as its configuration
+ */
+public class InputWatcher<T> implements Watcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InputWatcher.class);
+
+    private static final String THREAD_NAME = "easy-resources-watcher";
+
+    /**
+     * Regenerates the given targets.
+     */
+    @FunctionalInterface
+    public interface Regeneration<T> {
+        void regenerate(List<T> targets) throws IOException;
+    }
+
+    private final Map<T, WatchTarget> targets;
+    private final long debounceMillis;
+    private final Regeneration<T> regeneration;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Thread thread;
+    final Thread shutdownHook;
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    private InputWatcher(Map<T, WatchTarget> targets, Duration debounce, Regeneration<T> regeneration)
+            throws IOException {
+        this.targets = new LinkedHashMap<>(targets);
+        this.debounceMillis = debounce.toMillis();
+        this.regeneration = regeneration;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.thread = new Thread(this::run, THREAD_NAME);
+        this.thread.setDaemon(true);
+        this.shutdownHook = new Thread(this::closeOnShutdown, THREAD_NAME + "-shutdown");
+    }
+
+    /**
+     * Registers the directories of the given targets, generates all of them once and then starts watching.
+     */
+    public static <T> InputWatcher<T> start(Map<T, WatchTarget> targets, Duration debounce,
+                                            Regeneration<T> regeneration) throws IOException {
+        if (debounce.isNegative()) {
+            throw new ValidationException("The debounce interval %s cannot be negative", debounce.toString());
+        }
+
+        var watcher = new InputWatcher<>(targets, debounce, regeneration);
+        try {
+            watcher.register();
+        } catch (IOException | RuntimeException e) {
+            watcher.watchService.close();
+            throw e;
+        }
+
+        // the directories are registered first so that no change made during the initial generation is missed
+        watcher.regenerate(new ArrayList<>(watcher.targets.keySet()));
+        watcher.thread.start();
+        Runtime.getRuntime().addShutdownHook(watcher.shutdownHook);
+        return watcher;
+    }
+
+    @Override
+    public void awaitClose() throws InterruptedException {
+        closed.await();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // the JVM is already shutting down, which is when the hook closes this watcher
+        }
+        stop();
+    }
+
+    private void closeOnShutdown() {
+        try {
+            stop();
+        } catch (IOException e) {
+            LOGGER.warn("Unable to stop watching", e);
+        }
+    }
+
+    private void stop() throws IOException {
+        watchService.close();
+        if (Thread.currentThread() != thread) {
+            try {
+                // let a regeneration in progress complete so that no output is left half written
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        closed.countDown();
+    }
+
+    private void register() throws IOException {
+        Set<Path> registered = new HashSet<>();
+        for (WatchTarget target : targets.values()) {
+            Path directory = target.directory();
+            if (!registered.add(directory)) {
+                continue;
+            }
+
+            if (!directory.getFileSystem().equals(FileSystems.getDefault()) || !Files.isDirectory(directory)) {
+                LOGGER.warn("Unable to watch {} as it is not a directory", directory);
+                continue;
+            }
+
+            WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            directories.put(key, directory);
+            LOGGER.debug("Watching {}", directory);
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Set<T> affected = new HashSet<>();
+                collect(watchService.take(), affected);
+
+                // keep collecting until the changes have settled
+                WatchKey key;
+                while ((key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, affected);
+                }
+
+                if (!affected.isEmpty()) {
+                    List<T> ordered = new ArrayList<>(affected.size());
+                    for (T target : targets.keySet()) {
+                        if (affected.contains(target)) {
+                            ordered.add(target);
+                        }
+                    }
+                    regenerate(ordered);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            LOGGER.debug("Stopped watching");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void collect(WatchKey key, Set<T> affected) {
+        Path directory = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // events have been lost, so everything may have changed
+                affected.addAll(targets.keySet());
+                continue;
+            }
+
+            String fileName = event.context().toString();
+            targets.forEach((target, watchTarget) -> {
+                if (watchTarget.directory().equals(directory) && watchTarget.fileNameFilter().test(fileName)) {
+                    affected.add(target);
+                }
+            });
+        }
+
+        if (!key.reset()) {
+            LOGGER.warn("Stopped watching {} as it is no longer accessible", directory);
+        }
+    }
+
+    private void regenerate(List<T> affected) {
+        long start = System.nanoTime();
+        try {
+            regeneration.regenerate(affected);
+            LOGGER.info("Regenerated {} output(s) in {} ms", affected.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Unable to regenerate {} output(s). Waiting for further changes.", affected.size(), e);
+        }
+    }
+}
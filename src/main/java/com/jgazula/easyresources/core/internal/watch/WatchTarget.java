@@ -0,0 +1,39 @@
+package com.jgazula.easyresources.core.internal.watch;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * The files which an output is generated from: every file within a directory whose name matches a filter.
+ */
+@Value
+public class WatchTarget {
+    @NonNull Path directory;
+    @NonNull Predicate<String> fileNameFilter;
+
+    /**
+     * Creates a target for a single file, unless the path has no parent directory.
+     */
+    public static Optional<WatchTarget> file(Path file) {
+        Path absolute = file.toAbsolutePath().normalize();
+        Path directory = absolute.getParent();
+        Path fileName = absolute.getFileName();
+        if (directory == null || fileName == null) {
+            return Optional.empty();
+        }
+
+        String name = fileName.toString();
+        return Optional.of(new WatchTarget(directory, name::equals));
+    }
+
+    /**
+     * Creates a target for the files of the given directory whose names match the given filter.
+     */
+    public static WatchTarget directory(Path directory, Predicate<String> fileNameFilter) {
+        return new WatchTarget(directory.toAbsolutePath().normalize(), fileNameFilter);
+    }
+}
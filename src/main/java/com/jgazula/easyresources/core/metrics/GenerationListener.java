@@ -0,0 +1,33 @@
+package com.jgazula.easyresources.core.metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Is notified about the metrics of generation runs, such as to export them to a monitoring system. Every call of
+ * {@code generate} (and every regeneration of a watcher) is a separate run. Within a batch, every listener of the
+ * batch and of its configurations is notified about the whole batch as a single run.
+ */
+public interface GenerationListener {
+
+    /**
+     * Called once the outcome of an output is known. When outputs are generated concurrently, this is called
+     * concurrently from the threads which generate them.
+     */
+    default void outputCompleted(OutputMetrics metrics) { }
+
+    /**
+     * Called once all the outputs of a run have been generated.
+     */
+    default void runCompleted(GenerationReport report) throws IOException { }
+
+    /**
+     * Returns a listener which writes the report of every run to the given file as JSON, replacing the report of
+     * the previous run.
+     *
+     * @see GenerationReport#toJson()
+     */
+    static GenerationListener jsonReport(Path file) {
+        return new JsonReportListener(file);
+    }
+}
@@ -0,0 +1,37 @@
+package com.jgazula.easyresources.core.metrics;
+
+/**
+ * The phases of a generation run which are timed separately.
+ */
+public enum GenerationPhase {
+    /**
+     * Listing the bundle directories and indexing the resource bundles within them.
+     */
+    INDEX,
+
+    /**
+     * Fingerprinting the inputs of an incremental output to decide whether it is up to date.
+     */
+    FINGERPRINT,
+
+    /**
+     * Reading and parsing properties files.
+     */
+    READ,
+
+    /**
+     * Analysing the properties: converting keys to identifiers and the message formats of the values to argument
+     * types.
+     */
+    ANALYZE,
+
+    /**
+     * Building the model of the generated class.
+     */
+    BUILD,
+
+    /**
+     * Rendering the generated class and writing it to the destination directory.
+     */
+    WRITE
+}
@@ -0,0 +1,161 @@
+package com.jgazula.easyresources.core.metrics;
+
+import com.jgazula.easyresources.core.batch.GeneratedOutput;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The metrics of a generation run.
+ */
+@Value
+public class GenerationReport {
+    /**
+     * When the run started.
+     */
+    @NonNull Instant startedAt;
+
+    /**
+     * The wall-clock duration (in nanoseconds) of the run.
+     */
+    long durationNanos;
+
+    /**
+     * The number of properties files which were read. Files used by several outputs are read only once.
+     */
+    int propertiesFilesRead;
+
+    /**
+     * The number of bundle directories which were listed. Directories used by several outputs are listed only once.
+     */
+    int directoriesListed;
+
+    /**
+     * The time (in nanoseconds) which was spent in each phase, summed over all the outputs. When outputs are
+     * generated concurrently, the sum can exceed the duration of the run.
+     */
+    @NonNull Map<GenerationPhase, Long> phaseNanos;
+
+    /**
+     * The metrics of every output, sorted by path.
+     */
+    @NonNull List<OutputMetrics> outputs;
+
+    /**
+     * Returns the time (in nanoseconds) which was spent in the given phase, summed over all the outputs.
+     */
+    public long phaseNanos(GenerationPhase phase) {
+        return phaseNanos.getOrDefault(phase, 0L);
+    }
+
+    /**
+     * Returns the number of outputs with the given status.
+     */
+    public long count(GeneratedOutput.Status status) {
+        return outputs.stream().filter(metrics -> metrics.output().status() == status).count();
+    }
+
+    /**
+     * Returns the total number of properties keys of the generated outputs.
+     */
+    public long keys() {
+        return outputs.stream().mapToLong(OutputMetrics::keys).sum();
+    }
+
+    /**
+     * Returns the total size of the properties files which were loaded.
+     */
+    public long bytesRead() {
+        return outputs.stream().mapToLong(OutputMetrics::bytesRead).sum();
+    }
+
+    /**
+     * Returns the total size of the files which were written.
+     */
+    public long bytesWritten() {
+        return outputs.stream().mapToLong(OutputMetrics::bytesWritten).sum();
+    }
+
+    /**
+     * Returns the total number of message patterns whose argument types were inferred.
+     */
+    public long patterns() {
+        return outputs.stream().mapToLong(OutputMetrics::patterns).sum();
+    }
+
+    /**
+     * Returns the total number of message patterns which actually had to be parsed.
+     */
+    public long parsedPatterns() {
+        return outputs.stream().mapToLong(OutputMetrics::parsedPatterns).sum();
+    }
+
+    /**
+     * Returns the fraction of all the message patterns which did not have to be parsed, or 0 if there were none.
+     */
+    public double dedupeRatio() {
+        return OutputMetrics.dedupeRatio(patterns(), parsedPatterns());
+    }
+
+    /**
+     * Returns this report as a JSON object, with the phases and statuses as lowercase names.
+     */
+    public String toJson() {
+        var json = new JsonWriter()
+                .beginObject()
+                .name("startedAt").value(startedAt.toString())
+                .name("durationNanos").value(durationNanos)
+                .name("propertiesFilesRead").value(propertiesFilesRead)
+                .name("directoriesListed").value(directoriesListed)
+                .name("keys").value(keys())
+                .name("bytesRead").value(bytesRead())
+                .name("bytesWritten").value(bytesWritten())
+                .name("patterns").value(patterns())
+                .name("parsedPatterns").value(parsedPatterns())
+                .name("dedupeRatio").value(dedupeRatio());
+
+        json.name("statuses").beginObject();
+        for (GeneratedOutput.Status status : GeneratedOutput.Status.values()) {
+            json.name(lowerCase(status)).value(count(status));
+        }
+        json.endObject();
+
+        json.name("phaseNanos");
+        writePhases(json, phaseNanos);
+
+        json.name("outputs").beginArray();
+        for (OutputMetrics metrics : outputs) {
+            json.beginObject()
+                    .name("generator").value(metrics.output().generator())
+                    .name("className").value(metrics.output().className())
+                    .name("path").value(metrics.output().path().toString())
+                    .name("status").value(lowerCase(metrics.output().status()))
+                    .name("keys").value(metrics.keys())
+                    .name("bytesRead").value(metrics.bytesRead())
+                    .name("bytesWritten").value(metrics.bytesWritten())
+                    .name("patterns").value(metrics.patterns())
+                    .name("parsedPatterns").value(metrics.parsedPatterns())
+                    .name("dedupeRatio").value(metrics.dedupeRatio())
+                    .name("phaseNanos");
+            writePhases(json, metrics.phaseNanos());
+            json.endObject();
+        }
+        return json.endArray().endObject().toString();
+    }
+
+    private static void writePhases(JsonWriter json, Map<GenerationPhase, Long> phaseNanos) {
+        json.beginObject();
+        for (GenerationPhase phase : GenerationPhase.values()) {
+            json.name(lowerCase(phase)).value(phaseNanos.getOrDefault(phase, 0L));
+        }
+        json.endObject();
+    }
+
+    private static String lowerCase(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,24 @@
+package com.jgazula.easyresources.core.metrics;
+
+import com.jgazula.easyresources.core.internal.util.AtomicFiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * A {@link GenerationListener} which writes the report of every run to a file as JSON.
+ */
+class JsonReportListener implements GenerationListener {
+
+    private final Path file;
+
+    JsonReportListener(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void runCompleted(GenerationReport report) throws IOException {
+        AtomicFiles.write(file, (report.toJson() + '\n').getBytes(StandardCharsets.UTF_8));
+    }
+}
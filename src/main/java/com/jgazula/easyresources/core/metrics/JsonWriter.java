@@ -0,0 +1,124 @@
+package com.jgazula.easyresources.core.metrics;
+
+/**
+ * A minimal writer of indented JSON, which leaves it to the caller to nest objects and arrays correctly.
+ */
+class JsonWriter {
+
+    private static final String INDENT = "  ";
+
+    private final StringBuilder json = new StringBuilder();
+    private int depth;
+    private boolean first = true;
+    private boolean afterName;
+
+    JsonWriter beginObject() {
+        return open('{');
+    }
+
+    JsonWriter endObject() {
+        return close('}');
+    }
+
+    JsonWriter beginArray() {
+        return open('[');
+    }
+
+    JsonWriter endArray() {
+        return close(']');
+    }
+
+    JsonWriter name(String name) {
+        separate();
+        string(name);
+        json.append(": ");
+        afterName = true;
+        return this;
+    }
+
+    JsonWriter value(String value) {
+        separate();
+        string(value);
+        return this;
+    }
+
+    JsonWriter value(long value) {
+        separate();
+        json.append(value);
+        return this;
+    }
+
+    JsonWriter value(double value) {
+        separate();
+        json.append(Double.isFinite(value) ? Double.toString(value) : "null");
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return json.toString();
+    }
+
+    private JsonWriter open(char bracket) {
+        separate();
+        json.append(bracket);
+        depth++;
+        first = true;
+        return this;
+    }
+
+    private JsonWriter close(char bracket) {
+        depth--;
+        if (!first) {
+            newLine();
+        }
+        json.append(bracket);
+        first = false;
+        return this;
+    }
+
+    /**
+     * Starts a new line for the next element of an object or array, unless it is the value of a name.
+     */
+    private void separate() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (!first) {
+                json.append(',');
+            }
+            newLine();
+        }
+        first = false;
+    }
+
+    private void newLine() {
+        json.append('\n');
+        for (int i = 0; i < depth; i++) {
+            json.append(INDENT);
+        }
+    }
+
+    private void string(String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c == '\n') {
+                json.append("\\n");
+            } else if (c == '\r') {
+                json.append("\\r");
+            } else if (c == '\t') {
+                json.append("\\t");
+            } else if (c < ' ') {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,70 @@
+package com.jgazula.easyresources.core.metrics;
+
+import com.jgazula.easyresources.core.batch.GeneratedOutput;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * The metrics of a single output of a generation run.
+ */
+@Value
+public class OutputMetrics {
+    /**
+     * The output and its outcome.
+     */
+    @NonNull GeneratedOutput output;
+
+    /**
+     * The number of properties keys of the output, or 0 if it was not generated.
+     */
+    int keys;
+
+    /**
+     * The total size of the properties files which were loaded for the output. Files which had already been
+     * loaded for another output of the same run are not counted again.
+     */
+    long bytesRead;
+
+    /**
+     * The size (in bytes) of the generated file as it was handed to the output sink if it was written, or else 0.
+     */
+    long bytesWritten;
+
+    /**
+     * The number of message patterns whose argument types were inferred for the output, or 0 if the output has no
+     * message patterns (such as a constants file).
+     */
+    long patterns;
+
+    /**
+     * The number of those message patterns which actually had to be parsed. Duplicate patterns and patterns without
+     * any format element are not parsed.
+     */
+    long parsedPatterns;
+
+    /**
+     * The time (in nanoseconds) which was spent in each phase for the output. Phases which were not reached are
+     * absent.
+     */
+    @NonNull Map<GenerationPhase, Long> phaseNanos;
+
+    /**
+     * Returns the fraction of the message patterns which did not have to be parsed, or 0 if there were none.
+     */
+    public double dedupeRatio() {
+        return dedupeRatio(patterns, parsedPatterns);
+    }
+
+    static double dedupeRatio(long patterns, long parsedPatterns) {
+        return patterns == 0 ? 0 : 1 - (double) parsedPatterns / patterns;
+    }
+
+    /**
+     * Returns the time (in nanoseconds) which was spent in the given phase for the output.
+     */
+    public long phaseNanos(GenerationPhase phase) {
+        return phaseNanos.getOrDefault(phase, 0L);
+    }
+}
@@ -0,0 +1,56 @@
+package com.jgazula.easyresources.core.output;
+
+import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorConfig;
+import com.jgazula.easyresources.core.internal.util.AtomicFiles;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * An {@link OutputSink} which writes the files to a directory.
+ */
+@Value
+class DirectoryOutputSink implements OutputSink {
+
+    @NonNull Path root;
+
+    @Override
+    public Path location(String packageName, String className) {
+        return ClassGeneratorConfig.javaFilePath(root, packageName, className);
+    }
+
+    @Override
+    public boolean write(String packageName, String className, CharSequence source) throws IOException {
+        return AtomicFiles.writeIfChanged(location(packageName, className),
+                source.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Streams the file to a temporary file, which is then compared with the existing file.
+     */
+    @Override
+    public boolean write(String packageName, String className, SourceWriter source) throws IOException {
+        return AtomicFiles.writeIfChanged(location(packageName, className), out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            source.writeTo(writer);
+            writer.flush();
+        });
+    }
+
+    @Override
+    public boolean writeClass(String packageName, String className, byte[] bytecode) throws IOException {
+        return AtomicFiles.writeIfChanged(classLocation(packageName, className), bytecode);
+    }
+
+    @Override
+    public Optional<Path> directory() {
+        return Optional.of(root);
+    }
+}
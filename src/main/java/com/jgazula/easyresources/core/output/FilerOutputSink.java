@@ -0,0 +1,63 @@
+package com.jgazula.easyresources.core.output;
+
+import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorConfig;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * An {@link OutputSink} which creates the files through the {@link Filer} of an annotation processor, so that the
+ * compiler compiles them in a later round and knows which elements they originate from. As a file can only be
+ * created once per compilation, every file is always written.
+ */
+class FilerOutputSink implements OutputSink {
+
+    private final Filer filer;
+    private final Element[] originatingElements;
+
+    FilerOutputSink(Filer filer, List<Element> originatingElements) {
+        this.filer = filer;
+        this.originatingElements = originatingElements.toArray(new Element[0]);
+    }
+
+    @Override
+    public Path location(String packageName, String className) {
+        return ClassGeneratorConfig.javaFilePath(Path.of(""), packageName, className);
+    }
+
+    @Override
+    public boolean write(String packageName, String className, CharSequence source) throws IOException {
+        return write(packageName, className, writer -> writer.append(source));
+    }
+
+    /**
+     * Streams the file straight into the file created by the {@link Filer}.
+     */
+    @Override
+    public boolean write(String packageName, String className, SourceWriter source) throws IOException {
+        JavaFileObject file = filer.createSourceFile(qualifiedName(packageName, className), originatingElements);
+        try (Writer writer = file.openWriter()) {
+            source.writeTo(writer);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean writeClass(String packageName, String className, byte[] bytecode) throws IOException {
+        JavaFileObject file = filer.createClassFile(qualifiedName(packageName, className), originatingElements);
+        try (OutputStream out = file.openOutputStream()) {
+            out.write(bytecode);
+        }
+        return true;
+    }
+
+    private static String qualifiedName(String packageName, String className) {
+        return packageName.isEmpty() ? className : packageName + "." + className;
+    }
+}
@@ -0,0 +1,110 @@
+package com.jgazula.easyresources.core.output;
+
+import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorConfig;
+
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * An {@link OutputSink} which keeps the files in memory, keyed by the fully qualified names of their classes.
+ * Java files and class files are kept apart.
+ * The files can be handed straight to an in-process compiler as {@link #javaFileObjects() JavaFileObjects}. A file
+ * which is written again replaces the previous one.
+ */
+public class InMemoryOutputSink implements OutputSink {
+
+    private static final String URI_SCHEME = "string:///";
+
+    private final Map<String, String> sources = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> classes = new ConcurrentHashMap<>();
+
+    InMemoryOutputSink() { }
+
+    @Override
+    public Path location(String packageName, String className) {
+        return ClassGeneratorConfig.javaFilePath(Path.of(""), packageName, className);
+    }
+
+    @Override
+    public boolean write(String packageName, String className, CharSequence source) {
+        String content = source.toString();
+        return !content.equals(sources.put(qualifiedName(packageName, className), content));
+    }
+
+    @Override
+    public boolean writeClass(String packageName, String className, byte[] bytecode) {
+        byte[] content = bytecode.clone();
+        byte[] previous = classes.put(qualifiedName(packageName, className), content);
+        return previous == null || !Arrays.equals(content, previous);
+    }
+
+    /**
+     * Returns the source of every file, keyed by the fully qualified name of its class and sorted by that name.
+     */
+    public Map<String, String> sources() {
+        return Collections.unmodifiableMap(new TreeMap<>(sources));
+    }
+
+    /**
+     * Returns the source of the given class, if it has been written.
+     */
+    public Optional<String> source(String qualifiedClassName) {
+        return Optional.ofNullable(sources.get(qualifiedClassName));
+    }
+
+    /**
+     * Returns the class file of the given class, if it has been written.
+     */
+    public Optional<byte[]> classFile(String qualifiedClassName) {
+        return Optional.ofNullable(classes.get(qualifiedClassName)).map(byte[]::clone);
+    }
+
+    /**
+     * Returns every file as a source {@link JavaFileObject}, sorted by the fully qualified name of its class.
+     */
+    public List<JavaFileObject> javaFileObjects() {
+        return sources().entrySet().stream()
+                .map(entry -> new SourceFileObject(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Removes all the files.
+     */
+    public void clear() {
+        sources.clear();
+        classes.clear();
+    }
+
+    private static String qualifiedName(String packageName, String className) {
+        return packageName.isEmpty() ? className : packageName + "." + className;
+    }
+
+    /**
+     * A source file whose content is held in memory.
+     */
+    private static final class SourceFileObject extends SimpleJavaFileObject {
+        private final String source;
+
+        private SourceFileObject(String qualifiedClassName, String source) {
+            super(URI.create(URI_SCHEME + qualifiedClassName.replace('.', '/') + Kind.SOURCE.extension),
+                    Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.jgazula.easyresources.core.output;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The destination of the generated Java files (or of the class files, for the bytecode backend). Besides a
+ * {@link #directory(Path) directory}, the files can be kept {@link #inMemory() in memory} (e.g. to compile them
+ * in-process with {@code javax.tools}), or be created through the {@link #filer(Filer, Element...) Filer} of an
+ * annotation processor. Implementations must be thread-safe, as multiple files may be written concurrently.
+ */
+public interface OutputSink {
+
+    /**
+     * Returns the path which identifies the Java file of the given class within this sink. This is the path of the
+     * file for a directory, and a path relative to the (virtual) source root otherwise.
+     */
+    Path location(String packageName, String className);
+
+    /**
+     * Writes the Java file of the given class. A sink which can tell that it already has exactly the same file
+     * leaves it untouched.
+     *
+     * @return {@code true} if the file was written
+     */
+    boolean write(String packageName, String className, CharSequence source) throws IOException;
+
+    /**
+     * Same as {@link #write(String, String, CharSequence)}, but for a file which is too large to be kept in memory.
+     * By default, the file is rendered into memory anyway.
+     *
+     * @return {@code true} if the file was written
+     */
+    default boolean write(String packageName, String className, SourceWriter source) throws IOException {
+        var writer = new StringWriter();
+        source.writeTo(writer);
+        return write(packageName, className, writer.getBuffer());
+    }
+
+    /**
+     * Returns the path which identifies the class file of the given class within this sink. By default, this is the
+     * {@link #location(String, String) location} of its Java file with the extension of a class file instead.
+     */
+    default Path classLocation(String packageName, String className) {
+        return location(packageName, className).resolveSibling(className + ".class");
+    }
+
+    /**
+     * Writes the class file of the given class. A sink which can tell that it already has exactly the same file
+     * leaves it untouched.
+     *
+     * @return {@code true} if the file was written
+     */
+    boolean writeClass(String packageName, String className, byte[] bytecode) throws IOException;
+
+    /**
+     * Returns the directory to which this sink writes the files, if they are kept there between runs. Incremental
+     * generation and the pruning of stale outputs are only possible for such a sink.
+     */
+    default Optional<Path> directory() {
+        return Optional.empty();
+    }
+
+    /**
+     * Creates a sink which writes the files to the given directory, where each file is placed in the directory of
+     * its package. Unchanged files are left untouched and changed files are replaced atomically.
+     */
+    static OutputSink directory(Path directory) {
+        Objects.requireNonNull(directory, "directory cannot be null when creating an OutputSink.");
+        return new DirectoryOutputSink(directory);
+    }
+
+    /**
+     * Creates a sink which keeps the files in memory.
+     */
+    static InMemoryOutputSink inMemory() {
+        return new InMemoryOutputSink();
+    }
+
+    /**
+     * Creates a sink which creates the files through the given {@link Filer} of an annotation processor, declaring
+     * the given elements as the originating elements of every file.
+     */
+    static OutputSink filer(Filer filer, Element... originatingElements) {
+        Objects.requireNonNull(filer, "filer cannot be null when creating an OutputSink.");
+        return new FilerOutputSink(filer, List.of(originatingElements));
+    }
+
+    /**
+     * Writes the content of a Java file.
+     */
+    @FunctionalInterface
+    interface SourceWriter {
+        void writeTo(Writer writer) throws IOException;
+    }
+}
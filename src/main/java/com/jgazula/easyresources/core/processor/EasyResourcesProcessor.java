@@ -0,0 +1,241 @@
+package com.jgazula.easyresources.core.processor;
+
+import com.jgazula.easyresources.core.enhancedresourcebundle.ERBBundleConfig;
+import com.jgazula.easyresources.core.enhancedresourcebundle.ERBConfig;
+import com.jgazula.easyresources.core.enhancedresourcebundle.EnhancedResourceBundle;
+import com.jgazula.easyresources.core.output.OutputSink;
+import com.jgazula.easyresources.core.propertiesconstants.PropertiesConstants;
+import com.jgazula.easyresources.core.propertiesconstants.PropertiesConstantsConfig;
+import com.jgazula.easyresources.core.propertiesconstants.PropertiesConstantsFileConfig;
+import com.jgazula.easyresources.core.util.GeneratorBackend;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * An annotation processor which generates the classes of the {@link GeneratePropertiesConstants} and
+ * {@link GenerateEnhancedResourceBundle} annotations during compilation, so that no separate build step is
+ * needed. Every class is created through the {@link javax.annotation.processing.Filer} with the annotated element
+ * as its only originating element. The annotations are not claimed, so other processors still see them.
+ * <p>
+ * The processor is not registered as incremental for Gradle, as it reads properties files which the compiler does
+ * not track as inputs: an incremental compilation could not know that a class has to be regenerated when only its
+ * properties file has changed. For the same reason, a build has to declare the properties files outside of the
+ * compile class path (such as those of the {@value #RESOURCE_DIRS_OPTION} option) as inputs of its compile task,
+ * so that changing them recompiles the sources at all.
+ * <p>
+ * The properties files are looked up in the directories of the {@value #RESOURCE_DIRS_OPTION} option, then on the
+ * source path, in the class output and on the class path. The following options are supported:
+ * <ul>
+ *     <li>{@value #RESOURCE_DIRS_OPTION}: the resource directories, separated by the path separator</li>
+ *     <li>{@value #BACKEND_OPTION}: the {@link GeneratorBackend}, where {@code bytecode} creates class files
+ *     instead of source files</li>
+ *     <li>{@value #REPRODUCIBLE_OPTION}: whether the generated files omit their timestamp (by default, they do)</li>
+ * </ul>
+ */
+public class EasyResourcesProcessor extends AbstractProcessor {
+
+    public static final String RESOURCE_DIRS_OPTION = "easyresources.resourceDirs";
+    public static final String BACKEND_OPTION = "easyresources.backend";
+    public static final String REPRODUCIBLE_OPTION = "easyresources.reproducible";
+
+    static final String GENERATED_BY = "easy-resources-processor";
+    private static final String PROPERTIES_EXTENSION = ".properties";
+    private static final List<StandardLocation> RESOURCE_LOCATIONS = List.of(StandardLocation.SOURCE_PATH,
+            StandardLocation.CLASS_OUTPUT, StandardLocation.CLASS_PATH);
+    // the generators only keep their incremental state in the destination directory, which is never used here
+    private static final Path UNUSED_DESTINATION_DIR = Path.of("");
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(GeneratePropertiesConstants.class.getCanonicalName(),
+                GeneratePropertiesConstants.List.class.getCanonicalName(),
+                GenerateEnhancedResourceBundle.class.getCanonicalName(),
+                GenerateEnhancedResourceBundle.List.class.getCanonicalName());
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Set.of(RESOURCE_DIRS_OPTION, BACKEND_OPTION, REPRODUCIBLE_OPTION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : annotatedElements(roundEnv, GeneratePropertiesConstants.class,
+                GeneratePropertiesConstants.List.class)) {
+            for (GeneratePropertiesConstants annotation
+                    : element.getAnnotationsByType(GeneratePropertiesConstants.class)) {
+                generate(element, annotation.value(), () -> generatePropertiesConstants(element, annotation));
+            }
+        }
+
+        for (Element element : annotatedElements(roundEnv, GenerateEnhancedResourceBundle.class,
+                GenerateEnhancedResourceBundle.List.class)) {
+            for (GenerateEnhancedResourceBundle annotation
+                    : element.getAnnotationsByType(GenerateEnhancedResourceBundle.class)) {
+                generate(element, annotation.value(), () -> generateEnhancedResourceBundle(element, annotation));
+            }
+        }
+        return false;
+    }
+
+    private void generatePropertiesConstants(Element element, GeneratePropertiesConstants annotation)
+            throws IOException {
+        var fileConfig = PropertiesConstantsFileConfig.builder()
+                .propertiesPath(resolveResource(annotation.value()))
+                .generatedClassName(annotation.className())
+                .generatedPackageName(packageName(element, annotation.packageName()))
+                .build();
+
+        PropertiesConstants.create(PropertiesConstantsConfig.builder()
+                .generatedBy(GENERATED_BY)
+                .fileConfigs(List.of(fileConfig))
+                .destinationDir(UNUSED_DESTINATION_DIR)
+                .outputSink(OutputSink.filer(processingEnv.getFiler(), element))
+                .reproducible(reproducible())
+                .backend(backend())
+                .build()).generate();
+    }
+
+    private void generateEnhancedResourceBundle(Element element, GenerateEnhancedResourceBundle annotation)
+            throws IOException {
+        Path baseFile = resolveResource(annotation.value() + PROPERTIES_EXTENSION);
+        String fileName = String.valueOf(baseFile.getFileName());
+        var bundleConfig = ERBBundleConfig.builder()
+                .bundlePath(Optional.ofNullable(baseFile.toAbsolutePath().getParent()).orElseThrow())
+                .bundleName(fileName.substring(0, fileName.length() - PROPERTIES_EXTENSION.length()))
+                .generatedClassName(annotation.className())
+                .generatedPackageName(packageName(element, annotation.packageName()))
+                .build();
+
+        EnhancedResourceBundle.create(ERBConfig.builder()
+                .generatedBy(GENERATED_BY)
+                .bundleConfigs(List.of(bundleConfig))
+                .destinationDir(UNUSED_DESTINATION_DIR)
+                .outputSink(OutputSink.filer(processingEnv.getFiler(), element))
+                .reproducible(reproducible())
+                .backend(backend())
+                .build()).generate();
+    }
+
+    /**
+     * Runs the given generation, and reports its failure as an error on the annotated element.
+     */
+    private void generate(Element element, String resource, Generation generation) {
+        try {
+            generation.run();
+        } catch (IOException | RuntimeException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("Unable to generate the class for %s: %s", resource, e.getMessage()), element);
+        }
+    }
+
+    /**
+     * Returns the path of the given resource, which is written as {@code archive!/path/in/archive} for a resource
+     * inside a jar file.
+     *
+     * @throws IOException if the resource does not exist
+     */
+    private Path resolveResource(String resource) throws IOException {
+        for (String resourceDir : resourceDirs()) {
+            Path path = Path.of(resourceDir).resolve(resource);
+            if (Files.isRegularFile(path)) {
+                return path;
+            }
+        }
+
+        int lastSlash = resource.lastIndexOf('/');
+        String packageName = lastSlash < 0 ? "" : resource.substring(0, lastSlash).replace('/', '.');
+        String relativeName = resource.substring(lastSlash + 1);
+        for (StandardLocation location : RESOURCE_LOCATIONS) {
+            Optional<Path> path = resourcePath(location, packageName, relativeName);
+            if (path.isPresent()) {
+                return path.get();
+            }
+        }
+        throw new IOException("Resource " + resource + " does not exist");
+    }
+
+    private Optional<Path> resourcePath(StandardLocation location, String packageName, String relativeName) {
+        try {
+            FileObject file = processingEnv.getFiler().getResource(location, packageName, relativeName);
+            URI uri = file.toUri();
+            if ("file".equals(uri.getScheme())) {
+                Path path = Path.of(uri);
+                return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+            } else if ("jar".equals(uri.getScheme())) {
+                // jar:file:/path/to/archive.jar!/path/in/archive
+                String archivePath = uri.getSchemeSpecificPart();
+                int separator = archivePath.indexOf("!/");
+                return Optional.of(Path.of(Path.of(URI.create(archivePath.substring(0, separator))).toString()
+                        + archivePath.substring(separator)));
+            }
+            return Optional.empty();
+        } catch (IOException | IllegalArgumentException e) {
+            // the location is not available, or does not contain the resource
+            return Optional.empty();
+        }
+    }
+
+    private List<String> resourceDirs() {
+        String resourceDirs = processingEnv.getOptions().get(RESOURCE_DIRS_OPTION);
+        if (resourceDirs == null || resourceDirs.isBlank()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(resourceDirs.split(File.pathSeparator))
+                .filter(dir -> !dir.isBlank())
+                .collect(Collectors.toList());
+    }
+
+    private GeneratorBackend backend() {
+        String backend = processingEnv.getOptions().get(BACKEND_OPTION);
+        return backend == null ? GeneratorBackend.JAVAPOET : GeneratorBackend.valueOf(backend.toUpperCase(Locale.ROOT));
+    }
+
+    private boolean reproducible() {
+        return !"false".equalsIgnoreCase(processingEnv.getOptions().get(REPRODUCIBLE_OPTION));
+    }
+
+    private String packageName(Element element, String packageName) {
+        return packageName.isEmpty()
+                ? processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString()
+                : packageName;
+    }
+
+    private static Set<Element> annotatedElements(RoundEnvironment roundEnv, Class<? extends Annotation> annotation,
+                                                  Class<? extends Annotation> container) {
+        Set<Element> elements = new LinkedHashSet<>(roundEnv.getElementsAnnotatedWith(annotation));
+        elements.addAll(roundEnv.getElementsAnnotatedWith(container));
+        return elements;
+    }
+
+    @FunctionalInterface
+    private interface Generation {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,47 @@
+package com.jgazula.easyresources.core.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates an enhanced resource bundle for a resource bundle while the annotated type (or package) is compiled,
+ * with the {@link EasyResourcesProcessor}.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target({ElementType.TYPE, ElementType.PACKAGE})
+@Repeatable(GenerateEnhancedResourceBundle.List.class)
+public @interface GenerateEnhancedResourceBundle {
+
+    /**
+     * The path of the resource bundle without the locale and extension, such as {@code i18n/messages} for
+     * {@code i18n/messages.properties} and {@code i18n/messages_fr.properties}. It is relative to a resource
+     * directory of the {@link EasyResourcesProcessor#RESOURCE_DIRS_OPTION option}, to the source path or to the
+     * class path. The base file of the bundle must exist.
+     */
+    String value();
+
+    /**
+     * The simple name of the generated class.
+     */
+    String className();
+
+    /**
+     * The package of the generated class. Defaults to the package of the annotated element.
+     */
+    String packageName() default "";
+
+    /**
+     * Holds multiple {@link GenerateEnhancedResourceBundle} annotations.
+     */
+    @Documented
+    @Retention(RetentionPolicy.SOURCE)
+    @Target({ElementType.TYPE, ElementType.PACKAGE})
+    @interface List {
+        GenerateEnhancedResourceBundle[] value();
+    }
+}
@@ -0,0 +1,45 @@
+package com.jgazula.easyresources.core.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a class of constants for the keys of a properties file while the annotated type (or package) is
+ * compiled, with the {@link EasyResourcesProcessor}.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target({ElementType.TYPE, ElementType.PACKAGE})
+@Repeatable(GeneratePropertiesConstants.List.class)
+public @interface GeneratePropertiesConstants {
+
+    /**
+     * The path of the properties file, relative to a resource directory of the
+     * {@link EasyResourcesProcessor#RESOURCE_DIRS_OPTION option}, to the source path or to the class path.
+     */
+    String value();
+
+    /**
+     * The simple name of the generated class.
+     */
+    String className();
+
+    /**
+     * The package of the generated class. Defaults to the package of the annotated element.
+     */
+    String packageName() default "";
+
+    /**
+     * Holds multiple {@link GeneratePropertiesConstants} annotations.
+     */
+    @Documented
+    @Retention(RetentionPolicy.SOURCE)
+    @Target({ElementType.TYPE, ElementType.PACKAGE})
+    @interface List {
+        GeneratePropertiesConstants[] value();
+    }
+}
@@ -0,0 +1,42 @@
+package com.jgazula.easyresources.core.propertiesconstants;
+
+import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorFactory;
+import com.jgazula.easyresources.core.internal.generation.Generation;
+import com.jgazula.easyresources.core.internal.incremental.Fingerprinter;
+import com.jgazula.easyresources.core.internal.properties.CachingPropertiesReader;
+import com.jgazula.easyresources.core.internal.properties.PropertiesCache;
+import com.jgazula.easyresources.core.internal.properties.PropertiesParser;
+import com.jgazula.easyresources.core.internal.properties.PropertiesReader;
+import com.jgazula.easyresources.core.internal.util.FileUtil;
+
+import java.util.Objects;
+
+/**
+ * Creates the generators of {@link PropertiesConstants}, both for the factories of the interface and for a
+ * {@link com.jgazula.easyresources.core.batch.GenerationBatch batch}, which plans them as a {@link Generation}.
+ * This class is not meant to be used outside of this library.
+ */
+public final class PCGenerations {
+
+    private PCGenerations() {
+    }
+
+    /**
+     * Creates a generator of the given configuration which can be planned as part of a batch.
+     */
+    public static Generation generation(PropertiesConstantsConfig config) {
+        Objects.requireNonNull(config, "config cannot be null when creating a PropertiesConstants generation.");
+        return generator(config);
+    }
+
+    static PCGenerator generator(PropertiesConstantsConfig config) {
+        return new PCGenerator(config, new ClassGeneratorFactory(),
+                propertiesReader(config), new PropertiesParser(), new FileUtil(), new Fingerprinter());
+    }
+
+    private static PropertiesReader propertiesReader(PropertiesConstantsConfig config) {
+        return config.cacheParsedProperties()
+                ? new CachingPropertiesReader(config.parallelParsingThreshold(), PropertiesCache.shared())
+                : new PropertiesReader(config.parallelParsingThreshold());
+    }
+}
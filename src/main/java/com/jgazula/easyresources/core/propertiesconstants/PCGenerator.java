@@ -1,16 +1,48 @@
 package com.jgazula.easyresources.core.propertiesconstants;
 
+import com.jgazula.easyresources.core.batch.GeneratedOutput;
+import com.jgazula.easyresources.core.batch.GenerationFingerprint;
+import com.jgazula.easyresources.core.batch.GeneratedOutput.Status;
 import com.jgazula.easyresources.core.internal.classgeneration.ClassGenerator;
 import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorConfig;
 import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorFactory;
+import com.jgazula.easyresources.core.internal.classgeneration.WriteResult;
+import com.jgazula.easyresources.core.internal.concurrent.TaskRunner;
+import com.jgazula.easyresources.core.internal.generation.Generation;
+import com.jgazula.easyresources.core.internal.generation.GenerationContext;
+import com.jgazula.easyresources.core.internal.generation.GenerationPlan;
+import com.jgazula.easyresources.core.internal.generation.OutputRecorder;
+import com.jgazula.easyresources.core.internal.incremental.Fingerprint;
+import com.jgazula.easyresources.core.internal.incremental.FingerprintStore;
+import com.jgazula.easyresources.core.internal.incremental.Fingerprinter;
+import com.jgazula.easyresources.core.internal.properties.InvalidPropertyKeyException;
 import com.jgazula.easyresources.core.internal.properties.PropertiesParser;
 import com.jgazula.easyresources.core.internal.properties.PropertiesReader;
+import com.jgazula.easyresources.core.internal.util.ArchiveFileSystems;
 import com.jgazula.easyresources.core.internal.util.FileUtil;
+import com.jgazula.easyresources.core.internal.util.GeneratorVersion;
+import com.jgazula.easyresources.core.internal.watch.InputWatcher;
+import com.jgazula.easyresources.core.internal.watch.WatchTarget;
+import com.jgazula.easyresources.core.metrics.GenerationPhase;
+import com.jgazula.easyresources.core.output.OutputSink;
+import com.jgazula.easyresources.core.util.GeneratorBackend;
 import com.jgazula.easyresources.core.util.ValidationException;
+import com.jgazula.easyresources.core.util.Watcher;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,74 +51,451 @@ import org.slf4j.LoggerFactory;
  * An implementation of {@link PropertiesConstants} which will generate a Java file of constants by
  * parsing through the given properties files.
  */
-class PCGenerator implements PropertiesConstants {
+class PCGenerator implements PropertiesConstants, Generation {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PCGenerator.class);
 
+    private static final String GENERATOR_NAME = "properties-constants";
+    private static final String SHARD_SUFFIX = "Shard";
+
+    // a constant pool has at most 65535 entries, of which the first one is unused
+    private static final int MAX_POOL_ENTRIES = 0xFFFF - 1;
+    // the entries of a class besides its constants: its own name and that of Object (a class and a UTF-8 entry
+    // each), the descriptor of String, the names of the ConstantValue and SourceFile attributes and the name of the
+    // source file, with plenty of room for whatever else a compiler may add
+    private static final int POOL_OVERHEAD = 64;
+
     private final PropertiesConstantsConfig config;
     private final ClassGeneratorFactory generatorFactory;
     private final PropertiesReader propertiesReader;
     private final PropertiesParser propertiesParser;
     private final FileUtil fileUtil;
+    private final Fingerprinter fingerprinter;
+    // the shards of the classes which have been split, by the qualified name of their facade
+    private final Map<String, List<Path>> shardPaths = new ConcurrentHashMap<>();
 
     PCGenerator(PropertiesConstantsConfig config, ClassGeneratorFactory generatorFactory,
-                PropertiesReader propertiesReader, PropertiesParser propertiesParser, FileUtil fileUtil) {
+                PropertiesReader propertiesReader, PropertiesParser propertiesParser, FileUtil fileUtil,
+                Fingerprinter fingerprinter) {
         this.config = config;
         this.generatorFactory = generatorFactory;
         this.propertiesReader = propertiesReader;
         this.propertiesParser = propertiesParser;
         this.fileUtil = fileUtil;
+        this.fingerprinter = fingerprinter;
     }
 
     @Override
     public void generate() throws IOException {
-        if (config.fileConfigs().isEmpty()) {
+        generate(config.fileConfigs());
+    }
+
+    /**
+     * Generates the constants files of the given file configs and then regenerates them whenever their
+     * properties files change.
+     */
+    Watcher watch(Duration debounce) throws IOException {
+        Map<PropertiesConstantsFileConfig, WatchTarget> targets = new LinkedHashMap<>();
+        for (PropertiesConstantsFileConfig fileConfig : config.fileConfigs()) {
+            Optional<WatchTarget> target = WatchTarget.file(fileConfig.propertiesPath());
+            if (target.isPresent()) {
+                targets.put(fileConfig, target.get());
+            } else {
+                LOGGER.warn("Unable to watch {}", fileConfig.propertiesPath());
+            }
+        }
+        return InputWatcher.start(targets, debounce, this::generate);
+    }
+
+    @Override
+    public GenerationPlan plan(GenerationContext context) throws IOException {
+        return plan(config.fileConfigs(), context);
+    }
+
+    private void generate(List<PropertiesConstantsFileConfig> fileConfigs) throws IOException {
+        try (GenerationContext context = new GenerationContext(config.listeners());
+             TaskRunner taskRunner = TaskRunner.create(config.executor(), config.parallelism())) {
+            GenerationPlan plan = plan(fileConfigs, context);
+            taskRunner.runAll(plan.tasks());
+            plan.complete();
+            context.complete();
+        }
+    }
+
+    private GenerationPlan plan(List<PropertiesConstantsFileConfig> fileConfigs, GenerationContext context)
+            throws IOException {
+        if ((config.incremental() || config.pruneStaleOutputs()) && outputSink().directory().isEmpty()) {
+            throw new ValidationException("Incremental generation and pruning of stale outputs require an output "
+                    + "sink which writes to a directory");
+        }
+
+        if (fileConfigs.isEmpty()) {
             LOGGER.warn("No properties files have been configured. Skipping constants file generation.");
-            return;
+            return new GenerationPlan(List.of(), () -> pruneStaleOutputs(context));
+        }
+
+        Optional<FingerprintStore> fingerprintStore = config.incremental()
+                ? Optional.of(FingerprintStore.load(config.destinationDir(), GENERATOR_NAME))
+                : Optional.empty();
+
+        for (PropertiesConstantsFileConfig fileConfig : fileConfigs) {
+            context.reserveProperties(context.resolve(fileConfig.propertiesPath()));
+        }
+        List<TaskRunner.Task> tasks = fileConfigs.stream()
+                .map(fileConfig -> (TaskRunner.Task) () -> generateFile(fileConfig, context, fingerprintStore))
+                .collect(Collectors.toList());
+        return new GenerationPlan(tasks, () -> {
+            if (fingerprintStore.isPresent()) {
+                fingerprintStore.get().save();
+            }
+            pruneStaleOutputs(context);
+        });
+    }
+
+    @Override
+    public GenerationFingerprint fingerprint() throws IOException {
+        Optional<FingerprintStore> fingerprintStore = config.incremental()
+                ? Optional.of(FingerprintStore.load(config.destinationDir(), GENERATOR_NAME))
+                : Optional.empty();
+
+        List<Fingerprint> fingerprints = new ArrayList<>(config.fileConfigs().size());
+        Set<Path> inputFiles = new TreeSet<>();
+        try (GenerationContext context = new GenerationContext()) {
+            for (PropertiesConstantsFileConfig fileConfig : config.fileConfigs()) {
+                ClassGeneratorConfig poetConfig = classGeneratorConfig(fileConfig);
+                Path propertiesPath = resolvePropertiesPath(fileConfig, context);
+                // reuse the content hashes of the previous incremental run for the files which have not changed
+                fingerprints.add(fingerprinter.fingerprint(fingerprintConfig(poetConfig), List.of(propertiesPath),
+                        fingerprintStore.flatMap(store -> store.get(poetConfig.qualifiedClassName()))));
+                inputFiles.add(ArchiveFileSystems.containingFile(propertiesPath));
+            }
+        }
+
+        return new GenerationFingerprint(fingerprinter.cacheKey(fingerprints), List.copyOf(inputFiles),
+                outputPaths());
+    }
+
+    private void pruneStaleOutputs(GenerationContext context) throws IOException {
+        if (config.pruneStaleOutputs()) {
+            context.pruneStaleOutputs(config.destinationDir(), GENERATOR_NAME, outputPaths());
         }
+    }
 
+    private List<Path> outputPaths() {
+        List<Path> outputPaths = new ArrayList<>();
         for (PropertiesConstantsFileConfig fileConfig : config.fileConfigs()) {
-            generateFile(fileConfig);
+            ClassGeneratorConfig poetConfig = classGeneratorConfig(fileConfig);
+            outputPaths.add(outputLocation(poetConfig));
+            outputPaths.addAll(shardPaths(poetConfig));
         }
+        return outputPaths;
     }
 
-    private void generateFile(PropertiesConstantsFileConfig fileConfig) throws IOException {
-        LOGGER.debug("Generating constants file for {}", fileConfig.propertiesPath());
+    /**
+     * Returns the sink to which the generated files are written.
+     */
+    private OutputSink outputSink() {
+        return config.outputSink() != null ? config.outputSink() : OutputSink.directory(config.destinationDir());
+    }
 
-        if (!fileUtil.exists(fileConfig.propertiesPath())) {
+    /**
+     * Returns the location of the generated file within the {@link #outputSink() sink}, which is a class file for
+     * the bytecode backend.
+     */
+    private Path outputLocation(ClassGeneratorConfig poetConfig) {
+        return config.backend() == GeneratorBackend.BYTECODE
+                ? outputSink().classLocation(poetConfig.packageName(), poetConfig.className())
+                : outputSink().location(poetConfig.packageName(), poetConfig.className());
+    }
+
+    private ClassGeneratorConfig classGeneratorConfig(PropertiesConstantsFileConfig fileConfig) {
+        return ClassGeneratorConfig.builder()
+                .generatedBy(config.generatedBy())
+                .packageName(fileConfig.generatedPackageName())
+                .className(fileConfig.generatedClassName())
+                .reproducible(config.reproducible())
+                .backend(config.backend())
+                .build();
+    }
+
+    private Path resolvePropertiesPath(PropertiesConstantsFileConfig fileConfig, GenerationContext context)
+            throws IOException {
+        Path propertiesPath = context.resolve(fileConfig.propertiesPath());
+        if (!fileUtil.exists(propertiesPath)) {
             throw new ValidationException("File %s does not exist", fileConfig.propertiesPath().toString());
         }
+        return propertiesPath;
+    }
 
-        Map<String, String> properties = propertiesReader.loadProperties(fileConfig.propertiesPath());
+    private void generateFile(PropertiesConstantsFileConfig fileConfig, GenerationContext context,
+                              Optional<FingerprintStore> fingerprintStore) throws IOException {
+        LOGGER.debug("Generating constants file for {}", fileConfig.propertiesPath());
+
+        Path propertiesPath = resolvePropertiesPath(fileConfig, context);
+        var poetConfig = classGeneratorConfig(fileConfig);
+
+        String outputKey = poetConfig.qualifiedClassName();
+        Path outputPath = outputLocation(poetConfig);
+        var recorder = new OutputRecorder();
+        Fingerprint fingerprint = null;
+        if (fingerprintStore.isPresent()) {
+            FingerprintStore store = fingerprintStore.get();
+            long fingerprintStart = recorder.start();
+            fingerprint = fingerprinter.fingerprint(fingerprintConfig(poetConfig),
+                    List.of(propertiesPath), store.get(outputKey));
+            boolean upToDate = store.isUpToDate(outputKey, fingerprint);
+            recorder.stop(GenerationPhase.FINGERPRINT, fingerprintStart);
+
+            if (upToDate) {
+                // still record the fingerprint so that a touched (but unchanged) file is not hashed again next time
+                store.put(outputKey, fingerprint, store.outputs(outputKey));
+                context.releaseProperties(propertiesPath);
+                LOGGER.info("Constants file for {} is up to date", fileConfig.propertiesPath());
+                context.record(new GeneratedOutput(GENERATOR_NAME, outputKey, outputPath, Status.UP_TO_DATE),
+                        recorder);
+                return;
+            }
+        }
+
+        long readStart = recorder.start();
+        Map<String, String> properties = context.loadProperties(propertiesPath, path -> {
+            recorder.read(path);
+            return propertiesReader.loadProperties(path);
+        });
+        recorder.stop(GenerationPhase.READ, readStart);
+        recorder.keys(properties.size());
         LOGGER.debug("Successfully loaded {} properties from {}", properties.size(), fileConfig.propertiesPath());
 
         if (properties.isEmpty()) {
             LOGGER.warn("The properties file {} is empty. Skipping constants file generation.",
                     fileConfig.propertiesPath());
+            context.record(new GeneratedOutput(GENERATOR_NAME, outputKey, outputPath, Status.SKIPPED), recorder);
         } else {
-            var poetConfig = ClassGeneratorConfig.builder()
-                    .generatedBy(config.generatedBy())
-                    .packageName(fileConfig.generatedPackageName())
-                    .className(fileConfig.generatedClassName())
-                    .build();
-            ClassGenerator generator = generatorFactory.getGenerator(poetConfig);
-
-            for (Map.Entry<String, String> entry : properties.entrySet()) {
+            long analyzeStart = recorder.start();
+            // Sort the keys so that the constants are generated in the same order on every run and JVM
+            List<String> keys = new ArrayList<>(new TreeSet<>(properties.keySet()));
+            List<String> variableNames;
+            try {
+                variableNames = propertiesParser.keysToStaticFinalVariables(keys);
+            } catch (InvalidPropertyKeyException e) {
+                LOGGER.debug("Unable to parse variable for key {} in file {}", e.key(),
+                        fileConfig.propertiesPath().toFile(), e);
+
+                throw new ValidationException("Invalid property key %s in file %s", e.key(),
+                        fileConfig.propertiesPath().toString());
+            }
+            recorder.stop(GenerationPhase.ANALYZE, analyzeStart);
+
+            List<Integer> shardEnds = shardEnds(keys, variableNames);
+            int shardCount = shardEnds.size();
+            boolean written = false;
+            if (shardCount == 1) {
+                written = writeClass(poetConfig, keys, variableNames, fileConfig, recorder);
+                shardPaths.put(outputKey, List.of());
+            } else {
+                LOGGER.info("Splitting the {} constants of {} into {} classes", keys.size(),
+                        fileConfig.propertiesPath(), shardCount);
+                List<Path> paths = new ArrayList<>(shardCount);
+                int from = 0;
+                for (int shard = 1; shard <= shardCount; shard++) {
+                    ClassGeneratorConfig shardConfig = shardConfig(poetConfig, shard);
+                    int to = shardEnds.get(shard - 1);
+                    written |= writeClass(shardConfig, keys.subList(from, to), variableNames.subList(from, to),
+                            fileConfig, recorder);
+                    paths.add(outputLocation(shardConfig));
+                    from = to;
+                }
+                // the facade declares no constants of its own, but inherits those of all the shards
+                written |= writeClass(facadeConfig(poetConfig, shardCount), List.of(), List.of(), fileConfig,
+                        recorder);
+                shardPaths.put(outputKey, List.copyOf(paths));
+            }
+            deleteStaleShards(poetConfig, shardCount == 1 ? 0 : shardCount, context);
+
+            if (written) {
+                LOGGER.info("Generated constants file for {}", fileConfig.propertiesPath());
+            } else {
+                LOGGER.info("Constants file for {} is unchanged", fileConfig.propertiesPath());
+            }
+            context.record(new GeneratedOutput(GENERATOR_NAME, outputKey, outputPath,
+                    written ? Status.GENERATED : Status.UNCHANGED), recorder);
+
+            if (fingerprintStore.isPresent() && fingerprint != null) {
+                // the shards are recorded as well, so that the output is regenerated if any of them is deleted
+                List<Path> outputs = new ArrayList<>(shardPaths(poetConfig));
+                outputs.add(outputPath);
+                fingerprintStore.get().put(outputKey, fingerprint, outputs);
+            }
+        }
+    }
+
+    /**
+     * Generates a class with the given constants.
+     *
+     * @return whether the class has been written, i.e. whether it has changed
+     */
+    private boolean writeClass(ClassGeneratorConfig classConfig, List<String> keys, List<String> variableNames,
+                               PropertiesConstantsFileConfig fileConfig, OutputRecorder recorder) throws IOException {
+        long buildStart = recorder.start();
+        WriteResult writeResult;
+        try (ClassGenerator generator = generatorFactory.getGenerator(classConfig)) {
+            for (int i = 0; i < keys.size(); i++) {
                 try {
-                    String variableName = propertiesParser.keyToStaticFinalVariable(entry.getKey());
-                    generator.addPublicConstantString(variableName, entry.getKey());
+                    generator.addPublicConstantString(variableNames.get(i), keys.get(i));
                 } catch (IllegalArgumentException e) {
-                    LOGGER.debug("Unable to parse or generate variable for key {} in file {}", entry.getKey(),
+                    LOGGER.debug("Unable to generate variable for key {} in file {}", keys.get(i),
                             fileConfig.propertiesPath().toFile(), e);
 
-                    throw new ValidationException("Invalid property key %s in file %s", entry.getKey(),
+                    throw new ValidationException("Invalid property key %s in file %s", keys.get(i),
                             fileConfig.propertiesPath().toString());
                 }
             }
+            recorder.stop(GenerationPhase.BUILD, buildStart);
+
+            long writeStart = recorder.start();
+            writeResult = generator.write(outputSink());
+            recorder.stop(GenerationPhase.WRITE, writeStart);
+        }
+        if (writeResult.written()) {
+            recorder.written(writeResult.bytes());
+            LOGGER.debug("Wrote properties to {}", writeResult.path());
+        }
+        return writeResult.written();
+    }
 
-            Path writtenPath = generator.write(config.destinationDir());
-            LOGGER.debug("Wrote properties to {}", writtenPath);
-            LOGGER.info("Generated constants file for {}", fileConfig.propertiesPath());
+    /**
+     * Splits the given (sorted) constants into shards, and returns the (exclusive) index of the last constant of
+     * every shard. A shard is full once the entries which its constants take in the constant pool reach the budget
+     * of a class file, or once it has the {@link PropertiesConstantsConfig#maxConstantsPerClass() maximum} number of
+     * constants. Every constant takes a string entry, and UTF-8 entries for its name and its value unless another
+     * constant of the shard already has the same ones. The constants are stored as {@code ConstantValue}
+     * attributes and never need a static initializer, so there is no method whose size would have to be limited.
+     */
+    private List<Integer> shardEnds(List<String> keys, List<String> variableNames) {
+        int maxConstants = config.maxConstantsPerClass();
+        if (maxConstants < 1) {
+            throw new ValidationException("The maximum number of constants per class must be positive but was %s",
+                    Integer.toString(maxConstants));
         }
+
+        List<Integer> shardEnds = new ArrayList<>();
+        Set<String> utf8Entries = new HashSet<>();
+        int poolEntries = 0;
+        int constants = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            boolean newName = !utf8Entries.contains(variableNames.get(i));
+            boolean newValue = !utf8Entries.contains(keys.get(i)) && !keys.get(i).equals(variableNames.get(i));
+            int entries = 1 + (newName ? 1 : 0) + (newValue ? 1 : 0);
+            if (constants == maxConstants || POOL_OVERHEAD + poolEntries + entries > MAX_POOL_ENTRIES) {
+                shardEnds.add(i);
+                utf8Entries.clear();
+                poolEntries = 0;
+                constants = 0;
+                entries = keys.get(i).equals(variableNames.get(i)) ? 2 : 3;
+            }
+            utf8Entries.add(variableNames.get(i));
+            utf8Entries.add(keys.get(i));
+            poolEntries += entries;
+            constants++;
+        }
+        shardEnds.add(keys.size());
+        return shardEnds;
+    }
+
+    /**
+     * Returns the config of the given (one-based) shard of a class. Every shard is an interface of constants which
+     * does not depend on any other shard, so that the shards can be compiled and loaded independently.
+     */
+    private static ClassGeneratorConfig shardConfig(ClassGeneratorConfig poetConfig, int shard) {
+        return ClassGeneratorConfig.builder()
+                .generatedBy(poetConfig.generatedBy())
+                .packageName(poetConfig.packageName())
+                .className(shardName(poetConfig, shard))
+                .constantsInterface(true)
+                .reproducible(poetConfig.reproducible())
+                .backend(poetConfig.backend())
+                .build();
+    }
+
+    /**
+     * Returns the config of the class which exposes the constants of all the given number of shards by implementing
+     * all of them.
+     */
+    private static ClassGeneratorConfig facadeConfig(ClassGeneratorConfig poetConfig, int shardCount) {
+        List<String> shardNames = new ArrayList<>(shardCount);
+        for (int shard = 1; shard <= shardCount; shard++) {
+            shardNames.add(shardName(poetConfig, shard));
+        }
+        return ClassGeneratorConfig.builder()
+                .generatedBy(poetConfig.generatedBy())
+                .packageName(poetConfig.packageName())
+                .className(poetConfig.className())
+                .interfaceNames(shardNames)
+                .reproducible(poetConfig.reproducible())
+                .backend(poetConfig.backend())
+                .build();
+    }
+
+    /**
+     * Deletes the shards of the given class which an earlier run generated into the output directory beyond the
+     * given number of shards, and records them as deleted.
+     */
+    private void deleteStaleShards(ClassGeneratorConfig poetConfig, int shardCount, GenerationContext context)
+            throws IOException {
+        if (outputSink().directory().isEmpty()) {
+            return;
+        }
+
+        for (int shard = shardCount + 1; ; shard++) {
+            ClassGeneratorConfig shardConfig = shardConfig(poetConfig, shard);
+            Path path = outputLocation(shardConfig);
+            if (!Files.deleteIfExists(path)) {
+                break;
+            }
+            LOGGER.info("Deleted stale shard {}", path);
+            context.record(new GeneratedOutput(GENERATOR_NAME, shardConfig.qualifiedClassName(), path,
+                    Status.DELETED));
+        }
+    }
+
+    private static String shardName(ClassGeneratorConfig poetConfig, int shard) {
+        return poetConfig.className() + SHARD_SUFFIX + shard;
+    }
+
+    /**
+     * Returns the shards of the given class, as generated by this generator or (if it has not generated the class
+     * yet) as found in the output directory.
+     */
+    private List<Path> shardPaths(ClassGeneratorConfig poetConfig) {
+        List<Path> generated = shardPaths.get(poetConfig.qualifiedClassName());
+        if (generated != null) {
+            return generated;
+        }
+
+        List<Path> existing = new ArrayList<>();
+        if (outputSink().directory().isPresent()) {
+            for (int shard = 1; ; shard++) {
+                Path path = outputLocation(shardConfig(poetConfig, shard));
+                if (!Files.isRegularFile(path)) {
+                    break;
+                }
+                existing.add(path);
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Describes every setting which affects the generated files, so that changing any of them regenerates them.
+     */
+    private String fingerprintConfig(ClassGeneratorConfig poetConfig) {
+        return String.join("|", GENERATOR_NAME, GeneratorVersion.VERSION, poetConfig.generatedBy(),
+                poetConfig.qualifiedClassName(), Boolean.toString(poetConfig.reproducible()),
+                Integer.toString(config.maxConstantsPerClass()), config.backend().name(), sinkDirectory());
+    }
+
+    private String sinkDirectory() {
+        return outputSink().directory().map(directory -> directory.toAbsolutePath().normalize().toString())
+                .orElse("");
     }
 }
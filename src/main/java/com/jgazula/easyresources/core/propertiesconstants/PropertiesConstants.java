@@ -1,11 +1,10 @@
 package com.jgazula.easyresources.core.propertiesconstants;
 
-import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorFactory;
-import com.jgazula.easyresources.core.internal.properties.PropertiesParser;
-import com.jgazula.easyresources.core.internal.properties.PropertiesReader;
-import com.jgazula.easyresources.core.internal.util.FileUtil;
+import com.jgazula.easyresources.core.batch.GenerationFingerprint;
+import com.jgazula.easyresources.core.util.Watcher;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Objects;
 
 /**
@@ -24,7 +23,36 @@ public interface PropertiesConstants {
      */
     static PropertiesConstants create(PropertiesConstantsConfig config) {
         Objects.requireNonNull(config, "config cannot be null when creating a PropertiesConstants instance.");
-        return new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
-                new FileUtil());
+        return PCGenerations.generator(config);
+    }
+
+    /**
+     * Generates the constants files and then keeps watching the properties files of the given configuration
+     * on a background thread. Whenever a properties file changes, only its constants file is regenerated.
+     * The returned watcher must be closed to stop watching (which also happens when the JVM shuts down).
+     */
+    static Watcher watch(PropertiesConstantsConfig config) throws IOException {
+        return watch(config, Watcher.DEFAULT_DEBOUNCE);
+    }
+
+    /**
+     * Like {@link #watch(PropertiesConstantsConfig)}, but waits for the given time after a change for
+     * further changes before regenerating.
+     */
+    static Watcher watch(PropertiesConstantsConfig config, Duration debounce) throws IOException {
+        Objects.requireNonNull(config, "config cannot be null when watching a PropertiesConstants instance.");
+        Objects.requireNonNull(debounce, "debounce cannot be null when watching a PropertiesConstants instance.");
+        return PCGenerations.generator(config).watch(debounce);
+    }
+
+    /**
+     * Describes the inputs and outputs of the given configuration without generating anything: a cache key of the
+     * configuration and the input files, the input files themselves and the files which would be generated.
+     * This only reads the attributes of the inputs and hashes their contents (and for an incremental configuration,
+     * only the contents of the inputs which have changed since the previous run).
+     */
+    static GenerationFingerprint fingerprint(PropertiesConstantsConfig config) throws IOException {
+        Objects.requireNonNull(config, "config cannot be null when fingerprinting a PropertiesConstants instance.");
+        return PCGenerations.generator(config).fingerprint();
     }
 }
@@ -1,5 +1,9 @@
 package com.jgazula.easyresources.core.propertiesconstants;
 
+import com.jgazula.easyresources.core.internal.properties.PropertiesFileParser;
+import com.jgazula.easyresources.core.metrics.GenerationListener;
+import com.jgazula.easyresources.core.output.OutputSink;
+import com.jgazula.easyresources.core.util.GeneratorBackend;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.Value;
@@ -7,6 +11,7 @@ import lombok.Value;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 @Builder
 @Value
@@ -14,4 +19,81 @@ public class PropertiesConstantsConfig {
     @NonNull String generatedBy;
     @Builder.Default List<PropertiesConstantsFileConfig> fileConfigs = new ArrayList<>();
     @NonNull Path destinationDir;
+
+    /**
+     * If enabled, a fingerprint of every input is kept in the destination directory and outputs
+     * whose inputs have not changed since the previous run are skipped.
+     */
+    @Builder.Default boolean incremental = false;
+
+    /**
+     * If enabled, the generated files do not contain a timestamp (unless the {@code SOURCE_DATE_EPOCH}
+     * environment variable is set) so that identical inputs always produce byte-identical outputs.
+     */
+    @Builder.Default boolean reproducible = false;
+
+    /**
+     * If enabled, a manifest of the generated files is kept in the destination directory, and files which were
+     * generated by an earlier run of this config but are no longer configured are deleted. The files of other
+     * configs with the same destination directory are never deleted, and the earlier files are only recognized
+     * as this config's while it still generates at least one of them.
+     */
+    @Builder.Default boolean pruneStaleOutputs = false;
+
+    /**
+     * The maximum number of properties files which are generated concurrently.
+     * Ignored if an {@link #executor} is set.
+     */
+    @Builder.Default int parallelism = 1;
+
+    /**
+     * The size (in bytes) from which a single properties file is split into chunks which are parsed in parallel.
+     */
+    @Builder.Default long parallelParsingThreshold = PropertiesFileParser.DEFAULT_PARALLEL_THRESHOLD;
+
+    /**
+     * If enabled, parsed properties files are kept in a bounded cache which is shared by all the generators of
+     * the process, so that unchanged files are not parsed again by later runs. This only pays off in long-lived
+     * processes (such as a build daemon), as the cache holds an estimated 64 MiB of heap at most for the lifetime
+     * of the process.
+     */
+    @Builder.Default boolean cacheParsedProperties = false;
+
+    /**
+     * The implementation which writes the generated classes. The {@link GeneratorBackend#STREAMING streaming}
+     * backend keeps the memory usage flat for very large properties files, and produces exactly the same files. The
+     * {@link GeneratorBackend#BYTECODE bytecode} backend writes class files instead, which do not need to be
+     * compiled, so the {@link #destinationDir} then has to be a directory of compiled classes.
+     */
+    @Builder.Default GeneratorBackend backend = GeneratorBackend.JAVAPOET;
+
+    /**
+     * The maximum number of constants in a single generated class, which is unlimited by default. A class file
+     * cannot have more than 65535 entries in its constant pool, and every constant takes up to three of them, so a
+     * properties file whose constants exceed that budget (or this maximum) is split into interfaces
+     * ({@code <className>Shard1}, {@code <className>Shard2}, ...) which do not depend on each other. The configured
+     * class then implements all of them, so that it still exposes all the constants under the same names. The
+     * shards of an earlier run which are no longer needed are deleted from the {@link #destinationDir}.
+     */
+    @Builder.Default int maxConstantsPerClass = Integer.MAX_VALUE;
+
+    /**
+     * The listeners which are notified about the metrics of every run, such as
+     * {@link GenerationListener#jsonReport(java.nio.file.Path) a JSON report}.
+     */
+    @Builder.Default List<GenerationListener> listeners = new ArrayList<>();
+
+    /**
+     * An optional sink to which the generated files are written instead of the {@link #destinationDir}, such as
+     * {@link OutputSink#inMemory() an in-memory sink} or the {@link OutputSink#filer Filer} of an annotation
+     * processor. Incremental generation and pruning require a sink which writes to a directory.
+     */
+    OutputSink outputSink;
+
+    /**
+     * An optional executor on which the properties files are generated. If not set, a thread pool
+     * (of virtual threads when running on Java 21+) is created for each run with a {@link #parallelism}
+     * greater than one.
+     */
+    Executor executor;
 }
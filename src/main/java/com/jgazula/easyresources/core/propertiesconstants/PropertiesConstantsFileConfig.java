@@ -9,6 +9,10 @@ import java.nio.file.Path;
 @Builder
 @Value
 public class PropertiesConstantsFileConfig {
+    /**
+     * The properties file. A file inside a jar or zip archive is written as
+     * {@code path/to/archive.jar!/path/in/archive}, and is read straight from the archive.
+     */
     @NonNull Path propertiesPath;
     @NonNull String generatedClassName;
     @NonNull String generatedPackageName;
@@ -0,0 +1,25 @@
+package com.jgazula.easyresources.core.util;
+
+/**
+ * The implementations which can write the generated classes.
+ */
+public enum GeneratorBackend {
+
+    /**
+     * Builds every class in memory with the JavaPoet library before writing it.
+     */
+    JAVAPOET,
+
+    /**
+     * Writes the members of every class to disk as soon as they are added, with exactly the same formatting as
+     * {@link #JAVAPOET}. This keeps the memory usage flat for classes with a very large number of members.
+     */
+    STREAMING,
+
+    /**
+     * Writes a class file for every class instead of a Java file, so that the generated classes do not have to be
+     * compiled. The classes behave exactly like those compiled from the Java files, and are written to the same
+     * destination, which therefore has to be on the class path. The class files target Java 8.
+     */
+    BYTECODE
+}
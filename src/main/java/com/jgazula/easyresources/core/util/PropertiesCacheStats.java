@@ -0,0 +1,50 @@
+package com.jgazula.easyresources.core.util;
+
+import com.jgazula.easyresources.core.internal.properties.PropertiesCache;
+import lombok.Value;
+
+/**
+ * The statistics of the cache of parsed properties files which is shared by all the generators of this process.
+ */
+@Value
+public class PropertiesCacheStats {
+    /**
+     * The number of files which were served from the cache.
+     */
+    long hits;
+
+    /**
+     * The number of files which had to be parsed.
+     */
+    long misses;
+
+    /**
+     * The number of files which were evicted to keep the cache within its bounds.
+     */
+    long evictions;
+
+    /**
+     * The number of files which are currently cached.
+     */
+    int entries;
+
+    /**
+     * The estimated size of the properties which are currently cached, in bytes.
+     */
+    long weight;
+
+    /**
+     * Returns the current statistics of the shared cache.
+     */
+    public static PropertiesCacheStats current() {
+        return PropertiesCache.shared().stats();
+    }
+
+    /**
+     * Returns the fraction of lookups which were served from the cache, or 0 if there have been none.
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,28 @@
+package com.jgazula.easyresources.core.util;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * A running watch which regenerates the outputs of a generator whenever their inputs change. The watch runs on
+ * a background thread until it is closed, or until the JVM shuts down.
+ */
+public interface Watcher extends AutoCloseable {
+
+    /**
+     * The default time to wait after a change for further changes, so that a burst of changes (such as an IDE
+     * saving several files at once) results in a single regeneration.
+     */
+    Duration DEFAULT_DEBOUNCE = Duration.ofMillis(50);
+
+    /**
+     * Blocks until this watcher has been closed.
+     */
+    void awaitClose() throws InterruptedException;
+
+    /**
+     * Stops watching. If a regeneration is in progress, this waits for it to complete.
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,170 @@
+package com.jgazula.easyresources.core;
+
+import com.jgazula.easyresources.core.enhancedresourcebundle.ERBConfig;
+import com.jgazula.easyresources.core.enhancedresourcebundle.EnhancedResourceBundle;
+import com.jgazula.easyresources.core.propertiesconstants.PropertiesConstants;
+import com.jgazula.easyresources.core.propertiesconstants.PropertiesConstantsConfig;
+import com.jgazula.easyresources.core.testutil.ScalingHarness;
+import com.jgazula.easyresources.core.testutil.SyntheticResources;
+import com.jgazula.easyresources.core.testutil.TestConstants;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.PropertyResourceBundle;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end tests of both generators on synthetic resources. The scaling test only runs with the {@code scaling}
+ * profile ({@code mvn test -Pscaling}), and its sizes can be set with system properties, such as
+ * {@code -Dscaling.bundles=1000 -Dscaling.locales=30 -Dscaling.keysPerBundle=200 -Dscaling.scales=1,2,4}.
+ */
+public class ScalingTests {
+
+    private static final String SCALING_TAG = "scaling";
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    public void syntheticResourcesAreReproducibleAndValid() throws IOException {
+        // given
+        SyntheticResources.Spec spec = SyntheticResources.Spec.of(3, 6, 200);
+
+        // when
+        SyntheticResources resources = SyntheticResources.generate(tmpDir.resolve("first"), spec);
+        SyntheticResources.generate(tmpDir.resolve("second"), spec);
+
+        // then
+        assertThat(resources.files()).isEqualTo(21);
+        assertThat(resources.keys()).isEqualTo(600);
+        assertThat(contents(tmpDir.resolve("first"))).isEqualTo(contents(tmpDir.resolve("second")));
+        try (Stream<Path> files = Files.walk(tmpDir.resolve("first"))) {
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    var bundle = new PropertyResourceBundle(reader);
+                    assertThat(bundle.keySet()).hasSize(200);
+                    for (String key : bundle.keySet()) {
+                        assertThat(new MessageFormat(bundle.getString(key), Locale.ROOT).getFormats()).isNotNull();
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void syntheticResourcesAreGenerated() throws IOException {
+        // given
+        SyntheticResources.Spec spec = SyntheticResources.Spec.of(4, 3, 100);
+        SyntheticResources resources = SyntheticResources.generate(tmpDir.resolve("resources"), spec);
+
+        // when
+        generateConstants(resources, tmpDir.resolve("constants"), null);
+        generateBundles(resources, tmpDir.resolve("bundles"), null);
+
+        // then
+        assertThat(javaFiles(tmpDir.resolve("constants"))).hasSize(4);
+        assertThat(javaFiles(tmpDir.resolve("bundles"))).hasSize(4);
+    }
+
+    /**
+     * Generates growing trees, and runs both generators on each of them with growing numbers of threads. The
+     * measurements are printed, and written to {@code target/scaling-report.csv} (or {@code -Dscaling.report}).
+     */
+    @Test
+    @Tag(SCALING_TAG)
+    public void generationScales() throws Exception {
+        int bundles = Integer.getInteger("scaling.bundles", 25);
+        int locales = Integer.getInteger("scaling.locales", 4);
+        int keysPerBundle = Integer.getInteger("scaling.keysPerBundle", 100);
+        List<Integer> scales = integers(System.getProperty("scaling.scales", "1,2,4,8"));
+        List<Integer> threadCounts = integers(System.getProperty("scaling.threads", "1,2,4"));
+        Path report = Path.of(System.getProperty("scaling.report", "target/scaling-report.csv"));
+
+        try (var harness = new ScalingHarness(Integer.getInteger("scaling.repetitions", 3))) {
+            for (int scale : scales) {
+                SyntheticResources.Spec spec = SyntheticResources.Spec.of(bundles * scale, locales, keysPerBundle);
+                SyntheticResources resources = SyntheticResources.generate(tmpDir.resolve("resources" + scale), spec);
+
+                for (int threads : threadCounts) {
+                    Path destinationDir = tmpDir.resolve("generated" + scale + "-" + threads);
+                    harness.measure("properties-constants", spec, resources, threads,
+                            executor -> generateConstants(resources, destinationDir.resolve("constants"), executor));
+                    harness.measure("enhanced-resource-bundle", spec, resources, threads,
+                            executor -> generateBundles(resources, destinationDir.resolve("bundles"), executor));
+                }
+            }
+
+            harness.writeReport(report);
+            System.out.println(harness.table());
+            assertThat(harness.measurements()).hasSize(scales.size() * threadCounts.size() * 2);
+        }
+    }
+
+    private static void generateConstants(SyntheticResources resources, Path destinationDir,
+                                          ExecutorService executor) throws IOException {
+        PropertiesConstants.create(PropertiesConstantsConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .fileConfigs(resources.constantsFileConfigs())
+                .destinationDir(destinationDir)
+                .reproducible(true)
+                // every repetition has to read the files again
+                .cacheParsedProperties(false)
+                .executor(executor)
+                .build()).generate();
+    }
+
+    private static void generateBundles(SyntheticResources resources, Path destinationDir,
+                                        ExecutorService executor) throws IOException {
+        EnhancedResourceBundle.create(ERBConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .bundleConfigs(resources.bundleConfigs())
+                .destinationDir(destinationDir)
+                .reproducible(true)
+                // every repetition has to read the files again
+                .cacheParsedProperties(false)
+                .executor(executor)
+                .build()).generate();
+    }
+
+    private static List<Integer> integers(String values) {
+        return Arrays.stream(values.split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Path> javaFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(file -> file.toString().endsWith(".java")).collect(Collectors.toList());
+        }
+    }
+
+    private static List<String> contents(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile)
+                    .map(file -> {
+                        try {
+                            return directory.relativize(file) + ":" + Files.readString(file, StandardCharsets.UTF_8);
+                        } catch (IOException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.jgazula.easyresources.core.batch;
+
+import com.jgazula.easyresources.core.batch.GeneratedOutput.Status;
+import com.jgazula.easyresources.core.enhancedresourcebundle.ERBBundleConfig;
+import com.jgazula.easyresources.core.enhancedresourcebundle.ERBConfig;
+import com.jgazula.easyresources.core.metrics.GenerationListener;
+import com.jgazula.easyresources.core.metrics.GenerationPhase;
+import com.jgazula.easyresources.core.metrics.GenerationReport;
+import com.jgazula.easyresources.core.metrics.OutputMetrics;
+import com.jgazula.easyresources.core.propertiesconstants.PropertiesConstantsConfig;
+import com.jgazula.easyresources.core.propertiesconstants.PropertiesConstantsFileConfig;
+import com.jgazula.easyresources.core.testutil.TestConstants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+public class GenerationBatchTests {
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    void nullConfigThrowsException() {
+        assertThatNullPointerException().isThrownBy(() -> GenerationBatch.create(null));
+    }
+
+    @Test
+    void sharedInputsAreReadOnce() throws IOException {
+        // given
+        GenerationBatchConfig config = batchConfig(false, 2);
+
+        // when
+        GenerationSummary summary = GenerationBatch.create(config).generate();
+
+        // then
+        assertThat(summary.outputs()).extracting(GeneratedOutput::className).containsExactly(
+                "com.jgazula.test.TestClass", "com.jgazula.test2.TestClass2", "com.jgazula.test3.TestClass3");
+        assertThat(summary.count(Status.GENERATED)).isEqualTo(3);
+        assertThat(summary.propertiesFilesRead()).isEqualTo(2);
+        assertThat(summary.directoriesListed()).isEqualTo(1);
+        assertThat(summary.outputs()).allSatisfy(output -> assertThat(output.path()).isRegularFile());
+    }
+
+    @Test
+    void outputsAreReportedWhenNothingChanged() throws IOException {
+        // given
+        GenerationBatch batch = GenerationBatch.create(batchConfig(true, 1));
+        batch.generate();
+
+        // when
+        GenerationSummary summary = batch.generate();
+
+        // then
+        assertThat(summary.count(Status.UP_TO_DATE)).isEqualTo(3);
+        assertThat(summary.propertiesFilesRead()).isZero();
+    }
+
+    @Test
+    void emptyInputsAreReportedAsSkipped() throws IOException {
+        // given
+        Files.writeString(tmpDir.resolve(TestConstants.TEST_RESOURCE_BUNDLE_NAME + ".properties"), "",
+                StandardCharsets.UTF_8);
+        Files.writeString(tmpDir.resolve(TestConstants.TEST_RESOURCE_BUNDLE_NAME + "_fr.properties"), "",
+                StandardCharsets.UTF_8);
+        GenerationBatchConfig config = GenerationBatchConfig.builder()
+                .propertiesConstantsConfigs(List.of(constantsConfig(false)))
+                .erbConfigs(List.of(erbConfig(false)))
+                .build();
+
+        // when
+        GenerationSummary summary = GenerationBatch.create(config).generate();
+
+        // then
+        assertThat(summary.count(Status.SKIPPED)).isEqualTo(3);
+    }
+
+    @Test
+    void listenersAreNotifiedOnceAboutWholeBatch() throws IOException {
+        // given
+        batchConfig(false, 2);
+        AtomicInteger outputs = new AtomicInteger();
+        List<GenerationReport> reports = new ArrayList<>();
+        GenerationListener listener = new GenerationListener() {
+            @Override
+            public void outputCompleted(OutputMetrics metrics) {
+                outputs.incrementAndGet();
+            }
+
+            @Override
+            public void runCompleted(GenerationReport report) {
+                reports.add(report);
+            }
+        };
+        ERBConfig erbConfig = erbConfig(false);
+        GenerationBatchConfig config = GenerationBatchConfig.builder()
+                .propertiesConstantsConfigs(List.of(constantsConfig(false)))
+                .erbConfigs(List.of(ERBConfig.builder()
+                        .generatedBy(erbConfig.generatedBy())
+                        .bundleConfigs(erbConfig.bundleConfigs())
+                        .destinationDir(erbConfig.destinationDir())
+                        .listeners(List.of(listener))
+                        .build()))
+                .listeners(List.of(listener))
+                .build();
+
+        // when
+        GenerationSummary summary = GenerationBatch.create(config).generate();
+
+        // then
+        assertThat(outputs).hasValue(3);
+        assertThat(reports).singleElement().satisfies(report -> {
+            assertThat(report.count(Status.GENERATED)).isEqualTo(3);
+            assertThat(report.keys()).isEqualTo(3);
+            assertThat(report.phaseNanos(GenerationPhase.INDEX)).isPositive();
+            assertThat(report.propertiesFilesRead()).isEqualTo(summary.propertiesFilesRead());
+        });
+    }
+
+    @Test
+    void fingerprintDescribesInputsAndOutputsWithoutGenerating() throws IOException {
+        // given
+        GenerationBatch batch = GenerationBatch.create(batchConfig(true, 1));
+
+        // when
+        GenerationFingerprint before = batch.fingerprint();
+        batch.generate();
+        GenerationFingerprint after = batch.fingerprint();
+        Files.writeString(tmpDir.resolve(TestConstants.TEST_RESOURCE_BUNDLE_NAME + "_fr.properties"),
+                "greeting=Salut {0}", StandardCharsets.UTF_8);
+        GenerationFingerprint changed = batch.fingerprint();
+
+        // then
+        assertThat(before.inputFiles()).containsExactly(
+                tmpDir.resolve(TestConstants.TEST_RESOURCE_BUNDLE_NAME + ".properties"),
+                tmpDir.resolve(TestConstants.TEST_RESOURCE_BUNDLE_NAME + "_fr.properties"));
+        assertThat(before.outputFiles()).containsExactly(
+                tmpDir.resolve(Path.of(TestConstants.DESTINATION_DIR, "com", "jgazula", "test", "TestClass.java")),
+                tmpDir.resolve(Path.of(TestConstants.DESTINATION_DIR, "com", "jgazula", "test2", "TestClass2.java")),
+                tmpDir.resolve(Path.of(TestConstants.DESTINATION_DIR, "com", "jgazula", "test3", "TestClass3.java")));
+        assertThat(after.cacheKey()).isEqualTo(before.cacheKey());
+        assertThat(changed.cacheKey()).isNotEqualTo(before.cacheKey());
+    }
+
+    @Test
+    void removedOutputsArePruned() throws IOException {
+        // given
+        batchConfig(false, 1);
+        PropertiesConstantsFileConfig constantsFileConfig = constantsConfig(false).fileConfigs().get(0);
+        PropertiesConstantsFileConfig otherConstantsFileConfig = PropertiesConstantsFileConfig.builder()
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                .generatedClassName(TestConstants.TEST_CLASS_NAME2)
+                .propertiesPath(constantsFileConfig.propertiesPath())
+                .build();
+        ERBConfig erbConfig = erbConfig(false);
+        GenerationBatch.create(prunedBatchConfig(List.of(constantsFileConfig, otherConstantsFileConfig),
+                erbConfig.bundleConfigs())).generate();
+
+        // when
+        GenerationSummary summary = GenerationBatch.create(prunedBatchConfig(List.of(otherConstantsFileConfig),
+                erbConfig.bundleConfigs().subList(0, 1))).generate();
+
+        // then
+        assertThat(summary.outputs()).filteredOn(output -> output.status() == Status.DELETED)
+                .extracting(GeneratedOutput::className)
+                .containsExactly("com.jgazula.test.TestClass", "com.jgazula.test3.TestClass3");
+        assertThat(tmpDir.resolve(Path.of(TestConstants.DESTINATION_DIR, "com", "jgazula", "test", "TestClass.java")))
+                .doesNotExist();
+        assertThat(tmpDir.resolve(Path.of(TestConstants.DESTINATION_DIR, "com", "jgazula", "test3"))).doesNotExist();
+        assertThat(tmpDir.resolve(Path.of(TestConstants.DESTINATION_DIR, "com", "jgazula", "test2", "TestClass2.java")))
+                .isRegularFile();
+    }
+
+    private GenerationBatchConfig prunedBatchConfig(List<PropertiesConstantsFileConfig> fileConfigs,
+                                                    List<ERBBundleConfig> bundleConfigs) {
+        return GenerationBatchConfig.builder()
+                .propertiesConstantsConfigs(List.of(PropertiesConstantsConfig.builder()
+                        .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                        .fileConfigs(fileConfigs)
+                        .destinationDir(tmpDir.resolve(TestConstants.DESTINATION_DIR))
+                        .pruneStaleOutputs(true)
+                        .build()))
+                .erbConfigs(List.of(ERBConfig.builder()
+                        .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                        .bundleConfigs(bundleConfigs)
+                        .destinationDir(tmpDir.resolve(TestConstants.DESTINATION_DIR))
+                        .pruneStaleOutputs(true)
+                        .build()))
+                .build();
+    }
+
+    private GenerationBatchConfig batchConfig(boolean incremental, int parallelism) throws IOException {
+        Files.writeString(tmpDir.resolve(TestConstants.TEST_RESOURCE_BUNDLE_NAME + ".properties"),
+                "greeting=Hello {0}", StandardCharsets.UTF_8);
+        Files.writeString(tmpDir.resolve(TestConstants.TEST_RESOURCE_BUNDLE_NAME + "_fr.properties"),
+                "greeting=Bonjour {0}", StandardCharsets.UTF_8);
+
+        return GenerationBatchConfig.builder()
+                .propertiesConstantsConfigs(List.of(constantsConfig(incremental)))
+                .erbConfigs(List.of(erbConfig(incremental)))
+                .parallelism(parallelism)
+                .build();
+    }
+
+    private PropertiesConstantsConfig constantsConfig(boolean incremental) {
+        PropertiesConstantsFileConfig fileConfig = PropertiesConstantsFileConfig.builder()
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                .propertiesPath(tmpDir.resolve(TestConstants.TEST_RESOURCE_BUNDLE_NAME + ".properties"))
+                .build();
+
+        return PropertiesConstantsConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .fileConfigs(List.of(fileConfig))
+                .destinationDir(tmpDir.resolve(TestConstants.DESTINATION_DIR))
+                .incremental(incremental)
+                .cacheParsedProperties(false)
+                .build();
+    }
+
+    private ERBConfig erbConfig(boolean incremental) {
+        ERBBundleConfig first = ERBBundleConfig.builder()
+                .bundleName(TestConstants.TEST_RESOURCE_BUNDLE_NAME)
+                .bundlePath(tmpDir)
+                .generatedClassName(TestConstants.TEST_CLASS_NAME2)
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME2)
+                .build();
+        ERBBundleConfig second = ERBBundleConfig.builder()
+                .bundleName(TestConstants.TEST_RESOURCE_BUNDLE_NAME)
+                .bundlePath(tmpDir)
+                .generatedClassName(TestConstants.TEST_CLASS_NAME3)
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME3)
+                .build();
+
+        return ERBConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .bundleConfigs(List.of(first, second))
+                .destinationDir(tmpDir.resolve(TestConstants.DESTINATION_DIR))
+                .incremental(incremental)
+                .cacheParsedProperties(false)
+                .build();
+    }
+}
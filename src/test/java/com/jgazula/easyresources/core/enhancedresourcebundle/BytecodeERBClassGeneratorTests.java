@@ -0,0 +1,321 @@
+package com.jgazula.easyresources.core.enhancedresourcebundle;
+
+import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorConfig;
+import com.jgazula.easyresources.core.output.InMemoryOutputSink;
+import com.jgazula.easyresources.core.output.OutputSink;
+import com.jgazula.easyresources.core.testutil.TestConstants;
+import com.jgazula.easyresources.core.testutil.TestHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class BytecodeERBClassGeneratorTests {
+
+    private static final String QUALIFIED_CLASS_NAME = TestConstants.TEST_PACKAGE_NAME + "."
+            + TestConstants.TEST_CLASS_NAME;
+    private static final int MANY_METHODS = 300;
+    private static final int MANY_ARGUMENTS = 130;
+    private static final int MAX_LONG_ARGUMENTS = 127;
+    private static final int THREADS = 8;
+    private static final int CALLS_PER_THREAD = 2_000;
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    public void methodsBehaveLikeCompiledJavaFile() throws Throwable {
+        // given
+        Map<String, String> patterns = new HashMap<>();
+        Map<String, Object[]> arguments = new HashMap<>();
+        patterns.put("greeting", "Bonjour");
+        arguments.put("greeting", new Object[0]);
+        patterns.put("farewell", "Au revoir {0}");
+        arguments.put("farewell", new Object[] {"Marie"});
+        patterns.put("count", "{0,number} fichiers le {1,date} pour {2,number,#.##}");
+        arguments.put("count", new Object[] {12345, new Date(0), new BigDecimal("3.14159")});
+        patterns.put("multi.line\n\"quoted\"", "first\nsecond ''{0}''");
+        arguments.put("multiLine", new Object[] {"arg"});
+        patterns.put("primitives", "{0} {1} {2} {3} {4} {5} {6}");
+        arguments.put("primitives", new Object[] {Long.MAX_VALUE, Math.E, true, 'x', 1.5f, (short) 300, (byte) -7});
+        patterns.put("many.arguments", pattern(MANY_ARGUMENTS));
+        arguments.put("manyArguments", arguments(MANY_ARGUMENTS, i -> "value" + i));
+        patterns.put("long.arguments", pattern(MAX_LONG_ARGUMENTS));
+        arguments.put("longArguments", arguments(MAX_LONG_ARGUMENTS, i -> (long) i * Integer.MAX_VALUE));
+        for (int i = 0; i < MANY_METHODS; i++) {
+            patterns.put("key." + i, "value " + i);
+        }
+
+        Consumer<ERBClassGenerator> methods = generator -> {
+            generator.initialize(true)
+                    .addMethod("greeting", "greeting", Collections.emptyList())
+                    .addMethod("farewell", "farewell", List.of(String.class))
+                    .addMethod("count", "count", List.of(int.class, Date.class, BigDecimal.class))
+                    .addMethod("multi.line\n\"quoted\"", "multiLine", List.of(Object.class))
+                    .addMethod("primitives", "primitives", List.of(long.class, double.class, boolean.class,
+                            char.class, float.class, short.class, byte.class))
+                    .addMethod("many.arguments", "manyArguments", Collections.nCopies(MANY_ARGUMENTS,
+                            String.class))
+                    .addMethod("long.arguments", "longArguments", Collections.nCopies(MAX_LONG_ARGUMENTS,
+                            long.class));
+            for (int i = 0; i < MANY_METHODS; i++) {
+                generator.addMethod("key." + i, "key" + i, Collections.emptyList());
+            }
+        };
+        ResourceBundle bundle = bundle(patterns);
+
+        // when
+        Object compiled = compile(methods).getConstructor(ResourceBundle.class).newInstance(bundle);
+        Object loaded = load(methods).getConstructor(ResourceBundle.class).newInstance(bundle);
+
+        // then
+        for (Map.Entry<String, Object[]> method : arguments.entrySet()) {
+            assertThat(invoke(loaded, method.getKey(), method.getValue()))
+                    .isEqualTo(invoke(compiled, method.getKey(), method.getValue()));
+        }
+        assertThat(invoke(loaded, "greeting")).isEqualTo("Bonjour");
+        assertThat(invoke(loaded, "multiLine", "arg")).isEqualTo("first\nsecond 'arg'");
+        assertThat(invoke(loaded, "key" + (MANY_METHODS - 1))).isEqualTo("value " + (MANY_METHODS - 1));
+    }
+
+    @Test
+    public void compiledPatternsBehaveLikeCompiledJavaFile() throws Throwable {
+        // given
+        List<Type> mixedTypes = List.of(String.class, long.class, String.class);
+        Consumer<ERBClassGenerator> methods = generator -> generator.initialize(true)
+                .addMethod("greeting", "greeting", List.of(String.class), List.of(
+                        compile("Bonjour {0}", List.of(String.class)), compile("Hello {0}", List.of(String.class))))
+                .addMethod("mixed", "mixed", mixedTypes, List.of(compile("{2} et {0} ''{0}''", mixedTypes),
+                        compile("constant", mixedTypes)));
+        Map<String, Object[]> arguments = Map.of("greeting", new Object[] {"Marie"},
+                "mixed", new Object[] {"a", Long.MAX_VALUE, null});
+        List<ResourceBundle> bundles = List.of(
+                bundle(Map.of("greeting", "Bonjour {0}", "mixed", "{2} et {0} ''{0}''")),
+                bundle(Map.of("greeting", "Hello {0}", "mixed", "constant")),
+                bundle(Map.of("greeting", "Salut {0} !", "mixed", "{1,number} {0}")));
+
+        for (ResourceBundle bundle : bundles) {
+            // when
+            Object compiled = compile(methods).getConstructor(ResourceBundle.class).newInstance(bundle);
+            Object loaded = load(methods).getConstructor(ResourceBundle.class).newInstance(bundle);
+
+            // then
+            for (Map.Entry<String, Object[]> method : arguments.entrySet()) {
+                Object expected = new MessageFormat(bundle.getString(method.getKey()), Locale.FRANCE)
+                        .format(method.getValue());
+                assertThat(invoke(compiled, method.getKey(), method.getValue())).isEqualTo(expected);
+                assertThat(invoke(loaded, method.getKey(), method.getValue())).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void missingKeyFailsLikeCompiledJavaFile() throws Exception {
+        // given
+        Consumer<ERBClassGenerator> methods = generator -> generator.initialize(true)
+                .addMethod("missing", "missing", Collections.emptyList())
+                .addMethod("missing.with.args", "missingWithArgs", List.of(String.class));
+        ResourceBundle bundle = bundle(Map.of());
+
+        // when
+        Object compiled = compile(methods).getConstructor(ResourceBundle.class).newInstance(bundle);
+        Object loaded = load(methods).getConstructor(ResourceBundle.class).newInstance(bundle);
+
+        // then
+        for (Object instance : List.of(compiled, loaded)) {
+            assertThatExceptionOfType(MissingResourceException.class)
+                    .isThrownBy(() -> invoke(instance, "missing"));
+            assertThatExceptionOfType(MissingResourceException.class)
+                    .isThrownBy(() -> invoke(instance, "missingWithArgs", "arg"));
+        }
+    }
+
+    @Test
+    public void messageFormatsAreCachedAndSafeAcrossThreads() throws Exception {
+        // given
+        Consumer<ERBClassGenerator> methods = generator -> generator.initialize(true)
+                .addMethod("count", "count", List.of(int.class, String.class))
+                .addMethod("total", "total", List.of(BigDecimal.class));
+        ResourceBundle bundle = bundle(Map.of("count", "{0,number,integer} fichiers pour {1}",
+                "total", "Total : {0,number,#,##0.00}"));
+        Object compiled = compile(methods).getConstructor(ResourceBundle.class).newInstance(bundle);
+        Object loaded = load(methods).getConstructor(ResourceBundle.class).newInstance(bundle);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Object instance : List.of(compiled, loaded)) {
+                Method count = instance.getClass().getMethod("count", int.class, String.class);
+                Method total = instance.getClass().getMethod("total", BigDecimal.class);
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for (int thread = 0; thread < THREADS; thread++) {
+                    int offset = thread * CALLS_PER_THREAD;
+                    tasks.add(() -> {
+                        for (int i = offset; i < offset + CALLS_PER_THREAD; i++) {
+                            assertThat(count.invoke(instance, i, "user" + i))
+                                    .isEqualTo(String.format(Locale.FRANCE, "%,d fichiers pour user%d", i, i));
+                            assertThat(total.invoke(instance, new BigDecimal(i)))
+                                    .isEqualTo(String.format(Locale.FRANCE, "Total : %,.2f", (double) i));
+                        }
+                        return null;
+                    });
+                }
+
+                // when
+                for (Future<Void> result : executor.invokeAll(tasks)) {
+                    result.get();
+                }
+
+                // then
+                Field messageFormats = instance.getClass().getDeclaredField("messageFormats");
+                messageFormats.setAccessible(true);
+                assertThat(((Map<?, ?>) messageFormats.get(instance)).keySet()).isEqualTo(Set.of("count", "total"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void methodsWithArgsAreRejectedWithoutMessageFormats() {
+        // given
+        List<ERBClassGenerator> generators = List.of(new PoetERBClassGenerator(config()).initialize(false),
+                new StreamingERBClassGenerator(config()).initialize(false),
+                new BytecodeERBClassGenerator(config()).initialize(false));
+
+        // when / then
+        for (ERBClassGenerator generator : generators) {
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(() -> generator.addMethod("key", "key", List.of(String.class)))
+                    .withMessage("Unable to add the method key with arguments to a class which does not format "
+                            + "messages");
+        }
+    }
+
+    @Test
+    public void invalidMethodsAreRejected() {
+        // given
+        ERBClassGenerator generator = new BytecodeERBClassGenerator(config()).initialize(true);
+
+        // when / then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> generator.addMethod("key", "not valid", Collections.emptyList()))
+                .withMessage("not a valid name: not valid");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> generator.addMethod("key", "tooManyArguments",
+                        Collections.nCopies(MAX_LONG_ARGUMENTS + 1, long.class)))
+                .withMessage("too many parameters: tooManyArguments");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> generator.addMethod("key", "class", Collections.emptyList()))
+                .withMessage("not a valid name: class");
+        generator.addMethod("a.b", "aB", List.of(String.class));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> generator.addMethod("a_b", "aB", List.of(String.class)))
+                .withMessage("duplicate method: aB");
+    }
+
+    private static CompiledPattern compile(String pattern, List<Type> argTypes) {
+        return CompiledPattern.compile(pattern, argTypes).orElseThrow();
+    }
+
+    private static String pattern(int count) {
+        var pattern = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            pattern.append('{').append(i).append("} ");
+        }
+        return pattern.toString();
+    }
+
+    private static Object[] arguments(int count, IntFunction<Object> argument) {
+        Object[] arguments = new Object[count];
+        for (int i = 0; i < count; i++) {
+            arguments[i] = argument.apply(i);
+        }
+        return arguments;
+    }
+
+    /**
+     * Returns a French bundle with the given patterns.
+     */
+    private static ResourceBundle bundle(Map<String, String> patterns) {
+        List<Object[]> entries = new ArrayList<>();
+        patterns.forEach((key, pattern) -> entries.add(new Object[] {key, pattern}));
+        return new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return entries.toArray(new Object[0][]);
+            }
+
+            @Override
+            public Locale getLocale() {
+                return Locale.FRANCE;
+            }
+        };
+    }
+
+    private static Object invoke(Object instance, String name, Object... args) throws Throwable {
+        for (Method method : instance.getClass().getMethods()) {
+            if (method.getName().equals(name)) {
+                try {
+                    return method.invoke(instance, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        }
+        throw new NoSuchMethodException(name);
+    }
+
+    private static ClassGeneratorConfig config() {
+        return ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .reproducible(true)
+                .build();
+    }
+
+    private Class<?> compile(Consumer<ERBClassGenerator> methods) throws IOException {
+        ERBClassGenerator generator = new PoetERBClassGenerator(config());
+        methods.accept(generator);
+        InMemoryOutputSink sink = OutputSink.inMemory();
+        generator.write(sink);
+        return TestHelper.compileAndLoad(QUALIFIED_CLASS_NAME, sink.source(QUALIFIED_CLASS_NAME).orElseThrow(),
+                Files.createTempDirectory(tmpDir, "classes"));
+    }
+
+    private static Class<?> load(Consumer<ERBClassGenerator> methods) throws IOException {
+        ERBClassGenerator generator = new BytecodeERBClassGenerator(config());
+        methods.accept(generator);
+        InMemoryOutputSink sink = OutputSink.inMemory();
+        generator.write(sink);
+        return TestHelper.defineAndLoad(QUALIFIED_CLASS_NAME, sink.classFile(QUALIFIED_CLASS_NAME).orElseThrow());
+    }
+}
@@ -0,0 +1,76 @@
+package com.jgazula.easyresources.core.enhancedresourcebundle;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompiledPatternTests {
+
+    private static final List<Type> STRINGS = List.of(String.class, String.class, String.class);
+
+    @Test
+    public void literalsAndArgumentsAreSplitIntoSegments() {
+        // when
+        Optional<CompiledPattern> compiled = CompiledPattern.compile("Hello {0}, you have {1} messages", STRINGS);
+
+        // then
+        assertThat(compiled).hasValueSatisfying(pattern -> {
+            assertThat(pattern.segments()).containsExactly(new CompiledPattern.Segment("Hello ", -1),
+                    new CompiledPattern.Segment("", 0), new CompiledPattern.Segment(", you have ", -1),
+                    new CompiledPattern.Segment("", 1), new CompiledPattern.Segment(" messages", -1));
+            assertThat(pattern.hasArguments()).isTrue();
+            assertThat(pattern.capacity()).isEqualTo("Hello , you have  messages".length() + 2 * 16);
+        });
+    }
+
+    @Test
+    public void patternsFormatLikeMessageFormat() {
+        // given
+        List<String> patterns = List.of("", "no arguments", "{0}", "{2}{1}{0}", "{1} and {1} again, then {0}",
+                "it''s {0}", "'{0}' is quoted", "'quoted ''{1}'' text' {0}", "{0} }", "trailing quote '",
+                "{0}{1}{2}{0}", "multi\nline {2}");
+        Object[] args = {"first", "second", null};
+
+        for (String pattern : patterns) {
+            // when
+            Optional<CompiledPattern> compiled = CompiledPattern.compile(pattern, STRINGS);
+
+            // then
+            assertThat(compiled).as(pattern).isPresent();
+            assertThat(compiled.get().format(args)).as(pattern)
+                    .isEqualTo(new MessageFormat(pattern, Locale.ROOT).format(args));
+        }
+    }
+
+    @Test
+    public void constantPatternHasNoArguments() {
+        // when
+        Optional<CompiledPattern> compiled = CompiledPattern.compile("it''s '{constant}'", STRINGS);
+
+        // then
+        assertThat(compiled).hasValueSatisfying(pattern -> {
+            assertThat(pattern.hasArguments()).isFalse();
+            assertThat(pattern.segments()).containsExactly(new CompiledPattern.Segment("it's {constant}", -1));
+        });
+    }
+
+    @Test
+    public void complexFormatElementsAreNotCompiled() {
+        // given
+        List<Type> argTypes = List.of(String.class, BigDecimal.class);
+        List<String> patterns = List.of("{0,number}", "{0,choice,0#none|1#one}", "{1}", "{2}", "{0", "{}", "{ 0}",
+                "{x}", "{00000}", "{0}{");
+
+        for (String pattern : patterns) {
+            // when / then
+            assertThat(CompiledPattern.compile(pattern, argTypes)).as(pattern).isEmpty();
+        }
+    }
+}
@@ -2,9 +2,18 @@ package com.jgazula.easyresources.core.enhancedresourcebundle;
 
 import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorConfig;
 import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorFactory;
+import com.jgazula.easyresources.core.internal.classgeneration.WriteResult;
+import com.jgazula.easyresources.core.internal.incremental.Fingerprinter;
 import com.jgazula.easyresources.core.internal.properties.PropertiesParser;
 import com.jgazula.easyresources.core.internal.properties.PropertiesReader;
+import com.jgazula.easyresources.core.internal.properties.ResourceBundleIndex;
+import com.jgazula.easyresources.core.metrics.GenerationListener;
+import com.jgazula.easyresources.core.output.InMemoryOutputSink;
+import com.jgazula.easyresources.core.output.OutputSink;
 import com.jgazula.easyresources.core.testutil.TestConstants;
+import com.jgazula.easyresources.core.testutil.TestHelper;
+import com.jgazula.easyresources.core.util.GeneratorBackend;
+import com.jgazula.easyresources.core.util.ValidationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
@@ -14,6 +23,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
@@ -24,15 +36,22 @@ import java.text.MessageFormat;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
-import java.util.stream.Stream;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -40,7 +59,7 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class ERBGeneratorTests {
 
-    private static final String PROPERTIES_FILE_NAME = "my_properties.properties";
+    private static final String PROPERTIES_FILE_NAME = TestConstants.TEST_RESOURCE_BUNDLE_NAME + ".properties";
 
     @Mock
     private ClassGeneratorFactory generatorFactory;
@@ -51,6 +70,9 @@ class ERBGeneratorTests {
     @Mock
     private PropertiesParser propertiesParser;
 
+    @Mock
+    private Fingerprinter fingerprinter;
+
     @TempDir
     Path tmpDir;
 
@@ -63,7 +85,7 @@ class ERBGeneratorTests {
                 .build();
 
         // when
-        new ERBGenerator(config, generatorFactory, propertiesReader, new MessageFormat(""), propertiesParser)
+        new ERBGenerator(config, generatorFactory, propertiesReader, propertiesParser, fingerprinter)
                 .generate();
 
         // then
@@ -86,11 +108,11 @@ class ERBGeneratorTests {
                 .destinationDir(Paths.get(TestConstants.DESTINATION_DIR))
                 .build();
 
-        when(propertiesReader.getResourceBundlePropertyFiles(TestConstants.TEST_RESOURCE_BUNDLE_PATH, TestConstants.TEST_RESOURCE_BUNDLE_NAME))
-                .thenReturn(Stream.empty());
+        when(propertiesReader.indexResourceBundles(anyCollection()))
+                .thenReturn(ResourceBundleIndex.of(Map.of(TestConstants.TEST_RESOURCE_BUNDLE_PATH, List.of())));
 
         // when
-        new ERBGenerator(config, generatorFactory, propertiesReader, new MessageFormat(""), propertiesParser)
+        new ERBGenerator(config, generatorFactory, propertiesReader, propertiesParser, fingerprinter)
                 .generate();
 
         // then
@@ -130,26 +152,30 @@ class ERBGeneratorTests {
             properties.store(writer, null);
         }
 
-        when(propertiesReader.getResourceBundlePropertyFiles(TestConstants.TEST_RESOURCE_BUNDLE_PATH, TestConstants.TEST_RESOURCE_BUNDLE_NAME))
-                .thenReturn(Stream.of(propertiesFile));
+        when(propertiesReader.indexResourceBundles(anyCollection())).thenReturn(
+                ResourceBundleIndex.of(Map.of(TestConstants.TEST_RESOURCE_BUNDLE_PATH, List.of(propertiesFile))));
         when(propertiesReader.loadProperties(propertiesFile)).thenCallRealMethod();
 
         var classGenerator = mock(ERBClassGenerator.class);
-        when(classGenerator.initialize()).thenReturn(classGenerator);
+        when(classGenerator.initialize(anyBoolean())).thenReturn(classGenerator);
+        when(classGenerator.write(OutputSink.directory(destinationDir)))
+                .thenReturn(new WriteResult(destinationDir.resolve(TestConstants.TEST_CLASS_NAME + ".java"), true,
+                        0));
 
         when(generatorFactory.getERBClassGenerator(any(ClassGeneratorConfig.class))).thenReturn(classGenerator);
 
+        when(propertiesParser.keysToMethodNames(anyCollection())).thenCallRealMethod();
         when(propertiesParser.keyToMethodName(anyString())).thenCallRealMethod();
 
         // when
-        new ERBGenerator(config, generatorFactory, propertiesReader, new MessageFormat(""), propertiesParser)
+        new ERBGenerator(config, generatorFactory, propertiesReader, propertiesParser, fingerprinter)
                 .generate();
 
         // then
         @SuppressWarnings("unchecked")
         ArgumentCaptor<List<Type>> captor = ArgumentCaptor.forClass(List.class);
         verify(classGenerator, times(properties.size()))
-                .addMethod(anyString(), anyString(), captor.capture());
+                .addMethod(anyString(), anyString(), captor.capture(), eq(List.of()));
 
         var allArgTypesIter = captor.getAllValues().iterator();
         assertThat(allArgTypesIter.next()).isEmpty();
@@ -163,6 +189,343 @@ class ERBGeneratorTests {
         assertThat(allArgTypesIter.next()).containsExactly(int.class);
         assertThat(allArgTypesIter.hasNext()).isFalse();
 
-        verify(classGenerator).write(eq(destinationDir));
+        verify(classGenerator).write(eq(OutputSink.directory(destinationDir)));
+    }
+
+    @Test
+    void unchangedBundleIsSkippedWhenIncremental() throws IOException {
+        // given
+        Path bundleDir = Files.createDirectory(tmpDir.resolve("bundle"));
+        Path baseFile = bundleDir.resolve(TestConstants.TEST_RESOURCE_BUNDLE_NAME + ".properties");
+        Files.writeString(baseFile, "greeting=Hello {0}", StandardCharsets.UTF_8);
+
+        var bundleConfig = ERBBundleConfig.builder()
+                .bundleName(TestConstants.TEST_RESOURCE_BUNDLE_NAME)
+                .bundlePath(bundleDir)
+                .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                .build();
+
+        var config = ERBConfig.builder()
+                .bundleConfigs(Collections.singletonList(bundleConfig))
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .destinationDir(tmpDir.resolve(TestConstants.DESTINATION_DIR))
+                .incremental(true)
+                .build();
+
+        var realGeneratorFactory = spy(new ClassGeneratorFactory());
+        var generator = new ERBGenerator(config, realGeneratorFactory, new PropertiesReader(), new PropertiesParser(),
+                new Fingerprinter());
+
+        // when
+        generator.generate();
+        generator.generate();
+        Files.writeString(bundleDir.resolve(TestConstants.TEST_RESOURCE_BUNDLE_NAME + "_fr.properties"),
+                "greeting=Bonjour {0}", StandardCharsets.UTF_8);
+        generator.generate();
+
+        // then
+        verify(realGeneratorFactory, times(2)).getERBClassGenerator(any(ClassGeneratorConfig.class));
+    }
+
+    @Test
+    void changedSettingsAreRegeneratedWhenIncremental() throws IOException {
+        // given
+        Path bundleDir = Files.createDirectory(tmpDir.resolve("bundle"));
+        Files.writeString(bundleDir.resolve(PROPERTIES_FILE_NAME), "greeting=Hello {0}", StandardCharsets.UTF_8);
+
+        var bundleConfig = ERBBundleConfig.builder()
+                .bundleName(TestConstants.TEST_RESOURCE_BUNDLE_NAME)
+                .bundlePath(bundleDir)
+                .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                .build();
+
+        var config = ERBConfig.builder()
+                .bundleConfigs(Collections.singletonList(bundleConfig))
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .destinationDir(tmpDir.resolve(TestConstants.DESTINATION_DIR))
+                .incremental(true);
+        var realGeneratorFactory = spy(new ClassGeneratorFactory());
+
+        // when
+        for (ERBConfig runConfig : List.of(config.build(), config.streaming(true).build(),
+                config.backend(GeneratorBackend.STREAMING).build(), config.build())) {
+            new ERBGenerator(runConfig, realGeneratorFactory, new PropertiesReader(), new PropertiesParser(),
+                    new Fingerprinter()).generate();
+        }
+
+        // then
+        verify(realGeneratorFactory, times(3)).getERBClassGenerator(any(ClassGeneratorConfig.class));
+    }
+
+    @Test
+    void bundleIsReadFromArchive() throws IOException {
+        // given
+        Path archive = TestHelper.createArchive(tmpDir.resolve("resources.jar"), Map.of(
+                "i18n/" + PROPERTIES_FILE_NAME, "greeting=Hello {0}",
+                "i18n/" + TestConstants.TEST_RESOURCE_BUNDLE_NAME + "_fr.properties", "farewell=Au revoir"));
+
+        var bundleConfig = ERBBundleConfig.builder()
+                .bundleName(TestConstants.TEST_RESOURCE_BUNDLE_NAME)
+                .bundlePath(Path.of(archive + "!/i18n"))
+                .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                .build();
+
+        var destinationDir = tmpDir.resolve(TestConstants.DESTINATION_DIR);
+        var config = ERBConfig.builder()
+                .bundleConfigs(Collections.singletonList(bundleConfig))
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .destinationDir(destinationDir)
+                .incremental(true)
+                .build();
+
+        var realGeneratorFactory = spy(new ClassGeneratorFactory());
+        var generator = new ERBGenerator(config, realGeneratorFactory, new PropertiesReader(), new PropertiesParser(),
+                new Fingerprinter());
+
+        // when
+        generator.generate();
+        generator.generate();
+
+        // then
+        verify(realGeneratorFactory, times(1)).getERBClassGenerator(any(ClassGeneratorConfig.class));
+        assertThat(destinationDir.resolve(Path.of("com", "jgazula", "test", TestConstants.TEST_CLASS_NAME + ".java")))
+                .content(StandardCharsets.UTF_8)
+                .contains("public String greeting(String arg0)")
+                .contains("public String farewell()");
+    }
+
+    @Test
+    void jsonReportIsWritten() throws IOException {
+        // given
+        Path bundleDir = Files.createDirectory(tmpDir.resolve("bundle"));
+        Files.writeString(bundleDir.resolve(PROPERTIES_FILE_NAME), "greeting=Hello {0}\nfarewell=Bye",
+                StandardCharsets.UTF_8);
+
+        var bundleConfig = ERBBundleConfig.builder()
+                .bundleName(TestConstants.TEST_RESOURCE_BUNDLE_NAME)
+                .bundlePath(bundleDir)
+                .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                .build();
+
+        Path report = tmpDir.resolve("report.json");
+        var config = ERBConfig.builder()
+                .bundleConfigs(Collections.singletonList(bundleConfig))
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .destinationDir(tmpDir.resolve(TestConstants.DESTINATION_DIR))
+                .listeners(List.of(GenerationListener.jsonReport(report)))
+                .build();
+
+        // when
+        new ERBGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new Fingerprinter()).generate();
+
+        // then
+        assertThat(report).content(StandardCharsets.UTF_8)
+                .contains("\"directoriesListed\": 1,")
+                .contains("\"keys\": 2,")
+                .contains("\"patterns\": 2,")
+                .contains("\"parsedPatterns\": 1,")
+                .contains("\"className\": \"com.jgazula.test.TestClass\",")
+                .contains("\"status\": \"generated\",")
+                .doesNotContain("\"bytesWritten\": 0,");
+    }
+
+    @Test
+    void streamingGeneratesSameBundleAsLoading() throws IOException {
+        // given
+        Path bundleDir = Files.createDirectory(tmpDir.resolve("bundle"));
+        Files.writeString(bundleDir.resolve(PROPERTIES_FILE_NAME),
+                "greeting=Hello\ncount={0,number} files\nonly.base=Base {0}", StandardCharsets.UTF_8);
+        Files.writeString(bundleDir.resolve(TestConstants.TEST_RESOURCE_BUNDLE_NAME + "_fr.properties"),
+                "greeting=Bonjour {0}\ncount={0} fichiers\ncount={0,date} fichiers\nonly.fr=Salut",
+                StandardCharsets.UTF_8);
+
+        // when
+        Path loaded = generateBundle(bundleDir, tmpDir.resolve("loaded"), false);
+        Path streamed = generateBundle(bundleDir, tmpDir.resolve("streamed"), true);
+
+        // then
+        assertThat(streamed).content(StandardCharsets.UTF_8)
+                .isEqualTo(Files.readString(loaded, StandardCharsets.UTF_8))
+                .contains("public String greeting(String arg0)")
+                .contains("public String count(Date arg0)")
+                .contains("public String onlyBase(String arg0)")
+                .contains("public String onlyFr()");
+    }
+
+    @Test
+    void streamingBackendGeneratesSameBundleAsJavaPoet() throws IOException {
+        // given
+        Path bundleDir = Files.createDirectory(tmpDir.resolve("bundle"));
+        Files.writeString(bundleDir.resolve(PROPERTIES_FILE_NAME),
+                "greeting=Hello\nfarewell=Goodbye {0}\ncount={0,number} files on {1,date} in {2}\n"
+                        + "multi.line=First line\\nsecond line {0}", StandardCharsets.UTF_8);
+
+        // when
+        Path poetFile = generateBundle(bundleDir, tmpDir.resolve("poet"), false, GeneratorBackend.JAVAPOET);
+        Path streamingFile = generateBundle(bundleDir, tmpDir.resolve("streaming"), false,
+                GeneratorBackend.STREAMING);
+
+        // then
+        assertThat(streamingFile).content(StandardCharsets.UTF_8)
+                .isEqualTo(Files.readString(poetFile, StandardCharsets.UTF_8))
+                .contains("public String count(int arg0, Date arg1, String arg2)");
+    }
+
+    @Test
+    void bytecodeBackendWritesClassFile() throws Exception {
+        // given
+        Path bundleDir = Files.createDirectory(tmpDir.resolve("bundle"));
+        Files.writeString(bundleDir.resolve(PROPERTIES_FILE_NAME), "greeting=Hello {0}\nfarewell=Goodbye",
+                StandardCharsets.UTF_8);
+
+        // when
+        Path javaFile = generateBundle(bundleDir, tmpDir.resolve("classes"), false, GeneratorBackend.BYTECODE);
+
+        // then
+        Path classFile = javaFile.resolveSibling(TestConstants.TEST_CLASS_NAME + ".class");
+        assertThat(javaFile).doesNotExist();
+        Class<?> bundleClass = TestHelper.defineAndLoad(TestConstants.TEST_PACKAGE_NAME + "."
+                + TestConstants.TEST_CLASS_NAME, Files.readAllBytes(classFile));
+        Object bundle = bundleClass.getConstructor(ResourceBundle.class)
+                .newInstance(new PropertyResourceBundle(new StringReader("greeting=Hello {0}\nfarewell=Goodbye")));
+        assertThat(bundleClass.getMethod("greeting", String.class).invoke(bundle, "World")).isEqualTo("Hello World");
+        assertThat(bundleClass.getMethod("farewell").invoke(bundle)).isEqualTo("Goodbye");
+    }
+
+    @Test
+    void compiledMessageFormatsFormatEveryLocale() throws Exception {
+        // given
+        Path bundleDir = Files.createDirectory(tmpDir.resolve("bundle"));
+        String messages = "greeting=Hello {0}\ncount={0,number} files in {1}\nquoted=It''s '{'{0}'}'\nplain=Plain";
+        String frenchMessages = "greeting=Bonjour {0} !\ncount={0,number} fichiers dans {1}";
+        Files.writeString(bundleDir.resolve(PROPERTIES_FILE_NAME), messages, StandardCharsets.UTF_8);
+        Files.writeString(bundleDir.resolve(TestConstants.TEST_RESOURCE_BUNDLE_NAME + "_fr.properties"),
+                frenchMessages, StandardCharsets.UTF_8);
+        InMemoryOutputSink sink = OutputSink.inMemory();
+
+        var config = ERBConfig.builder()
+                .bundleConfigs(Collections.singletonList(ERBBundleConfig.builder()
+                        .bundleName(TestConstants.TEST_RESOURCE_BUNDLE_NAME)
+                        .bundlePath(bundleDir)
+                        .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                        .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                        .build()))
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .destinationDir(tmpDir.resolve(TestConstants.DESTINATION_DIR))
+                .compiledMessageFormats(true)
+                .outputSink(sink)
+                .build();
+
+        // when
+        new ERBGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new Fingerprinter()).generate();
+
+        // then
+        String qualifiedClassName = TestConstants.TEST_PACKAGE_NAME + "." + TestConstants.TEST_CLASS_NAME;
+        assertThat(sink.source(qualifiedClassName)).hasValueSatisfying(source -> assertThat(source)
+                .contains("if (message.equals(\"Hello {0}\"))", "if (message.equals(\"Bonjour {0} !\"))",
+                        "if (message.equals(\"It''s '{'{0}'}'\"))")
+                .doesNotContain("{0,number}\"))"));
+        Class<?> bundleClass = TestHelper.compileAndLoad(qualifiedClassName, sink,
+                Files.createDirectory(tmpDir.resolve("classes")));
+        var bundleLoader = new URLClassLoader(new URL[] {bundleDir.toUri().toURL()}, null);
+        var control = ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+        for (Locale locale : List.of(Locale.ROOT, Locale.FRENCH)) {
+            ResourceBundle resourceBundle = ResourceBundle.getBundle(TestConstants.TEST_RESOURCE_BUNDLE_NAME, locale,
+                    bundleLoader, control);
+            Object bundle = bundleClass.getConstructor(ResourceBundle.class).newInstance(resourceBundle);
+            assertThat(bundleClass.getMethod("greeting", String.class).invoke(bundle, "Marie"))
+                    .isEqualTo(new MessageFormat(resourceBundle.getString("greeting"), locale).format(
+                            new Object[] {"Marie"}));
+            assertThat(bundleClass.getMethod("count", int.class, String.class).invoke(bundle, 3, "dir"))
+                    .isEqualTo(new MessageFormat(resourceBundle.getString("count"), locale).format(
+                            new Object[] {3, "dir"}));
+            assertThat(bundleClass.getMethod("quoted", String.class).invoke(bundle, "x")).isEqualTo("It's {x}");
+        }
+    }
+
+    @Test
+    void compiledMessageFormatsAreRejectedInStreamingMode() {
+        // given
+        var config = ERBConfig.builder()
+                .bundleConfigs(Collections.singletonList(ERBBundleConfig.builder()
+                        .bundleName(TestConstants.TEST_RESOURCE_BUNDLE_NAME)
+                        .bundlePath(TestConstants.TEST_RESOURCE_BUNDLE_PATH)
+                        .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                        .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                        .build()))
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .destinationDir(Paths.get(TestConstants.DESTINATION_DIR))
+                .streaming(true)
+                .compiledMessageFormats(true)
+                .build();
+        var generator = new ERBGenerator(config, generatorFactory, propertiesReader, propertiesParser, fingerprinter);
+
+        // when / then
+        assertThatExceptionOfType(ValidationException.class).isThrownBy(generator::generate)
+                .withMessage("Compiled message formats require the translations of every bundle, which are not kept "
+                        + "in streaming mode");
+    }
+
+    @Test
+    void bundleIsWrittenToConfiguredOutputSink() throws IOException {
+        // given
+        Path bundleDir = Files.createDirectory(tmpDir.resolve("bundle"));
+        Files.writeString(bundleDir.resolve(PROPERTIES_FILE_NAME), "greeting=Hello {0}", StandardCharsets.UTF_8);
+        Path destinationDir = tmpDir.resolve(TestConstants.DESTINATION_DIR);
+        InMemoryOutputSink sink = OutputSink.inMemory();
+
+        var config = ERBConfig.builder()
+                .bundleConfigs(Collections.singletonList(ERBBundleConfig.builder()
+                        .bundleName(TestConstants.TEST_RESOURCE_BUNDLE_NAME)
+                        .bundlePath(bundleDir)
+                        .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                        .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                        .build()))
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .destinationDir(destinationDir)
+                .outputSink(sink)
+                .build();
+
+        // when
+        new ERBGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new Fingerprinter()).generate();
+
+        // then
+        assertThat(sink.source(TestConstants.TEST_PACKAGE_NAME + "." + TestConstants.TEST_CLASS_NAME))
+                .hasValueSatisfying(source -> assertThat(source).contains("public String greeting(String arg0)"));
+        assertThat(destinationDir).doesNotExist();
+    }
+
+    private Path generateBundle(Path bundleDir, Path destinationDir, boolean streaming) throws IOException {
+        return generateBundle(bundleDir, destinationDir, streaming, GeneratorBackend.JAVAPOET);
+    }
+
+    private Path generateBundle(Path bundleDir, Path destinationDir, boolean streaming, GeneratorBackend backend)
+            throws IOException {
+        var bundleConfig = ERBBundleConfig.builder()
+                .bundleName(TestConstants.TEST_RESOURCE_BUNDLE_NAME)
+                .bundlePath(bundleDir)
+                .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                .build();
+
+        var config = ERBConfig.builder()
+                .bundleConfigs(Collections.singletonList(bundleConfig))
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .destinationDir(destinationDir)
+                .reproducible(true)
+                .streaming(streaming)
+                .backend(backend)
+                .build();
+
+        new ERBGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new Fingerprinter()).generate();
+        return destinationDir.resolve(Path.of("com", "jgazula", "test", TestConstants.TEST_CLASS_NAME + ".java"));
     }
 }
@@ -1,9 +1,15 @@
 package com.jgazula.easyresources.core.enhancedresourcebundle;
 
 import com.jgazula.easyresources.core.testutil.TestConstants;
+import com.jgazula.easyresources.core.util.Watcher;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 
@@ -14,6 +20,7 @@ public class EnhancedResourceBundleTests {
     @Test
     public void nullConfigThrowsException() {
         Assertions.assertThatNullPointerException().isThrownBy(() -> EnhancedResourceBundle.create(null));
+        Assertions.assertThatNullPointerException().isThrownBy(() -> EnhancedResourceBundle.fingerprint(null));
     }
 
     @Test
@@ -38,4 +45,30 @@ public class EnhancedResourceBundleTests {
         // then
         assertThat(instance).isNotNull();
     }
+
+    @Test
+    public void watchNewInstance(@TempDir Path tmpDir) throws IOException {
+        // given
+        Files.writeString(tmpDir.resolve(TestConstants.TEST_RESOURCE_BUNDLE_NAME + ".properties"), "greeting=Hello",
+                StandardCharsets.UTF_8);
+        ERBBundleConfig bundleConfig = ERBBundleConfig.builder()
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                .bundleName(TestConstants.TEST_RESOURCE_BUNDLE_NAME)
+                .bundlePath(tmpDir)
+                .build();
+
+        ERBConfig config = ERBConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .bundleConfigs(Collections.singletonList(bundleConfig))
+                .destinationDir(tmpDir.resolve(TestConstants.DESTINATION_DIR))
+                .build();
+
+        // when
+        try (Watcher watcher = EnhancedResourceBundle.watch(config)) {
+            // then
+            assertThat(watcher).isNotNull();
+            assertThat(tmpDir.resolve(TestConstants.DESTINATION_DIR)).isNotEmptyDirectory();
+        }
+    }
 }
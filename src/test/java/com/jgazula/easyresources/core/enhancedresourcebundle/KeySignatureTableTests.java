@@ -0,0 +1,69 @@
+package com.jgazula.easyresources.core.enhancedresourcebundle;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeySignatureTableTests {
+
+    private static final List<Type> NO_ARGS = List.of();
+    private static final List<Type> STRING_ARG = List.of(String.class);
+
+    @Test
+    void firstSourceWinsAndLastMessageWithinSourceWins() {
+        // given
+        var table = new KeySignatureTable();
+
+        // when
+        table.put("key", 1, NO_ARGS);
+        boolean sameSource = table.accepts("key", 1);
+        table.put("key", 1, STRING_ARG);
+        boolean otherSource = table.accepts("key", 0);
+
+        // then
+        assertThat(sameSource).isTrue();
+        assertThat(otherSource).isFalse();
+        assertThat(table.accepts("other", 0)).isTrue();
+        assertThat(table.sortedKeys()).containsExactly("key");
+        assertThat(table.signature(0)).containsExactly(String.class);
+    }
+
+    @Test
+    void keysAreSortedAndSignaturesInterned() {
+        // given
+        var table = new KeySignatureTable();
+        int count = 10_000;
+
+        // when
+        for (int i = count - 1; i >= 0; i--) {
+            table.put(String.format("key%05d", i), 0, i % 2 == 0 ? List.of(String.class) : NO_ARGS);
+        }
+
+        // then
+        assertThat(table.size()).isEqualTo(count);
+        List<String> keys = table.sortedKeys();
+        assertThat(keys).hasSize(count).isSorted();
+        assertThat(keys.get(0)).isEqualTo("key00000");
+        assertThat(table.signature(0)).containsExactly(String.class);
+        assertThat(table.signature(1)).isEmpty();
+        assertThat(table.signature(2)).isSameAs(table.signature(0));
+    }
+
+    @Test
+    void keysAddedAfterSortingAreIncluded() {
+        // given
+        var table = new KeySignatureTable();
+        table.put("b", 0, NO_ARGS);
+        assertThat(table.sortedKeys()).containsExactly("b");
+
+        // when
+        table.put("a", 0, STRING_ARG);
+
+        // then
+        assertThat(table.sortedKeys()).containsExactly("a", "b");
+        assertThat(table.signature(0)).containsExactly(String.class);
+    }
+}
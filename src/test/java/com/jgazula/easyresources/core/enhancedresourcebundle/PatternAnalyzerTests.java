@@ -0,0 +1,83 @@
+package com.jgazula.easyresources.core.enhancedresourcebundle;
+
+import com.jgazula.easyresources.core.util.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class PatternAnalyzerTests {
+
+    @Test
+    void argumentTypesAreInferred() {
+        // given
+        var analyzer = new PatternAnalyzer(PatternAnalyzer.DEFAULT_PARALLEL_THRESHOLD, Integer.MAX_VALUE);
+
+        // when
+        List<List<Type>> argTypes = analyzer.analyze(List.of("No arguments", "{1} and {0}", "{0,number,integer}",
+                "{0,number,percent}", "{0,date}", "{0,choice,0#none|1#one}"));
+
+        // then
+        assertThat(argTypes).containsExactly(List.of(), List.of(String.class, String.class), List.of(int.class),
+                List.of(BigDecimal.class), List.of(Date.class), List.of(int.class));
+    }
+
+    @Test
+    void identicalPatternsAreParsedOnce() {
+        // given
+        var analyzer = new PatternAnalyzer(PatternAnalyzer.DEFAULT_PARALLEL_THRESHOLD, Integer.MAX_VALUE);
+
+        // when
+        analyzer.analyze(List.of("Hello {0}", "Hello {0}", "Plain", "{0,number} files"));
+        analyzer.analyze(List.of("Hello {0}"));
+
+        // then
+        assertThat(analyzer.patterns()).isEqualTo(5);
+        assertThat(analyzer.parsedPatterns()).isEqualTo(2);
+    }
+
+    @Test
+    void cacheIsClearedWhenFull() {
+        // given
+        var analyzer = new PatternAnalyzer(PatternAnalyzer.DEFAULT_PARALLEL_THRESHOLD, 1);
+
+        // when
+        analyzer.analyze(List.of("{0}", "{0} {1}", "{0}"));
+
+        // then
+        assertThat(analyzer.parsedPatterns()).isEqualTo(3);
+    }
+
+    @Test
+    void parallelAnalysisKeepsOrder() {
+        // given
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            patterns.add(i % 3 == 0 ? "{0,number} of " + i : i % 3 == 1 ? "{0,date} " + i : "Plain " + i);
+        }
+        var sequential = new PatternAnalyzer(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        var parallel = new PatternAnalyzer(1, Integer.MAX_VALUE);
+
+        // when
+        List<List<Type>> expected = sequential.analyze(patterns);
+        List<List<Type>> actual = parallel.analyze(patterns);
+
+        // then
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual.get(3)).containsExactly(int.class);
+        assertThat(actual.get(4)).containsExactly(Date.class);
+        assertThat(parallel.parsedPatterns()).isEqualTo(sequential.parsedPatterns());
+    }
+
+    @Test
+    void invalidParallelThresholdIsRejected() {
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> new PatternAnalyzer(0, Integer.MAX_VALUE));
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.nio.file.Path;
 import java.util.Collections;
@@ -35,8 +36,8 @@ public class PoetERBClassGeneratorTests {
 
         // when
         Path generatedFile = new PoetERBClassGenerator(config)
-                .initialize()
-                .write(tmpDir);
+                .initialize(false)
+                .write(tmpDir).path();
 
         // then
         var expectedFile = TestHelper.getTestResourcePath(RESOURCES_DIR, "InitializedWithConstructorAndClassFields.java");
@@ -54,9 +55,9 @@ public class PoetERBClassGeneratorTests {
 
         // when
         Path generatedFile = new PoetERBClassGenerator(config)
-                .initialize()
+                .initialize(false)
                 .addMethod(TEST_KEY, TEST_KEY_METHOD_NAME, Collections.emptyList())
-                .write(tmpDir);
+                .write(tmpDir).path();
 
         // then
         var expectedFile = TestHelper.getTestResourcePath(RESOURCES_DIR, "AddMethodWithNoArgs.java");
@@ -74,12 +75,37 @@ public class PoetERBClassGeneratorTests {
 
         // when
         Path generatedFile = new PoetERBClassGenerator(config)
-                .initialize()
+                .initialize(true)
                 .addMethod(TEST_KEY, TEST_KEY_METHOD_NAME, List.of(BigDecimal.class, Date.class, String.class, int.class))
-                .write(tmpDir);
+                .write(tmpDir).path();
 
         // then
         var expectedFile = TestHelper.getTestResourcePath(RESOURCES_DIR, "AddMethodWithArgs.java");
         assertThat(TestHelper.generatedFileMatchesExpected(generatedFile, expectedFile)).isTrue();
     }
+
+    @Test
+    public void addMethodWithCompiledPatterns() throws IOException {
+        // given
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .build();
+        List<Type> argTypes = List.of(String.class, String.class);
+        List<CompiledPattern> compiledPatterns = List.of(
+                CompiledPattern.compile("Hello {0}, you have {1} messages", argTypes).orElseThrow(),
+                CompiledPattern.compile("{1} messages pour ''{0}''", argTypes).orElseThrow(),
+                CompiledPattern.compile("Hallo", argTypes).orElseThrow());
+
+        // when
+        Path generatedFile = new PoetERBClassGenerator(config)
+                .initialize(true)
+                .addMethod(TEST_KEY, TEST_KEY_METHOD_NAME, argTypes, compiledPatterns)
+                .write(tmpDir).path();
+
+        // then
+        var expectedFile = TestHelper.getTestResourcePath(RESOURCES_DIR, "AddMethodWithCompiledPatterns.java");
+        assertThat(TestHelper.generatedFileMatchesExpected(generatedFile, expectedFile)).isTrue();
+    }
 }
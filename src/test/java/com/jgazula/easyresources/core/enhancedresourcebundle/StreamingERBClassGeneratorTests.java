@@ -0,0 +1,172 @@
+package com.jgazula.easyresources.core.enhancedresourcebundle;
+
+import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorConfig;
+import com.jgazula.easyresources.core.testutil.TestConstants;
+import com.jgazula.easyresources.core.testutil.TestHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class StreamingERBClassGeneratorTests {
+
+    private static final String TEST_KEY = "my.test.key";
+    private static final String TEST_KEY_METHOD_NAME = "myTestKey";
+    private static final String POET_RESOURCES_DIR = "poeterbclassgeneratortests";
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    public void addMethodWithArgsMatchesExpected() throws IOException {
+        // given
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .build();
+
+        // when
+        Path generatedFile = new StreamingERBClassGenerator(config)
+                .initialize(true)
+                .addMethod(TEST_KEY, TEST_KEY_METHOD_NAME, List.of(BigDecimal.class, Date.class, String.class,
+                        int.class))
+                .write(tmpDir).path();
+
+        // then
+        var expectedFile = TestHelper.getTestResourcePath(POET_RESOURCES_DIR, "AddMethodWithArgs.java");
+        assertThat(TestHelper.generatedFileMatchesExpected(generatedFile, expectedFile)).isTrue();
+    }
+
+    @Test
+    public void methodsAreIdenticalToPoet() throws IOException {
+        assertIdenticalToPoet(TestConstants.TEST_CLASS_NAME, generator -> generator
+                .initialize(true)
+                .addMethod(TEST_KEY, TEST_KEY_METHOD_NAME, Collections.emptyList())
+                .addMethod("multi.line\nkey \"quoted\"", "multiLineKey", List.of(String.class))
+                .addMethod("long.key", "aVeryLongMethodNameWhichForcesTheParametersOntoTheNextLine",
+                        List.of(BigDecimal.class, Date.class, String.class, int.class, int.class, Date.class)));
+    }
+
+    @Test
+    public void compiledPatternsAreIdenticalToPoet() throws IOException {
+        // given
+        List<Type> argTypes = List.of(String.class, int.class, String.class);
+        List<CompiledPattern> compiledPatterns = new ArrayList<>();
+        for (String pattern : List.of("Hello {0}", "{2}{0}{2} ''quoted'' '{1}'", "multi\nline \"{0}\"\n{2}",
+                "no arguments", "", "{0}")) {
+            compiledPatterns.add(CompiledPattern.compile(pattern, argTypes).orElseThrow());
+        }
+
+        // when / then
+        assertIdenticalToPoet(TestConstants.TEST_CLASS_NAME, generator -> generator
+                .initialize(true)
+                .addMethod(TEST_KEY, TEST_KEY_METHOD_NAME, argTypes, compiledPatterns)
+                .addMethod("multi.line\nkey", "multiLineKey", List.of(String.class),
+                        List.of(CompiledPattern.compile("{0}", List.of(String.class)).orElseThrow())));
+    }
+
+    @Test
+    public void methodsWithoutArgsDoNotImportMessageFormat() throws IOException {
+        // when
+        String source = assertIdenticalToPoet(TestConstants.TEST_CLASS_NAME, generator -> generator
+                .initialize(false)
+                .addMethod(TEST_KEY, TEST_KEY_METHOD_NAME, Collections.emptyList()));
+
+        // then
+        assertThat(source).doesNotContain("MessageFormat").doesNotContain("Object");
+    }
+
+    @Test
+    public void typesWhichConflictWithClassNameAreQualifiedLikePoet() throws IOException {
+        assertIdenticalToPoet("MessageFormat", generator -> generator
+                .initialize(true)
+                .addMethod(TEST_KEY, TEST_KEY_METHOD_NAME, List.of(String.class)));
+        assertIdenticalToPoet("ResourceBundle", generator -> generator
+                .initialize(true)
+                .addMethod(TEST_KEY, TEST_KEY_METHOD_NAME, List.of(String.class)));
+    }
+
+    @Test
+    public void randomMethodsAreIdenticalToPoet() throws IOException {
+        // given
+        var random = new Random(17);
+        List<Type> types = List.of(String.class, BigDecimal.class, Date.class, int.class);
+
+        for (int run = 0; run < 20; run++) {
+            List<String> keys = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            List<List<Type>> signatures = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                keys.add("key." + i + "\n".repeat(random.nextInt(2)));
+                names.add("m" + i + "x".repeat(random.nextInt(90)));
+                List<Type> signature = new ArrayList<>();
+                for (int j = random.nextInt(10); j > 0; j--) {
+                    signature.add(types.get(random.nextInt(types.size())));
+                }
+                signatures.add(signature);
+            }
+
+            // when / then
+            assertIdenticalToPoet(TestConstants.TEST_CLASS_NAME, generator -> {
+                generator.initialize(true);
+                for (int i = 0; i < signatures.size(); i++) {
+                    generator.addMethod(keys.get(i), names.get(i), signatures.get(i));
+                }
+            });
+        }
+    }
+
+    @Test
+    public void invalidMethodNameIsRejected() throws IOException {
+        // given
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .build();
+
+        try (var generator = new StreamingERBClassGenerator(config)) {
+            // when / then
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> generator.addMethod(TEST_KEY, "my-test-key", Collections.emptyList()));
+        }
+    }
+
+    private String assertIdenticalToPoet(String className, Consumer<ERBClassGenerator> action) throws IOException {
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(className)
+                .reproducible(true)
+                .build();
+
+        ERBClassGenerator poetGenerator = new PoetERBClassGenerator(config);
+        action.accept(poetGenerator);
+        String poetSource = Files.readString(poetGenerator.write(tmpDir.resolve("poet")).path(),
+                StandardCharsets.UTF_8);
+
+        try (ERBClassGenerator streamingGenerator = new StreamingERBClassGenerator(config)) {
+            action.accept(streamingGenerator);
+            String streamingSource = Files.readString(streamingGenerator.write(tmpDir.resolve("streaming")).path(),
+                    StandardCharsets.UTF_8);
+
+            assertThat(streamingSource).isEqualTo(poetSource);
+            return streamingSource;
+        }
+    }
+}
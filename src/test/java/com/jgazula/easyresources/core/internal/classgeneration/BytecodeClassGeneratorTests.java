@@ -0,0 +1,314 @@
+package com.jgazula.easyresources.core.internal.classgeneration;
+
+import com.jgazula.easyresources.core.output.InMemoryOutputSink;
+import com.jgazula.easyresources.core.output.OutputSink;
+import com.jgazula.easyresources.core.testutil.TestConstants;
+import com.jgazula.easyresources.core.testutil.TestHelper;
+import com.jgazula.easyresources.core.util.GeneratorBackend;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.ResourceBundle;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class BytecodeClassGeneratorTests {
+
+    private static final String QUALIFIED_CLASS_NAME = TestConstants.TEST_PACKAGE_NAME + "."
+            + TestConstants.TEST_CLASS_NAME;
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    public void constantsBehaveLikeCompiledJavaFile() throws Exception {
+        // given
+        List<String> values = List.of("", "plain", "quote \" and 'apostrophe'", "back\\slash", "nul \u0000 char",
+                "control \u0001\u001f\u007f\u0085 characters", "unicode \u00e9\u4e2d\u6587 \ud83d\ude00",
+                "first line\nsecond line", "tab\tcarriage\rreturn", "duplicate", "duplicate");
+        Consumer<ClassGenerator> members = generator -> {
+            for (int i = 0; i < values.size(); i++) {
+                generator.addPublicConstantString("CONSTANT_" + i, values.get(i));
+            }
+        };
+
+        // when
+        Class<?> compiled = compile(members);
+        Class<?> loaded = load(members);
+
+        // then
+        assertSameMembers(compiled, loaded);
+        for (int i = 0; i < values.size(); i++) {
+            Field field = loaded.getField("CONSTANT_" + i);
+            assertThat(field.get(null)).isEqualTo(values.get(i)).isEqualTo(compiled.getField("CONSTANT_" + i)
+                    .get(null));
+        }
+        assertThat(loaded.getConstructor().newInstance()).isNotNull();
+    }
+
+    @Test
+    public void fieldsAndConstructorBehaveLikeCompiledJavaFile() throws Exception {
+        // given
+        List<Type> types = List.of(int.class, long.class, double.class, float.class, boolean.class, char.class,
+                byte.class, short.class, String.class, ResourceBundle.class, Object[].class, String[][].class);
+        List<ClassGeneratorVariable> fields = new ArrayList<>();
+        for (int i = 0; i < types.size(); i++) {
+            fields.add(new ClassGeneratorVariable(types.get(i), "field" + i));
+        }
+        Consumer<ClassGenerator> members = generator -> {
+            fields.forEach(generator::addPrivateFinalField);
+            generator.addConstructorWithArgs(fields);
+        };
+        ResourceBundle bundle = new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return new Object[0][];
+            }
+        };
+        Object[] args = {42, Long.MAX_VALUE, Math.PI, 1.5f, true, 'x', (byte) 7, (short) 300, "value", bundle,
+                new Object[] {"element"}, new String[][] {{"nested"}}};
+
+        // when
+        Class<?> compiled = compile(members);
+        Class<?> loaded = load(members);
+
+        // then
+        assertSameMembers(compiled, loaded);
+        Object compiledInstance = compiled.getConstructors()[0].newInstance(args);
+        Object loadedInstance = loaded.getConstructors()[0].newInstance(args);
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = loaded.getDeclaredField("field" + i);
+            Field compiledField = compiled.getDeclaredField("field" + i);
+            field.setAccessible(true);
+            compiledField.setAccessible(true);
+            assertThat(field.get(loadedInstance)).isEqualTo(args[i]).isEqualTo(compiledField.get(compiledInstance));
+        }
+    }
+
+    @Test
+    public void classFileIsOnlyWrittenWhenChanged() throws IOException {
+        // given
+        OutputSink sink = OutputSink.directory(tmpDir);
+
+        // when
+        WriteResult first = generator().addPublicConstantString("KEY", "value").write(sink);
+        WriteResult second = generator().addPublicConstantString("KEY", "value").write(sink);
+        WriteResult changed = generator().addPublicConstantString("KEY", "other value").write(sink);
+
+        // then
+        Path classFile = tmpDir.resolve(Path.of("com", "jgazula", "test", TestConstants.TEST_CLASS_NAME + ".class"));
+        assertThat(first).isEqualTo(new WriteResult(classFile, true, second.bytes()));
+        assertThat(second).isEqualTo(new WriteResult(classFile, false, first.bytes()));
+        assertThat(changed).isEqualTo(new WriteResult(classFile, true, Files.size(classFile)));
+        assertThat(Files.list(classFile.getParent())).containsExactly(classFile);
+    }
+
+    @Test
+    public void constantsInterfaceBehavesLikeCompiledJavaFile() throws Exception {
+        // given
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .constantsInterface(true)
+                .build();
+        InMemoryOutputSink poetSink = OutputSink.inMemory();
+        InMemoryOutputSink bytecodeSink = OutputSink.inMemory();
+
+        // when
+        new PoetClassGenerator(config).addPublicConstantString("KEY", "value").write(poetSink);
+        var generator = new BytecodeClassGenerator(config).addPublicConstantString("KEY", "value");
+        generator.write(bytecodeSink);
+
+        // then
+        Class<?> compiled = TestHelper.compileAndLoad(QUALIFIED_CLASS_NAME,
+                poetSink.source(QUALIFIED_CLASS_NAME).orElseThrow(), tmpDir);
+        Class<?> loaded = TestHelper.defineAndLoad(QUALIFIED_CLASS_NAME,
+                bytecodeSink.classFile(QUALIFIED_CLASS_NAME).orElseThrow());
+        assertThat(loaded.isInterface()).isTrue();
+        assertSameMembers(compiled, loaded);
+        assertThat(loaded.getField("KEY").get(null)).isEqualTo("value");
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> generator.addPrivateFinalField(new ClassGeneratorVariable(String.class, "field")))
+                .withMessage("Unable to add a field to the interface " + QUALIFIED_CLASS_NAME);
+    }
+
+    @Test
+    public void classInDefaultPackageIsLoaded() throws Exception {
+        // given
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName("")
+                .className(TestConstants.TEST_CLASS_NAME)
+                .build();
+        InMemoryOutputSink sink = OutputSink.inMemory();
+
+        // when
+        WriteResult result = new BytecodeClassGenerator(config).addPublicConstantString("KEY", "value").write(sink);
+
+        // then
+        assertThat(result.path()).isEqualTo(Path.of(TestConstants.TEST_CLASS_NAME + ".class"));
+        assertThat(sink.sources()).isEmpty();
+        Class<?> loaded = TestHelper.defineAndLoad(TestConstants.TEST_CLASS_NAME,
+                sink.classFile(TestConstants.TEST_CLASS_NAME).orElseThrow());
+        assertThat(loaded.getField("KEY").get(null)).isEqualTo("value");
+    }
+
+    @Test
+    public void invalidMembersAreRejected() {
+        // given
+        ClassGenerator generator = generator();
+
+        // when / then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> generator.addPublicConstantString("not valid", "value"))
+                .withMessage("not a valid name: not valid");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> generator.addPrivateFinalField(new ClassGeneratorVariable(
+                        List.class.getTypeParameters()[0], "element")))
+                .withMessage("Unsupported type E");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> generator.addPublicConstantString("TOO_LONG", "\u4e2d".repeat(30_000)))
+                .withMessageStartingWith("constant string too long");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> generator.addConstructorWithArgs(longs(128)))
+                .withMessage("too many parameters: <init>");
+    }
+
+    @Test
+    public void keywordsAreRejected() {
+        // given
+        ClassGenerator generator = generator();
+
+        // when / then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> generator.addPublicConstantString("class", "value"))
+                .withMessage("not a valid name: class");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> generator.addPrivateFinalField(new ClassGeneratorVariable(String.class, "new")))
+                .withMessage("not a valid name: new");
+    }
+
+    @Test
+    public void duplicateFieldsAreRejected() {
+        // given
+        ClassGenerator generator = generator()
+                .addPublicConstantString("A_B", "a.b")
+                .addPrivateFinalField(new ClassGeneratorVariable(String.class, "field"));
+
+        // when / then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> generator.addPublicConstantString("A_B", "a_b"))
+                .withMessage("duplicate field: A_B");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> generator.addPrivateFinalField(new ClassGeneratorVariable(int.class, "field")))
+                .withMessage("duplicate field: field");
+    }
+
+    @Test
+    public void duplicateMethodsAreRejected() {
+        // given
+        ClassGenerator generator = generator()
+                .addConstructorWithArgs(List.of(new ClassGeneratorVariable(String.class, "arg0")));
+
+        // when / then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> generator.addConstructorWithArgs(List.of(new ClassGeneratorVariable(String.class,
+                        "arg1"))))
+                .withMessage("duplicate method: <init>");
+    }
+
+    @Test
+    public void tooManyConstantsAreRejected() {
+        // given
+        ClassGenerator generator = generator();
+        for (int i = 0; i < 22_000; i++) {
+            generator.addPublicConstantString("KEY_" + i, "value " + i);
+        }
+
+        // when / then
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> generator.write(OutputSink.inMemory()))
+                .withMessage("too many constants in com/jgazula/test/" + TestConstants.TEST_CLASS_NAME);
+    }
+
+    private static List<ClassGeneratorVariable> longs(int count) {
+        List<ClassGeneratorVariable> variables = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            variables.add(new ClassGeneratorVariable(long.class, "arg" + i));
+        }
+        return variables;
+    }
+
+    private static ClassGenerator generator() {
+        return new BytecodeClassGenerator(config(GeneratorBackend.BYTECODE));
+    }
+
+    private static ClassGeneratorConfig config(GeneratorBackend backend) {
+        return ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .reproducible(true)
+                .backend(backend)
+                .build();
+    }
+
+    private Class<?> compile(Consumer<ClassGenerator> members) throws IOException {
+        ClassGenerator generator = new PoetClassGenerator(config(GeneratorBackend.JAVAPOET));
+        members.accept(generator);
+        InMemoryOutputSink sink = OutputSink.inMemory();
+        generator.write(sink);
+        return TestHelper.compileAndLoad(QUALIFIED_CLASS_NAME, sink.source(QUALIFIED_CLASS_NAME).orElseThrow(),
+                Files.createTempDirectory(tmpDir, "classes"));
+    }
+
+    private static Class<?> load(Consumer<ClassGenerator> members) throws IOException {
+        ClassGenerator generator = generator();
+        members.accept(generator);
+        InMemoryOutputSink sink = OutputSink.inMemory();
+        generator.write(sink);
+        return TestHelper.defineAndLoad(QUALIFIED_CLASS_NAME, sink.classFile(QUALIFIED_CLASS_NAME).orElseThrow());
+    }
+
+    /**
+     * Asserts that both classes declare the same fields and constructors, with the same modifiers.
+     */
+    static void assertSameMembers(Class<?> expected, Class<?> actual) {
+        assertThat(actual.getModifiers()).isEqualTo(expected.getModifiers());
+        assertThat(actual.getSuperclass()).isEqualTo(expected.getSuperclass());
+        assertThat(signatures(actual.getDeclaredFields())).isEqualTo(signatures(expected.getDeclaredFields()));
+        assertThat(signatures(actual.getDeclaredConstructors()))
+                .isEqualTo(signatures(expected.getDeclaredConstructors()));
+    }
+
+    private static List<String> signatures(Object[] members) {
+        List<String> signatures = new ArrayList<>();
+        for (Object member : members) {
+            if (member instanceof Field) {
+                Field field = (Field) member;
+                signatures.add(Modifier.toString(field.getModifiers()) + " " + field.getGenericType().getTypeName()
+                        + " " + field.getName());
+            } else {
+                Constructor<?> constructor = (Constructor<?>) member;
+                signatures.add(Modifier.toString(constructor.getModifiers()) + " "
+                        + Arrays.toString(constructor.getGenericParameterTypes()));
+            }
+        }
+        signatures.sort(null);
+        return signatures;
+    }
+}
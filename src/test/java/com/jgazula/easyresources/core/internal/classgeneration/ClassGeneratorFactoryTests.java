@@ -1,9 +1,14 @@
 package com.jgazula.easyresources.core.internal.classgeneration;
 
+import com.jgazula.easyresources.core.enhancedresourcebundle.BytecodeERBClassGenerator;
 import com.jgazula.easyresources.core.enhancedresourcebundle.ERBClassGenerator;
+import com.jgazula.easyresources.core.enhancedresourcebundle.StreamingERBClassGenerator;
 import com.jgazula.easyresources.core.testutil.TestConstants;
+import com.jgazula.easyresources.core.util.GeneratorBackend;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ClassGeneratorFactoryTests {
@@ -39,4 +44,42 @@ public class ClassGeneratorFactoryTests {
         // then
         assertThat(generator).isNotNull();
     }
+
+    @Test
+    public void streamingGeneratorsAreCreatedForStreamingBackend() throws IOException {
+        // given
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .backend(GeneratorBackend.STREAMING)
+                .build();
+
+        // when
+        try (ClassGenerator generator = new ClassGeneratorFactory().getGenerator(config);
+             ERBClassGenerator erbGenerator = new ClassGeneratorFactory().getERBClassGenerator(config)) {
+            // then
+            assertThat(generator).isInstanceOf(StreamingClassGenerator.class);
+            assertThat(erbGenerator).isInstanceOf(StreamingERBClassGenerator.class);
+        }
+    }
+
+    @Test
+    public void bytecodeGeneratorsAreCreatedForBytecodeBackend() {
+        // given
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .backend(GeneratorBackend.BYTECODE)
+                .build();
+
+        // when
+        ClassGenerator generator = new ClassGeneratorFactory().getGenerator(config);
+        ERBClassGenerator erbGenerator = new ClassGeneratorFactory().getERBClassGenerator(config);
+
+        // then
+        assertThat(generator).isInstanceOf(BytecodeClassGenerator.class);
+        assertThat(erbGenerator).isInstanceOf(BytecodeERBClassGenerator.class);
+    }
 }
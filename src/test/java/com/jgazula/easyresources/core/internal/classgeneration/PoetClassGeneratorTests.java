@@ -2,17 +2,24 @@ package com.jgazula.easyresources.core.internal.classgeneration;
 
 import com.jgazula.easyresources.core.testutil.TestConstants;
 import com.jgazula.easyresources.core.testutil.TestHelper;
+import com.jgazula.easyresources.core.util.ValidationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 public class PoetClassGeneratorTests {
 
@@ -47,7 +54,7 @@ public class PoetClassGeneratorTests {
                 .build();
 
         // when
-        Path generatedFile = new PoetClassGenerator(config).write(tmpDir);
+        Path generatedFile = new PoetClassGenerator(config).write(tmpDir).path();
 
         // then
         assertThat(generatedFile).exists().isRegularFile();
@@ -63,7 +70,7 @@ public class PoetClassGeneratorTests {
                 .build();
 
         // when
-        Path generatedFile = new PoetClassGenerator(config).write(tmpDir);
+        Path generatedFile = new PoetClassGenerator(config).write(tmpDir).path();
 
         // then
         var expectedFile = TestHelper.getTestResourcePath(RESOURCES_DIR, "PackageNameAndClassNameIsCorrect.java");
@@ -84,7 +91,7 @@ public class PoetClassGeneratorTests {
                 .addPublicConstantString(DUMMY_CONSTANT_STRING_FIRST_VAR, DUMMY_CONSTANT_STRING_FIRST_VALUE)
                 .addPublicConstantString(DUMMY_CONSTANT_STRING_SECOND_VAR, DUMMY_CONSTANT_STRING_SECOND_VALUE)
                 .addPublicConstantString(DUMMY_CONSTANT_STRING_THIRD_VAR, DUMMY_CONSTANT_STRING_THIRD_VALUE)
-                .write(tmpDir);
+                .write(tmpDir).path();
 
         // then
         var expectedFile = TestHelper.getTestResourcePath(RESOURCES_DIR, "PublicConstantStringsAreAdded.java");
@@ -106,7 +113,7 @@ public class PoetClassGeneratorTests {
                 .addPrivateFinalField(new ClassGeneratorVariable(DUMMY_PRIVATE_SECOND_VAR_TYPE, DUMMY_PRIVATE_SECOND_VAR))
                 .addPrivateFinalField(new ClassGeneratorVariable(DUMMY_PRIVATE_THIRD_VAR_TYPE, DUMMY_PRIVATE_THIRD_VAR))
                 .addPrivateFinalField(new ClassGeneratorVariable(DUMMY_PRIVATE_FOURTH_VAR_TYPE, DUMMY_PRIVATE_FOURTH_VAR))
-                .write(tmpDir);
+                .write(tmpDir).path();
 
         // then
         var expectedFile = TestHelper.getTestResourcePath(RESOURCES_DIR, "PrivateFinalVariableIsAdded.java");
@@ -134,10 +141,110 @@ public class PoetClassGeneratorTests {
                 .addPrivateFinalField(thirdPrivateVar)
                 .addPrivateFinalField(fourthPrivateVar)
                 .addConstructorWithArgs(List.of(firstPrivateVar, secondPrivateVar, thirdPrivateVar, fourthPrivateVar))
-                .write(tmpDir);
+                .write(tmpDir).path();
 
         // then
         var expectedFile = TestHelper.getTestResourcePath(RESOURCES_DIR, "AllArgsConstructor.java");
         assertThat(TestHelper.generatedFileMatchesExpected(generatedFile, expectedFile)).isTrue();
     }
+
+    @Test
+    public void reproducibleOutputIsIdenticalAcrossRuns() throws IOException {
+        // given
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .reproducible(true)
+                .build();
+
+        // when
+        Path firstFile = new PoetClassGenerator(config)
+                .addPublicConstantString(DUMMY_CONSTANT_STRING_FIRST_VAR, DUMMY_CONSTANT_STRING_FIRST_VALUE)
+                .write(tmpDir.resolve("first")).path();
+        Path secondFile = new PoetClassGenerator(config)
+                .addPublicConstantString(DUMMY_CONSTANT_STRING_FIRST_VAR, DUMMY_CONSTANT_STRING_FIRST_VALUE)
+                .write(tmpDir.resolve("second")).path();
+
+        // then
+        assertThat(firstFile).hasSameBinaryContentAs(secondFile);
+        assertThat(Files.readAllLines(firstFile, StandardCharsets.UTF_8).get(1))
+                .isEqualTo("package " + TestConstants.TEST_PACKAGE_NAME + ";");
+    }
+
+    @Test
+    public void unchangedFileIsNotRewritten() throws IOException {
+        // given
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .reproducible(true)
+                .build();
+        WriteResult firstResult = new PoetClassGenerator(config)
+                .addPublicConstantString(DUMMY_CONSTANT_STRING_FIRST_VAR, DUMMY_CONSTANT_STRING_FIRST_VALUE)
+                .write(tmpDir);
+        var lastModified = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(firstResult.path(), lastModified);
+
+        // when
+        WriteResult secondResult = new PoetClassGenerator(config)
+                .addPublicConstantString(DUMMY_CONSTANT_STRING_FIRST_VAR, DUMMY_CONSTANT_STRING_FIRST_VALUE)
+                .write(tmpDir);
+
+        // then
+        assertThat(firstResult.written()).isTrue();
+        assertThat(secondResult.written()).isFalse();
+        assertThat(secondResult.path()).isEqualTo(firstResult.path());
+        assertThat(Files.getLastModifiedTime(secondResult.path())).isEqualTo(lastModified);
+    }
+
+    @Test
+    public void changedFileIsReplaced() throws IOException {
+        // given
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .reproducible(true)
+                .build();
+        new PoetClassGenerator(config)
+                .addPublicConstantString(DUMMY_CONSTANT_STRING_FIRST_VAR, DUMMY_CONSTANT_STRING_FIRST_VALUE)
+                .write(tmpDir);
+
+        // when
+        WriteResult result = new PoetClassGenerator(config)
+                .addPublicConstantString(DUMMY_CONSTANT_STRING_SECOND_VAR, DUMMY_CONSTANT_STRING_SECOND_VALUE)
+                .write(tmpDir);
+
+        // then
+        assertThat(result.written()).isTrue();
+        assertThat(result.bytes()).isEqualTo(Files.size(result.path()));
+        assertThat(result.path()).content(StandardCharsets.UTF_8)
+                .contains(DUMMY_CONSTANT_STRING_SECOND_VAR)
+                .doesNotContain(DUMMY_CONSTANT_STRING_FIRST_VAR);
+        try (Stream<Path> files = Files.list(result.path().getParent())) {
+            assertThat(files).containsExactly(result.path());
+        }
+    }
+
+    @Test
+    public void sourceDateEpochIsUsedAsTimestamp() {
+        assertThat(PoetClassGenerator.timestamp(true, Optional.of("1702854600")))
+                .contains("2023-12-17T23:10:00Z");
+        assertThat(PoetClassGenerator.timestamp(false, Optional.of("1702854600")))
+                .contains("2023-12-17T23:10:00Z");
+    }
+
+    @Test
+    public void timestampIsOnlyOmittedWhenReproducible() {
+        assertThat(PoetClassGenerator.timestamp(true, Optional.empty())).isEmpty();
+        assertThat(PoetClassGenerator.timestamp(false, Optional.empty())).isPresent();
+    }
+
+    @Test
+    public void invalidSourceDateEpochIsRejected() {
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> PoetClassGenerator.timestamp(true, Optional.of("yesterday")));
+    }
 }
@@ -0,0 +1,327 @@
+package com.jgazula.easyresources.core.internal.classgeneration;
+
+import com.jgazula.easyresources.core.testutil.TestConstants;
+import com.jgazula.easyresources.core.testutil.TestHelper;
+import com.jgazula.easyresources.core.util.GeneratorBackend;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.ResourceBundle;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class StreamingClassGeneratorTests {
+
+    private static final String POET_RESOURCES_DIR = "poetclassgeneratortests";
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    public void generatedFileMatchesExpected() throws IOException {
+        // given
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .build();
+
+        // when
+        Path generatedFile = new StreamingClassGenerator(config)
+                .addPublicConstantString("FIRST_STRING_CONSTANT_KEY", "firstStringConstantValue")
+                .addPublicConstantString("SECOND_STRING_CONSTANT_KEY", "secondStringConstantValue")
+                .addPublicConstantString("THIRD_STRING_CONSTANT_KEY", "thirdStringConstantValue")
+                .write(tmpDir).path();
+
+        // then
+        var expectedFile = TestHelper.getTestResourcePath(POET_RESOURCES_DIR, "PublicConstantStringsAreAdded.java");
+        assertThat(TestHelper.generatedFileMatchesExpected(generatedFile, expectedFile)).isTrue();
+    }
+
+    @Test
+    public void emptyClassIsIdenticalToPoet() throws IOException {
+        assertIdenticalToPoet(config(TestConstants.TEST_PACKAGE_NAME, TestConstants.TEST_CLASS_NAME),
+                generator -> { });
+        assertIdenticalToPoet(config("", TestConstants.TEST_CLASS_NAME), generator -> { });
+    }
+
+    @Test
+    public void implementingClassIsIdenticalToPoet() throws IOException {
+        // given
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .interfaceNames(List.of(TestConstants.TEST_CLASS_NAME + "Shard1",
+                        TestConstants.TEST_CLASS_NAME + "Shard2"))
+                .reproducible(true)
+                .build();
+
+        assertIdenticalToPoet(config, generator -> { });
+        assertIdenticalToPoet(config, generator -> generator.addPublicConstantString("CONSTANT", "value"));
+    }
+
+    @Test
+    public void constantsInterfaceIsIdenticalToPoet() throws IOException {
+        // given
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .constantsInterface(true)
+                .reproducible(true)
+                .build();
+
+        assertIdenticalToPoet(config, generator -> generator.addPublicConstantString("CONSTANT", "value")
+                .addPublicConstantString("OTHER_CONSTANT", "other value"));
+    }
+
+    @Test
+    public void interfacesOnlyHaveConstants() throws IOException {
+        // given
+        ClassGeneratorConfig config = ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(TestConstants.TEST_PACKAGE_NAME)
+                .className(TestConstants.TEST_CLASS_NAME)
+                .constantsInterface(true)
+                .build();
+
+        try (var generator = new StreamingClassGenerator(config)) {
+            // when / then
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(() -> generator.addConstructorWithArgs(List.of()))
+                    .withMessage("Unable to add a constructor to the interface com.jgazula.test.TestClass");
+        }
+    }
+
+    @Test
+    public void escapedConstantsAreIdenticalToPoet() throws IOException {
+        // given
+        List<String> values = List.of("", "plain", "quote \" and 'apostrophe'", "back\\slash",
+                "tab\tcarriage\rreturn\fform\bfeed", "control \u0001\u001f\u007f\u0085 characters",
+                "unicode \u00e9\u4e2d\u6587 \ud83d\ude00", "first line\nsecond line\nthird line", "trailing\n",
+                "\n\nleading", "line\u2028separator and paragraph\u2029separator",
+                "a very long value which is much longer than the column limit of one hundred characters and "
+                        + "should not be wrapped at all");
+
+        assertIdenticalToPoet(config(TestConstants.TEST_PACKAGE_NAME, TestConstants.TEST_CLASS_NAME), generator -> {
+            for (int i = 0; i < values.size(); i++) {
+                generator.addPublicConstantString("CONSTANT_" + i, values.get(i));
+            }
+        });
+    }
+
+    @Test
+    public void fieldsAndConstructorAreIdenticalToPoet() throws IOException {
+        // given
+        List<ClassGeneratorVariable> args = List.of(
+                new ClassGeneratorVariable(ResourceBundle.class, "resourceBundle"),
+                new ClassGeneratorVariable(BigDecimal.class, "aRatherLongNameForTheSecondArgument"),
+                new ClassGeneratorVariable(int.class, "aRatherLongNameForTheThirdArgument"),
+                new ClassGeneratorVariable(String[].class, "aRatherLongNameForTheFourthArgument"),
+                new ClassGeneratorVariable(Map.Entry.class, "entry"));
+
+        assertIdenticalToPoet(config(TestConstants.TEST_PACKAGE_NAME, TestConstants.TEST_CLASS_NAME), generator -> {
+            generator.addPublicConstantString("CONSTANT", "value");
+            args.forEach(generator::addPrivateFinalField);
+            generator.addConstructorWithArgs(args);
+        });
+    }
+
+    @Test
+    public void typesWhichConflictWithClassNameAreQualifiedLikePoet() throws IOException {
+        // given
+        List<ClassGeneratorVariable> args = List.of(new ClassGeneratorVariable(String.class, "value"),
+                new ClassGeneratorVariable(ResourceBundle.class, "resourceBundle"));
+
+        assertIdenticalToPoet(config(TestConstants.TEST_PACKAGE_NAME, "String"), generator -> {
+            generator.addPublicConstantString("CONSTANT", "value");
+            args.forEach(generator::addPrivateFinalField);
+            generator.addConstructorWithArgs(args);
+        });
+    }
+
+    @Test
+    public void randomClassesAreIdenticalToPoet() throws IOException {
+        // given
+        var random = new Random(17);
+        List<Type> types = List.of(String.class, BigDecimal.class, int.class, Object[].class, ResourceBundle.class);
+
+        for (int run = 0; run < 20; run++) {
+            List<String> values = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                values.add(randomString(random));
+            }
+            List<ClassGeneratorVariable> args = new ArrayList<>();
+            for (int i = 0; i < random.nextInt(8); i++) {
+                args.add(new ClassGeneratorVariable(types.get(random.nextInt(types.size())),
+                        "v" + i + "x".repeat(random.nextInt(40))));
+            }
+
+            // when / then
+            assertIdenticalToPoet(config(TestConstants.TEST_PACKAGE_NAME, "C" + "c".repeat(random.nextInt(60))),
+                    generator -> {
+                        for (int i = 0; i < values.size(); i++) {
+                            generator.addPublicConstantString("CONSTANT_" + i, values.get(i));
+                        }
+                        args.forEach(generator::addPrivateFinalField);
+                        generator.addConstructorWithArgs(args);
+                    });
+        }
+    }
+
+    @Test
+    public void unchangedFileIsNotRewritten() throws IOException {
+        // given
+        ClassGeneratorConfig config = config(TestConstants.TEST_PACKAGE_NAME, TestConstants.TEST_CLASS_NAME);
+        WriteResult first = new StreamingClassGenerator(config)
+                .addPublicConstantString("CONSTANT", "value")
+                .write(tmpDir);
+        FileTime lastModified = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(first.path(), lastModified);
+
+        // when
+        WriteResult second = new StreamingClassGenerator(config)
+                .addPublicConstantString("CONSTANT", "value")
+                .write(tmpDir);
+        WriteResult third = new StreamingClassGenerator(config)
+                .addPublicConstantString("CONSTANT", "changed")
+                .write(tmpDir);
+
+        // then
+        assertThat(first.written()).isTrue();
+        assertThat(second.written()).isFalse();
+        assertThat(third.written()).isTrue();
+        assertThat(third.bytes()).isEqualTo(Files.size(third.path()));
+        assertThat(Files.readString(third.path(), StandardCharsets.UTF_8)).contains("\"changed\"");
+        try (var files = Files.list(third.path().getParent())) {
+            assertThat(files).containsExactly(third.path());
+        }
+    }
+
+    @Test
+    public void membersMustBeAddedInOrder() throws IOException {
+        // given
+        ClassGeneratorConfig config = config(TestConstants.TEST_PACKAGE_NAME, TestConstants.TEST_CLASS_NAME);
+
+        try (var generator = new StreamingClassGenerator(config)) {
+            generator.addPrivateFinalField(new ClassGeneratorVariable(String.class, "field"));
+
+            // when / then
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(() -> generator.addPublicConstantString("CONSTANT", "value"))
+                    .withMessage("Unable to add a constant after a field");
+        }
+    }
+
+    @Test
+    public void memberNamesDoNotDependOnTheDefaultLocale() throws IOException {
+        // given
+        ClassGeneratorConfig config = config(TestConstants.TEST_PACKAGE_NAME, TestConstants.TEST_CLASS_NAME);
+        Locale defaultLocale = Locale.getDefault();
+
+        try (var generator = new StreamingClassGenerator(config)) {
+            Locale.setDefault(new Locale("tr", "TR"));
+            generator.addPrivateFinalField(new ClassGeneratorVariable(String.class, "field"));
+
+            // when / then
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(() -> generator.addPublicConstantString("CONSTANT", "value"))
+                    .withMessage("Unable to add a constant after a field");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void invalidNamesAndTypesAreRejected() throws IOException {
+        // given
+        ClassGeneratorConfig config = config(TestConstants.TEST_PACKAGE_NAME, TestConstants.TEST_CLASS_NAME);
+        Type parameterizedType = new Object() {
+            List<String> field;
+        }.getClass().getDeclaredFields()[0].getGenericType();
+
+        try (var generator = new StreamingClassGenerator(config)) {
+            // when / then
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> generator.addPublicConstantString("1_INVALID", "value"))
+                    .withMessage("not a valid name: 1_INVALID");
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> generator.addPrivateFinalField(
+                            new ClassGeneratorVariable(parameterizedType, "field")));
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new StreamingClassGenerator(config(TestConstants.TEST_PACKAGE_NAME, "class")));
+        }
+    }
+
+    @Test
+    public void closedGeneratorCannotBeUsed() throws IOException {
+        // given
+        var generator = new StreamingClassGenerator(
+                config(TestConstants.TEST_PACKAGE_NAME, TestConstants.TEST_CLASS_NAME));
+        generator.addPublicConstantString("CONSTANT", "value");
+
+        // when
+        generator.close();
+
+        // then
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> generator.write(tmpDir));
+        assertThat(tmpDir).isEmptyDirectory();
+    }
+
+    private static ClassGeneratorConfig config(String packageName, String className) {
+        return ClassGeneratorConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .packageName(packageName)
+                .className(className)
+                .reproducible(true)
+                .build();
+    }
+
+    private void assertIdenticalToPoet(ClassGeneratorConfig config, Consumer<ClassGenerator> action)
+            throws IOException {
+        ClassGenerator poetGenerator = new PoetClassGenerator(config);
+        action.accept(poetGenerator);
+        Path poetFile = poetGenerator.write(tmpDir.resolve("poet")).path();
+
+        try (ClassGenerator streamingGenerator = new ClassGeneratorFactory().getGenerator(ClassGeneratorConfig.builder()
+                .generatedBy(config.generatedBy())
+                .packageName(config.packageName())
+                .className(config.className())
+                .constantsInterface(config.constantsInterface())
+                .interfaceNames(config.interfaceNames())
+                .reproducible(config.reproducible())
+                .backend(GeneratorBackend.STREAMING)
+                .build())) {
+            action.accept(streamingGenerator);
+            Path streamingFile = streamingGenerator.write(tmpDir.resolve("streaming")).path();
+
+            assertThat(streamingGenerator).isInstanceOf(StreamingClassGenerator.class);
+            assertThat(Files.readString(streamingFile, StandardCharsets.UTF_8))
+                    .isEqualTo(Files.readString(poetFile, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String randomString(Random random) {
+        String alphabet = "abc XYZ\"\\'\n\t\r\u0000\u00e9\u2028{}$";
+        var value = new StringBuilder();
+        for (int i = random.nextInt(150); i > 0; i--) {
+            value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package com.jgazula.easyresources.core.internal.concurrent;
+
+import com.jgazula.easyresources.core.util.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+public class TaskRunnerTests {
+
+    @Test
+    void invalidParallelismIsRejected() {
+        assertThatExceptionOfType(ValidationException.class).isThrownBy(() -> TaskRunner.create(null, 0));
+    }
+
+    @Test
+    void allTasksAreRunSequentially() throws IOException {
+        // given
+        var counter = new AtomicInteger();
+        var callerThread = Thread.currentThread();
+        TaskRunner.Task task = () -> {
+            assertThat(Thread.currentThread()).isSameAs(callerThread);
+            counter.incrementAndGet();
+        };
+
+        // when
+        try (var taskRunner = TaskRunner.create(null, 1)) {
+            taskRunner.runAll(List.of(task, task, task));
+        }
+
+        // then
+        assertThat(counter).hasValue(3);
+    }
+
+    @Test
+    void tasksAreRunConcurrently() throws IOException {
+        // given
+        int parallelism = 3;
+        var latch = new CountDownLatch(parallelism);
+        TaskRunner.Task task = () -> {
+            latch.countDown();
+            try {
+                // only completes if all tasks are running at the same time
+                assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        };
+
+        // when
+        try (var taskRunner = TaskRunner.create(null, parallelism)) {
+            taskRunner.runAll(List.of(task, task, task));
+        }
+
+        // then
+        assertThat(latch.getCount()).isZero();
+    }
+
+    @Test
+    void providedExecutorIsUsed() throws IOException {
+        // given
+        var executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "provided-executor"));
+        var threadNames = new ConcurrentLinkedQueue<String>();
+        TaskRunner.Task task = () -> threadNames.add(Thread.currentThread().getName());
+
+        // when
+        try (var taskRunner = TaskRunner.create(executor, 4)) {
+            taskRunner.runAll(List.of(task, task));
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        assertThat(threadNames).containsOnly("provided-executor");
+    }
+
+    @Test
+    void allFailuresAreAggregated() {
+        // given
+        var counter = new AtomicInteger();
+        TaskRunner.Task failingIO = () -> {
+            counter.incrementAndGet();
+            throw new IOException("first");
+        };
+        TaskRunner.Task succeeding = counter::incrementAndGet;
+        TaskRunner.Task failingValidation = () -> {
+            counter.incrementAndGet();
+            throw new ValidationException("second");
+        };
+
+        // when
+        IOException exception = catchThrowableOfType(() -> {
+            try (var taskRunner = TaskRunner.create(null, 2)) {
+                taskRunner.runAll(List.of(failingIO, succeeding, failingValidation));
+            }
+        }, IOException.class);
+
+        // then
+        assertThat(counter).hasValue(3);
+        assertThat(exception).hasMessage("first");
+        assertThat(exception.getSuppressed()).singleElement()
+                .isInstanceOf(ValidationException.class)
+                .extracting(Throwable::getMessage).isEqualTo("second");
+    }
+
+    @Test
+    void errorsAreRethrown() {
+        // given
+        TaskRunner.Task failing = () -> {
+            throw new AssertionError("error");
+        };
+
+        // when / then
+        assertThatExceptionOfType(AssertionError.class).isThrownBy(() -> {
+            try (var taskRunner = TaskRunner.create(null, 2)) {
+                taskRunner.runAll(List.of(failing));
+            }
+        }).withMessage("error");
+    }
+}
@@ -0,0 +1,262 @@
+package com.jgazula.easyresources.core.internal.generation;
+
+import com.jgazula.easyresources.core.batch.GeneratedOutput;
+import com.jgazula.easyresources.core.internal.properties.ResourceBundleIndex;
+import com.jgazula.easyresources.core.metrics.GenerationListener;
+import com.jgazula.easyresources.core.metrics.GenerationPhase;
+import com.jgazula.easyresources.core.metrics.GenerationReport;
+import com.jgazula.easyresources.core.metrics.OutputMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class GenerationContextTests {
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    void propertiesFileIsLoadedOnce() throws Exception {
+        // given
+        var loads = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        GenerationContext.PropertiesLoader loader = path -> {
+            loads.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return Map.of("key", "value");
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try (var context = new GenerationContext()) {
+            context.reserveProperties(tmpDir.resolve("a.properties"));
+            context.reserveProperties(tmpDir.resolve("a.properties"));
+
+            // when
+            Future<Map<String, String>> first = executor.submit(
+                    () -> context.loadProperties(tmpDir.resolve("a.properties"), loader));
+            started.await();
+            Future<Map<String, String>> second = executor.submit(
+                    () -> context.loadProperties(tmpDir.resolve("sub").resolve("..").resolve("a.properties"), loader));
+            release.countDown();
+
+            // then
+            assertThat(first.get()).containsExactly(Map.entry("key", "value"));
+            assertThat(second.get()).isSameAs(first.get());
+            assertThat(loads).hasValue(1);
+            assertThat(context.propertiesFilesRead()).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void propertiesAreOnlyKeptUntilTheirLastReservedLoad() throws IOException {
+        // given
+        var loads = new AtomicInteger();
+        GenerationContext.PropertiesLoader loader = path -> {
+            loads.incrementAndGet();
+            return Map.of("key", "value");
+        };
+        Path first = tmpDir.resolve("first.properties");
+        Path second = tmpDir.resolve("second.properties");
+
+        try (var context = new GenerationContext()) {
+            context.reserveProperties(first);
+            context.reserveProperties(first);
+            context.reserveProperties(second);
+            context.reserveProperties(second);
+
+            // when
+            context.loadProperties(first, loader);
+            context.loadProperties(first, loader);
+            context.loadProperties(second, loader);
+            context.releaseProperties(second);
+
+            // then
+            assertThat(loads).hasValue(2);
+            context.loadProperties(first, loader);
+            context.loadProperties(second, loader);
+            assertThat(loads).hasValue(4);
+        }
+    }
+
+    @Test
+    void failureToLoadIsReportedToEveryCaller() throws IOException {
+        // given
+        GenerationContext.PropertiesLoader loader = path -> {
+            throw new IOException("unreadable");
+        };
+
+        try (var context = new GenerationContext()) {
+            context.reserveProperties(tmpDir.resolve("a.properties"));
+            context.reserveProperties(tmpDir.resolve("a.properties"));
+
+            // when / then
+            assertThatExceptionOfType(IOException.class)
+                    .isThrownBy(() -> context.loadProperties(tmpDir.resolve("a.properties"), loader))
+                    .withMessage("unreadable");
+            assertThatExceptionOfType(IOException.class)
+                    .isThrownBy(() -> context.loadProperties(tmpDir.resolve("a.properties"), loader))
+                    .withMessage("unreadable");
+        }
+    }
+
+    @Test
+    void runtimeFailureToLoadIsRethrown() throws IOException {
+        // given
+        GenerationContext.PropertiesLoader loader = path -> {
+            throw new IllegalArgumentException("malformed");
+        };
+
+        try (var context = new GenerationContext()) {
+            // when / then
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> context.loadProperties(tmpDir.resolve("a.properties"), loader))
+                    .withMessage("malformed");
+        }
+    }
+
+    @Test
+    void directoriesAreListedOnce() throws IOException {
+        // given
+        Path first = Files.createDirectory(tmpDir.resolve("first"));
+        Path second = Files.createDirectory(tmpDir.resolve("second"));
+        Files.createFile(first.resolve("Messages.properties"));
+        Files.createFile(second.resolve("Labels.properties"));
+
+        List<List<Path>> listings = new ArrayList<>();
+        GenerationContext.BundleIndexer indexer = directories -> {
+            listings.add(List.copyOf(directories));
+            return ResourceBundleIndex.create(directories);
+        };
+
+        try (var context = new GenerationContext()) {
+            // when
+            context.indexResourceBundles(List.of(first, first), indexer);
+            ResourceBundleIndex index = context.indexResourceBundles(List.of(first, second), indexer);
+
+            // then
+            assertThat(listings).containsExactly(List.of(first), List.of(second));
+            assertThat(context.directoriesListed()).isEqualTo(2);
+            assertThat(index.bundleFiles(first, "Messages")).containsExactly(first.resolve("Messages.properties"));
+            assertThat(index.bundleFiles(second, "Labels")).containsExactly(second.resolve("Labels.properties"));
+        }
+    }
+
+    @Test
+    void outputsAreSortedByPath() throws IOException {
+        // given
+        var second = new GeneratedOutput("generator", "b.B", tmpDir.resolve("b/B.java"),
+                GeneratedOutput.Status.GENERATED);
+        var first = new GeneratedOutput("generator", "a.A", tmpDir.resolve("a/A.java"),
+                GeneratedOutput.Status.SKIPPED);
+
+        try (var context = new GenerationContext()) {
+            // when
+            context.record(second);
+            context.record(first);
+
+            // then
+            assertThat(context.outputs()).containsExactly(first, second);
+        }
+    }
+
+    @Test
+    void prunedOutputsAreReportedWithTheirClassNames() throws IOException {
+        // given
+        Path javaFile = Files.createDirectories(tmpDir.resolve("com/x")).resolve("Foo.java");
+        Path classFile = tmpDir.resolve("com/x/Bar.class");
+        Path keptFile = tmpDir.resolve("com/x/Kept.java");
+        Files.writeString(javaFile, "class Foo {}");
+        Files.write(classFile, new byte[] {1});
+        Files.writeString(keptFile, "class Kept {}");
+        try (var context = new GenerationContext()) {
+            context.pruneStaleOutputs(tmpDir, "generator", List.of(javaFile, classFile, keptFile));
+        }
+
+        try (var context = new GenerationContext()) {
+            // when
+            context.pruneStaleOutputs(tmpDir, "generator", List.of(keptFile));
+
+            // then
+            assertThat(context.outputs()).extracting(GeneratedOutput::className)
+                    .containsExactly("com.x.Bar", "com.x.Foo");
+            assertThat(classFile).doesNotExist();
+        }
+    }
+
+    @Test
+    void metricsAreReportedToListeners() throws IOException {
+        // given
+        Path directory = Files.createDirectory(tmpDir.resolve("bundle"));
+        Path input = Files.writeString(directory.resolve("Messages.properties"), "key=value");
+        var output = new GeneratedOutput("generator", "a.A", tmpDir.resolve("a/A.java"),
+                GeneratedOutput.Status.GENERATED);
+        List<OutputMetrics> completed = new ArrayList<>();
+        List<GenerationReport> reports = new ArrayList<>();
+        GenerationListener listener = new GenerationListener() {
+            @Override
+            public void outputCompleted(OutputMetrics metrics) {
+                completed.add(metrics);
+            }
+
+            @Override
+            public void runCompleted(GenerationReport report) {
+                reports.add(report);
+            }
+        };
+
+        try (var context = new GenerationContext(List.of(listener))) {
+            context.indexResourceBundles(List.of(directory), ResourceBundleIndex::create);
+            var recorder = new OutputRecorder();
+            long start = recorder.start();
+            context.loadProperties(input, path -> {
+                recorder.read(path);
+                return Map.of("key", "value");
+            });
+            recorder.stop(GenerationPhase.READ, start);
+            recorder.keys(1);
+            recorder.read(tmpDir.resolve("missing.properties"));
+
+            // when
+            context.record(output, recorder);
+            GenerationReport report = context.complete();
+
+            // then
+            assertThat(completed).singleElement().satisfies(metrics -> {
+                assertThat(metrics.output()).isEqualTo(output);
+                assertThat(metrics.keys()).isEqualTo(1);
+                assertThat(metrics.bytesRead()).isEqualTo(Files.size(input));
+                assertThat(metrics.phaseNanos()).containsOnlyKeys(GenerationPhase.READ);
+            });
+            assertThat(reports).containsExactly(report);
+            assertThat(report.outputs()).isEqualTo(completed);
+            assertThat(report.phaseNanos()).containsOnlyKeys(GenerationPhase.INDEX, GenerationPhase.READ);
+            assertThat(report.phaseNanos(GenerationPhase.READ))
+                    .isEqualTo(completed.get(0).phaseNanos(GenerationPhase.READ));
+            assertThat(report.propertiesFilesRead()).isEqualTo(1);
+            assertThat(report.directoriesListed()).isEqualTo(1);
+            assertThat(report.durationNanos()).isPositive();
+        }
+    }
+}
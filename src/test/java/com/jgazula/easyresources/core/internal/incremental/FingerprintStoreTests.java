@@ -0,0 +1,142 @@
+package com.jgazula.easyresources.core.internal.incremental;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FingerprintStoreTests {
+
+    private static final String GENERATOR_NAME = "test-generator";
+    private static final String OUTPUT_KEY = "com.jgazula.test.TestClass";
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    void missingStoreIsEmpty() throws IOException {
+        // when
+        var store = FingerprintStore.load(tmpDir, GENERATOR_NAME);
+
+        // then
+        assertThat(store.get(OUTPUT_KEY)).isEmpty();
+    }
+
+    @Test
+    void savedFingerprintsAreLoaded() throws IOException {
+        // given
+        var fingerprint = new Fingerprint("config|with,separators", List.of(
+                new InputFingerprint("/some/path,with,commas.properties", 10, 20, "abc"),
+                new InputFingerprint("/some/other.properties", 30, 40, "def")));
+
+        Path output = tmpDir.resolve("com/jgazula/test/TestClass.java");
+
+        var store = FingerprintStore.load(tmpDir, GENERATOR_NAME);
+        store.put(OUTPUT_KEY, fingerprint, List.of(output));
+
+        // when
+        store.save();
+        var loadedStore = FingerprintStore.load(tmpDir, GENERATOR_NAME);
+
+        // then
+        assertThat(loadedStore.get(OUTPUT_KEY)).contains(fingerprint);
+        assertThat(loadedStore.outputs(OUTPUT_KEY)).containsExactly(output.toAbsolutePath().normalize());
+        assertThat(loadedStore.outputs("com.jgazula.test.OtherClass")).isEmpty();
+    }
+
+    @Test
+    void corruptedStoreIsIgnored() throws IOException {
+        // given
+        Files.writeString(tmpDir.resolve(".easy-resources-" + GENERATOR_NAME + ".fingerprints"),
+                "unexpected=value", StandardCharsets.UTF_8);
+
+        // when
+        var store = FingerprintStore.load(tmpDir, GENERATOR_NAME);
+
+        // then
+        assertThat(store.get(OUTPUT_KEY)).isEmpty();
+    }
+
+    @Test
+    void malformedStoreIsIgnored() throws IOException {
+        // given
+        Files.writeString(tmpDir.resolve(".easy-resources-" + GENERATOR_NAME + ".fingerprints"),
+                "key=\\uXYZW", StandardCharsets.UTF_8);
+
+        // when
+        var store = FingerprintStore.load(tmpDir, GENERATOR_NAME);
+
+        // then
+        assertThat(store.get(OUTPUT_KEY)).isEmpty();
+    }
+
+    @Test
+    void storesOfDifferentConfigsAreMerged() throws IOException {
+        // given
+        var fingerprint = new Fingerprint("config", List.of(new InputFingerprint("in.properties", 1, 2, "abc")));
+        var otherFingerprint = new Fingerprint("other", List.of(new InputFingerprint("other.properties", 3, 4, "d")));
+        var store = FingerprintStore.load(tmpDir, GENERATOR_NAME);
+        var otherStore = FingerprintStore.load(tmpDir, GENERATOR_NAME);
+        store.put(OUTPUT_KEY, fingerprint, List.of());
+        otherStore.put("com.jgazula.test.OtherClass", otherFingerprint, List.of());
+
+        // when
+        store.save();
+        otherStore.save();
+        var loadedStore = FingerprintStore.load(tmpDir, GENERATOR_NAME);
+
+        // then
+        assertThat(loadedStore.get(OUTPUT_KEY)).contains(fingerprint);
+        assertThat(loadedStore.get("com.jgazula.test.OtherClass")).contains(otherFingerprint);
+    }
+
+    @Test
+    void upToDateOnlyWhenAllOutputsExist() throws IOException {
+        // given
+        var fingerprint = new Fingerprint("config", List.of(new InputFingerprint("in.properties", 1, 2, "abc")));
+        var store = FingerprintStore.load(tmpDir, GENERATOR_NAME);
+        Path output = tmpDir.resolve("TestClass.java");
+        Path shard = tmpDir.resolve("TestClassShard1.java");
+        store.put(OUTPUT_KEY, fingerprint, List.of(shard, output));
+
+        // when and then
+        assertThat(store.isUpToDate(OUTPUT_KEY, fingerprint)).isFalse();
+        Files.createFile(output);
+        assertThat(store.isUpToDate(OUTPUT_KEY, fingerprint)).isFalse();
+        Files.createFile(shard);
+        assertThat(store.isUpToDate(OUTPUT_KEY, fingerprint)).isTrue();
+    }
+
+    @Test
+    void outputWithoutFilesIsNeverUpToDate() throws IOException {
+        // given
+        var fingerprint = new Fingerprint("config", List.of(new InputFingerprint("in.properties", 1, 2, "abc")));
+        var store = FingerprintStore.load(tmpDir, GENERATOR_NAME);
+        store.put(OUTPUT_KEY, fingerprint, List.of());
+
+        // when and then
+        assertThat(store.isUpToDate(OUTPUT_KEY, fingerprint)).isFalse();
+        assertThat(store.isUpToDate("com.jgazula.test.OtherClass", fingerprint)).isFalse();
+    }
+
+    @Test
+    void touchedInputIsStillUpToDate() throws IOException {
+        // given
+        var fingerprint = new Fingerprint("config", List.of(new InputFingerprint("in.properties", 1, 2, "abc")));
+        var touched = new Fingerprint("config", List.of(new InputFingerprint("in.properties", 1, 3, "abc")));
+        var changed = new Fingerprint("config", List.of(new InputFingerprint("in.properties", 1, 3, "abd")));
+        var store = FingerprintStore.load(tmpDir, GENERATOR_NAME);
+        Path output = Files.createFile(tmpDir.resolve("TestClass.java"));
+        store.put(OUTPUT_KEY, fingerprint, List.of(output));
+
+        // when and then
+        assertThat(store.isUpToDate(OUTPUT_KEY, touched)).isTrue();
+        assertThat(store.isUpToDate(OUTPUT_KEY, changed)).isFalse();
+    }
+}
@@ -0,0 +1,125 @@
+package com.jgazula.easyresources.core.internal.incremental;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FingerprinterTests {
+
+    private static final String CONFIG = "config";
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    void sameContentProducesMatchingFingerprint() throws IOException {
+        // given
+        Path input = tmpDir.resolve("in.properties");
+        Files.writeString(input, "key=value", StandardCharsets.UTF_8);
+        var fingerprinter = new Fingerprinter();
+
+        // when
+        var first = fingerprinter.fingerprint(CONFIG, List.of(input), Optional.empty());
+        var second = fingerprinter.fingerprint(CONFIG, List.of(input), Optional.empty());
+
+        // then
+        assertThat(first.matches(second)).isTrue();
+        assertThat(first.inputs()).singleElement()
+                .satisfies(inputFingerprint -> assertThat(inputFingerprint.size()).isEqualTo(9));
+    }
+
+    @Test
+    void changedContentProducesDifferentFingerprint() throws IOException {
+        // given
+        Path input = tmpDir.resolve("in.properties");
+        Files.writeString(input, "key=value", StandardCharsets.UTF_8);
+        var fingerprinter = new Fingerprinter();
+        var first = fingerprinter.fingerprint(CONFIG, List.of(input), Optional.empty());
+
+        // when
+        Files.writeString(input, "key=other", StandardCharsets.UTF_8);
+        var second = fingerprinter.fingerprint(CONFIG, List.of(input), Optional.of(first));
+
+        // then
+        assertThat(first.matches(second)).isFalse();
+    }
+
+    @Test
+    void changedConfigProducesDifferentFingerprint() throws IOException {
+        // given
+        Path input = tmpDir.resolve("in.properties");
+        Files.writeString(input, "key=value", StandardCharsets.UTF_8);
+        var fingerprinter = new Fingerprinter();
+
+        // when
+        var first = fingerprinter.fingerprint(CONFIG, List.of(input), Optional.empty());
+        var second = fingerprinter.fingerprint("other-config", List.of(input), Optional.empty());
+
+        // then
+        assertThat(first.matches(second)).isFalse();
+    }
+
+    @Test
+    void hashIsReusedWhenSizeAndModifiedTimeMatch() throws IOException {
+        // given
+        Path input = tmpDir.resolve("in.properties");
+        Files.writeString(input, "key=value", StandardCharsets.UTF_8);
+        var fingerprinter = new Fingerprinter();
+        var actual = fingerprinter.fingerprint(CONFIG, List.of(input), Optional.empty());
+        var previousInput = actual.inputs().get(0);
+        var previous = new Fingerprint(CONFIG, List.of(new InputFingerprint(previousInput.path(),
+                previousInput.size(), previousInput.lastModified(), "previous-hash")));
+
+        // when
+        var fingerprint = fingerprinter.fingerprint(CONFIG, List.of(input), Optional.of(previous));
+
+        // then
+        assertThat(fingerprint.inputs().get(0).contentHash()).isEqualTo("previous-hash");
+    }
+
+    @Test
+    void cacheKeyDoesNotDependOnLocation() throws IOException {
+        // given
+        Path first = Files.writeString(Files.createDirectory(tmpDir.resolve("first")).resolve("in.properties"),
+                "key=value", StandardCharsets.UTF_8);
+        Path second = Files.writeString(Files.createDirectory(tmpDir.resolve("second")).resolve("in.properties"),
+                "key=value", StandardCharsets.UTF_8);
+        var fingerprinter = new Fingerprinter();
+
+        // when
+        var firstKey = fingerprinter.cacheKey(
+                List.of(fingerprinter.fingerprint(CONFIG, List.of(first), Optional.empty())));
+        var secondKey = fingerprinter.cacheKey(
+                List.of(fingerprinter.fingerprint(CONFIG, List.of(second), Optional.empty())));
+
+        // then
+        assertThat(firstKey).isEqualTo(secondKey).hasSize(64);
+    }
+
+    @Test
+    void cacheKeyChangesWithContent() throws IOException {
+        // given
+        Path input = Files.writeString(tmpDir.resolve("in.properties"), "key=value", StandardCharsets.UTF_8);
+        var fingerprinter = new Fingerprinter();
+        var first = fingerprinter.cacheKey(
+                List.of(fingerprinter.fingerprint(CONFIG, List.of(input), Optional.empty())));
+
+        // when
+        Files.writeString(input, "key=other", StandardCharsets.UTF_8);
+        var second = fingerprinter.cacheKey(
+                List.of(fingerprinter.fingerprint(CONFIG, List.of(input), Optional.empty())));
+
+        // then
+        assertThat(first).isNotEqualTo(second);
+        assertThat(fingerprinter.combineCacheKeys(List.of(first, second)))
+                .isNotEqualTo(fingerprinter.combineCacheKeys(List.of(second, first)));
+    }
+}
@@ -0,0 +1,109 @@
+package com.jgazula.easyresources.core.internal.incremental;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OutputManifestTests {
+
+    private static final String GENERATOR_NAME = "test";
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    void staleOutputsAndEmptyDirectoriesAreDeleted() throws IOException {
+        // given
+        Path kept = write(tmpDir.resolve("com/jgazula/kept/Kept.java"));
+        Path stale = write(tmpDir.resolve("com/jgazula/stale/Stale.java"));
+        OutputManifest.pruneAndUpdate(tmpDir, GENERATOR_NAME, List.of(kept, stale));
+
+        // when
+        List<Path> deleted = OutputManifest.pruneAndUpdate(tmpDir, GENERATOR_NAME, List.of(kept));
+
+        // then
+        assertThat(deleted).containsExactly(stale.toAbsolutePath().normalize());
+        assertThat(kept).isRegularFile();
+        assertThat(tmpDir.resolve("com/jgazula/stale")).doesNotExist();
+        assertThat(tmpDir.resolve("com/jgazula")).isDirectory();
+        assertThat(tmpDir.resolve(".easy-resources-test.manifest")).content(StandardCharsets.UTF_8)
+                .isEqualTo("com/jgazula/kept/Kept.java\n");
+    }
+
+    @Test
+    void nothingIsDeletedWithoutPreviousManifest() throws IOException {
+        // given
+        Path unrelated = write(tmpDir.resolve("Unrelated.java"));
+
+        // when
+        List<Path> deleted = OutputManifest.pruneAndUpdate(tmpDir, GENERATOR_NAME, List.of());
+
+        // then
+        assertThat(deleted).isEmpty();
+        assertThat(unrelated).isRegularFile();
+    }
+
+    @Test
+    void entriesOutsideDestinationDirectoryAreIgnored() throws IOException {
+        // given
+        Path destinationDir = Files.createDirectory(tmpDir.resolve("dest"));
+        Path outside = write(tmpDir.resolve("Outside.java"));
+        Path kept = write(destinationDir.resolve("Kept.java"));
+        Files.writeString(destinationDir.resolve(".easy-resources-test.manifest"), "../Outside.java\nKept.java\n\n",
+                StandardCharsets.UTF_8);
+
+        // when
+        List<Path> deleted = OutputManifest.pruneAndUpdate(destinationDir, GENERATOR_NAME, List.of(kept));
+
+        // then
+        assertThat(deleted).isEmpty();
+        assertThat(outside).isRegularFile();
+    }
+
+    @Test
+    void outputsOfOtherConfigsAreKept() throws IOException {
+        // given
+        Path first = write(tmpDir.resolve("com/jgazula/a/First.java"));
+        Path removed = write(tmpDir.resolve("com/jgazula/a/Removed.java"));
+        Path other = write(tmpDir.resolve("com/jgazula/b/Other.java"));
+        OutputManifest.pruneAndUpdate(tmpDir, GENERATOR_NAME, List.of(first, removed));
+
+        // when
+        List<Path> otherDeleted = OutputManifest.pruneAndUpdate(tmpDir, GENERATOR_NAME, List.of(other));
+        List<Path> deleted = OutputManifest.pruneAndUpdate(tmpDir, GENERATOR_NAME, List.of(first));
+
+        // then
+        assertThat(otherDeleted).isEmpty();
+        assertThat(deleted).containsExactly(removed.toAbsolutePath().normalize());
+        assertThat(first).isRegularFile();
+        assertThat(other).isRegularFile();
+        assertThat(tmpDir.resolve(".easy-resources-test.manifest")).content(StandardCharsets.UTF_8)
+                .isEqualTo("com/jgazula/b/Other.java\n\ncom/jgazula/a/First.java\n");
+    }
+
+    @Test
+    void nothingIsDeletedWithoutOutputs() throws IOException {
+        // given
+        Path generated = write(tmpDir.resolve("Generated.java"));
+        OutputManifest.pruneAndUpdate(tmpDir, GENERATOR_NAME, List.of(generated));
+
+        // when
+        List<Path> deleted = OutputManifest.pruneAndUpdate(tmpDir, GENERATOR_NAME, List.of());
+
+        // then
+        assertThat(deleted).isEmpty();
+        assertThat(generated).isRegularFile();
+    }
+
+    private static Path write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, "class Generated {}", StandardCharsets.UTF_8);
+    }
+}
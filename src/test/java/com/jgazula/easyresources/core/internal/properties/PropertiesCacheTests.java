@@ -0,0 +1,164 @@
+package com.jgazula.easyresources.core.internal.properties;
+
+import com.jgazula.easyresources.core.util.PropertiesCacheStats;
+import com.jgazula.easyresources.core.util.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class PropertiesCacheTests {
+
+    @TempDir
+    Path tmpDir;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void unchangedFileIsLoadedOnce() throws IOException {
+        // given
+        var cache = new PropertiesCache(PropertiesCache.DEFAULT_MAXIMUM_WEIGHT);
+        Path file = write("a.properties", "key=value");
+
+        // when
+        Map<String, String> first = cache.get(file, this::load);
+        Map<String, String> second = cache.get(file, this::load);
+
+        // then
+        assertThat(loads).hasValue(1);
+        assertThat(second).isSameAs(first).containsExactly(Map.entry("key", "value"));
+        assertThat(cache.stats()).isEqualTo(new PropertiesCacheStats(1, 1, 0, 1, 144));
+        assertThat(cache.stats().hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void changedFileIsLoadedAgain() throws IOException {
+        // given
+        var cache = new PropertiesCache(PropertiesCache.DEFAULT_MAXIMUM_WEIGHT);
+        Path file = write("a.properties", "key=value");
+        cache.get(file, this::load);
+
+        // when
+        write("a.properties", "key=other");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+        Map<String, String> properties = cache.get(file, this::load);
+
+        // then
+        assertThat(loads).hasValue(2);
+        assertThat(properties).containsExactly(Map.entry("key", "other"));
+        assertThat(cache.stats().entries()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void leastRecentlyUsedFileIsEvicted() throws IOException {
+        // given
+        // every file weighs 144 bytes: 48 for its property, 40 for each string and 2 for each of 8 characters
+        var cache = new PropertiesCache(300);
+        Path a = write("a.properties", "key=aaaaa");
+        Path b = write("b.properties", "key=bbbbb");
+        Path c = write("c.properties", "key=ccccc");
+        cache.get(a, this::load);
+        cache.get(b, this::load);
+        cache.get(a, this::load);
+
+        // when
+        cache.get(c, this::load);
+        cache.get(a, this::load);
+        cache.get(b, this::load);
+
+        // then
+        assertThat(loads).hasValue(4);
+        assertThat(cache.stats().evictions()).isEqualTo(2);
+        assertThat(cache.stats().entries()).isEqualTo(2);
+        assertThat(cache.stats().weight()).isEqualTo(288);
+    }
+
+    @Test
+    void fileLargerThanCacheIsNotCached() throws IOException {
+        // given
+        var cache = new PropertiesCache(100);
+        Path file = write("a.properties", "key=value");
+
+        // when
+        cache.get(file, this::load);
+        cache.get(file, this::load);
+
+        // then
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats().entries()).isZero();
+    }
+
+    @Test
+    void cachedPropertiesCannotBeModified() throws IOException {
+        // given
+        var cache = new PropertiesCache(PropertiesCache.DEFAULT_MAXIMUM_WEIGHT);
+        Path file = write("a.properties", "key=value");
+
+        // when
+        Map<String, String> properties = cache.get(file, this::load);
+
+        // then
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> properties.put("a", "b"));
+    }
+
+    @Test
+    void clearRemovesFilesAndStatistics() throws IOException {
+        // given
+        var cache = new PropertiesCache(PropertiesCache.DEFAULT_MAXIMUM_WEIGHT);
+        Path file = write("a.properties", "key=value");
+        cache.get(file, this::load);
+
+        // when
+        cache.clear();
+
+        // then
+        assertThat(cache.stats()).isEqualTo(new PropertiesCacheStats(0, 0, 0, 0, 0));
+        assertThat(cache.stats().hitRate()).isZero();
+    }
+
+    @Test
+    void negativeMaximumWeightIsRejected() {
+        assertThatExceptionOfType(ValidationException.class).isThrownBy(() -> new PropertiesCache(-1));
+    }
+
+    @Test
+    void readerLoadsThroughCache() throws IOException {
+        // given
+        var cache = new PropertiesCache(PropertiesCache.DEFAULT_MAXIMUM_WEIGHT);
+        var reader = new CachingPropertiesReader(PropertiesFileParser.DEFAULT_PARALLEL_THRESHOLD, cache);
+        Path file = write("a.properties", "key=value");
+
+        // when
+        reader.loadProperties(file);
+        Map<String, String> properties = reader.loadProperties(file);
+
+        // then
+        assertThat(properties).containsExactly(Map.entry("key", "value"));
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void sharedCacheIsUsedForCurrentStatistics() {
+        assertThat(PropertiesCacheStats.current()).isEqualTo(PropertiesCache.shared().stats());
+    }
+
+    private Path write(String fileName, String content) throws IOException {
+        return Files.writeString(tmpDir.resolve(fileName), content, StandardCharsets.UTF_8);
+    }
+
+    private Map<String, String> load(Path path) throws IOException {
+        loads.incrementAndGet();
+        return new PropertiesFileParser().parse(path);
+    }
+}
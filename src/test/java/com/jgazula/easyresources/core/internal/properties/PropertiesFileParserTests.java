@@ -0,0 +1,284 @@
+package com.jgazula.easyresources.core.internal.properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class PropertiesFileParserTests {
+
+    private static final String PROPERTIES_FILE_NAME = "my_properties.properties";
+
+    // fragments which are combined randomly to exercise the corner cases of the format
+    private static final String[] FRAGMENTS = {
+        "a", "b", "key", "value", " ", "  ", "\t", "\f", "=", ":", "#", "!", "\\", "\\\\", "\n", "\r", "\r\n",
+        "\\u0041", "\\u00e9", "\\uD83D\\uDE00", "\\t", "\\n", "\\ ", "\\=", "\\:", "\\#", "é", "😀", "x=y\n"
+    };
+
+    @TempDir
+    Path tmpDir;
+
+    private final PropertiesFileParser parser = new PropertiesFileParser();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "",
+        "key=value",
+        "key = value",
+        "key:value",
+        "key value",
+        "key\tvalue",
+        "key\fvalue",
+        "   key=value   ",
+        "key==value",
+        "key=:value",
+        "key :=value",
+        "key",
+        "key=",
+        "=value",
+        ":value",
+        "# comment\nkey=value",
+        "! comment\nkey=value",
+        "   # indented comment\nkey=value",
+        "key=value # not a comment",
+        "# comment \\\nkey=value",
+        "key=first\\\n   second",
+        "key=first\\\r\n   second",
+        "key=first\\\r   second",
+        "key=first\\\n\n   second",
+        "key=first\\\\\nsecond=value",
+        "key=first\\\\\\\nsecond",
+        "key=first\\",
+        "key=first\\\\",
+        "ke\\\n  y=value",
+        "\\\n#key=value",
+        "key=first\\\n#second",
+        "my\\ key=value",
+        "my\\=key=value",
+        "my\\:key=value",
+        "\\#key=value",
+        "key=\\t\\r\\n\\f\\a\\\\",
+        "key=\\u0041\\u00e9\\u00E9",
+        "\\u006B\\u0065\\u0079=value",
+        "key=\\uD83D\\uDE00",
+        "key=é😀",
+        "key=first\nkey=second",
+        "a=1\r\nb=2\rc=3\n\n\nd=4",
+        "\n\n   \n\t\nkey=value\n\n",
+    })
+    void sameAsPropertiesLoad(String content) throws IOException {
+        assertThat(parse(content)).isEqualTo(load(content));
+    }
+
+    @Test
+    void randomContentIsParsedTheSameAsPropertiesLoad() throws IOException {
+        var random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            var content = new StringBuilder();
+            int fragments = random.nextInt(30);
+            for (int j = 0; j < fragments; j++) {
+                content.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+
+            assertThat(parse(content.toString()))
+                    .as("content %s", content)
+                    .isEqualTo(load(content.toString()));
+        }
+    }
+
+    @Test
+    void randomContentIsParsedTheSameInChunks() throws IOException {
+        var random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            var content = new StringBuilder();
+            int fragments = random.nextInt(200);
+            for (int j = 0; j < fragments; j++) {
+                content.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            char[] chars = content.toString().toCharArray();
+            Map<String, String> sequential = new LinkedHashMap<>();
+            PropertiesFileParser.parse(chars, 0, chars.length, sequential::put);
+
+            for (int chunks = 2; chunks <= 8; chunks++) {
+                Map<String, String> chunked = new LinkedHashMap<>();
+                PropertiesFileParser.parseInChunks(chars, chars.length, chunks, chunked::put);
+
+                assertThat(chunked)
+                        .as("content %s in %d chunks", content, chunks)
+                        .containsExactlyEntriesOf(sequential)
+                        .isEqualTo(load(content.toString()));
+            }
+        }
+    }
+
+    @Test
+    void chunksStartAtLogicalLines() {
+        assertThat(nextLogicalLineStart("a=1\nb=2", 0)).isEqualTo(4);
+        assertThat(nextLogicalLineStart("a=1\r\nb=2", 0)).isEqualTo(5);
+        assertThat(nextLogicalLineStart("a=1\r\nb=2", 4)).isEqualTo(5);
+        assertThat(nextLogicalLineStart("a=1\rb=2", 0)).isEqualTo(4);
+        assertThat(nextLogicalLineStart("a=1\\\nb=2\nc=3", 0)).isEqualTo(9);
+        assertThat(nextLogicalLineStart("a=1\\\r\nb=2\r\nc=3", 0)).isEqualTo(11);
+        assertThat(nextLogicalLineStart("a=1\\\\\nb=2", 0)).isEqualTo(6);
+        assertThat(nextLogicalLineStart("a=1\\\n", 0)).isEqualTo(5);
+        assertThat(nextLogicalLineStart("a=1", 0)).isEqualTo(3);
+    }
+
+    @Test
+    void chunksNeverSplitContinuedLines() {
+        // given
+        char[] chars = "a=1\\\n\\\n\\\n\\\n\\\nb=2\nc=3\nd=4".toCharArray();
+
+        // when
+        int[] boundaries = PropertiesFileParser.chunkBoundaries(chars, chars.length, 8);
+
+        // then
+        assertThat(boundaries).containsExactly(0, 17, 21, chars.length);
+    }
+
+    @Test
+    void errorInLaterChunkIsReportedWithPositionInFile() {
+        // given
+        var content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append("key.").append(i).append("=value\n");
+        }
+        content.append("invalid=\\u12\n");
+        for (int i = 0; i < 100; i++) {
+            content.append("other.").append(i).append("=value\n");
+        }
+        char[] chars = content.toString().toCharArray();
+
+        // when and then
+        assertThatExceptionOfType(PropertiesParseException.class)
+                .isThrownBy(() -> PropertiesFileParser.parseInChunks(chars, chars.length, 4, (key, value) -> { }))
+                .satisfies(e -> {
+                    assertThat(e.line()).isEqualTo(101);
+                    assertThat(e.column()).isEqualTo(9);
+                });
+    }
+
+    @Test
+    void fileAboveThresholdIsParsedInParallel() throws IOException {
+        // given
+        var content = new StringBuilder();
+        Map<String, String> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            content.append("key.").append(i % 60_000).append("=first \\\n   second ").append(i).append('\n');
+            expected.put("key." + (i % 60_000), "first second " + i);
+        }
+        Path propertiesFile = tmpDir.resolve(PROPERTIES_FILE_NAME);
+        Files.writeString(propertiesFile, content, StandardCharsets.UTF_8);
+
+        // when
+        Map<String, String> result = new PropertiesFileParser(1).parse(propertiesFile);
+
+        // then
+        assertThat(result).containsExactlyEntriesOf(expected);
+    }
+
+    @Test
+    void propertiesAreReportedInFileOrder() {
+        // given
+        List<String> keys = new ArrayList<>();
+
+        // when
+        PropertiesFileParser.parse("c=3\na=1\nb=2\na=4".toCharArray(), 0, 15, (key, value) -> keys.add(key));
+
+        // then
+        assertThat(keys).containsExactly("c", "a", "b", "a");
+    }
+
+    @Test
+    void malformedUnicodeEscapeIsReportedWithPosition() throws IOException {
+        // given
+        Path propertiesFile = tmpDir.resolve(PROPERTIES_FILE_NAME);
+        Files.writeString(propertiesFile, "# comment\nfirst=value\r\nsecond=a\\\n   b\\u00G1", StandardCharsets.UTF_8);
+
+        // when and then
+        assertThatExceptionOfType(PropertiesParseException.class)
+                .isThrownBy(() -> parser.parse(propertiesFile))
+                .withMessageContaining(propertiesFile.toString())
+                .satisfies(e -> {
+                    assertThat(e.line()).isEqualTo(4);
+                    assertThat(e.column()).isEqualTo(5);
+                });
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> load("key=\\u00G1"));
+    }
+
+    @Test
+    void truncatedUnicodeEscapeIsRejected() {
+        assertThatExceptionOfType(PropertiesParseException.class)
+                .isThrownBy(() -> parse("key=\\u00"))
+                .satisfies(e -> {
+                    assertThat(e.line()).isEqualTo(1);
+                    assertThat(e.column()).isEqualTo(5);
+                });
+    }
+
+    @Test
+    void largeFileIsDecodedAcrossBufferBoundaries() throws IOException {
+        // given
+        var content = new StringBuilder();
+        Map<String, String> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            content.append("key.").append(i).append("=välue ").append(i).append(" 😀\n");
+            expected.put("key." + i, "välue " + i + " 😀");
+        }
+        Path propertiesFile = tmpDir.resolve(PROPERTIES_FILE_NAME);
+        Files.writeString(propertiesFile, content, StandardCharsets.UTF_8);
+
+        // when
+        Map<String, String> result = parser.parse(propertiesFile);
+
+        // then
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void malformedUtf8IsRejected() throws IOException {
+        // given
+        Path propertiesFile = tmpDir.resolve(PROPERTIES_FILE_NAME);
+        Files.write(propertiesFile, new byte[] {'k', '=', (byte) 0xC3, '('});
+
+        // when and then
+        assertThatExceptionOfType(MalformedInputException.class)
+                .isThrownBy(() -> parser.parse(propertiesFile));
+    }
+
+    private static int nextLogicalLineStart(String content, int from) {
+        return PropertiesFileParser.nextLogicalLineStart(content.toCharArray(), from, content.length());
+    }
+
+    private static Map<String, String> parse(String content) {
+        Map<String, String> properties = new HashMap<>();
+        char[] chars = content.toCharArray();
+        PropertiesFileParser.parse(chars, 0, chars.length, properties::put);
+        return properties;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map<String, String> load(String content) throws IOException {
+        var properties = new Properties();
+        properties.load(new StringReader(content));
+        return new HashMap<>((Map) properties);
+    }
+}
@@ -1,8 +1,14 @@
 package com.jgazula.easyresources.core.internal.properties;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -80,4 +86,143 @@ public class PropertiesParserTests {
         assertThat(parser.keyToMethodName(OTHER_CHARS_PROPERTY_KEY))
                 .isEqualTo(OTHER_CHARS_PROPERTY_KEY_METHOD_NAME);
     }
+
+    @Test
+    void keysAreConvertedTheSameAsWithRegex() {
+        var random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            String key = randomKey(random);
+            assertSameAsRegex(key);
+        }
+    }
+
+    @Test
+    void keysAreConvertedTheSameAsWithRegexInTurkishLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr", "TR"));
+            assertThat(parser.keyToStaticFinalVariable("title.id")).isEqualTo("T\u0130TLE_\u0130D");
+
+            var random = new Random(7);
+            for (int i = 0; i < 1_000; i++) {
+                assertSameAsRegex(randomKey(random));
+            }
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void supplementaryCharacterIsOneSeparator() {
+        assertThat(parser.keyToStaticFinalVariable("my\uD83D\uDE00key")).isEqualTo("MY_KEY");
+        assertThat(parser.keyToMethodName("my\uD83D\uDE00key")).isEqualTo("myKey");
+    }
+
+    @Test
+    void keysWithoutWordsAreRejectedAsMethodNames() {
+        assertThatIllegalArgumentException().isThrownBy(() -> parser.keyToMethodName("..."));
+        assertThatIllegalArgumentException().isThrownBy(() -> parser.keyToMethodName("my..key"));
+    }
+
+    @Test
+    void batchConversionKeepsOrderAndInternsResults() {
+        // when
+        List<String> variables = parser.keysToStaticFinalVariables(List.of("my.key", "other", "my-key"));
+        List<String> methodNames = parser.keysToMethodNames(List.of("my.key", "other", "my-key"));
+
+        // then
+        assertThat(variables).containsExactly("MY_KEY", "OTHER", "MY_KEY");
+        assertThat(variables.get(2)).isSameAs(variables.get(0));
+        assertThat(methodNames).containsExactly("myKey", "other", "myKey");
+        assertThat(methodNames.get(2)).isSameAs(methodNames.get(0));
+    }
+
+    @Test
+    void batchConversionReportsInvalidKey() {
+        assertThatExceptionOfType(InvalidPropertyKeyException.class)
+                .isThrownBy(() -> parser.keysToMethodNames(List.of("valid", "in..valid")))
+                .satisfies(e -> assertThat(e.key()).isEqualTo("in..valid"));
+    }
+
+    private void assertSameAsRegex(String key) {
+        String expectedVariable;
+        try {
+            expectedVariable = RegexReference.keyToStaticFinalVariable(key);
+        } catch (RuntimeException e) {
+            expectedVariable = null;
+        }
+        if (expectedVariable == null) {
+            assertThatIllegalArgumentException().as(key).isThrownBy(() -> parser.keyToStaticFinalVariable(key));
+        } else {
+            assertThat(parser.keyToStaticFinalVariable(key)).as(key).isEqualTo(expectedVariable);
+        }
+
+        String expectedMethodName;
+        try {
+            expectedMethodName = RegexReference.keyToMethodName(key);
+        } catch (RuntimeException e) {
+            expectedMethodName = null;
+        }
+        if (expectedMethodName == null) {
+            assertThatIllegalArgumentException().as(key).isThrownBy(() -> parser.keyToMethodName(key));
+        } else {
+            assertThat(parser.keyToMethodName(key)).as(key).isEqualTo(expectedMethodName);
+        }
+    }
+
+    private static String randomKey(Random random) {
+        String[] fragments = {"a", "i", "Z", "key", "My", "9", ".", "-", "_", "@", " ", "\u00e9", "\uD83D\uDE00",
+            "\uD83D", "\uDE00"};
+        var key = new StringBuilder();
+        int length = random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            key.append(fragments[random.nextInt(fragments.length)]);
+        }
+        return key.toString();
+    }
+
+    /**
+     * The original regular expression based implementation, which the parser must match exactly.
+     */
+    private static final class RegexReference {
+
+        private static final Pattern NON_WORD_AND_UNDERSCORE_PATTERN = Pattern.compile("[\\W_]");
+
+        static String keyToStaticFinalVariable(String key) {
+            if (key == null || key.isEmpty()) {
+                throw new IllegalArgumentException("Cannot parse null or empty property key.");
+            }
+
+            String[] tokens = NON_WORD_AND_UNDERSCORE_PATTERN.split(key);
+            if (tokens.length == 1) {
+                return tokens[0].toUpperCase();
+            }
+            var sb = new StringBuilder();
+            for (int i = 0; i < tokens.length; i++) {
+                sb.append(tokens[i].toUpperCase());
+                if ((i + 1) != tokens.length) {
+                    sb.append("_");
+                }
+            }
+            return sb.toString();
+        }
+
+        static String keyToMethodName(String key) {
+            if (key == null || key.isEmpty()) {
+                throw new IllegalArgumentException("Cannot parse null or empty property key.");
+            }
+
+            String[] tokens = NON_WORD_AND_UNDERSCORE_PATTERN.split(key);
+            if (tokens.length == 1) {
+                return tokens[0];
+            }
+            var sb = new StringBuilder();
+            sb.append(tokens[0]);
+            for (int i = 1; i < tokens.length; i++) {
+                sb.append(Character.toUpperCase(tokens[i].charAt(0)));
+                sb.append(tokens[i].substring(1));
+            }
+            return sb.toString();
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.jgazula.easyresources.core.internal.properties;
 
 import com.jgazula.easyresources.core.testutil.TestHelper;
+import com.jgazula.easyresources.core.util.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -18,6 +19,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 public class PropertiesReaderTests {
 
@@ -70,6 +72,12 @@ public class PropertiesReaderTests {
                 .containsEntry(prop3Key, prop3Value);
     }
 
+    @Test
+    void parallelParsingThresholdMustBePositive() {
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> new PropertiesReader(0));
+    }
+
     @Test
     void streamAllPropertiesFilesOfResourceBundle() throws IOException {
         // given
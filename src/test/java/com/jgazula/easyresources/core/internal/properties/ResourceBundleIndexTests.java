@@ -0,0 +1,145 @@
+package com.jgazula.easyresources.core.internal.properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ResourceBundleIndexTests {
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    void bundleFilesAreRecognizedByName() {
+        assertThat(ResourceBundleIndex.isBundleFile("Messages.properties", "Messages")).isTrue();
+        assertThat(ResourceBundleIndex.isBundleFile("Messages_de_DE.properties", "Messages")).isTrue();
+        assertThat(ResourceBundleIndex.isBundleFile("Messages_extra.properties", "Messages")).isFalse();
+        assertThat(ResourceBundleIndex.isBundleFile("MessagesExtra.properties", "Messages")).isFalse();
+        assertThat(ResourceBundleIndex.isBundleFile("Messages_de.txt", "Messages")).isFalse();
+        assertThat(ResourceBundleIndex.isBundleFile("Other.properties", "Messages")).isFalse();
+    }
+
+    @Test
+    void onlyFilesOfTheExactBundleAreFound() throws IOException {
+        // given
+        createFiles(tmpDir, "Messages.properties", "Messages_de.properties", "Messages_de_DE.properties",
+                "Messages_es_419.properties", "Messages_ja_JP_JP.properties", "Messages_no_NO_NY_x.properties",
+                "MessagesExtra_de.properties", "Messages_extra.properties", "Messages_de_de.properties",
+                "Messages_de.txt", "Other_de.properties");
+
+        // when
+        ResourceBundleIndex index = ResourceBundleIndex.create(List.of(tmpDir));
+
+        // then
+        assertThat(index.bundleFiles(tmpDir, "Messages")).extracting(path -> path.getFileName().toString())
+                .containsExactly("Messages.properties", "Messages_de.properties", "Messages_de_DE.properties",
+                        "Messages_es_419.properties", "Messages_ja_JP_JP.properties",
+                        "Messages_no_NO_NY_x.properties");
+        assertThat(index.bundleFiles(tmpDir, "MessagesExtra")).extracting(path -> path.getFileName().toString())
+                .containsExactly("MessagesExtra_de.properties");
+    }
+
+    @Test
+    void filesWithScriptsAndEmptyCountriesAreFound() throws IOException {
+        // given
+        createFiles(tmpDir, "Messages.properties", "Messages_sr_Latn_RS.properties", "Messages_zh_Hant_TW.properties",
+                "Messages_zh_Hant.properties", "Messages_en__POSIX.properties", "Messages_zh_Hant__POSIX.properties",
+                "Messages_zh_HANT.properties", "Messages_en___POSIX.properties");
+
+        // when
+        ResourceBundleIndex index = ResourceBundleIndex.create(List.of(tmpDir));
+
+        // then
+        assertThat(index.bundleFiles(tmpDir, "Messages")).extracting(path -> path.getFileName().toString())
+                .containsExactly("Messages.properties", "Messages_en__POSIX.properties",
+                        "Messages_sr_Latn_RS.properties", "Messages_zh_Hant.properties",
+                        "Messages_zh_Hant_TW.properties", "Messages_zh_Hant__POSIX.properties");
+        for (Locale locale : List.of(Locale.forLanguageTag("sr-Latn-RS"), Locale.forLanguageTag("zh-Hant"),
+                new Locale("en", "", "POSIX"))) {
+            String bundleName = ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_DEFAULT)
+                    .toBundleName("Messages", locale);
+            assertThat(ResourceBundleIndex.isBundleFile(bundleName + ".properties", "Messages")).as(bundleName)
+                    .isTrue();
+        }
+    }
+
+    @Test
+    void bundleNameIsNotAPattern() throws IOException {
+        // given
+        createFiles(tmpDir, "my.bundle.properties", "myXbundle.properties", "my.bundle_fr.properties");
+
+        // when
+        ResourceBundleIndex index = ResourceBundleIndex.create(List.of(tmpDir));
+
+        // then
+        assertThat(index.bundleFiles(tmpDir, "my.bundle")).extracting(path -> path.getFileName().toString())
+                .containsExactly("my.bundle.properties", "my.bundle_fr.properties");
+    }
+
+    @Test
+    void baseNamesMayContainUnderscores() throws IOException {
+        // given
+        createFiles(tmpDir, "app_messages.properties", "app_messages_fr.properties", "_hidden_fr.properties");
+
+        // when
+        ResourceBundleIndex index = ResourceBundleIndex.create(List.of(tmpDir));
+
+        // then
+        assertThat(index.bundleFiles(tmpDir, "app_messages")).hasSize(2);
+        assertThat(index.bundleFiles(tmpDir, "app")).isEmpty();
+        assertThat(index.bundleFiles(tmpDir, "_hidden")).hasSize(1);
+    }
+
+    @Test
+    void bundlesOfMultipleDirectoriesAreIndexedSeparately() throws IOException {
+        // given
+        Path first = Files.createDirectory(tmpDir.resolve("first"));
+        Path second = Files.createDirectory(tmpDir.resolve("second"));
+        createFiles(first, "Messages.properties");
+        createFiles(second, "Messages.properties", "Messages_fr.properties");
+
+        // when
+        ResourceBundleIndex index = ResourceBundleIndex.create(List.of(first, second, first));
+
+        // then
+        assertThat(index.bundleFiles(first, "Messages")).hasSize(1);
+        assertThat(index.bundleFiles(second.resolve("..").resolve("second"), "Messages")).hasSize(2);
+        assertThat(index.bundleFiles(tmpDir, "Messages")).isEmpty();
+    }
+
+    @Test
+    void directoryIsNotListedForAlreadyListedFiles() {
+        // given
+        Path directory = tmpDir.resolve("does-not-exist");
+
+        // when
+        ResourceBundleIndex index = ResourceBundleIndex.of(Map.of(directory,
+                List.of(directory.resolve("Messages_fr.properties"), directory.resolve("Messages.properties"))));
+
+        // then
+        assertThat(index.bundleFiles(directory, "Messages"))
+                .containsExactly(directory.resolve("Messages.properties"), directory.resolve("Messages_fr.properties"));
+    }
+
+    @Test
+    void missingDirectoryIsReported() {
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> ResourceBundleIndex.create(List.of(tmpDir.resolve("does-not-exist"))));
+    }
+
+    private static void createFiles(Path directory, String... fileNames) throws IOException {
+        for (String fileName : fileNames) {
+            Files.createFile(directory.resolve(fileName));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.jgazula.easyresources.core.internal.util;
+
+import com.jgazula.easyresources.core.testutil.TestHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ArchiveFileSystemsTests {
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    void pathInsideArchiveIsReadWithoutExtracting() throws IOException {
+        // given
+        Path archive = TestHelper.createArchive(tmpDir.resolve("resources.jar"),
+                Map.of("i18n/messages.properties", "greeting=Hello"));
+
+        try (ArchiveFileSystems archives = new ArchiveFileSystems()) {
+            // when
+            Path path = archives.resolve(Path.of(archive + "!/i18n/messages.properties"));
+
+            // then
+            assertThat(path.getFileSystem()).isNotEqualTo(FileSystems.getDefault());
+            assertThat(Files.readString(path, StandardCharsets.UTF_8)).isEqualTo("greeting=Hello");
+            assertThat(tmpDir.resolve("i18n")).doesNotExist();
+        }
+    }
+
+    @Test
+    void archiveIsOpenedOnlyOnce() throws IOException {
+        // given
+        Path archive = TestHelper.createArchive(tmpDir.resolve("resources.zip"),
+                Map.of("a.properties", "a=1", "dir/b.properties", "b=2"));
+
+        try (ArchiveFileSystems archives = new ArchiveFileSystems()) {
+            // when
+            Path first = archives.resolve(Path.of(archive + "!/a.properties"));
+            Path second = archives.resolve(Path.of(archive + "!/dir/b.properties"));
+            Path root = archives.resolve(Path.of(archive + "!"));
+
+            // then
+            assertThat(second.getFileSystem()).isSameAs(first.getFileSystem());
+            assertThat(root.getFileSystem()).isSameAs(first.getFileSystem());
+            assertThat(root.resolve("a.properties")).isEqualTo(first);
+        }
+    }
+
+    @Test
+    void pathOutsideArchiveIsUnchanged() throws IOException {
+        // given
+        Path path = tmpDir.resolve("messages.properties");
+        Path notAnArchive = tmpDir.resolve("missing.jar!").resolve("messages.properties");
+
+        try (ArchiveFileSystems archives = new ArchiveFileSystems()) {
+            // when / then
+            assertThat(archives.resolve(path)).isSameAs(path);
+            assertThat(archives.resolve(notAnArchive)).isSameAs(notAnArchive);
+        }
+    }
+
+    @Test
+    void containingFileOfPathInsideArchiveIsArchive() throws IOException {
+        // given
+        Path archive = TestHelper.createArchive(tmpDir.resolve("resources.jar"),
+                Map.of("i18n/messages.properties", "greeting=Hello"));
+        Path path = tmpDir.resolve("messages.properties");
+
+        try (ArchiveFileSystems archives = new ArchiveFileSystems()) {
+            // when
+            Path entry = archives.resolve(Path.of(archive + "!/i18n/messages.properties"));
+
+            // then
+            assertThat(ArchiveFileSystems.containingFile(entry)).isEqualTo(archive.toAbsolutePath());
+            assertThat(ArchiveFileSystems.containingFile(path)).isSameAs(path);
+        }
+    }
+
+    @Test
+    void invalidArchiveIsReported() throws IOException {
+        // given
+        Path archive = Files.writeString(tmpDir.resolve("broken.jar"), "not a zip", StandardCharsets.UTF_8);
+
+        try (ArchiveFileSystems archives = new ArchiveFileSystems()) {
+            // when / then
+            assertThatExceptionOfType(IOException.class)
+                    .isThrownBy(() -> archives.resolve(Path.of(archive + "!/a.properties")));
+        }
+    }
+
+    @Test
+    void archivesAreClosed() throws IOException {
+        // given
+        Path archive = TestHelper.createArchive(tmpDir.resolve("resources.jar"), Map.of("a.properties", "a=1"));
+        ArchiveFileSystems archives = new ArchiveFileSystems();
+        Path path = archives.resolve(Path.of(archive + "!/a.properties"));
+
+        // when
+        archives.close();
+
+        // then
+        assertThat(path.getFileSystem().isOpen()).isFalse();
+    }
+}
@@ -0,0 +1,53 @@
+package com.jgazula.easyresources.core.internal.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class AtomicFilesTests {
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    void newFilesGetTheDefaultPermissions() throws IOException {
+        // given
+        assumeTrue(Files.getFileStore(tmpDir).supportsFileAttributeView(PosixFileAttributeView.class));
+        Path plainFile = Files.createFile(tmpDir.resolve("Plain.java"));
+        Path file = tmpDir.resolve("Generated.java");
+        Path streamedFile = tmpDir.resolve("Streamed.java");
+
+        // when
+        AtomicFiles.write(file, "class Generated {}".getBytes(StandardCharsets.UTF_8));
+        AtomicFiles.writeIfChanged(streamedFile, out -> out.write('x'));
+
+        // then
+        assertThat(Files.getPosixFilePermissions(file)).isEqualTo(Files.getPosixFilePermissions(plainFile));
+        assertThat(Files.getPosixFilePermissions(streamedFile)).isEqualTo(Files.getPosixFilePermissions(plainFile));
+        assertThat(Files.list(tmpDir)).containsExactlyInAnyOrder(plainFile, file, streamedFile);
+    }
+
+    @Test
+    void replacedFilesKeepTheirPermissions() throws IOException {
+        // given
+        assumeTrue(Files.getFileStore(tmpDir).supportsFileAttributeView(PosixFileAttributeView.class));
+        Path file = Files.writeString(tmpDir.resolve("Generated.java"), "class Old {}", StandardCharsets.UTF_8);
+        Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-r-----"));
+
+        // when
+        AtomicFiles.write(file, "class Generated {}".getBytes(StandardCharsets.UTF_8));
+
+        // then
+        assertThat(file).content(StandardCharsets.UTF_8).isEqualTo("class Generated {}");
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(file))).isEqualTo("rw-r-----");
+    }
+}
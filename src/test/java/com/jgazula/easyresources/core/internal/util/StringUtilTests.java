@@ -3,6 +3,8 @@ package com.jgazula.easyresources.core.internal.util;
 import com.jgazula.easyresources.core.testutil.TestHelper;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class StringUtilTests {
@@ -30,4 +32,10 @@ public class StringUtilTests {
         var result = StringUtil.isNullOrEmpty(TestHelper.randomAlphabetic());
         assertThat(result).isFalse();
     }
+
+    @Test
+    void utf8LengthCountsEncodedBytes() {
+        var result = StringUtil.utf8Length("a\u00e9\u20ac\uD83D\uDE00");
+        assertThat(result).isEqualTo("a\u00e9\u20ac\uD83D\uDE00".getBytes(StandardCharsets.UTF_8).length);
+    }
 }
@@ -0,0 +1,203 @@
+package com.jgazula.easyresources.core.internal.watch;
+
+import com.jgazula.easyresources.core.util.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class InputWatcherTests {
+
+    private static final Duration DEBOUNCE = Duration.ofMillis(100);
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @TempDir
+    Path tmpDir;
+
+    private final BlockingQueue<List<String>> regenerations = new LinkedBlockingQueue<>();
+
+    @Test
+    void allTargetsAreGeneratedInitially() throws IOException, InterruptedException {
+        // given
+        Map<String, WatchTarget> targets = targets();
+
+        // when
+        try (InputWatcher<String> watcher = InputWatcher.start(targets, DEBOUNCE, regenerations::add)) {
+            // then
+            assertThat(nextRegeneration()).containsExactly("first", "second", "bundle");
+        }
+    }
+
+    @Test
+    void onlyAffectedTargetsAreRegenerated() throws IOException, InterruptedException {
+        // given
+        Map<String, WatchTarget> targets = targets();
+
+        try (InputWatcher<String> watcher = InputWatcher.start(targets, DEBOUNCE, regenerations::add)) {
+            nextRegeneration();
+
+            // when
+            Files.writeString(tmpDir.resolve("second.properties"), "key=changed", StandardCharsets.UTF_8);
+
+            // then
+            assertThat(nextRegeneration()).containsExactly("second");
+
+            // when
+            Files.writeString(tmpDir.resolve("bundle").resolve("Messages_fr.properties"), "key=valeur",
+                    StandardCharsets.UTF_8);
+            Files.writeString(tmpDir.resolve("bundle").resolve("Other.properties"), "key=value",
+                    StandardCharsets.UTF_8);
+
+            // then
+            assertThat(nextRegeneration()).containsExactly("bundle");
+        }
+    }
+
+    @Test
+    void burstOfChangesIsRegeneratedOnce() throws IOException, InterruptedException {
+        // given
+        Map<String, WatchTarget> targets = targets();
+
+        try (InputWatcher<String> watcher = InputWatcher.start(targets, DEBOUNCE, regenerations::add)) {
+            nextRegeneration();
+
+            // when
+            for (int i = 0; i < 5; i++) {
+                Files.writeString(tmpDir.resolve("second.properties"), "key=" + i, StandardCharsets.UTF_8);
+                Files.writeString(tmpDir.resolve("first.properties"), "key=" + i, StandardCharsets.UTF_8);
+            }
+
+            // then
+            assertThat(nextRegeneration()).containsExactly("first", "second");
+            assertThat(regenerations.poll(DEBOUNCE.toMillis() * 3, TimeUnit.MILLISECONDS)).isNull();
+        }
+    }
+
+    @Test
+    void failedRegenerationDoesNotStopTheWatch() throws IOException, InterruptedException {
+        // given
+        Map<String, WatchTarget> targets = targets();
+        InputWatcher.Regeneration<String> failing = affected -> {
+            regenerations.add(affected);
+            throw new IOException("failed");
+        };
+
+        try (InputWatcher<String> watcher = InputWatcher.start(targets, DEBOUNCE, failing)) {
+            nextRegeneration();
+
+            // when
+            Files.writeString(tmpDir.resolve("first.properties"), "key=changed", StandardCharsets.UTF_8);
+            nextRegeneration();
+            Files.writeString(tmpDir.resolve("first.properties"), "key=changed again", StandardCharsets.UTF_8);
+
+            // then
+            assertThat(nextRegeneration()).containsExactly("first");
+        }
+    }
+
+    @Test
+    void closedWatcherStopsWatching() throws IOException, InterruptedException {
+        // given
+        InputWatcher<String> watcher = InputWatcher.start(targets(), DEBOUNCE, regenerations::add);
+        nextRegeneration();
+
+        // when
+        watcher.close();
+        watcher.awaitClose();
+        Files.writeString(tmpDir.resolve("first.properties"), "key=changed", StandardCharsets.UTF_8);
+
+        // then
+        assertThat(regenerations.poll(DEBOUNCE.toMillis() * 3, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void shutdownHookStopsWatching() throws IOException, InterruptedException {
+        // given
+        InputWatcher<String> watcher = InputWatcher.start(targets(), DEBOUNCE, regenerations::add);
+        nextRegeneration();
+
+        // when
+        watcher.shutdownHook.run();
+        watcher.awaitClose();
+        Files.writeString(tmpDir.resolve("first.properties"), "key=changed", StandardCharsets.UTF_8);
+
+        // then
+        assertThat(regenerations.poll(DEBOUNCE.toMillis() * 3, TimeUnit.MILLISECONDS)).isNull();
+        watcher.close();
+    }
+
+    @Test
+    void deletedDirectoryIsRegeneratedOnceAndNoLongerWatched() throws IOException, InterruptedException {
+        // given
+        Map<String, WatchTarget> targets = targets();
+
+        try (InputWatcher<String> watcher = InputWatcher.start(targets, DEBOUNCE, regenerations::add)) {
+            nextRegeneration();
+
+            // when
+            Files.delete(tmpDir.resolve("bundle").resolve("Messages.properties"));
+            Files.delete(tmpDir.resolve("bundle"));
+
+            // then
+            assertThat(nextRegeneration()).containsExactly("bundle");
+            assertThat(regenerations.poll(DEBOUNCE.toMillis() * 3, TimeUnit.MILLISECONDS)).isNull();
+        }
+    }
+
+    @Test
+    void rootCannotBeWatchedAsAFile() {
+        Path root = tmpDir.getRoot();
+        assertThat(WatchTarget.file(root)).isEmpty();
+    }
+
+    @Test
+    void targetOutsideDirectoryIsGeneratedButNotWatched() throws IOException, InterruptedException {
+        // given
+        Map<String, WatchTarget> targets = Map.of("archived",
+                WatchTarget.directory(tmpDir.resolve("resources.jar!/i18n"), fileName -> true));
+
+        // when
+        try (InputWatcher<String> watcher = InputWatcher.start(targets, DEBOUNCE, regenerations::add)) {
+            // then
+            assertThat(nextRegeneration()).containsExactly("archived");
+        }
+    }
+
+    @Test
+    void negativeDebounceIsRejected() {
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> InputWatcher.start(targets(), Duration.ofMillis(-1), regenerations::add));
+    }
+
+    private Map<String, WatchTarget> targets() throws IOException {
+        Path bundle = Files.createDirectories(tmpDir.resolve("bundle"));
+        Files.writeString(tmpDir.resolve("first.properties"), "key=value", StandardCharsets.UTF_8);
+        Files.writeString(tmpDir.resolve("second.properties"), "key=value", StandardCharsets.UTF_8);
+        Files.writeString(bundle.resolve("Messages.properties"), "key=value", StandardCharsets.UTF_8);
+
+        Map<String, WatchTarget> targets = new LinkedHashMap<>();
+        targets.put("first", WatchTarget.file(tmpDir.resolve("first.properties")).orElseThrow());
+        targets.put("second", WatchTarget.file(tmpDir.resolve("second.properties")).orElseThrow());
+        targets.put("bundle", WatchTarget.directory(bundle, fileName -> fileName.startsWith("Messages")));
+        return targets;
+    }
+
+    private List<String> nextRegeneration() throws InterruptedException {
+        List<String> regeneration = regenerations.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(regeneration).as("regeneration").isNotNull();
+        return regeneration;
+    }
+}
@@ -0,0 +1,94 @@
+package com.jgazula.easyresources.core.metrics;
+
+import com.jgazula.easyresources.core.batch.GeneratedOutput;
+import com.jgazula.easyresources.core.batch.GeneratedOutput.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GenerationReportTests {
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    void totalsAreSummedOverOutputs() {
+        // when
+        GenerationReport report = report();
+
+        // then
+        assertThat(report.keys()).isEqualTo(5);
+        assertThat(report.bytesRead()).isEqualTo(150);
+        assertThat(report.bytesWritten()).isEqualTo(300);
+        assertThat(report.dedupeRatio()).isEqualTo(0.75);
+        assertThat(report.outputs().get(1).dedupeRatio()).isZero();
+        assertThat(report.count(Status.GENERATED)).isEqualTo(1);
+        assertThat(report.count(Status.UP_TO_DATE)).isEqualTo(1);
+        assertThat(report.phaseNanos(GenerationPhase.WRITE)).isEqualTo(40);
+        assertThat(report.phaseNanos(GenerationPhase.INDEX)).isZero();
+        assertThat(report.outputs().get(1).phaseNanos(GenerationPhase.READ)).isZero();
+    }
+
+    @Test
+    void reportIsWrittenAsJson() {
+        // when
+        String json = report().toJson();
+
+        // then
+        assertThat(json)
+                .startsWith("{\n  \"startedAt\": \"2024-01-02T03:04:05Z\",\n  \"durationNanos\": 1000,\n")
+                .contains("\"keys\": 5,\n  \"bytesRead\": 150,\n  \"bytesWritten\": 300,\n")
+                .contains("\"patterns\": 4,\n  \"parsedPatterns\": 1,\n  \"dedupeRatio\": 0.75,\n")
+                .contains("\"statuses\": {\n    \"generated\": 1,\n    \"unchanged\": 0,\n    \"up_to_date\": 1,")
+                .contains("\"phaseNanos\": {\n    \"index\": 0,\n    \"fingerprint\": 10,")
+                .contains("\"className\": \"a.\\\"Quoted\\\"\\\\Name\\n\\u0001\",")
+                .contains("\"status\": \"up_to_date\",")
+                .endsWith("    }\n  ]\n}");
+    }
+
+    @Test
+    void emptyReportIsWrittenAsJson() {
+        // given
+        var report = new GenerationReport(Instant.EPOCH, 0, 0, 0, Map.of(), List.of());
+
+        // when
+        String json = report.toJson();
+
+        // then
+        assertThat(json).endsWith("\"outputs\": []\n}");
+    }
+
+    @Test
+    void jsonReportListenerWritesEveryRun() throws IOException {
+        // given
+        Path file = tmpDir.resolve("reports").resolve("generation.json");
+        GenerationListener listener = GenerationListener.jsonReport(file);
+        listener.outputCompleted(report().outputs().get(0));
+
+        // when
+        listener.runCompleted(new GenerationReport(Instant.EPOCH, 0, 0, 0, Map.of(), List.of()));
+        listener.runCompleted(report());
+
+        // then
+        assertThat(file).content(StandardCharsets.UTF_8).isEqualTo(report().toJson() + "\n");
+    }
+
+    private static GenerationReport report() {
+        var generated = new OutputMetrics(new GeneratedOutput("generator", "a.\"Quoted\"\\Name\n\u0001",
+                Path.of("a", "A.java"), Status.GENERATED), 5, 150, 300, 4, 1,
+                Map.of(GenerationPhase.READ, 20L, GenerationPhase.WRITE, 40L));
+        var upToDate = new OutputMetrics(new GeneratedOutput("generator", "b.B", Path.of("b", "B.java"),
+                Status.UP_TO_DATE), 0, 0, 0, 0, 0, Map.of(GenerationPhase.FINGERPRINT, 10L));
+        return new GenerationReport(Instant.parse("2024-01-02T03:04:05Z"), 1000, 1, 0,
+                Map.of(GenerationPhase.FINGERPRINT, 10L, GenerationPhase.READ, 20L, GenerationPhase.WRITE, 40L),
+                List.of(generated, upToDate));
+    }
+}
@@ -0,0 +1,182 @@
+package com.jgazula.easyresources.core.output;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OutputSinkTests {
+
+    private static final String PACKAGE_NAME = "com.jgazula.test";
+    private static final String CLASS_NAME = "TestClass";
+    private static final String SOURCE = "package com.jgazula.test;\n\npublic class TestClass {\n}\n";
+    private static final Path RELATIVE_PATH = Path.of("com", "jgazula", "test", "TestClass.java");
+    private static final Path CLASS_PATH = Path.of("com", "jgazula", "test", "TestClass.class");
+
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    public void directorySinkWritesOnlyChangedFiles() throws IOException {
+        // given
+        OutputSink sink = OutputSink.directory(tmpDir);
+        Path file = tmpDir.resolve(RELATIVE_PATH);
+
+        OutputSink.SourceWriter sameSource = writer -> writer.write(SOURCE);
+        OutputSink.SourceWriter otherSource = writer -> writer.write("x");
+
+        // when
+        boolean first = sink.write(PACKAGE_NAME, CLASS_NAME, SOURCE);
+        boolean unchanged = sink.write(PACKAGE_NAME, CLASS_NAME, sameSource);
+        boolean streamed = sink.write(PACKAGE_NAME, CLASS_NAME, otherSource);
+
+        // then
+        assertThat(sink.location(PACKAGE_NAME, CLASS_NAME)).isEqualTo(file);
+        assertThat(sink.directory()).contains(tmpDir);
+        assertThat(first).isTrue();
+        assertThat(unchanged).isFalse();
+        assertThat(streamed).isTrue();
+        assertThat(file).content(StandardCharsets.UTF_8).isEqualTo("x");
+        assertThat(OutputSink.directory(tmpDir)).isEqualTo(sink);
+    }
+
+    @Test
+    public void inMemorySinkKeepsFilesByClassName() throws IOException {
+        // given
+        InMemoryOutputSink sink = OutputSink.inMemory();
+        OutputSink.SourceWriter sameSource = writer -> writer.write(SOURCE);
+
+        // when
+        boolean first = sink.write(PACKAGE_NAME, CLASS_NAME, SOURCE);
+        boolean unchanged = sink.write(PACKAGE_NAME, CLASS_NAME, sameSource);
+        boolean other = sink.write("", "Other", "public class Other {\n}\n");
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(unchanged).isFalse();
+        assertThat(other).isTrue();
+        assertThat(sink.location(PACKAGE_NAME, CLASS_NAME)).isEqualTo(RELATIVE_PATH);
+        assertThat(sink.directory()).isEmpty();
+        assertThat(sink.sources()).containsExactly(Map.entry("Other", "public class Other {\n}\n"),
+                Map.entry("com.jgazula.test.TestClass", SOURCE));
+        assertThat(sink.source("com.jgazula.test.TestClass")).contains(SOURCE);
+        assertThat(sink.source("Missing")).isEmpty();
+
+        // when
+        sink.clear();
+
+        // then
+        assertThat(sink.sources()).isEmpty();
+    }
+
+    @Test
+    public void inMemoryFilesAreCompiledWithoutDisk() throws IOException {
+        // given
+        InMemoryOutputSink sink = OutputSink.inMemory();
+        sink.write(PACKAGE_NAME, CLASS_NAME, SOURCE);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        // when
+        List<JavaFileObject> files = sink.javaFileObjects();
+        Boolean compiled = compiler.getTask(null, null, null, List.of("-d", tmpDir.toString()), null, files).call();
+
+        // then
+        assertThat(files).hasSize(1);
+        assertThat(files.get(0).getKind()).isEqualTo(JavaFileObject.Kind.SOURCE);
+        assertThat(files.get(0).getCharContent(true).toString()).isEqualTo(SOURCE);
+        assertThat(files.get(0).isNameCompatible(CLASS_NAME, JavaFileObject.Kind.SOURCE)).isTrue();
+        assertThat(compiled).isTrue();
+        assertThat(tmpDir.resolve(Path.of("com", "jgazula", "test", "TestClass.class"))).isRegularFile();
+    }
+
+    @Test
+    public void filerSinkCreatesSourceFilesWithOriginatingElements() throws IOException {
+        // given
+        Filer filer = mock(Filer.class);
+        Element element = mock(Element.class);
+        JavaFileObject file = mock(JavaFileObject.class);
+        var content = new StringWriter();
+        when(filer.createSourceFile("com.jgazula.test.TestClass", element)).thenReturn(file);
+        when(file.openWriter()).thenReturn(content);
+        OutputSink sink = OutputSink.filer(filer, element);
+
+        // when
+        boolean written = sink.write(PACKAGE_NAME, CLASS_NAME, SOURCE);
+
+        // then
+        assertThat(written).isTrue();
+        assertThat(content.toString()).isEqualTo(SOURCE);
+        assertThat(sink.location(PACKAGE_NAME, CLASS_NAME)).isEqualTo(RELATIVE_PATH);
+        assertThat(sink.directory()).isEmpty();
+        verify(filer).createSourceFile("com.jgazula.test.TestClass", element);
+    }
+
+    @Test
+    public void classFilesAreWrittenNextToJavaFiles() throws IOException {
+        // given
+        byte[] bytecode = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE};
+        OutputSink directory = OutputSink.directory(tmpDir);
+        InMemoryOutputSink inMemory = OutputSink.inMemory();
+
+        // when
+        boolean first = directory.writeClass(PACKAGE_NAME, CLASS_NAME, bytecode);
+        boolean unchanged = directory.writeClass(PACKAGE_NAME, CLASS_NAME, bytecode.clone());
+        boolean firstInMemory = inMemory.writeClass(PACKAGE_NAME, CLASS_NAME, bytecode);
+        boolean unchangedInMemory = inMemory.writeClass(PACKAGE_NAME, CLASS_NAME, bytecode.clone());
+
+        // then
+        Path classFile = tmpDir.resolve(CLASS_PATH);
+        assertThat(directory.classLocation(PACKAGE_NAME, CLASS_NAME)).isEqualTo(classFile);
+        assertThat(classFile).hasBinaryContent(bytecode);
+        assertThat(first).isTrue();
+        assertThat(unchanged).isFalse();
+        assertThat(inMemory.classLocation(PACKAGE_NAME, CLASS_NAME)).isEqualTo(CLASS_PATH);
+        assertThat(inMemory.classFile("com.jgazula.test.TestClass")).hasValueSatisfying(
+                content -> assertThat(content).isEqualTo(bytecode));
+        assertThat(inMemory.sources()).isEmpty();
+        assertThat(firstInMemory).isTrue();
+        assertThat(unchangedInMemory).isFalse();
+
+        // when
+        inMemory.clear();
+
+        // then
+        assertThat(inMemory.classFile("com.jgazula.test.TestClass")).isEmpty();
+    }
+
+    @Test
+    public void filerSinkCreatesClassFiles() throws IOException {
+        // given
+        Filer filer = mock(Filer.class);
+        JavaFileObject file = mock(JavaFileObject.class);
+        var content = new ByteArrayOutputStream();
+        when(filer.createClassFile("TestClass")).thenReturn(file);
+        when(file.openOutputStream()).thenReturn(content);
+        OutputSink sink = OutputSink.filer(filer);
+
+        // when
+        boolean written = sink.writeClass("", CLASS_NAME, new byte[] {1, 2, 3});
+
+        // then
+        assertThat(written).isTrue();
+        assertThat(content.toByteArray()).containsExactly(1, 2, 3);
+        assertThat(sink.classLocation("", CLASS_NAME)).isEqualTo(Path.of("TestClass.class"));
+    }
+}
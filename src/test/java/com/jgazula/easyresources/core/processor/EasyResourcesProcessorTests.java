@@ -0,0 +1,245 @@
+package com.jgazula.easyresources.core.processor;
+
+import com.jgazula.easyresources.core.testutil.TestHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EasyResourcesProcessorTests {
+
+    private static final String CONFIG_SOURCE = "package com.example;\n\n"
+            + "import com.jgazula.easyresources.core.processor.GeneratePropertiesConstants;\n\n"
+            + "@GeneratePropertiesConstants(value = \"config/app.properties\", className = \"AppKeys\")\n"
+            + "public class Config {\n"
+            + "    public static final String KEY = AppKeys.MY_KEY;\n"
+            + "}\n";
+
+    @TempDir
+    Path tmpDir;
+
+    private Path sourceDir;
+    private Path resourceDir;
+    private Path generatedDir;
+    private Path classesDir;
+    private final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        sourceDir = Files.createDirectory(tmpDir.resolve("src"));
+        resourceDir = Files.createDirectory(tmpDir.resolve("resources"));
+        generatedDir = Files.createDirectory(tmpDir.resolve("generated"));
+        classesDir = Files.createDirectory(tmpDir.resolve("classes"));
+    }
+
+    @Test
+    public void constantsAreGeneratedAndUsedInSameCompilation() throws Exception {
+        // given
+        writeFile(resourceDir.resolve("config/app.properties"), "my.key=value\nmy.other.key=other");
+        writeFile(sourceDir.resolve("com/example/Config.java"), CONFIG_SOURCE);
+
+        // when
+        boolean compiled = compile(List.of("-A" + EasyResourcesProcessor.RESOURCE_DIRS_OPTION + "=" + resourceDir));
+
+        // then
+        assertThat(compiled).as(errors()).isTrue();
+        assertThat(generatedDir.resolve("com/example/AppKeys.java")).content(StandardCharsets.UTF_8)
+                .startsWith("// This class was auto generated by " + EasyResourcesProcessor.GENERATED_BY + ".")
+                .contains("public static final String MY_OTHER_KEY = \"my.other.key\";");
+        assertThat(load("com.example.Config").getField("KEY").get(null)).isEqualTo("my.key");
+    }
+
+    @Test
+    public void bundlesOfPackageAreFoundOnSourcePath() throws Exception {
+        // given
+        writeFile(sourceDir.resolve("com/example/i18n/messages.properties"), "greeting=Hello {0}");
+        writeFile(sourceDir.resolve("com/example/i18n/messages_fr.properties"), "greeting=Bonjour {0}");
+        writeFile(sourceDir.resolve("com/example/errors.properties"), "not.found=Missing");
+        writeFile(sourceDir.resolve("com/example/package-info.java"), "@GenerateEnhancedResourceBundle(value = "
+                + "\"com/example/i18n/messages\", className = \"Messages\")\n"
+                + "@GenerateEnhancedResourceBundle(value = \"com/example/errors\", className = \"Errors\", "
+                + "packageName = \"com.example.errors\")\n"
+                + "package com.example;\n\n"
+                + "import com.jgazula.easyresources.core.processor.GenerateEnhancedResourceBundle;\n");
+
+        // when
+        boolean compiled = compile(List.of("-sourcepath", sourceDir.toString()));
+
+        // then
+        assertThat(compiled).as(errors()).isTrue();
+        Class<?> messages = load("com.example.Messages");
+        Object bundle = messages.getConstructor(ResourceBundle.class)
+                .newInstance(new PropertyResourceBundle(new StringReader("greeting=Hello {0}")));
+        assertThat(messages.getMethod("greeting", String.class).invoke(bundle, "World")).isEqualTo("Hello World");
+        assertThat(load("com.example.errors.Errors").getMethod("notFound")).isNotNull();
+    }
+
+    @Test
+    public void classFilesAreCreatedWithBytecodeBackend() throws Exception {
+        // given
+        writeFile(resourceDir.resolve("config/app.properties"), "my.key=value");
+        writeFile(sourceDir.resolve("com/example/Config.java"), CONFIG_SOURCE);
+
+        // when
+        boolean compiled = compile(List.of("-A" + EasyResourcesProcessor.RESOURCE_DIRS_OPTION + "=" + resourceDir,
+                "-A" + EasyResourcesProcessor.BACKEND_OPTION + "=bytecode",
+                "-A" + EasyResourcesProcessor.REPRODUCIBLE_OPTION + "=false"));
+
+        // then
+        assertThat(compiled).as(errors()).isTrue();
+        assertThat(generatedDir.resolve("com/example/AppKeys.java")).doesNotExist();
+        assertThat(classesDir.resolve("com/example/AppKeys.class")).isRegularFile();
+        assertThat(load("com.example.Config").getField("KEY").get(null)).isEqualTo("my.key");
+    }
+
+    @Test
+    public void propertiesFileIsReadFromJarOnClassPath() throws Exception {
+        // given
+        Path jar = TestHelper.createArchive(tmpDir.resolve("resources.jar"),
+                Map.of("config/app.properties", "my.key=value"));
+        writeFile(sourceDir.resolve("com/example/Config.java"), CONFIG_SOURCE);
+
+        // when
+        boolean compiled = compile(List.of("-classpath", jar + File.pathSeparator
+                + System.getProperty("java.class.path")));
+
+        // then
+        assertThat(compiled).as(errors()).isTrue();
+        assertThat(load("com.example.Config").getField("KEY").get(null)).isEqualTo("my.key");
+    }
+
+    @Test
+    public void missingResourceIsReportedOnAnnotatedElement() throws IOException {
+        // given
+        writeFile(sourceDir.resolve("com/example/Config.java"), CONFIG_SOURCE);
+
+        // when
+        boolean compiled = compile(List.of());
+
+        // then
+        assertThat(compiled).isFalse();
+        assertThat(errors()).contains("Config.java")
+                .contains("Unable to generate the class for config/app.properties: "
+                        + "Resource config/app.properties does not exist");
+    }
+
+    @Test
+    public void invalidBackendIsReportedOnAnnotatedElement() throws IOException {
+        // given
+        writeFile(resourceDir.resolve("config/app.properties"), "my.key=value");
+        writeFile(sourceDir.resolve("com/example/Config.java"), CONFIG_SOURCE);
+
+        // when
+        boolean compiled = compile(List.of("-A" + EasyResourcesProcessor.RESOURCE_DIRS_OPTION + "=" + resourceDir,
+                "-A" + EasyResourcesProcessor.BACKEND_OPTION + "=unknown"));
+
+        // then
+        assertThat(compiled).isFalse();
+        assertThat(errors()).contains("Unable to generate the class for config/app.properties")
+                .contains("UNKNOWN");
+    }
+
+    @Test
+    public void annotationsAreNotClaimed() throws IOException {
+        // given
+        writeFile(resourceDir.resolve("config/app.properties"), "my.key=value");
+        writeFile(sourceDir.resolve("com/example/Config.java"), CONFIG_SOURCE);
+        Set<String> seenAnnotations = new HashSet<>();
+        Processor otherProcessor = new AbstractProcessor() {
+            @Override
+            public Set<String> getSupportedAnnotationTypes() {
+                return Set.of(GeneratePropertiesConstants.class.getCanonicalName());
+            }
+
+            @Override
+            public SourceVersion getSupportedSourceVersion() {
+                return SourceVersion.latestSupported();
+            }
+
+            @Override
+            public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+                annotations.forEach(annotation -> seenAnnotations.add(annotation.getQualifiedName().toString()));
+                return false;
+            }
+        };
+
+        // when
+        boolean compiled = compile(List.of("-A" + EasyResourcesProcessor.RESOURCE_DIRS_OPTION + "=" + resourceDir),
+                List.of(new EasyResourcesProcessor(), otherProcessor));
+
+        // then
+        assertThat(compiled).as(errors()).isTrue();
+        assertThat(seenAnnotations).containsExactly(GeneratePropertiesConstants.class.getCanonicalName());
+    }
+
+    private static void writeFile(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    private boolean compile(List<String> extraOptions) throws IOException {
+        return compile(extraOptions, List.of(new EasyResourcesProcessor()));
+    }
+
+    private boolean compile(List<String> extraOptions, List<Processor> processors) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null,
+                StandardCharsets.UTF_8)) {
+            List<File> sources;
+            try (var files = Files.walk(sourceDir)) {
+                sources = files.filter(file -> file.toString().endsWith(".java"))
+                        .map(Path::toFile)
+                        .collect(Collectors.toList());
+            }
+
+            List<String> options = new ArrayList<>(List.of("-d", classesDir.toString(), "-s",
+                    generatedDir.toString()));
+            options.addAll(extraOptions);
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(sources));
+            task.setProcessors(processors);
+            return task.call();
+        }
+    }
+
+    private Class<?> load(String className) throws Exception {
+        var loader = new URLClassLoader(new URL[] {classesDir.toUri().toURL()}, getClass().getClassLoader());
+        return Class.forName(className, true, loader);
+    }
+
+    private String errors() {
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getSource() + ": " + diagnostic.getMessage(null))
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -1,32 +1,56 @@
 package com.jgazula.easyresources.core.propertiesconstants;
 
+import com.jgazula.easyresources.core.batch.GeneratedOutput;
 import com.jgazula.easyresources.core.internal.classgeneration.ClassGenerator;
 import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorConfig;
 import com.jgazula.easyresources.core.internal.classgeneration.ClassGeneratorFactory;
+import com.jgazula.easyresources.core.internal.classgeneration.WriteResult;
+import com.jgazula.easyresources.core.internal.incremental.Fingerprinter;
 import com.jgazula.easyresources.core.internal.properties.PropertiesParser;
 import com.jgazula.easyresources.core.internal.properties.PropertiesReader;
 import com.jgazula.easyresources.core.internal.util.FileUtil;
+import com.jgazula.easyresources.core.metrics.GenerationListener;
+import com.jgazula.easyresources.core.metrics.GenerationPhase;
+import com.jgazula.easyresources.core.metrics.GenerationReport;
+import com.jgazula.easyresources.core.metrics.OutputMetrics;
+import com.jgazula.easyresources.core.output.InMemoryOutputSink;
+import com.jgazula.easyresources.core.output.OutputSink;
 import com.jgazula.easyresources.core.testutil.TestConstants;
 import com.jgazula.easyresources.core.testutil.TestHelper;
+import com.jgazula.easyresources.core.util.GeneratorBackend;
 import com.jgazula.easyresources.core.util.ValidationException;
+import com.jgazula.easyresources.core.util.Watcher;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -46,6 +70,12 @@ public class PCGeneratorTests {
     @Mock
     private FileUtil fileUtil;
 
+    @Mock
+    private Fingerprinter fingerprinter;
+
+    @TempDir
+    Path tmpDir;
+
     @Test
     public void nothingToGenerateWhenNoFileConfigs() throws IOException {
         // given
@@ -56,7 +86,8 @@ public class PCGeneratorTests {
                 .build();
 
         // when
-        new PCGenerator(config, generatorFactory, propertiesReader, propertiesParser, fileUtil).generate();
+        new PCGenerator(config, generatorFactory, propertiesReader, propertiesParser, fileUtil,
+                fingerprinter).generate();
 
         // then
         verify(generatorFactory, never()).getGenerator(any(ClassGeneratorConfig.class));
@@ -85,7 +116,8 @@ public class PCGeneratorTests {
         when(propertiesReader.loadProperties(propertiesPath)).thenReturn(Collections.emptyMap());
 
         // when
-        new PCGenerator(config, generatorFactory, propertiesReader, propertiesParser, fileUtil)
+        new PCGenerator(config, generatorFactory, propertiesReader, propertiesParser, fileUtil,
+                fingerprinter)
                 .generate();
 
         // then
@@ -114,7 +146,7 @@ public class PCGeneratorTests {
 
         // when
         PropertiesConstants generator = new PCGenerator(config, generatorFactory, propertiesReader,
-                propertiesParser, fileUtil);
+                propertiesParser, fileUtil, fingerprinter);
 
         // then
         assertThatExceptionOfType(ValidationException.class).isThrownBy(generator::generate);
@@ -144,17 +176,23 @@ public class PCGeneratorTests {
         ClassGenerator classGenerator = mock(ClassGenerator.class);
         when(generatorFactory.getGenerator(any(ClassGeneratorConfig.class)))
                 .thenReturn(classGenerator);
+        when(classGenerator.write(OutputSink.directory(destinationDir)))
+                .thenReturn(new WriteResult(destinationDir.resolve(TestConstants.TEST_CLASS_NAME + ".java"), true,
+                        0));
 
         when(propertiesReader.loadProperties(propertiesPath)).thenReturn(properties);
+        when(propertiesParser.keysToStaticFinalVariables(anyList())).thenCallRealMethod();
         when(propertiesParser.keyToStaticFinalVariable(anyString())).thenCallRealMethod();
 
         // when
-        new PCGenerator(config, generatorFactory, propertiesReader, propertiesParser, fileUtil).generate();
+        new PCGenerator(config, generatorFactory, propertiesReader, propertiesParser, fileUtil,
+                fingerprinter).generate();
 
         // then
         verify(propertiesParser, times(properties.size())).keyToStaticFinalVariable(anyString());
         verify(classGenerator, times(properties.size())).addPublicConstantString(anyString(), anyString());
-        verify(classGenerator).write(destinationDir);
+        verify(classGenerator).write(OutputSink.directory(destinationDir));
+        verify(classGenerator).close();
     }
 
     @Test
@@ -197,20 +235,748 @@ public class PCGeneratorTests {
 
         ClassGenerator classGenerator = mock(ClassGenerator.class);
         when(generatorFactory.getGenerator(any(ClassGeneratorConfig.class))).thenReturn(classGenerator);
+        when(classGenerator.write(OutputSink.directory(destinationDir)))
+                .thenReturn(new WriteResult(destinationDir.resolve(TestConstants.TEST_CLASS_NAME + ".java"), false,
+                        0));
 
         when(propertiesReader.loadProperties(properties1Path)).thenReturn(properties1);
         when(propertiesReader.loadProperties(properties2Path)).thenReturn(properties2);
         when(propertiesReader.loadProperties(properties3Path)).thenReturn(properties3);
 
+        when(propertiesParser.keysToStaticFinalVariables(anyList())).thenCallRealMethod();
         when(propertiesParser.keyToStaticFinalVariable(anyString())).thenCallRealMethod();
 
         // when
-        new PCGenerator(config, generatorFactory, propertiesReader, propertiesParser, fileUtil).generate();
+        new PCGenerator(config, generatorFactory, propertiesReader, propertiesParser, fileUtil,
+                fingerprinter).generate();
 
         // then
         int totalNumProperties = properties1.size() + properties2.size() + properties3.size();
         verify(propertiesParser, times(totalNumProperties)).keyToStaticFinalVariable(anyString());
         verify(classGenerator, times(totalNumProperties)).addPublicConstantString(anyString(), anyString());
-        verify(classGenerator, times(fileConfigs.size())).write(destinationDir);
+        verify(classGenerator, times(fileConfigs.size())).write(OutputSink.directory(destinationDir));
+    }
+
+    @Test
+    public void constantsAreGeneratedInSortedOrder() throws IOException {
+        // given
+        Path propertiesPath = Paths.get(TestConstants.TEST_PROPERTIES_FILE);
+        when(fileUtil.exists(propertiesPath)).thenReturn(true);
+
+        PropertiesConstantsFileConfig fileConfig = PropertiesConstantsFileConfig.builder()
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                .propertiesPath(propertiesPath)
+                .build();
+
+        PropertiesConstantsConfig config = PropertiesConstantsConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .fileConfigs(Collections.singletonList(fileConfig))
+                .destinationDir(Paths.get(TestConstants.DESTINATION_DIR))
+                .build();
+
+        ClassGenerator classGenerator = mock(ClassGenerator.class);
+        when(generatorFactory.getGenerator(any(ClassGeneratorConfig.class))).thenReturn(classGenerator);
+        when(classGenerator.write(any(OutputSink.class))).thenReturn(new WriteResult(tmpDir, true, 0));
+        when(propertiesReader.loadProperties(propertiesPath)).thenReturn(Map.of("c", "3", "a", "1", "b", "2"));
+        when(propertiesParser.keysToStaticFinalVariables(anyList())).thenCallRealMethod();
+        when(propertiesParser.keyToStaticFinalVariable(anyString())).thenCallRealMethod();
+
+        // when
+        new PCGenerator(config, generatorFactory, propertiesReader, propertiesParser, fileUtil, fingerprinter)
+                .generate();
+
+        // then
+        InOrder inOrder = inOrder(classGenerator);
+        inOrder.verify(classGenerator).addPublicConstantString("A", "a");
+        inOrder.verify(classGenerator).addPublicConstantString("B", "b");
+        inOrder.verify(classGenerator).addPublicConstantString("C", "c");
+    }
+
+    @Test
+    public void successfullyGenerateMultipleFilesInParallel() throws IOException {
+        // given
+        Path destinationDir = Paths.get(TestConstants.DESTINATION_DIR);
+
+        List<PropertiesConstantsFileConfig> fileConfigs = new ArrayList<>();
+        for (String propertiesFile : List.of(TestConstants.TEST_PROPERTIES_FILE, TestConstants.TEST_PROPERTIES_FILE2,
+                TestConstants.TEST_PROPERTIES_FILE3)) {
+            Path propertiesPath = Paths.get(propertiesFile);
+            when(fileUtil.exists(propertiesPath)).thenReturn(true);
+            when(propertiesReader.loadProperties(propertiesPath)).thenReturn(TestHelper.generateProperties());
+            fileConfigs.add(PropertiesConstantsFileConfig.builder()
+                    .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                    .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                    .propertiesPath(propertiesPath)
+                    .build());
+        }
+
+        PropertiesConstantsConfig config = PropertiesConstantsConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .fileConfigs(fileConfigs)
+                .destinationDir(destinationDir)
+                .parallelism(fileConfigs.size())
+                .build();
+
+        ClassGenerator classGenerator = mock(ClassGenerator.class);
+        when(classGenerator.write(OutputSink.directory(destinationDir)))
+                .thenReturn(new WriteResult(destinationDir, true, 0));
+        when(generatorFactory.getGenerator(any(ClassGeneratorConfig.class))).thenReturn(classGenerator);
+        when(propertiesParser.keysToStaticFinalVariables(anyList())).thenCallRealMethod();
+        when(propertiesParser.keyToStaticFinalVariable(anyString())).thenCallRealMethod();
+
+        // when
+        new PCGenerator(config, generatorFactory, propertiesReader, propertiesParser, fileUtil, fingerprinter)
+                .generate();
+
+        // then
+        verify(generatorFactory, times(fileConfigs.size())).getGenerator(any(ClassGeneratorConfig.class));
+    }
+
+    @Test
+    public void failuresOfAllFilesAreReported() {
+        // given
+        Path properties1Path = Paths.get(TestConstants.TEST_PROPERTIES_FILE);
+        Path properties2Path = Paths.get(TestConstants.TEST_PROPERTIES_FILE2);
+        when(fileUtil.exists(any(Path.class))).thenReturn(false);
+
+        List<PropertiesConstantsFileConfig> fileConfigs = new ArrayList<>();
+        for (Path propertiesPath : List.of(properties1Path, properties2Path)) {
+            fileConfigs.add(PropertiesConstantsFileConfig.builder()
+                    .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                    .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                    .propertiesPath(propertiesPath)
+                    .build());
+        }
+
+        PropertiesConstantsConfig config = PropertiesConstantsConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .fileConfigs(fileConfigs)
+                .destinationDir(Paths.get(TestConstants.DESTINATION_DIR))
+                .parallelism(2)
+                .build();
+
+        // when
+        PropertiesConstants generator = new PCGenerator(config, generatorFactory, propertiesReader,
+                propertiesParser, fileUtil, fingerprinter);
+
+        // then
+        assertThatExceptionOfType(ValidationException.class).isThrownBy(generator::generate)
+                .withMessageContaining(properties1Path.toString())
+                .satisfies(e -> assertThat(e.getSuppressed()).singleElement()
+                        .extracting(Throwable::getMessage).asString().contains(properties2Path.toString()));
+    }
+
+    @Test
+    public void unchangedFileIsSkippedWhenIncremental() throws IOException {
+        // given
+        Path propertiesPath = tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE);
+        Files.writeString(propertiesPath, "my.key=value", StandardCharsets.UTF_8);
+
+        PropertiesConstantsConfig config = incrementalConfig(propertiesPath);
+        ClassGeneratorFactory realGeneratorFactory = spy(new ClassGeneratorFactory());
+        PropertiesConstants generator = new PCGenerator(config, realGeneratorFactory, new PropertiesReader(),
+                new PropertiesParser(), new FileUtil(), new Fingerprinter());
+
+        // when
+        generator.generate();
+        generator.generate();
+
+        // then
+        verify(realGeneratorFactory, times(1)).getGenerator(any(ClassGeneratorConfig.class));
+    }
+
+    @Test
+    public void changedFileIsRegeneratedWhenIncremental() throws IOException {
+        // given
+        Path propertiesPath = tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE);
+        Files.writeString(propertiesPath, "my.key=value", StandardCharsets.UTF_8);
+
+        PropertiesConstantsConfig config = incrementalConfig(propertiesPath);
+        ClassGeneratorFactory realGeneratorFactory = spy(new ClassGeneratorFactory());
+        PropertiesConstants generator = new PCGenerator(config, realGeneratorFactory, new PropertiesReader(),
+                new PropertiesParser(), new FileUtil(), new Fingerprinter());
+
+        // when
+        generator.generate();
+        Files.writeString(propertiesPath, "my.key=value\nmy.other.key=value", StandardCharsets.UTF_8);
+        generator.generate();
+
+        // then
+        verify(realGeneratorFactory, times(2)).getGenerator(any(ClassGeneratorConfig.class));
+    }
+
+    @Test
+    public void changedBackendIsRegeneratedWhenIncremental() throws IOException {
+        // given
+        Path propertiesPath = tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE);
+        Files.writeString(propertiesPath, "my.key=value", StandardCharsets.UTF_8);
+
+        PropertiesConstantsConfig config = incrementalConfig(propertiesPath);
+        PropertiesConstantsConfig streamingConfig = PropertiesConstantsConfig.builder()
+                .generatedBy(config.generatedBy())
+                .fileConfigs(config.fileConfigs())
+                .destinationDir(config.destinationDir())
+                .incremental(true)
+                .backend(GeneratorBackend.STREAMING)
+                .build();
+        ClassGeneratorFactory realGeneratorFactory = spy(new ClassGeneratorFactory());
+
+        // when
+        for (PropertiesConstantsConfig runConfig : List.of(config, streamingConfig, streamingConfig)) {
+            new PCGenerator(runConfig, realGeneratorFactory, new PropertiesReader(), new PropertiesParser(),
+                    new FileUtil(), new Fingerprinter()).generate();
+        }
+
+        // then
+        verify(realGeneratorFactory, times(2)).getGenerator(any(ClassGeneratorConfig.class));
+    }
+
+    @Test
+    public void metricsAreReportedToListeners() throws IOException {
+        // given
+        Path propertiesPath = tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE);
+        Files.writeString(propertiesPath, "my.key=value\nmy.other.key=value", StandardCharsets.UTF_8);
+
+        List<GenerationReport> reports = new ArrayList<>();
+        PropertiesConstantsFileConfig fileConfig = PropertiesConstantsFileConfig.builder()
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                .propertiesPath(propertiesPath)
+                .build();
+        PropertiesConstantsConfig config = PropertiesConstantsConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .fileConfigs(Collections.singletonList(fileConfig))
+                .destinationDir(tmpDir.resolve(TestConstants.DESTINATION_DIR))
+                .incremental(true)
+                .listeners(List.of(new GenerationListener() {
+                    @Override
+                    public void runCompleted(GenerationReport report) {
+                        reports.add(report);
+                    }
+                }))
+                .build();
+        PropertiesConstants generator = new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(),
+                new PropertiesParser(), new FileUtil(), new Fingerprinter());
+
+        // when
+        generator.generate();
+        generator.generate();
+
+        // then
+        assertThat(reports).hasSize(2);
+        assertThat(reports.get(0).outputs()).singleElement().satisfies(metrics -> {
+            assertThat(metrics.output().status()).isEqualTo(GeneratedOutput.Status.GENERATED);
+            assertThat(metrics.keys()).isEqualTo(2);
+            assertThat(metrics.bytesRead()).isEqualTo(Files.size(propertiesPath));
+            assertThat(metrics.bytesWritten()).isEqualTo(Files.size(metrics.output().path()));
+            assertThat(metrics.phaseNanos()).containsKeys(GenerationPhase.FINGERPRINT, GenerationPhase.READ,
+                    GenerationPhase.WRITE);
+        });
+        assertThat(reports.get(1).outputs()).singleElement().satisfies(metrics -> {
+            assertThat(metrics.output().status()).isEqualTo(GeneratedOutput.Status.UP_TO_DATE);
+            assertThat(metrics.bytesRead()).isZero();
+            assertThat(metrics.phaseNanos()).containsOnlyKeys(GenerationPhase.FINGERPRINT);
+        });
+    }
+
+    @Test
+    public void deletedOutputIsRegeneratedWhenIncremental() throws IOException {
+        // given
+        Path propertiesPath = tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE);
+        Files.writeString(propertiesPath, "my.key=value", StandardCharsets.UTF_8);
+
+        PropertiesConstantsConfig config = incrementalConfig(propertiesPath);
+        ClassGeneratorFactory realGeneratorFactory = spy(new ClassGeneratorFactory());
+        PropertiesConstants generator = new PCGenerator(config, realGeneratorFactory, new PropertiesReader(),
+                new PropertiesParser(), new FileUtil(), new Fingerprinter());
+
+        // when
+        generator.generate();
+        Files.delete(config.destinationDir().resolve(Path.of("com", "jgazula", "test", "TestClass.java")));
+        generator.generate();
+
+        // then
+        verify(realGeneratorFactory, times(2)).getGenerator(any(ClassGeneratorConfig.class));
+    }
+
+    @Test
+    public void propertiesFileIsReadFromArchive() throws IOException {
+        // given
+        Path archive = TestHelper.createArchive(tmpDir.resolve("resources.jar"),
+                Map.of("i18n/" + TestConstants.TEST_PROPERTIES_FILE, "my.key=value"));
+
+        PropertiesConstantsConfig config = incrementalConfig(
+                Path.of(archive + "!/i18n/" + TestConstants.TEST_PROPERTIES_FILE));
+        ClassGeneratorFactory realGeneratorFactory = spy(new ClassGeneratorFactory());
+        PropertiesConstants generator = new PCGenerator(config, realGeneratorFactory, new PropertiesReader(),
+                new PropertiesParser(), new FileUtil(), new Fingerprinter());
+
+        // when
+        generator.generate();
+        generator.generate();
+
+        // then
+        verify(realGeneratorFactory, times(1)).getGenerator(any(ClassGeneratorConfig.class));
+        assertThat(config.destinationDir().resolve(Path.of("com", "jgazula", "test", "TestClass.java")))
+                .content(StandardCharsets.UTF_8)
+                .contains("public static final String MY_KEY = \"my.key\";");
+    }
+
+    @Test
+    public void changedFileIsRegeneratedWhenWatched() throws IOException, InterruptedException {
+        // given
+        Path propertiesPath = tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE);
+        Files.writeString(propertiesPath, "my.key=value", StandardCharsets.UTF_8);
+
+        PropertiesConstantsConfig config = incrementalConfig(propertiesPath);
+        Path generated = config.destinationDir().resolve(Path.of("com", "jgazula", "test", "TestClass.java"));
+        PCGenerator generator = new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(),
+                new PropertiesParser(), new FileUtil(), new Fingerprinter());
+
+        try (Watcher watcher = generator.watch(Duration.ofMillis(10))) {
+            assertThat(generated).content(StandardCharsets.UTF_8).contains("MY_KEY");
+
+            // when
+            Files.writeString(propertiesPath, "my.other.key=value", StandardCharsets.UTF_8);
+
+            // then
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!Files.readString(generated, StandardCharsets.UTF_8).contains("MY_OTHER_KEY")
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(generated).content(StandardCharsets.UTF_8).contains("MY_OTHER_KEY");
+        }
+    }
+
+    @Test
+    public void streamingBackendGeneratesSameFileAsJavaPoet() throws IOException {
+        // given
+        Path propertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE),
+                "my.key=value\nmy.other.key=other value\nunicode.\\u00e9=value", StandardCharsets.UTF_8);
+
+        // when
+        Path poetFile = generateFile(propertiesPath, tmpDir.resolve("poet"), GeneratorBackend.JAVAPOET);
+        Path streamingFile = generateFile(propertiesPath, tmpDir.resolve("streaming"), GeneratorBackend.STREAMING);
+
+        // then
+        assertThat(streamingFile).content(StandardCharsets.UTF_8)
+                .isEqualTo(Files.readString(poetFile, StandardCharsets.UTF_8))
+                .contains("public static final String MY_OTHER_KEY = \"my.other.key\";");
+    }
+
+    @Test
+    public void bytecodeBackendWritesClassFile() throws Exception {
+        // given
+        Path propertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE),
+                "my.key=value\nmy.other.key=other value", StandardCharsets.UTF_8);
+        Path destinationDir = tmpDir.resolve("classes");
+
+        // when
+        Path javaFile = generateFile(propertiesPath, destinationDir, GeneratorBackend.BYTECODE);
+
+        // then
+        Path classFile = javaFile.resolveSibling(TestConstants.TEST_CLASS_NAME + ".class");
+        assertThat(javaFile).doesNotExist();
+        Class<?> constants = TestHelper.defineAndLoad(TestConstants.TEST_PACKAGE_NAME + "."
+                + TestConstants.TEST_CLASS_NAME, Files.readAllBytes(classFile));
+        assertThat(constants.getField("MY_KEY").get(null)).isEqualTo("my.key");
+        assertThat(constants.getField("MY_OTHER_KEY").get(null)).isEqualTo("my.other.key");
+    }
+
+    @Test
+    public void filesAreWrittenToConfiguredOutputSink() throws IOException {
+        // given
+        Path propertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE), "my.key=value",
+                StandardCharsets.UTF_8);
+        Path destinationDir = tmpDir.resolve(TestConstants.DESTINATION_DIR);
+        InMemoryOutputSink sink = OutputSink.inMemory();
+        List<GenerationReport> reports = new ArrayList<>();
+        PropertiesConstantsConfig config = PropertiesConstantsConfig.builder()
+                .generatedBy("plugin \u00e9\u20ac")
+                .fileConfigs(Collections.singletonList(PropertiesConstantsFileConfig.builder()
+                        .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                        .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                        .propertiesPath(propertiesPath)
+                        .build()))
+                .destinationDir(destinationDir)
+                .outputSink(sink)
+                .backend(GeneratorBackend.STREAMING)
+                .listeners(List.of(new GenerationListener() {
+                    @Override
+                    public void runCompleted(GenerationReport report) {
+                        reports.add(report);
+                    }
+                }))
+                .build();
+
+        // when
+        new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new FileUtil(), new Fingerprinter()).generate();
+
+        // then
+        assertThat(sink.source(TestConstants.TEST_PACKAGE_NAME + "." + TestConstants.TEST_CLASS_NAME))
+                .hasValueSatisfying(source -> assertThat(source)
+                        .contains("public static final String MY_KEY = \"my.key\";"));
+        assertThat(destinationDir).doesNotExist();
+        long sourceBytes = sink.source(TestConstants.TEST_PACKAGE_NAME + "." + TestConstants.TEST_CLASS_NAME)
+                .orElseThrow().getBytes(StandardCharsets.UTF_8).length;
+        assertThat(reports).singleElement()
+                .satisfies(report -> assertThat(report.bytesWritten()).isEqualTo(sourceBytes));
+    }
+
+    @Test
+    public void incrementalGenerationRequiresDirectoryOutputSink() throws IOException {
+        // given
+        Path propertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE), "my.key=value",
+                StandardCharsets.UTF_8);
+        PropertiesConstantsConfig config = PropertiesConstantsConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .fileConfigs(Collections.singletonList(PropertiesConstantsFileConfig.builder()
+                        .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                        .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                        .propertiesPath(propertiesPath)
+                        .build()))
+                .destinationDir(tmpDir.resolve(TestConstants.DESTINATION_DIR))
+                .outputSink(OutputSink.inMemory())
+                .incremental(true)
+                .build();
+
+        // when
+        PropertiesConstants generator = new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(),
+                new PropertiesParser(), new FileUtil(), new Fingerprinter());
+
+        // then
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(generator::generate)
+                .withMessage("Incremental generation and pruning of stale outputs require an output sink which "
+                        + "writes to a directory");
+    }
+
+    @Test
+    public void constantsAreSplitIntoShardsWhenTooMany() throws Exception {
+        // given
+        Path propertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE),
+                "a.key=1\nb.key=2\nc.key=3\nd.key=4\ne.key=5", StandardCharsets.UTF_8);
+        InMemoryOutputSink sink = OutputSink.inMemory();
+        PropertiesConstantsConfig config = shardedConfig(propertiesPath, tmpDir.resolve(TestConstants.DESTINATION_DIR),
+                GeneratorBackend.JAVAPOET)
+                .outputSink(sink)
+                .build();
+
+        // when
+        new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new FileUtil(), new Fingerprinter()).generate();
+
+        // then
+        String qualifiedClassName = TestConstants.TEST_PACKAGE_NAME + "." + TestConstants.TEST_CLASS_NAME;
+        assertThat(sink.sources()).containsOnlyKeys(qualifiedClassName, qualifiedClassName + "Shard1",
+                qualifiedClassName + "Shard2", qualifiedClassName + "Shard3");
+        assertThat(sink.source(qualifiedClassName + "Shard1")).hasValueSatisfying(source -> assertThat(source)
+                .contains("public interface TestClassShard1 {")
+                .contains("String A_KEY = \"a.key\"")
+                .contains("String B_KEY = \"b.key\"")
+                .doesNotContain("C_KEY"));
+        assertThat(sink.source(qualifiedClassName + "Shard3")).hasValueSatisfying(source -> assertThat(source)
+                .contains("public interface TestClassShard3 {")
+                .contains("String E_KEY = \"e.key\"")
+                .doesNotContain("D_KEY"));
+        assertThat(sink.source(qualifiedClassName)).hasValueSatisfying(source -> assertThat(source)
+                .contains("public class TestClass implements TestClassShard1, TestClassShard2, TestClassShard3 {")
+                .doesNotContain(" = "));
+
+        Class<?> constants = TestHelper.compileAndLoad(qualifiedClassName, sink, tmpDir.resolve("classes"));
+        for (String key : List.of("a.key", "b.key", "c.key", "d.key", "e.key")) {
+            assertThat(constants.getField(key.toUpperCase().replace('.', '_')).get(null)).isEqualTo(key);
+        }
+    }
+
+    @Test
+    public void shardsAreCompiledIndependently() throws Exception {
+        // given
+        Path propertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE),
+                "a.key=1\nb.key=2\nc.key=3\nd.key=4\ne.key=5", StandardCharsets.UTF_8);
+        InMemoryOutputSink sink = OutputSink.inMemory();
+        PropertiesConstantsConfig config = shardedConfig(propertiesPath, tmpDir.resolve(TestConstants.DESTINATION_DIR),
+                GeneratorBackend.JAVAPOET)
+                .outputSink(sink)
+                .build();
+
+        // when
+        new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new FileUtil(), new Fingerprinter()).generate();
+
+        // then
+        String qualifiedShardName = TestConstants.TEST_PACKAGE_NAME + "." + TestConstants.TEST_CLASS_NAME + "Shard3";
+        Class<?> shard = TestHelper.compileAndLoad(qualifiedShardName,
+                sink.source(qualifiedShardName).orElseThrow(), tmpDir.resolve("classes"));
+        assertThat(shard.isInterface()).isTrue();
+        assertThat(shard.getInterfaces()).isEmpty();
+        assertThat(shard.getField("E_KEY").get(null)).isEqualTo("e.key");
+    }
+
+    @Test
+    public void constantsAreSplitWhenTheyExceedTheConstantPool() throws Exception {
+        // given
+        var properties = new StringBuilder();
+        for (int i = 0; i < 30_000; i++) {
+            properties.append(String.format("key.%05d=%d%n", i, i));
+        }
+        Path propertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE), properties,
+                StandardCharsets.UTF_8);
+        InMemoryOutputSink sink = OutputSink.inMemory();
+        PropertiesConstantsConfig config = shardedConfig(propertiesPath, tmpDir.resolve(TestConstants.DESTINATION_DIR),
+                GeneratorBackend.BYTECODE)
+                .maxConstantsPerClass(Integer.MAX_VALUE)
+                .outputSink(sink)
+                .build();
+
+        // when
+        new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new FileUtil(), new Fingerprinter()).generate();
+
+        // then
+        String qualifiedClassName = TestConstants.TEST_PACKAGE_NAME + "." + TestConstants.TEST_CLASS_NAME;
+        assertThat(sink.classFile(qualifiedClassName)).isPresent();
+        assertThat(sink.classFile(qualifiedClassName + "Shard1")).isPresent();
+        assertThat(sink.classFile(qualifiedClassName + "Shard3")).isEmpty();
+        Class<?> shard = TestHelper.defineAndLoad(qualifiedClassName + "Shard2",
+                sink.classFile(qualifiedClassName + "Shard2").orElseThrow());
+        assertThat(shard.getField("KEY_29999").get(null)).isEqualTo("key.29999");
+    }
+
+    @Test
+    public void shardsAreIdenticalForAllBackends() throws Exception {
+        // given
+        Path propertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE),
+                "a.key=1\nb.key=2\nc.key=3", StandardCharsets.UTF_8);
+        Path poetDir = tmpDir.resolve("poet");
+        Path streamingDir = tmpDir.resolve("streaming");
+        Path classesDir = tmpDir.resolve("classes");
+
+        // when
+        for (Map.Entry<GeneratorBackend, Path> backend : Map.of(GeneratorBackend.JAVAPOET, poetDir,
+                GeneratorBackend.STREAMING, streamingDir, GeneratorBackend.BYTECODE, classesDir).entrySet()) {
+            new PCGenerator(shardedConfig(propertiesPath, backend.getValue(), backend.getKey()).build(),
+                    new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(), new FileUtil(),
+                    new Fingerprinter()).generate();
+        }
+
+        // then
+        Path packageDir = Path.of("com", "jgazula", "test");
+        for (String className : List.of("TestClass", "TestClassShard1", "TestClassShard2")) {
+            Path javaFile = packageDir.resolve(className + ".java");
+            assertThat(streamingDir.resolve(javaFile)).content(StandardCharsets.UTF_8)
+                    .isEqualTo(Files.readString(poetDir.resolve(javaFile), StandardCharsets.UTF_8));
+            assertThat(classesDir.resolve(packageDir.resolve(className + ".class"))).isRegularFile();
+        }
+        try (var loader = new URLClassLoader(new URL[] {classesDir.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> constants = Class.forName(TestConstants.TEST_PACKAGE_NAME + "." + TestConstants.TEST_CLASS_NAME,
+                    true, loader);
+            assertThat(constants.getField("A_KEY").get(null)).isEqualTo("a.key");
+            assertThat(constants.getField("C_KEY").get(null)).isEqualTo("c.key");
+        }
+    }
+
+    @Test
+    public void staleShardsArePruned() throws IOException {
+        // given
+        Path propertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE),
+                "a.key=1\nb.key=2\nc.key=3\nd.key=4\ne.key=5", StandardCharsets.UTF_8);
+        Path destinationDir = tmpDir.resolve(TestConstants.DESTINATION_DIR);
+        PropertiesConstantsConfig config = shardedConfig(propertiesPath, destinationDir, GeneratorBackend.JAVAPOET)
+                .incremental(true)
+                .pruneStaleOutputs(true)
+                .build();
+        Path packageDir = destinationDir.resolve(Path.of("com", "jgazula", "test"));
+
+        // when
+        new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new FileUtil(), new Fingerprinter()).generate();
+        // an up-to-date run of a new generator keeps the shards which it finds
+        new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new FileUtil(), new Fingerprinter()).generate();
+        boolean shardsKept = Files.isRegularFile(packageDir.resolve("TestClassShard3.java"));
+        Files.writeString(propertiesPath, "a.key=1\nb.key=2", StandardCharsets.UTF_8);
+        new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new FileUtil(), new Fingerprinter()).generate();
+
+        // then
+        assertThat(shardsKept).isTrue();
+        assertThat(Files.list(packageDir)).containsExactly(packageDir.resolve("TestClass.java"));
+    }
+
+    @Test
+    public void deletedShardIsRegeneratedWhenIncremental() throws IOException {
+        // given
+        Path propertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE),
+                "a.key=1\nb.key=2\nc.key=3\nd.key=4\ne.key=5", StandardCharsets.UTF_8);
+        Path destinationDir = tmpDir.resolve(TestConstants.DESTINATION_DIR);
+        List<GenerationReport> reports = new ArrayList<>();
+        PropertiesConstantsConfig config = shardedConfig(propertiesPath, destinationDir, GeneratorBackend.JAVAPOET)
+                .incremental(true)
+                .listeners(List.of(new GenerationListener() {
+                    @Override
+                    public void runCompleted(GenerationReport report) {
+                        reports.add(report);
+                    }
+                }))
+                .build();
+        Path lastShard = destinationDir.resolve(Path.of("com", "jgazula", "test", "TestClassShard3.java"));
+
+        // when
+        new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new FileUtil(), new Fingerprinter()).generate();
+        Files.delete(lastShard);
+        new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new FileUtil(), new Fingerprinter()).generate();
+        new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new FileUtil(), new Fingerprinter()).generate();
+
+        // then
+        assertThat(lastShard).isRegularFile();
+        assertThat(reports).extracting(report -> report.outputs().get(0).output().status()).containsExactly(
+                GeneratedOutput.Status.GENERATED, GeneratedOutput.Status.GENERATED, GeneratedOutput.Status.UP_TO_DATE);
+    }
+
+    @Test
+    public void staleShardsAreDeletedWithoutPruning() throws IOException {
+        // given
+        Path propertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE),
+                "a.key=1\nb.key=2\nc.key=3\nd.key=4\ne.key=5", StandardCharsets.UTF_8);
+        Path destinationDir = tmpDir.resolve(TestConstants.DESTINATION_DIR);
+        List<GenerationReport> reports = new ArrayList<>();
+        PropertiesConstantsConfig config = shardedConfig(propertiesPath, destinationDir, GeneratorBackend.JAVAPOET)
+                .listeners(List.of(new GenerationListener() {
+                    @Override
+                    public void runCompleted(GenerationReport report) {
+                        reports.add(report);
+                    }
+                }))
+                .build();
+        Path packageDir = destinationDir.resolve(Path.of("com", "jgazula", "test"));
+
+        // when
+        new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new FileUtil(), new Fingerprinter()).generate();
+        Files.writeString(propertiesPath, "a.key=1\nb.key=2\nc.key=3", StandardCharsets.UTF_8);
+        new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new FileUtil(), new Fingerprinter()).generate();
+
+        // then
+        assertThat(Files.list(packageDir)).containsExactlyInAnyOrder(packageDir.resolve("TestClass.java"),
+                packageDir.resolve("TestClassShard1.java"), packageDir.resolve("TestClassShard2.java"));
+        assertThat(reports.get(1).outputs()).extracting(OutputMetrics::output).contains(new GeneratedOutput(
+                "properties-constants", TestConstants.TEST_PACKAGE_NAME + ".TestClassShard3",
+                packageDir.resolve("TestClassShard3.java"), GeneratedOutput.Status.DELETED));
+    }
+
+    @Test
+    public void configsWithTheSameDestinationDirectoryDoNotPruneEachOther() throws IOException {
+        // given
+        Path firstPropertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE),
+                "a.key=1", StandardCharsets.UTF_8);
+        Path secondPropertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE2),
+                "b.key=2", StandardCharsets.UTF_8);
+        Path destinationDir = tmpDir.resolve(TestConstants.DESTINATION_DIR);
+        Path packageDir = destinationDir.resolve(Path.of("com", "jgazula", "test"));
+
+        // when
+        for (PropertiesConstantsFileConfig fileConfig : List.of(
+                prunedFileConfig(firstPropertiesPath, TestConstants.TEST_CLASS_NAME),
+                prunedFileConfig(secondPropertiesPath, TestConstants.TEST_CLASS_NAME2))) {
+            new PCGenerator(PropertiesConstantsConfig.builder()
+                    .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                    .fileConfigs(List.of(fileConfig))
+                    .destinationDir(destinationDir)
+                    .pruneStaleOutputs(true)
+                    .build(), new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                    new FileUtil(), new Fingerprinter()).generate();
+        }
+
+        // then
+        assertThat(packageDir.resolve("TestClass.java")).isRegularFile();
+        assertThat(packageDir.resolve("TestClass2.java")).isRegularFile();
+    }
+
+    @Test
+    public void maxConstantsPerClassMustBePositive() throws IOException {
+        // given
+        Path propertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE), "my.key=value",
+                StandardCharsets.UTF_8);
+        PropertiesConstantsConfig config = shardedConfig(propertiesPath, tmpDir.resolve(TestConstants.DESTINATION_DIR),
+                GeneratorBackend.JAVAPOET)
+                .maxConstantsPerClass(0)
+                .build();
+        PropertiesConstants generator = new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(),
+                new PropertiesParser(), new FileUtil(), new Fingerprinter());
+
+        // when / then
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(generator::generate)
+                .withMessage("The maximum number of constants per class must be positive but was 0");
+    }
+
+    /**
+     * Returns a config which splits the properties file into classes of at most two constants.
+     */
+    private static PropertiesConstantsConfig.PropertiesConstantsConfigBuilder shardedConfig(
+            Path propertiesPath, Path destinationDir, GeneratorBackend backend) {
+        return PropertiesConstantsConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .fileConfigs(Collections.singletonList(PropertiesConstantsFileConfig.builder()
+                        .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                        .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                        .propertiesPath(propertiesPath)
+                        .build()))
+                .destinationDir(destinationDir)
+                .reproducible(true)
+                .backend(backend)
+                .maxConstantsPerClass(2);
+    }
+
+    private static PropertiesConstantsFileConfig prunedFileConfig(Path propertiesPath, String className) {
+        return PropertiesConstantsFileConfig.builder()
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                .generatedClassName(className)
+                .propertiesPath(propertiesPath)
+                .build();
+    }
+
+    private Path generateFile(Path propertiesPath, Path destinationDir, GeneratorBackend backend)
+            throws IOException {
+        PropertiesConstantsFileConfig fileConfig = PropertiesConstantsFileConfig.builder()
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                .propertiesPath(propertiesPath)
+                .build();
+
+        PropertiesConstantsConfig config = PropertiesConstantsConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .fileConfigs(Collections.singletonList(fileConfig))
+                .destinationDir(destinationDir)
+                .reproducible(true)
+                .backend(backend)
+                .build();
+
+        new PCGenerator(config, new ClassGeneratorFactory(), new PropertiesReader(), new PropertiesParser(),
+                new FileUtil(), new Fingerprinter()).generate();
+        return destinationDir.resolve(Path.of("com", "jgazula", "test", TestConstants.TEST_CLASS_NAME + ".java"));
+    }
+
+    private PropertiesConstantsConfig incrementalConfig(Path propertiesPath) {
+        PropertiesConstantsFileConfig fileConfig = PropertiesConstantsFileConfig.builder()
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                .propertiesPath(propertiesPath)
+                .build();
+
+        return PropertiesConstantsConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .fileConfigs(Collections.singletonList(fileConfig))
+                .destinationDir(tmpDir.resolve(TestConstants.DESTINATION_DIR))
+                .incremental(true)
+                .build();
     }
 }
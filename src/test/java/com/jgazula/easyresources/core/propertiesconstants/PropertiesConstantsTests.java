@@ -4,17 +4,24 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNullPointerException;
 
 import com.jgazula.easyresources.core.testutil.TestConstants;
+import com.jgazula.easyresources.core.util.Watcher;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class PropertiesConstantsTests {
 
     @Test
     public void nullConfigThrowsException() {
         assertThatNullPointerException().isThrownBy(() -> PropertiesConstants.create(null));
+        assertThatNullPointerException().isThrownBy(() -> PropertiesConstants.fingerprint(null));
     }
 
     @Test
@@ -38,4 +45,29 @@ public class PropertiesConstantsTests {
         // then
         assertThat(instance).isNotNull();
     }
+
+    @Test
+    public void watchNewInstance(@TempDir Path tmpDir) throws IOException {
+        // given
+        Path propertiesPath = Files.writeString(tmpDir.resolve(TestConstants.TEST_PROPERTIES_FILE), "my.key=value",
+                StandardCharsets.UTF_8);
+        PropertiesConstantsFileConfig fileConfig = PropertiesConstantsFileConfig.builder()
+                .generatedPackageName(TestConstants.TEST_PACKAGE_NAME)
+                .generatedClassName(TestConstants.TEST_CLASS_NAME)
+                .propertiesPath(propertiesPath)
+                .build();
+
+        PropertiesConstantsConfig config = PropertiesConstantsConfig.builder()
+                .generatedBy(TestConstants.TEST_PLUGIN_NAME)
+                .fileConfigs(Collections.singletonList(fileConfig))
+                .destinationDir(tmpDir.resolve(TestConstants.DESTINATION_DIR))
+                .build();
+
+        // when
+        try (Watcher watcher = PropertiesConstants.watch(config)) {
+            // then
+            assertThat(watcher).isNotNull();
+            assertThat(tmpDir.resolve(TestConstants.DESTINATION_DIR)).isNotEmptyDirectory();
+        }
+    }
 }
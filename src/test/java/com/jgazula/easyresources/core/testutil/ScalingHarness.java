@@ -0,0 +1,192 @@
+package com.jgazula.easyresources.core.testutil;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-to-end generation runs: their wall time, the peak heap usage and the allocated bytes. Every run is
+ * repeated, and the run with the median wall time is reported, so that a single slow run (such as one which is not
+ * yet JIT compiled) does not distort the scaling curve.
+ * <p>
+ * The allocated bytes are the sum over all live threads of the bytes which each thread has allocated, so the
+ * generation has to run on the executor of the harness (whose threads live as long as the harness) rather than on
+ * short-lived threads whose allocations would be lost. The peak heap usage is the sum of the peak usages of the heap
+ * memory pools, which are reset after a garbage collection at the start of every run.
+ */
+public class ScalingHarness implements AutoCloseable {
+
+    private static final String CSV_HEADER = "scenario,bundles,locales,files,keys,bytes,threads,wallMillis,"
+            + "peakHeapMegabytes,allocatedMegabytes,allocationMegabytesPerSecond";
+    private static final double MEGABYTE = 1024 * 1024;
+
+    private final int repetitions;
+    private final List<Measurement> measurements = new ArrayList<>();
+    private final List<ExecutorService> executors = new ArrayList<>();
+
+    public ScalingHarness(int repetitions) {
+        this.repetitions = repetitions;
+    }
+
+    public static final class Measurement {
+        private final String scenario;
+        private final SyntheticResources.Spec spec;
+        private final SyntheticResources resources;
+        private final int threads;
+        private final long wallNanos;
+        private final long peakHeapBytes;
+        private final long allocatedBytes;
+
+        private Measurement(String scenario, SyntheticResources.Spec spec, SyntheticResources resources, int threads,
+                            long wallNanos, long peakHeapBytes, long allocatedBytes) {
+            this.scenario = scenario;
+            this.spec = spec;
+            this.resources = resources;
+            this.threads = threads;
+            this.wallNanos = wallNanos;
+            this.peakHeapBytes = peakHeapBytes;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public long wallNanos() {
+            return wallNanos;
+        }
+
+        public long peakHeapBytes() {
+            return peakHeapBytes;
+        }
+
+        public long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /**
+         * Returns the allocated megabytes per second of wall time.
+         */
+        public double allocationRate() {
+            return wallNanos == 0 ? 0 : allocatedBytes / MEGABYTE / (wallNanos / 1e9);
+        }
+
+        String toCsv() {
+            return String.format("%s,%d,%d,%d,%d,%d,%d,%.1f,%.1f,%.1f,%.1f", scenario, spec.bundles(),
+                    spec.locales(), resources.files(), resources.keys(), resources.bytes(), threads, wallNanos / 1e6,
+                    peakHeapBytes / MEGABYTE, allocatedBytes / MEGABYTE, allocationRate());
+        }
+    }
+
+    /**
+     * A generation run on the given executor, which runs as many tasks concurrently as it has threads.
+     */
+    @FunctionalInterface
+    public interface Run {
+        void run(ExecutorService executor) throws IOException;
+    }
+
+    /**
+     * Measures the given run, on an executor of the given number of threads, and records its measurement.
+     */
+    public Measurement measure(String scenario, SyntheticResources.Spec spec, SyntheticResources resources,
+                               int threads, Run run) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        executors.add(executor);
+
+        List<Measurement> runs = new ArrayList<>(repetitions);
+        for (int i = 0; i < repetitions; i++) {
+            System.gc();
+            List<MemoryPoolMXBean> heapPools = heapPools();
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+
+            run.run(executor);
+
+            long wallNanos = System.nanoTime() - start;
+            long allocatedBytes = allocatedBytes() - allocatedBefore;
+            long peakHeapBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            runs.add(new Measurement(scenario, spec, resources, threads, wallNanos, peakHeapBytes, allocatedBytes));
+        }
+
+        runs.sort(Comparator.comparingLong(Measurement::wallNanos));
+        Measurement median = runs.get(runs.size() / 2);
+        measurements.add(median);
+        return median;
+    }
+
+    public List<Measurement> measurements() {
+        return List.copyOf(measurements);
+    }
+
+    /**
+     * Writes all the measurements as CSV to the given file.
+     */
+    public void writeReport(Path file) throws IOException {
+        Optional.ofNullable(file.toAbsolutePath().getParent()).ifPresent(directory -> {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        var report = new StringBuilder(CSV_HEADER).append('\n');
+        measurements.forEach(measurement -> report.append(measurement.toCsv()).append('\n'));
+        Files.writeString(file, report, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns all the measurements as a table, which is aligned for reading on the console.
+     */
+    public String table() {
+        var table = new StringBuilder(String.format("%-24s %8s %8s %10s %8s %12s %14s %14s %12s%n", "scenario",
+                "bundles", "locales", "keys", "threads", "wall (ms)", "peak heap (MB)", "allocated (MB)",
+                "alloc (MB/s)"));
+        for (Measurement m : measurements) {
+            table.append(String.format("%-24s %8d %8d %10d %8d %12.1f %14.1f %14.1f %12.1f%n", m.scenario,
+                    m.spec.bundles(), m.spec.locales(), m.resources.keys(), m.threads, m.wallNanos / 1e6,
+                    m.peakHeapBytes / MEGABYTE, m.allocatedBytes / MEGABYTE, m.allocationRate()));
+        }
+        return table.toString();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (ExecutorService executor : executors) {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                heapPools.add(pool);
+            }
+        }
+        return heapPools;
+    }
+
+    /**
+     * Returns the bytes which all the live threads have allocated so far.
+     */
+    private static long allocatedBytes() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocated = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            // a thread which has died in the meantime is reported as -1
+            allocated += Math.max(bytes, 0);
+        }
+        return allocated;
+    }
+}
@@ -0,0 +1,293 @@
+package com.jgazula.easyresources.core.testutil;
+
+import com.jgazula.easyresources.core.enhancedresourcebundle.ERBBundleConfig;
+import com.jgazula.easyresources.core.propertiesconstants.PropertiesConstantsFileConfig;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a realistic tree of resource bundles, as found in a large multi-module project: modules with several
+ * bundles per directory, a base file and a file per locale for every bundle, and messages which are
+ * {@link java.text.MessageFormat} patterns with arguments of various types. The files use all the syntax of
+ * properties files: comments, {@code =} and {@code :} separators, line continuations, and Unicode values both as
+ * UTF-8 and as Unicode escapes.
+ * <p>
+ * The tree only depends on the {@link Spec}, so that the same spec always generates the same files.
+ */
+public class SyntheticResources {
+
+    private static final int BUNDLES_PER_MODULE = 50;
+    private static final int DIRECTORIES_PER_MODULE = 10;
+    private static final int CONTINUATION_LENGTH = 60;
+
+    private static final List<String> LOCALES = List.of("en", "fr", "de", "es", "it", "pt_BR", "nl", "sv", "da",
+            "fi", "nb", "pl", "cs", "hu", "ro", "el", "tr", "ru", "uk", "ar", "he", "hi", "th", "vi", "id", "ms",
+            "ja", "ko", "zh_CN", "zh_TW", "en_GB", "en_US", "fr_CA", "es_MX", "de_CH", "bg", "hr", "sk", "sl", "lt");
+    private static final String[] KEY_WORDS = {"account", "button", "error", "label", "message", "title", "user",
+        "settings", "dialog", "menu", "save", "cancel", "confirm", "delete", "name", "email", "order", "invoice",
+        "payment", "report", "search", "filter", "upload", "profile"};
+    // the words of the messages of every locale, where every other vocabulary has non-ASCII characters
+    private static final String[][] VOCABULARIES = {
+        {"the", "file", "was", "saved", "by", "user", "on", "your", "account", "has", "been", "updated"},
+        {"le", "fichier", "a", "été", "enregistré", "par", "l''utilisateur", "à", "votre", "compte", "mis",
+            "jour"},
+        {"die", "Datei", "wurde", "von", "Benutzer", "gespeichert", "Ihr", "Konto", "aktualisiert", "für",
+            "Größe"},
+        {"ファイル", "は", "ユーザー", "によって", "保存", "されました", "アカウント", "更新"},
+        {"файл", "был", "сохранён", "пользователем", "ваша", "учётная", "запись", "обновлена"},
+        {"文件", "已", "由", "用户", "保存", "您的", "账户", "已更新", "📁", "✅"},
+    };
+    // the message templates, where {W} is replaced by words and the format elements are kept for every locale
+    private static final String[] TEMPLATES = {
+        "{W}",
+        "{W} {0} {W}",
+        "{W} {0,number,integer} {W} {1}",
+        "{W} {0,date,short} {0,time,short} {W}",
+        "{W} {0,choice,0#{W}|1#{W}|1<{0,number,integer} {W}}",
+        "{W} {0,number,currency} ({1,number,percent}) {W}",
+        "{W} ''{0}'' {W} {1} {W} {2,number} {W}",
+    };
+
+    private static final long DEFAULT_SEED = 42;
+
+    /**
+     * The size of a tree: its number of bundles, the number of locales of every bundle (in addition to its base
+     * file, at most forty) and the number of keys of every bundle.
+     */
+    public static final class Spec {
+        private final int bundles;
+        private final int locales;
+        private final int keysPerBundle;
+        private final long seed;
+
+        private Spec(int bundles, int locales, int keysPerBundle, long seed) {
+            this.bundles = bundles;
+            this.locales = locales;
+            this.keysPerBundle = keysPerBundle;
+            this.seed = seed;
+        }
+
+        public static Spec of(int bundles, int locales, int keysPerBundle) {
+            return new Spec(bundles, locales, keysPerBundle, DEFAULT_SEED);
+        }
+
+        public int bundles() {
+            return bundles;
+        }
+
+        public int locales() {
+            return locales;
+        }
+
+        public int keysPerBundle() {
+            return keysPerBundle;
+        }
+
+        public long seed() {
+            return seed;
+        }
+    }
+
+    public static final class Bundle {
+        private final Path directory;
+        private final String name;
+        private final String packageName;
+        private final String className;
+
+        private Bundle(Path directory, String name, String packageName, String className) {
+            this.directory = directory;
+            this.name = name;
+            this.packageName = packageName;
+            this.className = className;
+        }
+
+        public Path directory() {
+            return directory;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public Path baseFile() {
+            return directory.resolve(name + ".properties");
+        }
+    }
+
+    private final List<Bundle> bundles;
+    private final long files;
+    private final long keys;
+    private final long bytes;
+
+    private SyntheticResources(List<Bundle> bundles, long files, long keys, long bytes) {
+        this.bundles = bundles;
+        this.files = files;
+        this.keys = keys;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Generates the tree of the given spec within the given directory.
+     */
+    public static SyntheticResources generate(Path root, Spec spec) throws IOException {
+        if (spec.locales() > LOCALES.size()) {
+            throw new IllegalArgumentException("At most " + LOCALES.size() + " locales are supported");
+        }
+
+        List<Bundle> bundles = new ArrayList<>(spec.bundles());
+        long files = 0;
+        long bytes = 0;
+        for (int i = 0; i < spec.bundles(); i++) {
+            int module = i / BUNDLES_PER_MODULE;
+            int feature = i % DIRECTORIES_PER_MODULE;
+            Path directory = Files.createDirectories(root.resolve(Path.of("module" + module, "src", "main",
+                    "resources", "i18n", "feature" + feature)));
+            var bundle = new Bundle(directory, "messages" + i, "com.example.module" + module + ".feature" + feature,
+                    "Messages" + i);
+
+            // the same random choices for every file of a bundle, so that its keys and signatures match
+            long bundleSeed = spec.seed() * 31 + i;
+            bytes += writeFile(bundle.baseFile(), new Random(bundleSeed), spec.keysPerBundle(), 0);
+            files++;
+            for (int locale = 1; locale <= spec.locales(); locale++) {
+                Path file = directory.resolve(bundle.name() + "_" + LOCALES.get(locale - 1) + ".properties");
+                bytes += writeFile(file, new Random(bundleSeed), spec.keysPerBundle(), locale);
+                files++;
+            }
+            bundles.add(bundle);
+        }
+        return new SyntheticResources(List.copyOf(bundles), files, (long) spec.bundles() * spec.keysPerBundle(),
+                bytes);
+    }
+
+    public List<Bundle> bundles() {
+        return bundles;
+    }
+
+    /**
+     * Returns the number of properties files.
+     */
+    public long files() {
+        return files;
+    }
+
+    /**
+     * Returns the number of keys of all the bundles, each counted once however many locales define it.
+     */
+    public long keys() {
+        return keys;
+    }
+
+    /**
+     * Returns the total size of the properties files.
+     */
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns a file config for the base file of every bundle.
+     */
+    public List<PropertiesConstantsFileConfig> constantsFileConfigs() {
+        return bundles.stream()
+                .map(bundle -> PropertiesConstantsFileConfig.builder()
+                        .propertiesPath(bundle.baseFile())
+                        .generatedPackageName(bundle.packageName)
+                        .generatedClassName(bundle.className + "Keys")
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a bundle config for every bundle.
+     */
+    public List<ERBBundleConfig> bundleConfigs() {
+        return bundles.stream()
+                .map(bundle -> ERBBundleConfig.builder()
+                        .bundlePath(bundle.directory())
+                        .bundleName(bundle.name())
+                        .generatedPackageName(bundle.packageName)
+                        .generatedClassName(bundle.className)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Writes a properties file of the given locale (zero being the base file).
+     *
+     * @return the size of the file
+     */
+    private static long writeFile(Path file, Random random, int keyCount, int locale) throws IOException {
+        String[] vocabulary = VOCABULARIES[locale % VOCABULARIES.length];
+        // the words of the messages differ per locale, unlike the keys and templates
+        var wordRandom = new Random(random.nextLong() + locale);
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# Generated for the scaling tests\n! locale " + locale + "\n\n");
+            for (int i = 0; i < keyCount; i++) {
+                String key = KEY_WORDS[random.nextInt(KEY_WORDS.length)] + "."
+                        + KEY_WORDS[random.nextInt(KEY_WORDS.length)] + "."
+                        + KEY_WORDS[random.nextInt(KEY_WORDS.length)] + i;
+                String template = TEMPLATES[random.nextInt(TEMPLATES.length)];
+                String separator = random.nextBoolean() ? "=" : " : ";
+                boolean escaped = random.nextInt(4) == 0;
+                boolean continued = random.nextInt(8) == 0;
+
+                if (random.nextInt(10) == 0) {
+                    writer.write("# " + key + "\n");
+                }
+                String message = message(template, vocabulary, wordRandom, continued ? 3 : 1);
+                writer.write(key + separator + format(escaped ? escape(message) : message, continued) + "\n");
+            }
+        }
+        return Files.size(file);
+    }
+
+    private static String message(String template, String[] vocabulary, Random random, int wordsPerPlaceholder) {
+        var message = new StringBuilder();
+        int start = 0;
+        for (int placeholder = template.indexOf("{W}"); placeholder >= 0;
+             placeholder = template.indexOf("{W}", start)) {
+            message.append(template, start, placeholder);
+            for (int i = 0; i < wordsPerPlaceholder; i++) {
+                message.append(i == 0 ? "" : " ").append(vocabulary[random.nextInt(vocabulary.length)]);
+            }
+            start = placeholder + "{W}".length();
+        }
+        return message.append(template.substring(start)).toString();
+    }
+
+    /**
+     * Escapes the non-ASCII characters of the given value as Unicode escapes.
+     */
+    private static String escape(String value) {
+        var escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                escaped.append(c);
+            } else {
+                escaped.append(String.format("\\u%04x", (int) c));
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Splits the given value into continuation lines at spaces, if it is long enough.
+     */
+    private static String format(String value, boolean continued) {
+        if (!continued || value.length() < CONTINUATION_LENGTH) {
+            return value;
+        }
+        int split = value.indexOf(' ', value.length() / 2);
+        return split < 0 ? value : value.substring(0, split) + " \\\n    " + value.substring(split + 1);
+    }
+}
@@ -1,18 +1,29 @@
 package com.jgazula.easyresources.core.testutil;
 
+import com.jgazula.easyresources.core.output.InMemoryOutputSink;
+import com.jgazula.easyresources.core.output.OutputSink;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 public class TestHelper {
 
@@ -50,6 +61,20 @@ public class TestHelper {
         }
     }
 
+    /**
+     * Creates a zip archive which contains the given entries (by name) with the given UTF-8 contents.
+     */
+    public static Path createArchive(Path archive, Map<String, String> entries) throws IOException {
+        try (var out = new ZipOutputStream(Files.newOutputStream(archive))) {
+            for (var entry : new TreeMap<>(entries).entrySet()) {
+                out.putNextEntry(new ZipEntry(entry.getKey()));
+                out.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return archive;
+    }
+
     public static boolean generatedFileMatchesExpected(Path generated, Path expected) {
         try (var generatedReader = Files.newBufferedReader(generated, StandardCharsets.UTF_8);
              var expectedReader = Files.newBufferedReader(expected, StandardCharsets.UTF_8)) {
@@ -92,4 +117,57 @@ public class TestHelper {
             throw new UncheckedIOException(e);
         }
     }
+
+    /**
+     * Compiles the given Java file with the system compiler into the given directory, and loads (and initializes)
+     * its class.
+     */
+    public static Class<?> compileAndLoad(String qualifiedClassName, String source, Path classesDir) {
+        InMemoryOutputSink sink = OutputSink.inMemory();
+        int lastDot = qualifiedClassName.lastIndexOf('.');
+        sink.write(qualifiedClassName.substring(0, Math.max(lastDot, 0)), qualifiedClassName.substring(lastDot + 1),
+                source);
+        return compileAndLoad(qualifiedClassName, sink, classesDir);
+    }
+
+    /**
+     * Compiles all the Java files of the given sink with the system compiler into the given directory, and loads
+     * (and initializes) the given class.
+     */
+    public static Class<?> compileAndLoad(String qualifiedClassName, InMemoryOutputSink sink, Path classesDir) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Boolean compiled = compiler.getTask(null, null, null, List.of("-d", classesDir.toString()), null,
+                sink.javaFileObjects()).call();
+        if (!Boolean.TRUE.equals(compiled)) {
+            throw new IllegalStateException("Unable to compile " + qualifiedClassName);
+        }
+
+        try {
+            var loader = new URLClassLoader(new URL[] {classesDir.toUri().toURL()}, TestHelper.class.getClassLoader());
+            return Class.forName(qualifiedClassName, true, loader);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Defines, verifies and initializes the class of the given class file in a new class loader.
+     */
+    public static Class<?> defineAndLoad(String qualifiedClassName, byte[] bytecode) {
+        var loader = new ClassLoader(TestHelper.class.getClassLoader()) {
+            @Override
+            protected Class<?> findClass(String name) throws ClassNotFoundException {
+                if (!name.equals(qualifiedClassName)) {
+                    throw new ClassNotFoundException(name);
+                }
+                return defineClass(name, bytecode, 0, bytecode.length);
+            }
+        };
+
+        try {
+            return Class.forName(qualifiedClassName, true, loader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
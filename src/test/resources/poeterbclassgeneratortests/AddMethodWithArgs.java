@@ -7,18 +7,31 @@ import java.lang.String;
 import java.math.BigDecimal;
 import java.text.MessageFormat;
 import java.util.Date;
+import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TestClass {
     private final ResourceBundle resourceBundle;
 
+    private final ConcurrentHashMap<String, MessageFormat> messageFormats;
+
     public TestClass(ResourceBundle resourceBundle) {
         this.resourceBundle = resourceBundle;
+        this.messageFormats = new ConcurrentHashMap<>();
+    }
+
+    private MessageFormat messageFormat(String key, Locale locale) {
+        MessageFormat prototype = this.messageFormats.get(key);
+        if (prototype == null) {
+            prototype = new MessageFormat(this.resourceBundle.getString(key), locale);
+            this.messageFormats.putIfAbsent(key, prototype);
+        }
+        return (MessageFormat) prototype.clone();
     }
 
     public String myTestKey(BigDecimal arg0, Date arg1, String arg2, int arg3) {
-        String message = this.resourceBundle.getString("my.test.key");
         Object[] messageArguments = {arg0, arg1, arg2, arg3};
-        return new MessageFormat(message, this.resourceBundle.getLocale()).format(messageArguments);
+        return messageFormat("my.test.key", this.resourceBundle.getLocale()).format(messageArguments);
     }
-}
\ No newline at end of file
+}
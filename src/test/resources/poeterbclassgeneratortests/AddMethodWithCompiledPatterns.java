@@ -0,0 +1,46 @@
+// This class was auto generated by easy-resources-maven-plugin.
+// December 18, 2023 at 3:00:00 AM EST
+package com.jgazula.test;
+
+import java.lang.Object;
+import java.lang.String;
+import java.lang.StringBuilder;
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TestClass {
+    private final ResourceBundle resourceBundle;
+
+    private final ConcurrentHashMap<String, MessageFormat> messageFormats;
+
+    public TestClass(ResourceBundle resourceBundle) {
+        this.resourceBundle = resourceBundle;
+        this.messageFormats = new ConcurrentHashMap<>();
+    }
+
+    private MessageFormat messageFormat(String key, Locale locale) {
+        MessageFormat prototype = this.messageFormats.get(key);
+        if (prototype == null) {
+            prototype = new MessageFormat(this.resourceBundle.getString(key), locale);
+            this.messageFormats.putIfAbsent(key, prototype);
+        }
+        return (MessageFormat) prototype.clone();
+    }
+
+    public String myTestKey(String arg0, String arg1) {
+        String message = this.resourceBundle.getString("my.test.key");
+        if (message.equals("Hello {0}, you have {1} messages")) {
+            return new StringBuilder(58).append("Hello ").append(arg0).append(", you have ").append(arg1).append(" messages").toString();
+        }
+        if (message.equals("{1} messages pour ''{0}''")) {
+            return new StringBuilder(49).append(arg1).append(" messages pour '").append(arg0).append("'").toString();
+        }
+        if (message.equals("Hallo")) {
+            return "Hallo";
+        }
+        Object[] messageArguments = {arg0, arg1};
+        return messageFormat("my.test.key", this.resourceBundle.getLocale()).format(messageArguments);
+    }
+}